@@ -22,7 +22,8 @@ public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
 
     private final String keyField;
     private final String docsDir;
-    private final Path indexPath = FileSystems.getDefault().getPath("/tmp/lucene_index");
+    private final Path indexPath = FileSystems.getDefault().getPath(System.getProperty("tahiti.api.indexDir",
+            FileSystems.getDefault().getPath(System.getProperty("java.io.tmpdir"), "lucene_index").toString()));
 
     private LuceneSearch lucene;
     private Map<Integer, Float> scores = new LinkedHashMap<>();
@@ -2,11 +2,14 @@ package beans;
 
 import business.domain.Hotel;
 import business.domain.Site;
+import business.service.CombinedSearchResult;
 import business.service.TravelService;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Managed Bean JSF pour la recherche simple de sites et hôtels
@@ -18,6 +21,15 @@ public class SearchBean implements Serializable {
     
     private static final long serialVersionUID = 1L;
     
+    /** Rayon (km) des hôtels proposés près des sites en recherche combinée */
+    private static final double NEARBY_RADIUS_KM = 5.0;
+    
+    /** Extraits calculés par tranches de sites affichés */
+    private static final int SNIPPET_PAGE_SIZE = 20;
+    
+    /** Temps maximum consacré aux extraits pour l'affichage d'une recherche (ms) */
+    private long snippetBudgetMillis = 150;
+    
     // ==================== Dépendances (injectées par Spring) ====================
     
     private TravelService travelService;
@@ -27,7 +39,7 @@ public class SearchBean implements Serializable {
     /** Mots-clés saisis par l'utilisateur */
     private String keywords;
     
-    /** Type de recherche : "site" ou "hotel" */
+    /** Type de recherche : "site", "hotel" ou "combined" */
     private String searchType = "site";
     
     // ==================== Résultats ====================
@@ -38,12 +50,24 @@ public class SearchBean implements Serializable {
     /** Liste des hôtels trouvés */
     private List<Hotel> hotelResults = new ArrayList<>();
     
+    /** Résultat de la recherche combinée (null sinon) */
+    private CombinedSearchResult combinedResult;
+    
     /** Message à afficher (succès, erreur, etc.) */
     private String message;
     
     /** Indique si une recherche a été effectuée */
     private boolean searchPerformed = false;
     
+    /** Extraits surlignés déjà calculés (id_site → HTML) */
+    private Map<Integer, String> snippets = new HashMap<>();
+    
+    /** Sites [0, snippetsTriedUpTo) déjà traités */
+    private int snippetsTriedUpTo;
+    
+    /** Fin du budget d'extraits de la recherche courante (0 = pas commencé) */
+    private long snippetDeadline;
+    
     // ==================== Constructeur ====================
     
     public SearchBean() {
@@ -60,8 +84,10 @@ public class SearchBean implements Serializable {
         // Réinitialiser les résultats
         siteResults = new ArrayList<>();
         hotelResults = new ArrayList<>();
+        combinedResult = null;
         message = null;
         searchPerformed = true;
+        resetSnippets();
         
         // Validation
         if (keywords == null || keywords.trim().isEmpty()) {
@@ -89,6 +115,20 @@ public class SearchBean implements Serializable {
                 } else {
                     message = hotelResults.size() + " hôtel(s) trouvé(s) pour \"" + keywords + "\".";
                 }
+                
+            } else if ("combined".equals(searchType)) {
+                // Recherche sites + hôtels en parallèle
+                combinedResult = travelService.searchCombined(keywords.trim(), NEARBY_RADIUS_KM);
+                siteResults = combinedResult.getSites();
+                hotelResults = combinedResult.getHotels();
+                
+                if (combinedResult.isEmpty()) {
+                    message = "Aucun site ni hôtel trouvé pour \"" + keywords + "\".";
+                } else {
+                    message = siteResults.size() + " site(s) et " + hotelResults.size()
+                            + " hôtel(s) trouvé(s) pour \"" + keywords + "\" ("
+                            + combinedResult.getTotalMillis() + " ms).";
+                }
             }
             
         } catch (IllegalStateException e) {
@@ -109,25 +149,33 @@ public class SearchBean implements Serializable {
         searchType = "site";
         siteResults = new ArrayList<>();
         hotelResults = new ArrayList<>();
+        combinedResult = null;
         message = null;
         searchPerformed = false;
+        resetSnippets();
         return "search";
     }
     
+    private void resetSnippets() {
+        snippets = new HashMap<>();
+        snippetsTriedUpTo = 0;
+        snippetDeadline = 0;
+    }
+    
     // ==================== Méthodes utilitaires pour la vue ====================
     
     /**
      * Indique si on affiche les résultats de sites
      */
     public boolean isShowSiteResults() {
-        return "site".equals(searchType) && searchPerformed;
+        return ("site".equals(searchType) || "combined".equals(searchType)) && searchPerformed;
     }
     
     /**
      * Indique si on affiche les résultats d'hôtels
      */
     public boolean isShowHotelResults() {
-        return "hotel".equals(searchType) && searchPerformed;
+        return ("hotel".equals(searchType) || "combined".equals(searchType)) && searchPerformed;
     }
     
     /**
@@ -137,6 +185,39 @@ public class SearchBean implements Serializable {
         return !siteResults.isEmpty() || !hotelResults.isEmpty();
     }
     
+    /**
+     * Extrait surligné de la description complète du site (HTML échappé,
+     * termes en &lt;mark&gt;), null si aucun : la vue affiche alors la
+     * description courte.
+     * 
+     * Calcul paresseux, au premier site affiché de chaque tranche de
+     * SNIPPET_PAGE_SIZE résultats, dans le budget snippetBudgetMillis
+     * partagé par toutes les tranches de la recherche.
+     */
+    public String getSnippet(Site site) {
+        String snippet = snippets.get(site.getId());
+        if (snippet != null || !searchPerformed || keywords == null) {
+            return snippet;
+        }
+        int index = siteResults.indexOf(site);
+        if (index < snippetsTriedUpTo) {
+            return null;
+        }
+        
+        long now = System.nanoTime();
+        if (snippetDeadline == 0) {
+            snippetDeadline = now + snippetBudgetMillis * 1_000_000L;
+        }
+        long remainingMillis = (snippetDeadline - now) / 1_000_000L;
+        int from = index - index % SNIPPET_PAGE_SIZE;
+        int to = Math.min(siteResults.size(), from + SNIPPET_PAGE_SIZE);
+        snippetsTriedUpTo = to;
+        if (remainingMillis > 0) {
+            snippets.putAll(travelService.highlightSites(keywords, siteResults.subList(from, to), remainingMillis));
+        }
+        return snippets.get(site.getId());
+    }
+    
     /**
      * Génère une chaîne d'étoiles pour l'affichage
      */
@@ -153,6 +234,14 @@ public class SearchBean implements Serializable {
     
     // ==================== Getters & Setters ====================
     
+    public long getSnippetBudgetMillis() {
+        return snippetBudgetMillis;
+    }
+    
+    public void setSnippetBudgetMillis(long snippetBudgetMillis) {
+        this.snippetBudgetMillis = snippetBudgetMillis;
+    }
+    
     public TravelService getTravelService() {
         return travelService;
     }
@@ -193,6 +282,10 @@ public class SearchBean implements Serializable {
         this.hotelResults = hotelResults;
     }
     
+    public CombinedSearchResult getCombinedResult() {
+        return combinedResult;
+    }
+    
     public String getMessage() {
         return message;
     }
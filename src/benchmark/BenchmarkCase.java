@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Un benchmark : un nom, des paramètres (affichés et exportés),
+ * une préparation exécutée une fois et l'opération mesurée
+ */
+public final class BenchmarkCase {
+    
+    /**
+     * Opération mesurée ; le résultat doit être passé au Blackhole
+     */
+    public interface Operation {
+        void run(Blackhole blackhole) throws Exception;
+    }
+    
+    /**
+     * Préparation exécutée une fois avant l'échauffement
+     */
+    public interface Setup {
+        void run() throws Exception;
+    }
+    
+    private final String name;
+    private final Map<String, String> params = new LinkedHashMap<>();
+    private Setup setup = () -> { };
+    private final Operation operation;
+    
+    public BenchmarkCase(String name, Operation operation) {
+        this.name = name;
+        this.operation = operation;
+    }
+    
+    public BenchmarkCase param(String key, Object value) {
+        params.put(key, String.valueOf(value));
+        return this;
+    }
+    
+    public BenchmarkCase setup(Setup setup) {
+        this.setup = setup;
+        return this;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public Map<String, String> getParams() {
+        return Collections.unmodifiableMap(params);
+    }
+    
+    Setup getSetup() {
+        return setup;
+    }
+    
+    Operation getOperation() {
+        return operation;
+    }
+    
+    /**
+     * Nom complet, ex : "ScoringBenchmarks.distanceTo{sites=1000}"
+     */
+    public String getId() {
+        return params.isEmpty() ? name : name + params;
+    }
+}
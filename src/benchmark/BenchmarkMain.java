@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lance la suite de benchmarks
+ * 
+ * Arguments (tous optionnels) :
+ *   --json fichier.json   export des résultats (format JMH)
+ *   --filter regex        ne lance que les benchmarks correspondants
+ *   --quick               itérations courtes (vérification rapide, pas de comparaison)
+ * 
+ * Exemple : java benchmark.BenchmarkMain --filter Lucene --json lucene.json
+ * Lancer avec une JVM dédiée et des options fixes (ex : -Xms1g -Xmx1g)
+ * pour que les résultats soient comparables.
+ */
+public class BenchmarkMain {
+    
+    public static void main(String[] args) throws Exception {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        String json = null;
+        
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--json":
+                    json = args[++i];
+                    break;
+                case "--filter":
+                    runner.filter(args[++i]);
+                    break;
+                case "--quick":
+                    runner.warmupIterations(1).measurementIterations(3).iterationMillis(100);
+                    break;
+                default:
+                    System.err.println("Argument inconnu : " + args[i]);
+                    return;
+            }
+        }
+        
+        List<BenchmarkCase> cases = new ArrayList<>();
+        cases.addAll(ScoringBenchmarks.cases());
+        cases.addAll(PlanningBenchmarks.cases());
+        cases.addAll(LuceneBenchmarks.cases());
+        cases.addAll(PersistenceBenchmarks.cases());
+        
+        List<BenchmarkResult> results = runner.run(cases);
+        if (json != null) {
+            BenchmarkRunner.writeJson(results, Paths.get(json));
+            System.out.println("Résultats JSON : " + json);
+        }
+    }
+}
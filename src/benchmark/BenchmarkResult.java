@@ -0,0 +1,60 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Résultat d'un benchmark : temps moyen par opération de chaque itération mesurée
+ */
+public final class BenchmarkResult {
+    
+    private final BenchmarkCase benchmark;
+    private final double[] nanosPerOp;
+    
+    BenchmarkResult(BenchmarkCase benchmark, double[] nanosPerOp) {
+        this.benchmark = benchmark;
+        this.nanosPerOp = nanosPerOp;
+    }
+    
+    public String getName() {
+        return benchmark.getName();
+    }
+    
+    public Map<String, String> getParams() {
+        return benchmark.getParams();
+    }
+    
+    public double[] getNanosPerOp() {
+        return nanosPerOp.clone();
+    }
+    
+    public double getMean() {
+        double sum = 0;
+        for (double v : nanosPerOp) sum += v;
+        return nanosPerOp.length == 0 ? 0 : sum / nanosPerOp.length;
+    }
+    
+    /**
+     * Écart-type entre itérations
+     */
+    public double getError() {
+        if (nanosPerOp.length < 2) return 0;
+        double mean = getMean();
+        double sq = 0;
+        for (double v : nanosPerOp) sq += (v - mean) * (v - mean);
+        return Math.sqrt(sq / (nanosPerOp.length - 1));
+    }
+    
+    public double getPercentile(double percentile) {
+        if (nanosPerOp.length == 0) return 0;
+        double[] sorted = nanosPerOp.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%-80s %14.1f ± %10.1f ns/op", benchmark.getId(), getMean(), getError());
+    }
+}
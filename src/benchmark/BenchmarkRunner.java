@@ -0,0 +1,156 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Exécution des benchmarks en mode "temps moyen par opération"
+ * 
+ * Pour chaque benchmark : préparation, warmupIterations itérations
+ * d'échauffement, puis measurementIterations itérations mesurées.
+ * Une itération répète l'opération pendant iterationMillis et en
+ * déduit le temps moyen par opération.
+ * 
+ * L'export JSON reprend le format de JMH (benchmark, mode, params,
+ * primaryMetric.score / scoreError / scorePercentiles / rawData) pour
+ * pouvoir être comparé d'une version à l'autre avec les mêmes outils.
+ */
+public class BenchmarkRunner {
+    
+    private int warmupIterations = 3;
+    private int measurementIterations = 5;
+    private long iterationMillis = 500;
+    private Pattern filter;
+    
+    // ==================== Configuration ====================
+    
+    public BenchmarkRunner warmupIterations(int iterations) {
+        this.warmupIterations = iterations;
+        return this;
+    }
+    
+    public BenchmarkRunner measurementIterations(int iterations) {
+        this.measurementIterations = iterations;
+        return this;
+    }
+    
+    public BenchmarkRunner iterationMillis(long millis) {
+        this.iterationMillis = millis;
+        return this;
+    }
+    
+    /**
+     * Ne lance que les benchmarks dont le nom complet contient regex
+     */
+    public BenchmarkRunner filter(String regex) {
+        this.filter = regex == null ? null : Pattern.compile(regex);
+        return this;
+    }
+    
+    // ==================== Exécution ====================
+    
+    public List<BenchmarkResult> run(List<BenchmarkCase> cases) throws Exception {
+        List<BenchmarkResult> results = new ArrayList<>();
+        Blackhole blackhole = new Blackhole();
+        
+        for (BenchmarkCase benchmark : cases) {
+            if (filter != null && !filter.matcher(benchmark.getId()).find()) continue;
+            
+            benchmark.getSetup().run();
+            for (int i = 0; i < warmupIterations; i++) {
+                iteration(benchmark.getOperation(), blackhole);
+            }
+            double[] measured = new double[measurementIterations];
+            for (int i = 0; i < measurementIterations; i++) {
+                measured[i] = iteration(benchmark.getOperation(), blackhole);
+            }
+            
+            BenchmarkResult result = new BenchmarkResult(benchmark, measured);
+            System.out.println(result);
+            results.add(result);
+        }
+        System.out.println("(blackhole=" + blackhole.getSink() + ")");
+        return results;
+    }
+    
+    /**
+     * @return temps moyen par opération (ns)
+     */
+    private double iteration(BenchmarkCase.Operation operation, Blackhole blackhole) throws Exception {
+        long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+        long ops = 0;
+        long batch = 1;
+        long start = System.nanoTime();
+        long now;
+        do {
+            for (long i = 0; i < batch; i++) {
+                operation.run(blackhole);
+            }
+            ops += batch;
+            now = System.nanoTime();
+            if (batch < 1 << 16) batch <<= 1;
+        } while (now < deadline);
+        return (double) (now - start) / ops;
+    }
+    
+    // ==================== Export JSON ====================
+    
+    public static void writeJson(List<BenchmarkResult> results, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(toJson(results));
+        }
+    }
+    
+    public static String toJson(List<BenchmarkResult> results) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int r = 0; r < results.size(); r++) {
+            BenchmarkResult result = results.get(r);
+            sb.append("  {\n");
+            sb.append("    \"benchmark\" : ").append(quote(result.getName())).append(",\n");
+            sb.append("    \"mode\" : \"avgt\",\n");
+            sb.append("    \"params\" : {");
+            int p = 0;
+            for (Map.Entry<String, String> param : result.getParams().entrySet()) {
+                sb.append(p++ == 0 ? " " : ", ").append(quote(param.getKey())).append(" : ").append(quote(param.getValue()));
+            }
+            sb.append(p > 0 ? " },\n" : "},\n");
+            sb.append("    \"primaryMetric\" : {\n");
+            sb.append("      \"score\" : ").append(number(result.getMean())).append(",\n");
+            sb.append("      \"scoreError\" : ").append(number(result.getError())).append(",\n");
+            sb.append("      \"scoreUnit\" : \"ns/op\",\n");
+            sb.append("      \"scorePercentiles\" : { \"50.0\" : ").append(number(result.getPercentile(50)))
+              .append(", \"99.0\" : ").append(number(result.getPercentile(99))).append(" },\n");
+            sb.append("      \"rawData\" : [ [");
+            double[] raw = result.getNanosPerOp();
+            for (int i = 0; i < raw.length; i++) {
+                sb.append(i == 0 ? " " : ", ").append(number(raw[i]));
+            }
+            sb.append(" ] ]\n");
+            sb.append("    }\n");
+            sb.append(r < results.size() - 1 ? "  },\n" : "  }\n");
+        }
+        return sb.append("]\n").toString();
+    }
+    
+    private static String number(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+    
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
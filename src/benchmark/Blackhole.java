@@ -0,0 +1,33 @@
+package benchmark;
+
+/**
+ * Consomme les résultats des opérations mesurées pour que le JIT
+ * ne supprime pas le code dont le résultat serait inutilisé
+ */
+public final class Blackhole {
+    
+    private int sink;
+    
+    public void consume(Object value) {
+        sink += System.identityHashCode(value);
+    }
+    
+    public void consume(double value) {
+        sink += (int) Double.doubleToRawLongBits(value);
+    }
+    
+    public void consume(long value) {
+        sink += (int) value;
+    }
+    
+    public void consume(int value) {
+        sink += value;
+    }
+    
+    /**
+     * À afficher en fin d'exécution : rend le puits observable
+     */
+    int getSink() {
+        return sink;
+    }
+}
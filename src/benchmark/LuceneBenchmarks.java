@@ -0,0 +1,115 @@
+package benchmark;
+
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import persistence.bda.CompletionIndex;
+import persistence.bda.LuceneSearch;
+import persistence.bda.TextualOperator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks de LuceneSearch.search sur un index temporaire généré
+ * 
+ * - cold : LuceneSearch tel qu'utilisé en production (un DirectoryReader ouvert par recherche)
+ * - warm : même requête sur un IndexSearcher ouvert une fois
+ * - keysStoredFields : warm, clés lues dans un champ stocké (ancien format) au lieu des DocValues
+ * - completionLookup : complétion (CompletionIndex, FST en mémoire) d'un préfixe de 3 lettres
+ */
+public final class LuceneBenchmarks {
+    
+    private static final String KEY_FIELD = "id_site";
+    /** Ancien format (clé stockée), pour comparaison avec les DocValues */
+    private static final String STORED_KEY_FIELD = "id_site_stored";
+    private static final String[] VOCABULARY = {
+        "plongée", "lagon", "plage", "musée", "histoire", "randonnée", "cascade", "volcan",
+        "surf", "requins", "raies", "corail", "marae", "culture", "perles", "jardin",
+        "bateau", "kayak", "snorkeling", "belvédère", "tiki", "vanille", "pirogue", "baleines"
+    };
+    
+    private LuceneBenchmarks() {
+    }
+    
+    public static List<BenchmarkCase> cases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        for (int docs : new int[] { 1_000, 20_000 }) {
+            Path[] index = new Path[1];
+            LuceneSearch[] cold = new LuceneSearch[1];
+            IndexSearcher[] warm = new IndexSearcher[1];
+            Query[] query = new Query[1];
+            
+            BenchmarkCase.Setup setup = () -> {
+                if (index[0] != null) return;
+                index[0] = buildIndex(docs);
+                cold[0] = new LuceneSearch(KEY_FIELD, index[0]);
+                warm[0] = new IndexSearcher(DirectoryReader.open(FSDirectory.open(index[0])));
+                query[0] = new QueryParser("description", new FrenchAnalyzer()).parse("plongée lagon");
+            };
+            
+            cases.add(new BenchmarkCase("LuceneBenchmarks.searchColdReader",
+                    bh -> bh.consume(cold[0].search("plongée lagon")))
+                    .param("docs", docs).setup(setup));
+            cases.add(new BenchmarkCase("LuceneBenchmarks.searchWarmReader", bh -> {
+                TopDocs top = warm[0].search(query[0], 100);
+                bh.consume(LuceneSearch.readKeys(warm[0].getIndexReader(), top.scoreDocs, KEY_FIELD));
+            }).param("docs", docs).setup(setup));
+            cases.add(new BenchmarkCase("LuceneBenchmarks.keysStoredFields", bh -> {
+                TopDocs top = warm[0].search(query[0], 100);
+                for (ScoreDoc sd : top.scoreDocs) {
+                    bh.consume(warm[0].storedFields().document(sd.doc).get(STORED_KEY_FIELD));
+                }
+            }).param("docs", docs).setup(setup));
+            
+            CompletionIndex[] completion = new CompletionIndex[1];
+            cases.add(new BenchmarkCase("LuceneBenchmarks.completionLookup",
+                    bh -> bh.consume(completion[0].lookup("pla", 8)))
+                    .param("docs", docs).setup(() -> {
+                        if (completion[0] == null) completion[0] = buildCompletion(docs);
+                    }));
+        }
+        return cases;
+    }
+    
+    private static CompletionIndex buildCompletion(int entries) throws Exception {
+        Random random = new Random(entries);
+        CompletionIndex.Builder builder = new CompletionIndex.Builder();
+        for (int id = 1; id <= entries; id++) {
+            String name = VOCABULARY[random.nextInt(VOCABULARY.length)] + " "
+                    + VOCABULARY[random.nextInt(VOCABULARY.length)] + " " + id;
+            builder.add(name, CompletionIndex.Kind.SITE, id, random.nextInt(1000));
+        }
+        return builder.build();
+    }
+    
+    private static Path buildIndex(int docs) throws Exception {
+        Path dir = Files.createTempDirectory("bench-lucene-");
+        dir.toFile().deleteOnExit();
+        Random random = new Random(docs);
+        try (IndexWriter writer = new IndexWriter(FSDirectory.open(dir), new IndexWriterConfig(new FrenchAnalyzer()))) {
+            for (int id = 1; id <= docs; id++) {
+                StringBuilder text = new StringBuilder();
+                for (int w = 0; w < 30; w++) {
+                    text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+                }
+                Document doc = TextualOperator.textDocument(KEY_FIELD, String.valueOf(id), text.toString());
+                doc.add(new StoredField(STORED_KEY_FIELD, String.valueOf(id)));
+                writer.addDocument(doc);
+            }
+        }
+        return dir;
+    }
+}
@@ -0,0 +1,110 @@
+package benchmark;
+
+import persistence.bda.JoinedOperator;
+import persistence.jdbc.JdbcTravelDao;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Benchmarks de la couche persistance, sans base de données
+ * 
+ * - joinByKey : étapes 3-4 de JoinedOperator.init (clés SQL → HashSet,
+ *   puis jointure dans l'ordre du score) pour différentes cardinalités
+ * - mapSite / mapHotel : mapping JdbcTravelDao sur un ResultSet en mémoire
+ *   (mandataire qui sert une ligne fixe ; les méthodes privées sont
+ *   appelées par réflexion, coût constant inclus dans la mesure)
+ */
+public final class PersistenceBenchmarks {
+    
+    private PersistenceBenchmarks() {
+    }
+    
+    public static List<BenchmarkCase> cases() throws Exception {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        
+        for (int textRows : new int[] { 100, 1_000 }) {
+            for (int sqlRows : new int[] { 1_000, 100_000 }) {
+                Random random = new Random(textRows * 31L + sqlRows);
+                int keySpace = Math.max(sqlRows, textRows) * 2;
+                LinkedHashMap<Integer, Float> text = new LinkedHashMap<>();
+                while (text.size() < textRows) {
+                    text.put(random.nextInt(keySpace), 1f / (text.size() + 1));
+                }
+                int[] sqlKeys = new int[sqlRows];
+                for (int i = 0; i < sqlRows; i++) {
+                    sqlKeys[i] = random.nextInt(keySpace);
+                }
+                
+                cases.add(new BenchmarkCase("PersistenceBenchmarks.joinByKey", bh -> {
+                    Set<Integer> sqlIds = new HashSet<>();
+                    for (int key : sqlKeys) {
+                        sqlIds.add(key);
+                    }
+                    bh.consume(JoinedOperator.joinByKey(text, sqlIds).size());
+                }).param("textRows", textRows).param("sqlRows", sqlRows));
+            }
+        }
+        
+        JdbcTravelDao dao = new JdbcTravelDao();
+        Method mapSite = JdbcTravelDao.class.getDeclaredMethod("mapSite", ResultSet.class);
+        Method mapHotel = JdbcTravelDao.class.getDeclaredMethod("mapHotel", ResultSet.class);
+        mapSite.setAccessible(true);
+        mapHotel.setAccessible(true);
+        
+        Map<String, Object> siteRow = new HashMap<>();
+        siteRow.put("id_site", 12);
+        siteRow.put("name", "Musée de Tahiti et des Îles");
+        siteRow.put("entry_price", 15.0);
+        siteRow.put("latitude", -17.555);
+        siteRow.put("longitude", -149.590);
+        siteRow.put("site_type", "HISTORICAL");
+        siteRow.put("start_time", Time.valueOf("09:00:00"));
+        siteRow.put("end_time", Time.valueOf("17:30:00"));
+        siteRow.put("visit_duration_minutes", 120);
+        siteRow.put("short_description", "Collections polynésiennes");
+        ResultSet siteRs = row(siteRow);
+        
+        Map<String, Object> hotelRow = new HashMap<>();
+        hotelRow.put("id_hotel", 3);
+        hotelRow.put("name", "Tahiti Pearl Beach Resort");
+        hotelRow.put("price_per_night", 280.0);
+        hotelRow.put("latitude", -17.520);
+        hotelRow.put("longitude", -149.540);
+        hotelRow.put("star_rating", 4);
+        hotelRow.put("beach_name", "Lafayette");
+        ResultSet hotelRs = row(hotelRow);
+        
+        cases.add(new BenchmarkCase("PersistenceBenchmarks.mapSite", bh -> bh.consume(mapSite.invoke(dao, siteRs))));
+        cases.add(new BenchmarkCase("PersistenceBenchmarks.mapHotel", bh -> bh.consume(mapHotel.invoke(dao, hotelRs))));
+        return cases;
+    }
+    
+    /**
+     * ResultSet positionné sur une ligne fixe (getXxx(colonne) uniquement)
+     */
+    private static ResultSet row(Map<String, Object> values) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("get") || args == null || !(args[0] instanceof String)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = values.get(args[0]);
+                    Class<?> type = method.getReturnType();
+                    if (type == int.class) return value == null ? 0 : ((Number) value).intValue();
+                    if (type == double.class) return value == null ? 0.0 : ((Number) value).doubleValue();
+                    return value;
+                });
+    }
+    
+}
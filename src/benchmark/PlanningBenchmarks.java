@@ -0,0 +1,39 @@
+package benchmark;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.planning.OfferGenerator;
+import business.service.MockTravelDataAccess;
+import business.simulation.DesiredIntensity;
+import business.simulation.OfferRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark de bout en bout de OfferGenerator.generate (cache d'excursions chaud)
+ */
+public final class PlanningBenchmarks {
+    
+    private PlanningBenchmarks() {
+    }
+    
+    public static List<BenchmarkCase> cases() {
+        MockTravelDataAccess data = new MockTravelDataAccess();
+        List<Site> sites = data.getAllSites();
+        List<Hotel> hotels = data.getAllHotels();
+        OfferGenerator generator = new OfferGenerator();
+        
+        List<BenchmarkCase> cases = new ArrayList<>();
+        for (DesiredIntensity intensity : DesiredIntensity.values()) {
+            for (int nbDays : new int[] { 3, 10 }) {
+                OfferRequest req = new OfferRequest(null, 5000, nbDays, intensity, 0, null);
+                cases.add(new BenchmarkCase("PlanningBenchmarks.generate",
+                        bh -> bh.consume(generator.generate(req, sites, hotels)))
+                        .param("intensity", intensity).param("nbDays", nbDays)
+                        .param("sites", sites.size()).param("hotels", hotels.size()));
+            }
+        }
+        return cases;
+    }
+}
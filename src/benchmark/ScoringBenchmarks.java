@@ -0,0 +1,59 @@
+package benchmark;
+
+import business.domain.Position;
+import business.scoring.ComfortScorer;
+import business.scoring.PriceCalculator;
+import business.service.MockTravelDataAccess;
+import business.service.TravelService;
+import business.simulation.DesiredIntensity;
+import business.simulation.Offer;
+import business.simulation.OfferRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks du calcul géographique et du scoring
+ */
+public final class ScoringBenchmarks {
+    
+    private ScoringBenchmarks() {
+    }
+    
+    public static List<BenchmarkCase> cases() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        
+        // Position.distanceTo (Haversine) sur des points de Polynésie
+        Position[] points = randomPositions(1024, 42);
+        int[] cursor = new int[1];
+        cases.add(new BenchmarkCase("ScoringBenchmarks.distanceTo", bh -> {
+            int i = cursor[0]++ & 1023;
+            bh.consume(points[i].distanceTo(points[(i + 1) & 1023]));
+        }));
+        
+        // PriceCalculator / ComfortScorer sur une offre réelle de 7 jours
+        PriceCalculator priceCalculator = new PriceCalculator();
+        ComfortScorer comfortScorer = new ComfortScorer();
+        Offer[] offer = new Offer[1];
+        BenchmarkCase.Setup loadOffer = () -> offer[0] = new TravelService(new MockTravelDataAccess())
+                .buildOffers(new OfferRequest(null, 5000, 7, DesiredIntensity.HIGH, 3, null)).get(0);
+        
+        cases.add(new BenchmarkCase("ScoringBenchmarks.priceCalculatorTotal",
+                bh -> bh.consume(priceCalculator.calculateTotal(offer[0])))
+                .param("nbDays", 7).setup(loadOffer));
+        cases.add(new BenchmarkCase("ScoringBenchmarks.comfortScorer",
+                bh -> bh.consume(comfortScorer.calculate(offer[0])))
+                .param("nbDays", 7).setup(loadOffer));
+        return cases;
+    }
+    
+    static Position[] randomPositions(int count, long seed) {
+        Random random = new Random(seed);
+        Position[] positions = new Position[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = new Position(-17.9 + random.nextDouble() * 0.5, -149.9 + random.nextDouble() * 0.8);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,156 @@
+package benchmark.load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cible HTTP : soumet le formulaire JSF de search.xhtml comme un navigateur
+ * 
+ * Chaque thread a sa propre session (cookie JSESSIONID) : GET de la page pour
+ * récupérer l'id du formulaire, le bouton et le javax.faces.ViewState, puis
+ * un POST par requête. La page est rechargée toutes les VIEWS_PER_SESSION
+ * requêtes pour rester sous la limite de vues mémorisées par session JSF
+ * (com.sun.faces.numberOfLogicalViews, 15 par défaut). Seules les recherches de sites et d'hôtels par
+ * mots-clés sont exposées par l'interface web.
+ */
+public class JsfHttpTarget implements LoadTarget {
+    
+    private static final Pattern FORM_ID = Pattern.compile("<form id=\"([^\"]+)\"");
+    private static final Pattern SUBMIT = Pattern.compile("<input[^>]*type=\"submit\"[^>]*name=\"([^\"]+)\"[^>]*value=\"([^\"]*)\"");
+    private static final Pattern VIEW_STATE = Pattern.compile("name=\"javax\\.faces\\.ViewState\"[^>]*value=\"([^\"]+)\"");
+    private static final int VIEWS_PER_SESSION = 10;
+    private static final String RESULT_MARKER = "class=\"result-card\"";
+    
+    private final String searchPageUrl;
+    private final int timeoutMillis;
+    private final ThreadLocal<FormSession> sessions = new ThreadLocal<>();
+    
+    /**
+     * @param baseUrl ex : http://localhost:8080/Atelier_Gestion_Projet
+     */
+    public JsfHttpTarget(String baseUrl, int timeoutMillis) {
+        this.searchPageUrl = baseUrl.replaceAll("/+$", "") + "/search.xhtml";
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    @Override
+    public boolean supports(LoadOperation operation) {
+        return operation == LoadOperation.SITE_SEARCH || operation == LoadOperation.HOTEL_SEARCH;
+    }
+    
+    @Override
+    public int execute(LoadRequest request) throws IOException {
+        if (!supports(request.getOperation())) {
+            throw new UnsupportedOperationException("Non disponible en HTTP : " + request.getOperation());
+        }
+        FormSession session = sessions.get();
+        if (session == null || session.requests >= VIEWS_PER_SESSION) {
+            session = openSession(session == null ? null : session.cookie);
+            sessions.set(session);
+        }
+        
+        session.requests++;
+        String form = session.formId;
+        String body = param(form, form)
+                + "&" + param(form + ":searchType", request.getOperation() == LoadOperation.SITE_SEARCH ? "site" : "hotel")
+                + "&" + param(form + ":keywords", request.getKeywords())
+                + "&" + param(session.button, session.buttonValue)
+                + "&" + param("javax.faces.ViewState", session.viewState);
+        
+        HttpURLConnection connection = open(searchPageUrl, session.cookie);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        String page = read(connection);
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            sessions.remove();
+            throw new IOException("HTTP " + connection.getResponseCode() + " sur " + searchPageUrl);
+        }
+        return count(page, RESULT_MARKER);
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private FormSession openSession(String cookie) throws IOException {
+        HttpURLConnection connection = open(searchPageUrl, cookie);
+        String page = read(connection);
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IOException("HTTP " + connection.getResponseCode() + " sur " + searchPageUrl);
+        }
+        
+        FormSession session = new FormSession();
+        String setCookie = connection.getHeaderField("Set-Cookie");
+        session.cookie = setCookie == null ? cookie : setCookie.split(";", 2)[0];
+        session.formId = extract(FORM_ID, page, 1);
+        Matcher submit = SUBMIT.matcher(page);
+        if (!submit.find()) throw new IOException("Bouton de recherche introuvable dans " + searchPageUrl);
+        session.button = submit.group(1);
+        session.buttonValue = submit.group(2);
+        session.viewState = extract(VIEW_STATE, page, 1);
+        return session;
+    }
+    
+    private HttpURLConnection open(String url, String cookie) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        connection.setInstanceFollowRedirects(true);
+        if (cookie != null) connection.setRequestProperty("Cookie", cookie);
+        return connection;
+    }
+    
+    private static String read(HttpURLConnection connection) throws IOException {
+        InputStream in = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (in == null) return "";
+        try (InputStream stream = in) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int n;
+            while ((n = stream.read(chunk)) > 0) {
+                buffer.write(chunk, 0, n);
+            }
+            return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+    
+    private static String extract(Pattern pattern, String page, int group) throws IOException {
+        Matcher matcher = pattern.matcher(page);
+        if (!matcher.find()) throw new IOException("Motif " + pattern + " introuvable dans la page");
+        return matcher.group(group);
+    }
+    
+    private static String param(String name, String value) throws IOException {
+        return URLEncoder.encode(name, "UTF-8") + "=" + URLEncoder.encode(value, "UTF-8");
+    }
+    
+    private static int count(String page, String marker) {
+        int count = 0;
+        for (int i = page.indexOf(marker); i >= 0; i = page.indexOf(marker, i + marker.length())) {
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * État JSF d'un thread (formulaire et ViewState de sa session)
+     */
+    private static class FormSession {
+        String cookie;
+        String formId;
+        String button;
+        String buttonValue;
+        String viewState;
+        int requests;
+    }
+}
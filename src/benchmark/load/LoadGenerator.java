@@ -0,0 +1,155 @@
+package benchmark.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur de charge en boucle fermée
+ * 
+ * threads clients envoient chacun une requête, attendent la réponse, puis
+ * envoient la suivante. Deux modes :
+ * - targetRate = 0 : au plus vite (mesure du débit maximal) ;
+ * - targetRate > 0 : chaque client suit un calendrier (targetRate / threads
+ *   requêtes/s). Une requête en retard part immédiatement, et sa latence
+ *   est comptée depuis l'instant prévu (correction de l'omission coordonnée,
+ *   comme wrk2) : un blocage de 2 s pèse sur toutes les requêtes retardées,
+ *   pas seulement sur celle qui a bloqué.
+ * 
+ * La phase d'échauffement n'est pas mesurée. Les tirages sont déterministes
+ * (un générateur par client dérivé de seed).
+ */
+public class LoadGenerator {
+    
+    private int threads = 8;
+    private long warmupMillis = 5_000;
+    private long durationMillis = 30_000;
+    private double targetRate;
+    private long seed = 1;
+    private RequestMix mix = RequestMix.parse(RequestMix.DEFAULT);
+    private ZipfDistribution keywords;
+    
+    public LoadGenerator(ZipfDistribution keywords) {
+        this.keywords = keywords;
+    }
+    
+    // ==================== Configuration ====================
+    
+    public LoadGenerator threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+    
+    public LoadGenerator warmupMillis(long millis) {
+        this.warmupMillis = millis;
+        return this;
+    }
+    
+    public LoadGenerator durationMillis(long millis) {
+        this.durationMillis = millis;
+        return this;
+    }
+    
+    /**
+     * Débit cible total en requêtes/s (0 = au plus vite, sans correction)
+     */
+    public LoadGenerator targetRate(double requestsPerSecond) {
+        this.targetRate = requestsPerSecond;
+        return this;
+    }
+    
+    public LoadGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+    
+    public LoadGenerator mix(RequestMix mix) {
+        this.mix = mix;
+        return this;
+    }
+    
+    // ==================== Exécution ====================
+    
+    public LoadReport run(LoadTarget target) throws InterruptedException {
+        for (LoadOperation operation : mix.getWeights().keySet()) {
+            if (mix.getWeights().get(operation) > 0 && !target.supports(operation)) {
+                throw new IllegalArgumentException("Opération non supportée par la cible : " + operation);
+            }
+        }
+        
+        Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        
+        long intervalNanos = targetRate > 0 ? (long) (threads * 1e9 / targetRate) : 0;
+        long startNanos = System.nanoTime() + 10_000_000L;
+        long measureFrom = startNanos + warmupMillis * 1_000_000L;
+        long endNanos = measureFrom + durationMillis * 1_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+        
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < threads; w++) {
+            // Départs décalés pour étaler les requêtes sur l'intervalle
+            long firstSend = startNanos + (intervalNanos * w) / threads;
+            SplittableRandom random = new SplittableRandom(seed * 31 + w);
+            Thread worker = new Thread(() -> {
+                try {
+                    work(target, random, firstSend, intervalNanos, measureFrom, endNanos, stats);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + w);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        done.await();
+        
+        return new LoadReport(stats, threads, targetRate, durationMillis);
+    }
+    
+    private void work(LoadTarget target, SplittableRandom random, long firstSend, long intervalNanos,
+                      long measureFrom, long endNanos, Map<LoadOperation, OperationStats> stats) {
+        long nextSend = firstSend;
+        while (true) {
+            long intended;
+            if (intervalNanos > 0) {
+                intended = nextSend;
+                nextSend += intervalNanos;
+                waitUntil(intended);
+            } else {
+                waitUntil(firstSend);
+                intended = System.nanoTime();
+            }
+            if (intended >= endNanos || System.nanoTime() >= endNanos || Thread.currentThread().isInterrupted()) return;
+            
+            LoadRequest request = mix.next(random, keywords);
+            long start = System.nanoTime();
+            int results = 0;
+            boolean error = false;
+            try {
+                results = target.execute(request);
+            } catch (Exception e) {
+                error = true;
+            }
+            long end = System.nanoTime();
+            
+            if (intended >= measureFrom) {
+                stats.get(request.getOperation()).record(intended, start, end, results, error);
+            }
+        }
+    }
+    
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) return;
+        }
+    }
+}
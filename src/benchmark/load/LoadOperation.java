@@ -0,0 +1,19 @@
+package benchmark.load;
+
+/**
+ * Types de requêtes simulées par le générateur de charge
+ */
+public enum LoadOperation {
+    
+    /** Recherche de sites par mots-clés (requête mixte SQL + Lucene) */
+    SITE_SEARCH,
+    
+    /** Recherche d'hôtels par mots-clés */
+    HOTEL_SEARCH,
+    
+    /** Recherche d'hôtels par nombre d'étoiles minimum */
+    STAR_SEARCH,
+    
+    /** Génération d'offres complètes (planification) */
+    OFFER_BUILD
+}
@@ -0,0 +1,136 @@
+package benchmark.load;
+
+import persistence.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Résultat d'un test de charge : débit et latences par opération
+ * 
+ * Le rapport texte est destiné à la console ; l'export JSON permet de
+ * comparer deux exécutions (avant / après un changement de pool, de cache
+ * ou de planificateur).
+ */
+public class LoadReport {
+    
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 100 };
+    
+    private final Map<LoadOperation, OperationStats> stats;
+    private final int threads;
+    private final double targetRate;
+    private final long durationMillis;
+    
+    public LoadReport(Map<LoadOperation, OperationStats> stats, int threads, double targetRate, long durationMillis) {
+        this.stats = stats;
+        this.threads = threads;
+        this.targetRate = targetRate;
+        this.durationMillis = durationMillis;
+    }
+    
+    // ==================== Getters ====================
+    
+    public OperationStats getStats(LoadOperation operation) {
+        return stats.get(operation);
+    }
+    
+    public long getTotalCount() {
+        long total = 0;
+        for (OperationStats s : stats.values()) total += s.getCount();
+        return total;
+    }
+    
+    public long getTotalErrors() {
+        long total = 0;
+        for (OperationStats s : stats.values()) total += s.getErrors();
+        return total;
+    }
+    
+    /**
+     * Débit mesuré en requêtes/s
+     */
+    public double getThroughput() {
+        return getTotalCount() * 1000.0 / durationMillis;
+    }
+    
+    public double getThroughput(LoadOperation operation) {
+        return stats.get(operation).getCount() * 1000.0 / durationMillis;
+    }
+    
+    public boolean isCorrected() {
+        return targetRate > 0;
+    }
+    
+    // ==================== Rapports ====================
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Test de charge : %d clients, %s, %.1f s mesurées%n", threads,
+                targetRate > 0 ? String.format(Locale.ROOT, "cible %.0f req/s", targetRate) : "au plus vite",
+                durationMillis / 1000.0));
+        sb.append(String.format(Locale.ROOT, "Débit : %.1f req/s (%d requêtes, %d erreurs)%n",
+                getThroughput(), getTotalCount(), getTotalErrors()));
+        sb.append(String.format(Locale.ROOT, "%-13s %9s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "opération", "requêtes", "req/s", "erreurs", "vides", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<LoadOperation, OperationStats> entry : stats.entrySet()) {
+            OperationStats s = entry.getValue();
+            if (s.getCount() == 0) continue;
+            LatencyHistogram latency = isCorrected() ? s.getResponseTime() : s.getServiceTime();
+            sb.append(String.format(Locale.ROOT, "%-13s %9d %9.1f %7d %7d", entry.getKey(), s.getCount(),
+                    getThroughput(entry.getKey()), s.getErrors(), s.getEmptyResults()));
+            for (double p : PERCENTILES) {
+                sb.append(String.format(Locale.ROOT, " %9.2f", latency.percentileNanos(p) / 1e6));
+            }
+            sb.append(System.lineSeparator());
+        }
+        sb.append(isCorrected()
+                ? "Latences depuis l'envoi prévu (omission coordonnée corrigée)"
+                : "Latences de service (sans cadence cible : pas de correction de l'omission coordonnée)");
+        return sb.toString();
+    }
+    
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\n");
+        sb.append(String.format(Locale.ROOT, "  \"threads\" : %d,%n  \"targetRate\" : %.1f,%n  \"durationMillis\" : %d,%n",
+                threads, targetRate, durationMillis));
+        sb.append(String.format(Locale.ROOT, "  \"throughput\" : %.3f,%n  \"requests\" : %d,%n  \"errors\" : %d,%n",
+                getThroughput(), getTotalCount(), getTotalErrors()));
+        sb.append("  \"operations\" : {");
+        boolean first = true;
+        for (Map.Entry<LoadOperation, OperationStats> entry : stats.entrySet()) {
+            OperationStats s = entry.getValue();
+            if (s.getCount() == 0) continue;
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append(String.format(Locale.ROOT, "    \"%s\" : {%n      \"requests\" : %d,%n      \"throughput\" : %.3f,%n"
+                    + "      \"errors\" : %d,%n      \"empty\" : %d,%n", entry.getKey(), s.getCount(),
+                    getThroughput(entry.getKey()), s.getErrors(), s.getEmptyResults()));
+            sb.append("      \"serviceTimeMs\" : ").append(percentilesJson(s.getServiceTime())).append(",\n");
+            sb.append("      \"responseTimeMs\" : ").append(percentilesJson(s.getResponseTime())).append("\n    }");
+        }
+        return sb.append("\n  }\n}\n").toString();
+    }
+    
+    public void writeJson(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(toJson());
+        }
+    }
+    
+    private static String percentilesJson(LatencyHistogram histogram) {
+        StringBuilder sb = new StringBuilder("{ ");
+        sb.append(String.format(Locale.ROOT, "\"mean\" : %.3f", histogram.getMeanNanos() / 1e6));
+        for (double p : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, ", \"%s\" : %.3f",
+                    p == 100 ? "max" : "p" + (p == (int) p ? String.valueOf((int) p) : String.valueOf(p)),
+                    histogram.percentileNanos(p) / 1e6));
+        }
+        return sb.append(" }").toString();
+    }
+}
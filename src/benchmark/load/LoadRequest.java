@@ -0,0 +1,48 @@
+package benchmark.load;
+
+/**
+ * Requête tirée par le générateur : opération et paramètres
+ */
+public class LoadRequest {
+    
+    private final LoadOperation operation;
+    private final String keywords;
+    private final int stars;
+    private final double budget;
+    private final int nbDays;
+    
+    public LoadRequest(LoadOperation operation, String keywords, int stars, double budget, int nbDays) {
+        this.operation = operation;
+        this.keywords = keywords;
+        this.stars = stars;
+        this.budget = budget;
+        this.nbDays = nbDays;
+    }
+    
+    // ==================== Getters ====================
+    
+    public LoadOperation getOperation() {
+        return operation;
+    }
+    
+    public String getKeywords() {
+        return keywords;
+    }
+    
+    public int getStars() {
+        return stars;
+    }
+    
+    public double getBudget() {
+        return budget;
+    }
+    
+    public int getNbDays() {
+        return nbDays;
+    }
+    
+    @Override
+    public String toString() {
+        return operation + "[" + keywords + ", " + stars + "*, " + budget + "€, " + nbDays + "j]";
+    }
+}
@@ -0,0 +1,16 @@
+package benchmark.load;
+
+/**
+ * Système sous test : exécute une requête de façon synchrone
+ * 
+ * Une exception compte comme une erreur ; sa latence est tout de même mesurée.
+ */
+public interface LoadTarget {
+    
+    boolean supports(LoadOperation operation);
+    
+    /**
+     * @return nombre de résultats (sites, hôtels ou offres), pour vérifier que la réponse n'est pas vide
+     */
+    int execute(LoadRequest request) throws Exception;
+}
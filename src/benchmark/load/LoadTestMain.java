@@ -0,0 +1,84 @@
+package benchmark.load;
+
+import business.service.TravelService;
+import persistence.synthetic.SyntheticCatalog;
+import persistence.synthetic.SyntheticTravelDataAccess;
+
+import java.nio.file.Paths;
+
+/**
+ * Lance un test de charge sur TravelService (en processus) ou sur l'application web
+ * 
+ * Arguments (tous optionnels) :
+ *   --threads N          clients simultanés (8)
+ *   --duration s         durée mesurée (30)
+ *   --warmup s           échauffement non mesuré (5)
+ *   --rate req/s         débit cible total ; active la correction de l'omission coordonnée
+ *   --mix spec           ex : SITE_SEARCH=40,HOTEL_SEARCH=20,STAR_SEARCH=10,OFFER_BUILD=30
+ *   --zipf s             exposant de la loi de Zipf des mots-clés (1.1)
+ *   --seed n             graine des tirages et du catalogue synthétique
+ *   --sites N --hotels M taille du catalogue synthétique en processus (20000 / 1000)
+ *   --url base           cible HTTP (formulaire JSF) au lieu de TravelService
+ *   --json fichier.json  export du rapport
+ * 
+ * Exemple : java benchmark.load.LoadTestMain --threads 32 --rate 500 --json avant.json
+ */
+public class LoadTestMain {
+    
+    public static void main(String[] args) throws Exception {
+        int threads = 8;
+        long duration = 30;
+        long warmup = 5;
+        double rate = 0;
+        String mix = RequestMix.DEFAULT;
+        double zipf = 1.1;
+        long seed = SyntheticCatalog.DEFAULT_SEED;
+        int sites = 20_000;
+        int hotels = 1_000;
+        String url = null;
+        String json = null;
+        
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads":  threads = Integer.parseInt(args[++i]); break;
+                case "--duration": duration = Long.parseLong(args[++i]); break;
+                case "--warmup":   warmup = Long.parseLong(args[++i]); break;
+                case "--rate":     rate = Double.parseDouble(args[++i]); break;
+                case "--mix":      mix = args[++i]; break;
+                case "--zipf":     zipf = Double.parseDouble(args[++i]); break;
+                case "--seed":     seed = Long.parseLong(args[++i]); break;
+                case "--sites":    sites = Integer.parseInt(args[++i]); break;
+                case "--hotels":   hotels = Integer.parseInt(args[++i]); break;
+                case "--url":      url = args[++i]; break;
+                case "--json":     json = args[++i]; break;
+                default:
+                    System.err.println("Argument inconnu : " + args[i]);
+                    return;
+            }
+        }
+        
+        LoadTarget target;
+        if (url != null) {
+            target = new JsfHttpTarget(url, 30_000);
+            if (RequestMix.DEFAULT.equals(mix)) mix = "SITE_SEARCH=70,HOTEL_SEARCH=30";
+        } else {
+            System.out.println("Catalogue synthétique : " + sites + " sites, " + hotels + " hôtels");
+            target = new TravelServiceTarget(new TravelService(new SyntheticTravelDataAccess(seed, sites, hotels)));
+        }
+        
+        LoadReport report = new LoadGenerator(new ZipfDistribution(SyntheticCatalog.keywords(), zipf))
+                .threads(threads)
+                .warmupMillis(warmup * 1000)
+                .durationMillis(duration * 1000)
+                .targetRate(rate)
+                .seed(seed)
+                .mix(RequestMix.parse(mix))
+                .run(target);
+        
+        System.out.println(report);
+        if (json != null) {
+            report.writeJson(Paths.get(json));
+            System.out.println("Rapport JSON : " + json);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark.load;
+
+import persistence.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures d'une opération pendant la phase mesurée
+ * 
+ * - serviceTime : fin - envoi effectif (ce que voit le serveur)
+ * - responseTime : fin - envoi prévu par la cadence cible (ce que voit l'utilisateur) ;
+ *   inclut l'attente derrière les requêtes lentes, corrige l'omission coordonnée
+ */
+public class OperationStats {
+    
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder emptyResults = new LongAdder();
+    
+    void record(long intendedNanos, long startNanos, long endNanos, int results, boolean error) {
+        serviceTime.record(endNanos - startNanos);
+        responseTime.record(endNanos - intendedNanos);
+        if (error) {
+            errors.increment();
+        } else if (results == 0) {
+            emptyResults.increment();
+        }
+    }
+    
+    // ==================== Getters ====================
+    
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+    
+    public LatencyHistogram getResponseTime() {
+        return responseTime;
+    }
+    
+    public long getCount() {
+        return serviceTime.getCount();
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    public long getEmptyResults() {
+        return emptyResults.sum();
+    }
+}
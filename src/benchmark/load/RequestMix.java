@@ -0,0 +1,66 @@
+package benchmark.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Répartition des requêtes générées (poids par opération) et tirage de leurs paramètres
+ * 
+ * Format texte : "SITE_SEARCH=40,HOTEL_SEARCH=20,STAR_SEARCH=10,OFFER_BUILD=30"
+ */
+public class RequestMix {
+    
+    public static final String DEFAULT = "SITE_SEARCH=40,HOTEL_SEARCH=20,STAR_SEARCH=10,OFFER_BUILD=30";
+    
+    private final Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+    private int totalWeight;
+    
+    public static RequestMix parse(String spec) {
+        RequestMix mix = new RequestMix();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Mix invalide : " + part);
+            mix.weight(LoadOperation.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+    
+    public RequestMix weight(LoadOperation operation, int weight) {
+        if (weight < 0) throw new IllegalArgumentException("Poids négatif pour " + operation);
+        Integer previous = weights.put(operation, weight);
+        totalWeight += weight - (previous == null ? 0 : previous);
+        return this;
+    }
+    
+    public Map<LoadOperation, Integer> getWeights() {
+        return weights;
+    }
+    
+    // ==================== Tirage ====================
+    
+    public LoadOperation nextOperation(SplittableRandom random) {
+        if (totalWeight == 0) throw new IllegalStateException("Mix de requêtes vide");
+        int pick = random.nextInt(totalWeight);
+        for (Map.Entry<LoadOperation, Integer> entry : weights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("Poids incohérents");
+    }
+    
+    /**
+     * Requête complète : mots-clés selon Zipf (1 ou 2 mots), étoiles, budget et durée
+     */
+    public LoadRequest next(SplittableRandom random, ZipfDistribution keywords) {
+        LoadOperation operation = nextOperation(random);
+        String words = keywords.sample(random);
+        if (random.nextInt(4) == 0) {
+            words += " " + keywords.sample(random);
+        }
+        int stars = 1 + random.nextInt(5);
+        double budget = 500 + 250 * random.nextInt(19);
+        int nbDays = 2 + random.nextInt(6);
+        return new LoadRequest(operation, words, stars, budget, nbDays);
+    }
+}
@@ -0,0 +1,39 @@
+package benchmark.load;
+
+import business.service.TravelService;
+import business.simulation.DesiredIntensity;
+import business.simulation.OfferRequest;
+
+/**
+ * Cible en processus : appelle directement TravelService (pas de réseau ni de JSF)
+ */
+public class TravelServiceTarget implements LoadTarget {
+    
+    private final TravelService service;
+    
+    public TravelServiceTarget(TravelService service) {
+        this.service = service;
+    }
+    
+    @Override
+    public boolean supports(LoadOperation operation) {
+        return true;
+    }
+    
+    @Override
+    public int execute(LoadRequest request) {
+        switch (request.getOperation()) {
+            case SITE_SEARCH:
+                return service.searchSites(request.getKeywords()).size();
+            case HOTEL_SEARCH:
+                return service.searchHotels(request.getKeywords()).size();
+            case STAR_SEARCH:
+                return service.searchHotelsByStars(request.getStars()).size();
+            case OFFER_BUILD:
+                return service.buildOffers(new OfferRequest(request.getKeywords(), request.getBudget(),
+                        request.getNbDays(), DesiredIntensity.MEDIUM, request.getStars(), null)).size();
+            default:
+                throw new IllegalArgumentException("Opération inconnue : " + request.getOperation());
+        }
+    }
+}
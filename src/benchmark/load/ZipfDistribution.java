@@ -0,0 +1,60 @@
+package benchmark.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Tirage de mots-clés selon une loi de Zipf : P(rang k) proportionnel à 1 / k^s
+ * 
+ * Quelques mots-clés concentrent l'essentiel des recherches (comme en production),
+ * ce qui rend les mesures de cache et de déduplication réalistes.
+ * Tirage en O(log n) par recherche dichotomique dans la fonction de répartition.
+ */
+public class ZipfDistribution {
+    
+    private final List<String> values;
+    private final double[] cumulative;
+    
+    /**
+     * @param values valeurs classées de la plus fréquente à la moins fréquente
+     * @param exponent exposant s (1.0 = Zipf classique, 0 = uniforme)
+     */
+    public ZipfDistribution(List<String> values, double exponent) {
+        if (values.isEmpty() || exponent < 0) {
+            throw new IllegalArgumentException("Distribution de Zipf invalide : " + values.size()
+                    + " valeurs, exposant " + exponent);
+        }
+        this.values = values;
+        this.cumulative = new double[values.size()];
+        double sum = 0;
+        for (int k = 0; k < cumulative.length; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < cumulative.length; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+    
+    public int size() {
+        return values.size();
+    }
+    
+    /**
+     * Probabilité de la valeur de rang rank (0 = la plus fréquente)
+     */
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+    
+    public int sampleRank(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+    
+    public String sample(SplittableRandom random) {
+        return values.get(sampleRank(random));
+    }
+}
@@ -0,0 +1,13 @@
+package business.catalog;
+
+/**
+ * Prévenu quand la source de données remplace le catalogue servi
+ * (ex : snapshot remplacé par les données de la base)
+ *
+ * Les structures construites à partir de l'ancien catalogue (index,
+ * caches) doivent être reconstruites ou vidées.
+ */
+public interface CatalogListener {
+
+    void catalogReloaded();
+}
@@ -0,0 +1,48 @@
+package business.catalog;
+
+import business.domain.Hotel;
+import business.domain.Site;
+
+import java.util.List;
+
+/**
+ * Catalogue en colonnes : sites et hôtels partageant un même dictionnaire de chaînes
+ */
+public class ColumnarCatalog {
+    
+    private final StringDictionary strings;
+    private final SiteColumns sites;
+    private final HotelColumns hotels;
+    
+    public ColumnarCatalog(StringDictionary strings, SiteColumns sites, HotelColumns hotels) {
+        this.strings = strings;
+        this.sites = sites;
+        this.hotels = hotels;
+    }
+    
+    public static ColumnarCatalog of(List<? extends Site> sites, List<? extends Hotel> hotels) {
+        StringDictionary strings = new StringDictionary();
+        return new ColumnarCatalog(strings, SiteColumns.of(sites, strings), HotelColumns.of(hotels, strings));
+    }
+    
+    // ==================== Getters ====================
+    
+    public StringDictionary getStrings() {
+        return strings;
+    }
+    
+    public SiteColumns getSites() {
+        return sites;
+    }
+    
+    public HotelColumns getHotels() {
+        return hotels;
+    }
+    
+    /**
+     * Mémoire occupée (colonnes + dictionnaire), en octets
+     */
+    public long estimatedBytes() {
+        return sites.estimatedBytes() + hotels.estimatedBytes() + strings.estimatedBytes();
+    }
+}
@@ -0,0 +1,203 @@
+package business.catalog;
+
+import business.domain.Hotel;
+import business.domain.Position;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stockage en colonnes des hôtels (voir SiteColumns)
+ * 
+ * Une ligne coûte 4 + 8 + 8 + 4 + 1 + 4 x 2 = 33 octets ; les noms de
+ * plages, très répétés, sont partagés par le dictionnaire.
+ */
+public class HotelColumns {
+    
+    private final StringDictionary strings;
+    private int size;
+    private boolean idsAscending = true;
+    
+    private int[] id;
+    private double[] latitude;
+    private double[] longitude;
+    private float[] price;
+    private byte[] stars;
+    private int[] name;
+    private int[] beach;
+    
+    // ==================== Construction ====================
+    
+    public HotelColumns(StringDictionary strings, int capacity) {
+        this.strings = strings;
+        int n = Math.max(capacity, 16);
+        id = new int[n];
+        latitude = new double[n];
+        longitude = new double[n];
+        price = new float[n];
+        stars = new byte[n];
+        name = new int[n];
+        beach = new int[n];
+    }
+    
+    public static HotelColumns of(List<? extends Hotel> hotels, StringDictionary strings) {
+        HotelColumns columns = new HotelColumns(strings, hotels.size());
+        for (Hotel hotel : hotels) {
+            columns.add(hotel);
+        }
+        return columns;
+    }
+    
+    public int add(Hotel hotel) {
+        Position position = hotel.getPosition();
+        return add(hotel.getId(), position.getLatitude(), position.getLongitude(), hotel.getPrice(),
+                hotel.getStarRating(), hotel.getName(), hotel.getBeachName());
+    }
+    
+    /**
+     * @return numéro de la ligne ajoutée
+     */
+    public int add(int hotelId, double lat, double lon, double hotelPrice, int starRating,
+                   String hotelName, String beachName) {
+        if (size == id.length) {
+            resize(id.length + (id.length >> 1));
+        }
+        int row = size++;
+        idsAscending &= row == 0 || id[row - 1] < hotelId;
+        id[row] = hotelId;
+        latitude[row] = lat;
+        longitude[row] = lon;
+        price[row] = (float) hotelPrice;
+        stars[row] = (byte) starRating;
+        name[row] = strings.encode(hotelName);
+        beach[row] = strings.encode(beachName);
+        return row;
+    }
+    
+    public HotelColumns trim() {
+        if (size < id.length) {
+            resize(size);
+        }
+        return this;
+    }
+    
+    // ==================== Accès par ligne ====================
+    
+    public int size() {
+        return size;
+    }
+    
+    public int id(int row) {
+        return id[row];
+    }
+    
+    public double latitude(int row) {
+        return latitude[row];
+    }
+    
+    public double longitude(int row) {
+        return longitude[row];
+    }
+    
+    public double price(int row) {
+        return Math.round(price[row] * 100.0) / 100.0;
+    }
+    
+    public int stars(int row) {
+        return stars[row];
+    }
+    
+    public String name(int row) {
+        return strings.decode(name[row]);
+    }
+    
+    public String beachName(int row) {
+        return strings.decode(beach[row]);
+    }
+    
+    /**
+     * Ligne de l'id donné, -1 si absent (dichotomie si les ids ont été ajoutés triés)
+     */
+    public int rowOf(int key) {
+        if (idsAscending) {
+            int row = Arrays.binarySearch(id, 0, size, key);
+            return row >= 0 ? row : -1;
+        }
+        for (int row = 0; row < size; row++) {
+            if (id[row] == key) return row;
+        }
+        return -1;
+    }
+    
+    public HotelView view(int row) {
+        return new HotelView(this, row);
+    }
+    
+    public List<Hotel> asList() {
+        return new AbstractList<Hotel>() {
+            @Override
+            public Hotel get(int index) {
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Ligne " + index);
+                return view(index);
+            }
+            
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+    
+    public List<Hotel> views(int[] rows) {
+        return new AbstractList<Hotel>() {
+            @Override
+            public Hotel get(int index) {
+                return view(rows[index]);
+            }
+            
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+    
+    // ==================== Filtres en colonnes ====================
+    
+    public int[] selectByMinStars(int minStars) {
+        int[] rows = new int[size];
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            if (stars[row] >= minStars) rows[n++] = row;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+    
+    public int[] selectByPrice(double min, double max) {
+        int[] rows = new int[size];
+        int n = 0;
+        float lo = (float) min, hi = (float) max;
+        for (int row = 0; row < size; row++) {
+            float p = price[row];
+            if (p >= lo && p <= hi) rows[n++] = row;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+    
+    public long estimatedBytes() {
+        return (long) id.length * (4 + 8 + 8 + 4 + 1 + 4 + 4) + 7 * 16;
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private void resize(int n) {
+        id = Arrays.copyOf(id, n);
+        latitude = Arrays.copyOf(latitude, n);
+        longitude = Arrays.copyOf(longitude, n);
+        price = Arrays.copyOf(price, n);
+        stars = Arrays.copyOf(stars, n);
+        name = Arrays.copyOf(name, n);
+        beach = Arrays.copyOf(beach, n);
+    }
+}
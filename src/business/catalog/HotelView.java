@@ -0,0 +1,93 @@
+package business.catalog;
+
+import business.domain.Hotel;
+import business.domain.Position;
+
+/**
+ * Hôtel poids-mouche : une ligne de HotelColumns vue comme un Hotel (lecture seule)
+ */
+public class HotelView extends Hotel {
+    
+    private final HotelColumns columns;
+    private final int row;
+    
+    HotelView(HotelColumns columns, int row) {
+        super();
+        super.setId(columns.id(row));
+        this.columns = columns;
+        this.row = row;
+    }
+    
+    public int getRow() {
+        return row;
+    }
+    
+    // ==================== Lecture des colonnes ====================
+    
+    @Override
+    public String getName() {
+        return columns.name(row);
+    }
+    
+    @Override
+    public double getPrice() {
+        return columns.price(row);
+    }
+    
+    @Override
+    public Position getPosition() {
+        return new Position(columns.latitude(row), columns.longitude(row));
+    }
+    
+    @Override
+    public int getStarRating() {
+        return columns.stars(row);
+    }
+    
+    @Override
+    public String getBeachName() {
+        return columns.beachName(row);
+    }
+    
+    // ==================== Lecture seule ====================
+    
+    @Override
+    public void setId(int id) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setName(String name) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setPrice(double price) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setPosition(Position position) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setStarRating(int starRating) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setBeachName(String beachName) {
+        throw readOnly();
+    }
+    
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Vue de catalogue en lecture seule");
+    }
+    
+    @Override
+    public String toString() {
+        return "Hotel{Structure{id=" + getId() + ", name='" + getName() + "', price=" + getPrice() + "}"
+                + ", starRating=" + getStarRating() + ", beachName='" + getBeachName() + "'}";
+    }
+}
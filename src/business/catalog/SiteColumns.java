@@ -0,0 +1,328 @@
+package business.catalog;
+
+import business.domain.Position;
+import business.domain.Site;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stockage en colonnes des sites : un tableau primitif par attribut
+ * 
+ * Un Site classique coûte une dizaine d'objets (Position, LocalTime x2,
+ * Duration, chaînes) ; ici une ligne coûte 4 + 8 + 8 + 4 + 2 x 3 + 1 + 4 x 2 = 39 octets,
+ * les chaînes étant partagées par le dictionnaire.
+ * 
+ * - Filtres : les méthodes select* parcourent directement les colonnes
+ *   et renvoient des numéros de ligne (aucun objet créé)
+ * - Vues : view(i) / asList() renvoient des Site poids-mouche (SiteView)
+ *   qui lisent les colonnes ; le prix est stocké en float et arrondi au centime
+ * - Horaires et durée en minutes (-1 = non renseigné)
+ */
+public class SiteColumns {
+    
+    static final short NO_MINUTES = -1;
+    
+    private final StringDictionary strings;
+    private int size;
+    private boolean idsAscending = true;
+    
+    private int[] id;
+    private double[] latitude;
+    private double[] longitude;
+    private float[] price;
+    private short[] startMinute;
+    private short[] endMinute;
+    private short[] durationMinutes;
+    private byte[] historical;
+    private int[] name;
+    private int[] description;
+    
+    // ==================== Construction ====================
+    
+    public SiteColumns(StringDictionary strings, int capacity) {
+        this.strings = strings;
+        int n = Math.max(capacity, 16);
+        id = new int[n];
+        latitude = new double[n];
+        longitude = new double[n];
+        price = new float[n];
+        startMinute = new short[n];
+        endMinute = new short[n];
+        durationMinutes = new short[n];
+        historical = new byte[n];
+        name = new int[n];
+        description = new int[n];
+    }
+    
+    public static SiteColumns of(List<? extends Site> sites, StringDictionary strings) {
+        SiteColumns columns = new SiteColumns(strings, sites.size());
+        for (Site site : sites) {
+            columns.add(site);
+        }
+        return columns;
+    }
+    
+    public int add(Site site) {
+        Position position = site.getPosition();
+        return add(site.getId(), position.getLatitude(), position.getLongitude(), site.getPrice(),
+                site.isHistorical(), minutes(site.getStartTime()), minutes(site.getEndTime()),
+                site.getDuration() == null ? NO_MINUTES : site.getDuration().toMinutes(),
+                site.getName(), site.getDescription());
+    }
+    
+    /**
+     * Ajout sans objet intermédiaire (chargement depuis un snapshot ou un ResultSet)
+     * 
+     * @return numéro de la ligne ajoutée
+     */
+    public int add(int siteId, double lat, double lon, double sitePrice, boolean isHistorical,
+                   long start, long end, long duration, String siteName, String siteDescription) {
+        if (size == id.length) {
+            grow();
+        }
+        int row = size++;
+        idsAscending &= row == 0 || id[row - 1] < siteId;
+        id[row] = siteId;
+        latitude[row] = lat;
+        longitude[row] = lon;
+        price[row] = (float) sitePrice;
+        startMinute[row] = (short) start;
+        endMinute[row] = (short) end;
+        durationMinutes[row] = (short) duration;
+        historical[row] = (byte) (isHistorical ? 1 : 0);
+        name[row] = strings.encode(siteName);
+        description[row] = strings.encode(siteDescription);
+        return row;
+    }
+    
+    /**
+     * Ajuste les tableaux à la taille réelle (à appeler après le chargement)
+     */
+    public SiteColumns trim() {
+        if (size < id.length) {
+            resize(size);
+        }
+        return this;
+    }
+    
+    // ==================== Accès par ligne ====================
+    
+    public int size() {
+        return size;
+    }
+    
+    public StringDictionary getStrings() {
+        return strings;
+    }
+    
+    public int id(int row) {
+        return id[row];
+    }
+    
+    public double latitude(int row) {
+        return latitude[row];
+    }
+    
+    public double longitude(int row) {
+        return longitude[row];
+    }
+    
+    public double price(int row) {
+        return Math.round(price[row] * 100.0) / 100.0;
+    }
+    
+    public boolean isHistorical(int row) {
+        return historical[row] != 0;
+    }
+    
+    public int startMinute(int row) {
+        return startMinute[row];
+    }
+    
+    public int endMinute(int row) {
+        return endMinute[row];
+    }
+    
+    public int durationMinutes(int row) {
+        return durationMinutes[row];
+    }
+    
+    public String name(int row) {
+        return strings.decode(name[row]);
+    }
+    
+    public String description(int row) {
+        return strings.decode(description[row]);
+    }
+    
+    /**
+     * Ligne de l'id donné, -1 si absent (dichotomie si les ids ont été ajoutés triés)
+     */
+    public int rowOf(int key) {
+        if (idsAscending) {
+            int row = Arrays.binarySearch(id, 0, size, key);
+            return row >= 0 ? row : -1;
+        }
+        for (int row = 0; row < size; row++) {
+            if (id[row] == key) return row;
+        }
+        return -1;
+    }
+    
+    public SiteView view(int row) {
+        return new SiteView(this, row);
+    }
+    
+    /**
+     * Liste en lecture seule dont les éléments sont créés à la demande (vues)
+     */
+    public List<Site> asList() {
+        return new AbstractList<Site>() {
+            @Override
+            public Site get(int index) {
+                if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Ligne " + index);
+                return view(index);
+            }
+            
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+    
+    public List<Site> views(int[] rows) {
+        return new AbstractList<Site>() {
+            @Override
+            public Site get(int index) {
+                return view(rows[index]);
+            }
+            
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+    
+    // ==================== Filtres en colonnes ====================
+    
+    /**
+     * Lignes dont le prix est dans [min, max]
+     */
+    public int[] selectByPrice(double min, double max) {
+        int[] rows = new int[size];
+        int n = 0;
+        float lo = (float) min, hi = (float) max;
+        for (int row = 0; row < size; row++) {
+            float p = price[row];
+            if (p >= lo && p <= hi) rows[n++] = row;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+    
+    public int[] selectByType(boolean historicalSites) {
+        byte wanted = (byte) (historicalSites ? 1 : 0);
+        int[] rows = new int[size];
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            if (historical[row] == wanted) rows[n++] = row;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+    
+    /**
+     * Lignes ouvertes au moins durationMinutes entre fromMinute et toMinute
+     * (horaires non renseignés : toujours ouvert)
+     */
+    public int[] selectOpenBetween(int fromMinute, int toMinute) {
+        int[] rows = new int[size];
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            int open = startMinute[row] == NO_MINUTES ? 0 : startMinute[row];
+            int close = endMinute[row] == NO_MINUTES ? 24 * 60 : endMinute[row];
+            int visit = durationMinutes[row] == NO_MINUTES ? 0 : durationMinutes[row];
+            if (Math.min(close, toMinute) - Math.max(open, fromMinute) >= visit) rows[n++] = row;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+    
+    /**
+     * Lignes à moins de radiusKm du point : boîte englobante sur les colonnes
+     * latitude/longitude, puis distance exacte sur les seuls candidats
+     */
+    public int[] selectWithin(double lat, double lon, double radiusKm) {
+        double dLat = radiusKm / 111.19;
+        double dLon = radiusKm / (111.19 * Math.max(Math.cos(Math.toRadians(lat)), 1e-6));
+        double latMin = lat - dLat, latMax = lat + dLat;
+        double lonMin = lon - dLon, lonMax = lon + dLon;
+        Position center = new Position(lat, lon);
+        
+        int[] rows = new int[size];
+        int n = 0;
+        for (int row = 0; row < size; row++) {
+            double la = latitude[row];
+            if (la < latMin || la > latMax) continue;
+            double lo = longitude[row];
+            if (lo < lonMin || lo > lonMax) continue;
+            if (center.distanceTo(new Position(la, lo)) <= radiusKm) rows[n++] = row;
+        }
+        return Arrays.copyOf(rows, n);
+    }
+    
+    /**
+     * Restreint rows aux lignes également présentes dans other (tous deux triés)
+     */
+    public static int[] intersect(int[] rows, int[] other) {
+        int[] result = new int[Math.min(rows.length, other.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < rows.length && j < other.length; ) {
+            if (rows[i] < other[j]) i++;
+            else if (rows[i] > other[j]) j++;
+            else { result[n++] = rows[i]; i++; j++; }
+        }
+        return Arrays.copyOf(result, n);
+    }
+    
+    /**
+     * Mémoire occupée par les colonnes (hors dictionnaire partagé)
+     */
+    public long estimatedBytes() {
+        return (long) id.length * (4 + 8 + 8 + 4 + 2 + 2 + 2 + 1 + 4 + 4) + 10 * 16;
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private static long minutes(LocalTime time) {
+        return time == null ? NO_MINUTES : time.getHour() * 60 + time.getMinute();
+    }
+    
+    static LocalTime time(int minutes) {
+        return minutes == NO_MINUTES ? null : LocalTime.of(minutes / 60, minutes % 60);
+    }
+    
+    static Duration duration(int minutes) {
+        return minutes == NO_MINUTES ? null : Duration.ofMinutes(minutes);
+    }
+    
+    private void grow() {
+        resize(Math.max(16, id.length + (id.length >> 1)));
+    }
+    
+    private void resize(int n) {
+        id = Arrays.copyOf(id, n);
+        latitude = Arrays.copyOf(latitude, n);
+        longitude = Arrays.copyOf(longitude, n);
+        price = Arrays.copyOf(price, n);
+        startMinute = Arrays.copyOf(startMinute, n);
+        endMinute = Arrays.copyOf(endMinute, n);
+        durationMinutes = Arrays.copyOf(durationMinutes, n);
+        historical = Arrays.copyOf(historical, n);
+        name = Arrays.copyOf(name, n);
+        description = Arrays.copyOf(description, n);
+    }
+}
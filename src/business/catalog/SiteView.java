@@ -0,0 +1,127 @@
+package business.catalog;
+
+import business.domain.Position;
+import business.domain.Site;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * Site poids-mouche : une ligne de SiteColumns vue comme un Site
+ * 
+ * Ne stocke que la référence aux colonnes et le numéro de ligne ; les
+ * getters lisent les colonnes (Position, LocalTime, Duration créés à l'appel).
+ * Lecture seule : les setters lèvent UnsupportedOperationException.
+ * equals / hashCode reposent sur l'id (comme Structure).
+ */
+public class SiteView extends Site {
+    
+    private final SiteColumns columns;
+    private final int row;
+    
+    SiteView(SiteColumns columns, int row) {
+        super();
+        super.setId(columns.id(row));
+        this.columns = columns;
+        this.row = row;
+    }
+    
+    public int getRow() {
+        return row;
+    }
+    
+    // ==================== Lecture des colonnes ====================
+    
+    @Override
+    public String getName() {
+        return columns.name(row);
+    }
+    
+    @Override
+    public double getPrice() {
+        return columns.price(row);
+    }
+    
+    @Override
+    public Position getPosition() {
+        return new Position(columns.latitude(row), columns.longitude(row));
+    }
+    
+    @Override
+    public String getDescription() {
+        return columns.description(row);
+    }
+    
+    @Override
+    public LocalTime getStartTime() {
+        return SiteColumns.time(columns.startMinute(row));
+    }
+    
+    @Override
+    public LocalTime getEndTime() {
+        return SiteColumns.time(columns.endMinute(row));
+    }
+    
+    @Override
+    public Duration getDuration() {
+        return SiteColumns.duration(columns.durationMinutes(row));
+    }
+    
+    @Override
+    public boolean isHistorical() {
+        return columns.isHistorical(row);
+    }
+    
+    // ==================== Lecture seule ====================
+    
+    @Override
+    public void setId(int id) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setName(String name) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setPrice(double price) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setPosition(Position position) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setDescription(String description) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setStartTime(LocalTime startTime) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setEndTime(LocalTime endTime) {
+        throw readOnly();
+    }
+    
+    @Override
+    public void setDuration(Duration duration) {
+        throw readOnly();
+    }
+    
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Vue de catalogue en lecture seule");
+    }
+    
+    @Override
+    public String toString() {
+        return (isHistorical() ? "HistoricalSite{" : "ActivitySite{")
+                + "Structure{id=" + getId() + ", name='" + getName() + "', price=" + getPrice() + "}"
+                + ", description='" + getDescription() + "'}";
+    }
+}
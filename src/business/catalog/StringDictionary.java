@@ -0,0 +1,57 @@
+package business.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionnaire de chaînes : chaque valeur distincte est stockée une fois
+ * et référencée par un code int dans les colonnes (-1 = null)
+ * 
+ * Les noms de plages, catégories et descriptions répétées ne coûtent
+ * qu'un int par ligne. Ajouts non synchronisés : construire puis partager.
+ */
+public class StringDictionary {
+    
+    public static final int NULL_CODE = -1;
+    
+    private String[] values = new String[64];
+    private int size;
+    private final Map<String, Integer> codes = new HashMap<>();
+    
+    /**
+     * @return code de la valeur (existante ou ajoutée), NULL_CODE pour null
+     */
+    public int encode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code == null) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            code = size;
+            values[size++] = value;
+            codes.put(value, code);
+        }
+        return code;
+    }
+    
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Octets occupés par les chaînes (approximation : 2 octets par caractère + en-têtes)
+     */
+    public long estimatedBytes() {
+        long bytes = 16L + 4L * values.length;
+        for (int i = 0; i < size; i++) {
+            bytes += 40 + 2L * values[i].length();
+        }
+        return bytes;
+    }
+}
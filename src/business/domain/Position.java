@@ -6,6 +6,8 @@ package business.domain;
  */
 public class Position {
     
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    
     private double latitude;
     private double longitude;
     
@@ -46,8 +48,12 @@ public class Position {
      * @return distance en km
      */
     public double distanceTo(Position other) {
-        // TODO: Implémenter la formule de Haversine
-        return 0.0;
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                 + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                 * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
     }
     
     @Override
@@ -0,0 +1,33 @@
+package business.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : construction de l'index des hôtels (HotelIndex)
+ */
+@Name("tahiti.HotelIndexRebuild")
+@Label("Reconstruction de l'index des hôtels")
+@Category({ "Tahiti Travel", "Service" })
+@Description("Chargement des hôtels et construction de HotelIndex")
+public class HotelIndexRebuildEvent extends Event {
+    
+    @Label("Hôtels")
+    int hotels;
+    
+    public static HotelIndexRebuildEvent start() {
+        HotelIndexRebuildEvent event = new HotelIndexRebuildEvent();
+        event.begin();
+        return event;
+    }
+    
+    public void finish(int hotels) {
+        if (shouldCommit()) {
+            this.hotels = hotels;
+            commit();
+        }
+    }
+}
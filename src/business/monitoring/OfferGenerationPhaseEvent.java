@@ -0,0 +1,66 @@
+package business.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une phase de OfferGenerator.generate
+ * 
+ * - PLAN        : recherche des itinéraires sur la représentation compacte
+ * - MATERIALIZE : sélection des meilleures offres et conversion en objets métier
+ * 
+ * Les compteurs du cache d'excursions sont des écarts avant/après la phase ;
+ * le cache étant partagé, ils incluent les requêtes concurrentes.
+ */
+@Name("tahiti.OfferGenerationPhase")
+@Label("Phase de génération d'offres")
+@Category({ "Tahiti Travel", "Planning" })
+@Description("Phase de la génération d'offres, avec candidats explorés et succès du cache")
+public class OfferGenerationPhaseEvent extends Event {
+    
+    public static final String PLAN = "PLAN";
+    public static final String MATERIALIZE = "MATERIALIZE";
+    
+    @Label("Phase")
+    String phase;
+    
+    @Label("Intensité")
+    String intensity;
+    
+    @Label("Sites")
+    int sites;
+    
+    @Label("Hôtels")
+    int hotels;
+    
+    @Label("Candidats explorés")
+    int candidates;
+    
+    @Label("Succès du cache d'excursions")
+    long cacheHits;
+    
+    @Label("Échecs du cache d'excursions")
+    long cacheMisses;
+    
+    public static OfferGenerationPhaseEvent start(String phase) {
+        OfferGenerationPhaseEvent event = new OfferGenerationPhaseEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+    
+    public void finish(String intensity, int sites, int hotels, int candidates, long cacheHits, long cacheMisses) {
+        if (shouldCommit()) {
+            this.intensity = intensity;
+            this.sites = sites;
+            this.hotels = hotels;
+            this.candidates = candidates;
+            this.cacheHits = cacheHits;
+            this.cacheMisses = cacheMisses;
+            commit();
+        }
+    }
+}
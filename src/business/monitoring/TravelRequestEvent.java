@@ -0,0 +1,44 @@
+package business.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une requête traitée par TravelService
+ * 
+ * Usage : start(...) en entrée, finish(...) en sortie. Sans enregistrement
+ * JFR actif, shouldCommit() est faux et aucun champ n'est calculé.
+ */
+@Name("tahiti.TravelRequest")
+@Label("Requête TravelService")
+@Category({ "Tahiti Travel", "Service" })
+@Description("Recherche ou génération d'offres traitée par TravelService")
+public class TravelRequestEvent extends Event {
+    
+    @Label("Opération")
+    String operation;
+    
+    @Label("Mots-clés")
+    String keywords;
+    
+    @Label("Résultats")
+    int results;
+    
+    public static TravelRequestEvent start(String operation, String keywords) {
+        TravelRequestEvent event = new TravelRequestEvent();
+        event.operation = operation;
+        event.keywords = keywords;
+        event.begin();
+        return event;
+    }
+    
+    public void finish(int results) {
+        if (shouldCommit()) {
+            this.results = results;
+            commit();
+        }
+    }
+}
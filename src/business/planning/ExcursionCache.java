@@ -0,0 +1,236 @@
+package business.planning;
+
+import business.catalog.CatalogListener;
+import business.domain.Site;
+import business.simulation.OfferCatalog;
+
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache concurrent des évaluations d'excursions
+ * 
+ * Une même excursion (hôtel + 1 à 3 sites dans un ordre donné) est évaluée
+ * de nombreuses fois : à chaque jour, pour chaque stratégie et chaque offre
+ * candidate. Le cache est partagé par les stratégies via StrategyFactory.
+ * 
+ * Clé : deux long (id hôtel et id du 1er site, puis id des 2e et 3e sites,
+ * 32 bits chacun) et le nombre de sites. Les identifiants métier sont utilisés
+ * (et non les indices du catalogue) pour que la clé reste valable d'une
+ * requête à l'autre ; vider le cache (clear) quand le catalogue change.
+ * 
+ * Éviction : par taille, dans l'ordre d'insertion (FIFO) dès que maxSize est dépassé.
+ */
+public class ExcursionCache implements CatalogListener {
+    
+    public static final int DEFAULT_MAX_SIZE = 100_000;
+    
+    static final LocalTime DAY_START = LocalTime.of(8, 0);
+    static final LocalTime DAY_END = LocalTime.of(18, 0);
+    
+    private static final long FIELD_MASK = 0xFFFFFFFFL;
+    
+    private final int maxSize;
+    private final Map<Key, ExcursionEvaluation> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    // ==================== Constructeurs ====================
+    
+    public ExcursionCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+    
+    public ExcursionCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("La taille du cache doit être positive. Reçu: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+    
+    // ==================== Methods ====================
+    
+    /**
+     * Retourne l'évaluation de l'excursion hôtel -> sites[0..count) -> hôtel
+     * en la calculant au premier appel
+     * 
+     * @param catalog catalogue de la requête en cours
+     * @param hotel indice de l'hôtel dans le catalogue
+     * @param sites indices des sites dans le catalogue (dans l'ordre de visite)
+     * @param count nombre de sites utilisés dans le tableau (1 à 3)
+     * @return évaluation de l'excursion
+     */
+    public ExcursionEvaluation get(OfferCatalog catalog, int hotel, int[] sites, int count) {
+        Key key = key(catalog, hotel, sites, count);
+        if (key == null) {
+            misses.increment();
+            return evaluate(catalog, hotel, sites, count);
+        }
+        
+        ExcursionEvaluation cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        
+        misses.increment();
+        ExcursionEvaluation evaluation = evaluate(catalog, hotel, sites, count);
+        if (entries.putIfAbsent(key, evaluation) == null) {
+            insertionOrder.add(key);
+            evictIfNeeded();
+        }
+        return evaluation;
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    /**
+     * Taux de succès du cache (0.0 si aucun accès)
+     */
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+    
+    /**
+     * Catalogue remplacé : les évaluations (clés par identifiant métier) sont périmées
+     */
+    @Override
+    public void catalogReloaded() {
+        clear();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ExcursionCache{size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.2f}",
+                size(), maxSize, getHits(), getMisses(), getEvictions(), getHitRatio());
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private void evictIfNeeded() {
+        while (entries.size() > maxSize) {
+            Key eldest = insertionOrder.poll();
+            if (eldest == null) return;
+            if (entries.remove(eldest) != null) {
+                evictions.increment();
+            }
+        }
+    }
+    
+    /**
+     * Clé de l'excursion (id hôtel, id site 1..3), null si count hors de 1..3
+     */
+    static Key key(OfferCatalog catalog, int hotel, int[] sites, int count) {
+        if (count < 1 || count > 3) return null;
+        
+        long[] ids = new long[4];
+        ids[0] = catalog.getHotel(hotel).getId() & FIELD_MASK;
+        for (int i = 0; i < count; i++) {
+            ids[i + 1] = catalog.getSite(sites[i]).getId() & FIELD_MASK;
+        }
+        return new Key(ids[0] << 32 | ids[1], ids[2] << 32 | ids[3], count);
+    }
+    
+    /**
+     * Clé immuable d'une excursion (identifiants métier sur 32 bits)
+     */
+    static final class Key {
+        
+        private final long high;
+        private final long low;
+        private final int count;
+        
+        Key(long high, long low, int count) {
+            this.high = high;
+            this.low = low;
+            this.count = count;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return high == other.high && low == other.low && count == other.count;
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Long.hashCode(high) + Long.hashCode(low)) + count;
+        }
+    }
+    
+    /**
+     * Évalue l'excursion : départ de l'hôtel à DAY_START, attente de l'ouverture
+     * de chaque site si nécessaire, retour à l'hôtel avant DAY_END
+     */
+    static ExcursionEvaluation evaluate(OfferCatalog catalog, int hotel, int[] sites, int count) {
+        int hotelNode = catalog.hotelNode(hotel);
+        int current = hotelNode;
+        int clock = DAY_START.toSecondOfDay() / 60;
+        double cost = 0.0;
+        int comfort = 0;
+        boolean feasible = true;
+        
+        for (int i = 0; i < count; i++) {
+            Site site = catalog.getSite(sites[i]);
+            int node = catalog.siteNode(sites[i]);
+            long leg = catalog.leg(current, node);
+            
+            clock += catalog.legDuration(leg);
+            if (site.getStartTime() != null) {
+                clock = Math.max(clock, site.getStartTime().toSecondOfDay() / 60);
+            }
+            clock += site.getDuration() == null ? 0 : (int) site.getDuration().toMinutes();
+            if (site.getEndTime() != null && clock > site.getEndTime().toSecondOfDay() / 60) {
+                feasible = false;
+            }
+            
+            cost += site.getPrice() + catalog.legCost(leg);
+            comfort += catalog.legMode(leg).getComfortScore();
+            current = node;
+        }
+        
+        long back = catalog.leg(current, hotelNode);
+        clock += catalog.legDuration(back);
+        cost += catalog.legCost(back);
+        comfort += catalog.legMode(back).getComfortScore();
+        if (clock > DAY_END.toSecondOfDay() / 60) {
+            feasible = false;
+        }
+        
+        return new ExcursionEvaluation(cost, clock - DAY_START.toSecondOfDay() / 60, comfort, count + 1, feasible);
+    }
+}
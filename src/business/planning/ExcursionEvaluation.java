@@ -0,0 +1,56 @@
+package business.planning;
+
+/**
+ * Résultat mémorisé de l'évaluation d'une excursion (hôtel + 1 à 3 sites ordonnés)
+ * Objet immuable partagé entre les stratégies via ExcursionCache
+ */
+public final class ExcursionEvaluation {
+    
+    private final double cost;
+    private final int durationMinutes;
+    private final int comfortSum;
+    private final int legCount;
+    private final boolean feasible;
+    
+    // ==================== Constructeurs ====================
+    
+    public ExcursionEvaluation(double cost, int durationMinutes, int comfortSum, int legCount, boolean feasible) {
+        this.cost = cost;
+        this.durationMinutes = durationMinutes;
+        this.comfortSum = comfortSum;
+        this.legCount = legCount;
+        this.feasible = feasible;
+    }
+    
+    // ==================== Getters ====================
+    
+    /** Coût en euros (entrées des sites + trajets) */
+    public double getCost() {
+        return cost;
+    }
+    
+    /** Durée totale en minutes, attentes d'ouverture comprises */
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+    
+    /** Somme des scores de confort des trajets */
+    public int getComfortSum() {
+        return comfortSum;
+    }
+    
+    public int getLegCount() {
+        return legCount;
+    }
+    
+    /** Indique si tous les sites sont visités dans leurs horaires et le retour fait dans la journée */
+    public boolean isFeasible() {
+        return feasible;
+    }
+    
+    @Override
+    public String toString() {
+        return "ExcursionEvaluation{cost=" + cost + ", durationMinutes=" + durationMinutes +
+               ", comfortSum=" + comfortSum + ", legCount=" + legCount + ", feasible=" + feasible + "}";
+    }
+}
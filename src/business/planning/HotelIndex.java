@@ -0,0 +1,249 @@
+package business.planning;
+
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Structure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index des hôtels candidats pour la génération d'offres
+ * Construit une fois pour le catalogue d'hôtels, interrogé à chaque requête.
+ * 
+ * Deux index :
+ * - étoiles / prix : pour chaque nombre d'étoiles, hôtels triés par prix
+ *   (dénombrement des hôtels éligibles par recherche dichotomique)
+ * - spatial : grille régulière en latitude/longitude, parcourue en anneaux
+ *   autour du barycentre des sites pour trouver les k plus proches
+ */
+public class HotelIndex {
+    
+    private static final int MAX_STARS = 5;
+    private static final double CELL_DEGREES = 0.05;
+    private static final double KM_PER_DEGREE = 111.19;
+    
+    private final Hotel[] hotels;
+    private final int[][] byStars;
+    private final Map<Long, int[]> grid = new HashMap<>();
+    private final int minRow;
+    private final int maxRow;
+    private final int minCol;
+    private final int maxCol;
+    private final double maxAbsLatitude;
+    
+    // ==================== Constructeurs ====================
+    
+    public HotelIndex(List<Hotel> hotels) {
+        this.hotels = hotels.toArray(new Hotel[0]);
+        this.byStars = buildStarsIndex();
+        
+        int rMin = Integer.MAX_VALUE, rMax = Integer.MIN_VALUE;
+        int cMin = Integer.MAX_VALUE, cMax = Integer.MIN_VALUE;
+        double maxAbsLat = 0.0;
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int h = 0; h < this.hotels.length; h++) {
+            Position p = this.hotels[h].getPosition();
+            int row = row(p);
+            int col = col(p);
+            rMin = Math.min(rMin, row);
+            rMax = Math.max(rMax, row);
+            cMin = Math.min(cMin, col);
+            cMax = Math.max(cMax, col);
+            maxAbsLat = Math.max(maxAbsLat, Math.abs(p.getLatitude()));
+            cells.computeIfAbsent(cellKey(row, col), k -> new ArrayList<>()).add(h);
+        }
+        for (Map.Entry<Long, List<Integer>> e : cells.entrySet()) {
+            grid.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        this.minRow = rMin;
+        this.maxRow = rMax;
+        this.minCol = cMin;
+        this.maxCol = cMax;
+        this.maxAbsLatitude = maxAbsLat;
+    }
+    
+    // ==================== Methods ====================
+    
+    public int size() {
+        return hotels.length;
+    }
+    
+    /**
+     * Hôtel d'identifiant id (parcours linéaire, un appel par requête), null si absent
+     */
+    public Hotel findById(int id) {
+        for (Hotel hotel : hotels) {
+            if (hotel.getId() == id) return hotel;
+        }
+        return null;
+    }
+    
+    /**
+     * Nombre d'hôtels d'au moins minStars étoiles et de prix par nuit <= maxPrice
+     */
+    public int countEligible(int minStars, double maxPrice) {
+        int count = 0;
+        for (int stars = clampStars(minStars); stars <= MAX_STARS; stars++) {
+            count += upperBound(byStars[stars], maxPrice);
+        }
+        return count;
+    }
+    
+    /**
+     * Hôtels éligibles, triés par étoiles décroissantes puis prix croissant
+     */
+    public List<Hotel> findEligible(int minStars, double maxPrice) {
+        List<Hotel> result = new ArrayList<>();
+        for (int stars = MAX_STARS; stars >= clampStars(minStars); stars--) {
+            int end = upperBound(byStars[stars], maxPrice);
+            for (int i = 0; i < end; i++) {
+                result.add(hotels[byStars[stars][i]]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Retourne les k hôtels éligibles les plus proches de center
+     * (triés par distance croissante). Sans centre, les k moins chers.
+     * 
+     * @param center barycentre des sites (peut être null)
+     * @param k nombre maximum d'hôtels
+     * @param minStars nombre minimum d'étoiles (ramené dans [0, 5])
+     * @param maxPrice prix maximum par nuit
+     */
+    public List<Hotel> findNearest(Position center, int k, int minStars, double maxPrice) {
+        if (k <= 0 || hotels.length == 0) return new ArrayList<>();
+        // Même filtre étoiles quel que soit le chemin (tri, index, anneaux)
+        minStars = clampStars(minStars);
+        
+        if (center == null) {
+            List<Hotel> eligible = findEligible(minStars, maxPrice);
+            eligible.sort(Comparator.comparingDouble(Hotel::getPrice));
+            return new ArrayList<>(eligible.subList(0, Math.min(k, eligible.size())));
+        }
+        
+        int eligibleCount = countEligible(minStars, maxPrice);
+        if (eligibleCount == 0) return new ArrayList<>();
+        if (eligibleCount <= k) {
+            List<Hotel> eligible = findEligible(minStars, maxPrice);
+            eligible.sort(Comparator.comparingDouble(h -> h.getPosition().distanceTo(center)));
+            return eligible;
+        }
+        
+        return ringSearch(center, k, minStars, maxPrice);
+    }
+    
+    /**
+     * Barycentre des positions (null si la liste est vide)
+     */
+    public static Position centroid(List<? extends Structure> structures) {
+        if (structures == null || structures.isEmpty()) return null;
+        double lat = 0.0;
+        double lon = 0.0;
+        for (Structure s : structures) {
+            lat += s.getPosition().getLatitude();
+            lon += s.getPosition().getLongitude();
+        }
+        return new Position(lat / structures.size(), lon / structures.size());
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    /**
+     * Parcours en anneaux de la grille autour de la cellule du centre.
+     * S'arrête dès que l'anneau suivant ne peut plus contenir d'hôtel
+     * plus proche que le k-ième trouvé.
+     */
+    private List<Hotel> ringSearch(Position center, int k, int minStars, double maxPrice) {
+        PriorityQueue<double[]> farthestFirst = new PriorityQueue<>(k + 1,
+                (a, b) -> Double.compare(b[0], a[0]));
+        // Borne basse de la largeur d'une cellule (les longitudes rétrécissent avec la latitude)
+        double maxLat = Math.min(89.0, Math.max(maxAbsLatitude, Math.abs(center.getLatitude())));
+        double kmPerCell = CELL_DEGREES * KM_PER_DEGREE * Math.cos(Math.toRadians(maxLat));
+        int row0 = row(center);
+        int col0 = col(center);
+        int maxRing = Math.max(Math.max(Math.abs(row0 - minRow), Math.abs(row0 - maxRow)),
+                               Math.max(Math.abs(col0 - minCol), Math.abs(col0 - maxCol)));
+        
+        for (int r = 0; r <= maxRing; r++) {
+            double ringLowerBound = Math.max(0, r - 1) * kmPerCell;
+            if (farthestFirst.size() == k && ringLowerBound > farthestFirst.peek()[0]) break;
+            
+            for (int dr = -r; dr <= r; dr++) {
+                int step = (Math.abs(dr) == r) ? 1 : 2 * r;
+                for (int dc = -r; dc <= r; dc += step) {
+                    int[] cell = grid.get(cellKey(row0 + dr, col0 + dc));
+                    if (cell == null) continue;
+                    for (int h : cell) {
+                        Hotel hotel = hotels[h];
+                        if (clampStars(hotel.getStarRating()) < minStars || hotel.getPrice() > maxPrice) continue;
+                        farthestFirst.add(new double[] {hotel.getPosition().distanceTo(center), h});
+                        if (farthestFirst.size() > k) farthestFirst.poll();
+                    }
+                }
+            }
+        }
+        
+        Hotel[] result = new Hotel[farthestFirst.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = hotels[(int) farthestFirst.poll()[1]];
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+    
+    private int[][] buildStarsIndex() {
+        List<List<Integer>> groups = new ArrayList<>();
+        for (int stars = 0; stars <= MAX_STARS; stars++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int h = 0; h < hotels.length; h++) {
+            groups.get(clampStars(hotels[h].getStarRating())).add(h);
+        }
+        int[][] index = new int[MAX_STARS + 1][];
+        for (int stars = 0; stars <= MAX_STARS; stars++) {
+            index[stars] = groups.get(stars).stream()
+                    .sorted(Comparator.comparingDouble(h -> hotels[h].getPrice()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return index;
+    }
+    
+    /**
+     * Nombre d'hôtels du groupe (trié par prix) dont le prix est <= maxPrice
+     */
+    private int upperBound(int[] group, double maxPrice) {
+        int lo = 0;
+        int hi = group.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (hotels[group[mid]].getPrice() <= maxPrice) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+    
+    /** Nombre d'étoiles ramené dans [0, 5] (ItineraryPlanner applique le même filtre) */
+    static int clampStars(int stars) {
+        return Math.max(0, Math.min(MAX_STARS, stars));
+    }
+    
+    private static int row(Position p) {
+        return (int) Math.floor(p.getLatitude() / CELL_DEGREES);
+    }
+    
+    private static int col(Position p) {
+        return (int) Math.floor(p.getLongitude() / CELL_DEGREES);
+    }
+    
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,158 @@
+package business.planning;
+
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.simulation.CompactDay;
+import business.simulation.CompactOffer;
+import business.simulation.DayList;
+import business.simulation.OfferCatalog;
+import business.simulation.OfferRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Algorithme de planification commun aux stratégies d'intensité
+ * 
+ * Construit les offres candidates en représentation compacte :
+ * - sélection de quelques hôtels proches du barycentre des sites
+ * - pour chaque hôtel, excursions gloutonnes (site le plus proche d'abord)
+ *   dans la limite de sites par jour, des horaires d'ouverture des sites
+ *   et de la durée d'une journée (évaluations mémorisées dans ExcursionCache)
+ */
+final class ItineraryPlanner {
+    
+    static final int MAX_HOTEL_CANDIDATES = 3;
+    
+    private ItineraryPlanner() {
+    }
+    
+    // ==================== Représentation compacte ====================
+    
+    /**
+     * Construit une offre candidate par hôtel retenu
+     */
+    static List<CompactOffer> plan(OfferRequest req, OfferCatalog catalog, ExcursionCache cache,
+                                   int maxSitesPerDay, IntPredicate isRestDay) {
+        List<CompactOffer> offers = new ArrayList<>();
+        for (int hotel : candidateHotels(catalog, req.getStarRating())) {
+            offers.add(planForHotel(req, catalog, cache, hotel, maxSitesPerDay, isRestDay));
+        }
+        return offers;
+    }
+    
+    /**
+     * Hôtels d'au moins minStars étoiles les plus proches du barycentre des sites
+     * (les moins chers si aucun site). Tri direct des lignes du catalogue : il ne
+     * contient en général que les quelques hôtels présélectionnés par
+     * OfferGenerator dans le HotelIndex, un index ne se rentabiliserait pas.
+     */
+    static int[] candidateHotels(OfferCatalog catalog, int minStars) {
+        int stars = HotelIndex.clampStars(minStars);
+        Position center = centroid(catalog);
+        int n = catalog.getNbHotels();
+        int[] eligible = new int[n];
+        double[] key = new double[n];
+        int count = 0;
+        for (int h = 0; h < n; h++) {
+            Hotel hotel = catalog.getHotel(h);
+            if (HotelIndex.clampStars(hotel.getStarRating()) < stars) continue;
+            eligible[count] = h;
+            key[h] = center != null ? hotel.getPosition().distanceTo(center) : hotel.getPrice();
+            count++;
+        }
+        // Tri stable : à égalité, ordre du catalogue
+        return Arrays.stream(eligible, 0, count).boxed()
+                .sorted(Comparator.comparingDouble(h -> key[h]))
+                .limit(MAX_HOTEL_CANDIDATES)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+    
+    private static CompactOffer planForHotel(OfferRequest req, OfferCatalog catalog, ExcursionCache cache,
+                                             int hotel, int maxSitesPerDay, IntPredicate isRestDay) {
+        boolean[] visited = new boolean[catalog.getNbSites()];
+        CompactDay[] days = new CompactDay[req.getNbDays()];
+        for (int d = 0; d < days.length; d++) {
+            int[] sites = isRestDay.test(d) ? new int[0] : nextExcursion(catalog, cache, hotel, visited, maxSitesPerDay);
+            days[d] = (sites.length == 0)
+                    ? CompactDay.rest(hotel)
+                    : CompactDay.excursion(catalog, hotel, sites);
+        }
+        return CompactOffer.of(catalog, DayList.of(days));
+    }
+    
+    /**
+     * Choisit les sites d'une excursion : site non visité le plus proche,
+     * tant que l'excursion reste faisable (horaires et retour dans la journée)
+     */
+    private static int[] nextExcursion(OfferCatalog catalog, ExcursionCache cache, int hotel,
+                                       boolean[] visited, int maxSites) {
+        int[] chosen = new int[maxSites];
+        int count = 0;
+        int current = catalog.hotelNode(hotel);
+        
+        while (count < maxSites) {
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int s = 0; s < catalog.getNbSites(); s++) {
+                if (visited[s]) continue;
+                double distance = catalog.distance(current, catalog.siteNode(s));
+                if (distance >= bestDistance) continue;
+                
+                chosen[count] = s;
+                if (cache.get(catalog, hotel, chosen, count + 1).isFeasible()) {
+                    best = s;
+                    bestDistance = distance;
+                }
+            }
+            if (best < 0) break;
+            visited[best] = true;
+            chosen[count++] = best;
+            current = catalog.siteNode(best);
+        }
+        return Arrays.copyOf(chosen, count);
+    }
+    
+    private static Position centroid(OfferCatalog catalog) {
+        if (catalog.getNbSites() == 0) return null;
+        double lat = 0.0;
+        double lon = 0.0;
+        for (int s = 0; s < catalog.getNbSites(); s++) {
+            lat += catalog.getSite(s).getPosition().getLatitude();
+            lon += catalog.getSite(s).getPosition().getLongitude();
+        }
+        return new Position(lat / catalog.getNbSites(), lon / catalog.getNbSites());
+    }
+    
+    // ==================== Objets métier ====================
+    
+    /**
+     * Hôtel d'au moins minStars étoiles le plus proche du barycentre des sites
+     */
+    static Hotel selectBestHotel(List<Site> sites, List<Hotel> hotels, int minStars) {
+        OfferCatalog catalog = new OfferCatalog(sites, hotels);
+        int[] candidates = candidateHotels(catalog, minStars);
+        return candidates.length == 0 ? null : catalog.getHotel(candidates[0]);
+    }
+    
+    /**
+     * Site le plus proche de l'hôtel
+     */
+    static Site selectNearestSite(Hotel hotel, List<Site> sites) {
+        Site nearest = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (Site site : sites) {
+            double distance = hotel.getPosition().distanceTo(site.getPosition());
+            if (distance < bestDistance) {
+                nearest = site;
+                bestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+}
@@ -2,9 +2,12 @@ package business.planning;
 
 import business.domain.Hotel;
 import business.domain.Site;
+import business.simulation.CompactOffer;
 import business.simulation.Offer;
+import business.simulation.OfferCatalog;
 import business.simulation.OfferRequest;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,40 +20,57 @@ public class LowIntensityStrategy implements OfferStrategy {
     private static final int REST_FREQUENCY = 2;
     private static final int MAX_SITES_PER_DAY = 2;
     
+    private final ExcursionCache excursionCache;
+    
     // ==================== Constructeurs ====================
     
     public LowIntensityStrategy() {
+        this(new ExcursionCache());
+    }
+    
+    /**
+     * @param excursionCache cache d'évaluation des excursions (partagé entre stratégies)
+     */
+    public LowIntensityStrategy(ExcursionCache excursionCache) {
+        this.excursionCache = excursionCache;
     }
     
     // ==================== Methods ====================
     
     @Override
     public List<Offer> buildOffers(OfferRequest req, List<Site> sites, List<Hotel> hotels) {
-        // TODO: Implémenter la génération d'offres relaxantes
-        return null;
+        OfferCatalog catalog = new OfferCatalog(sites, hotels);
+        List<Offer> offers = new ArrayList<>();
+        for (CompactOffer candidate : buildCompactOffers(req, catalog)) {
+            offers.add(candidate.toOffer(catalog));
+        }
+        return offers;
+    }
+    
+    @Override
+    public List<CompactOffer> buildCompactOffers(OfferRequest req, OfferCatalog catalog) {
+        return ItineraryPlanner.plan(req, catalog, excursionCache, MAX_SITES_PER_DAY, this::isRestDay);
     }
     
     /**
      * Sélectionne le meilleur hôtel selon les critères
      */
     protected Hotel selectBestHotel(List<Site> sites, List<Hotel> hotels, int minStars) {
-        // TODO: Implémenter la sélection
-        return null;
+        return ItineraryPlanner.selectBestHotel(sites, hotels, minStars);
     }
     
     /**
      * Sélectionne le site le plus proche de l'hôtel
      */
     protected Site selectNearestSite(Hotel hotel, List<Site> remainingSites) {
-        // TODO: Implémenter la sélection
-        return null;
+        return ItineraryPlanner.selectNearestSite(hotel, remainingSites);
     }
     
     /**
      * Détermine si le jour donné est un jour de repos
      */
     protected boolean isRestDay(int dayIndex) {
-        // TODO: Implémenter selon REST_FREQUENCY
-        return false;
+        // Le dernier jour de chaque cycle de REST_FREQUENCY jours est un jour de repos
+        return (dayIndex + 1) % REST_FREQUENCY == 0;
     }
 }
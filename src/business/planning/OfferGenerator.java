@@ -2,11 +2,16 @@ package business.planning;
 
 import business.domain.Hotel;
 import business.domain.Site;
+import business.monitoring.OfferGenerationPhaseEvent;
 import business.scoring.ComfortScorer;
 import business.scoring.PriceCalculator;
+import business.simulation.CompactOffer;
 import business.simulation.Offer;
+import business.simulation.OfferCatalog;
 import business.simulation.OfferRequest;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -16,6 +21,15 @@ import java.util.List;
  */
 public class OfferGenerator {
     
+    /** Nombre maximum d'offres retournées */
+    private static final int MAX_OFFERS = 5;
+    
+    /** Nombre d'hôtels transmis à la recherche d'itinéraires */
+    private static final int MAX_HOTEL_CANDIDATES = 5;
+    
+    /** Part du budget journalier consacrée à l'hôtel */
+    private static final double HOTEL_BUDGET_SHARE = 0.7;
+    
     private StrategyFactory factory;
     private PriceCalculator priceCalculator;
     private ComfortScorer comfortScorer;
@@ -70,23 +84,89 @@ public class OfferGenerator {
      * @return liste d'offres complètes (avec prix et score)
      */
     public List<Offer> generate(OfferRequest req, List<Site> sites, List<Hotel> hotels) {
-        // TODO: Implémenter la génération
-        return null;
+        OfferStrategy strategy = factory.getStrategy(req.getIntensity());
+        ExcursionCache cache = factory.getExcursionCache();
+        String intensity = String.valueOf(req.getIntensity());
+        
+        // 1. Recherche sur la représentation compacte
+        OfferGenerationPhaseEvent plan = OfferGenerationPhaseEvent.start(OfferGenerationPhaseEvent.PLAN);
+        long hits = cache != null ? cache.getHits() : 0;
+        long misses = cache != null ? cache.getMisses() : 0;
+        OfferCatalog catalog = new OfferCatalog(sites, hotels);
+        List<CompactOffer> candidates = strategy.buildCompactOffers(req, catalog);
+        if (plan.shouldCommit()) {
+            plan.finish(intensity, sites.size(), hotels.size(), candidates.size(),
+                    cache != null ? cache.getHits() - hits : 0, cache != null ? cache.getMisses() - misses : 0);
+        }
+        
+        // 2. Conversion en objets métier des seules meilleures offres
+        OfferGenerationPhaseEvent materialize = OfferGenerationPhaseEvent.start(OfferGenerationPhaseEvent.MATERIALIZE);
+        List<Offer> offers = new ArrayList<>();
+        for (CompactOffer candidate : selectTopOffers(req, catalog, candidates)) {
+            Offer offer = candidate.toOffer(catalog);
+            offer.setTotalPrice(priceCalculator.calculateTotal(offer));
+            offer.setComfortScore(comfortScorer.calculate(offer));
+            offers.add(offer);
+        }
+        materialize.finish(intensity, sites.size(), hotels.size(), offers.size(), 0, 0);
+        return offers;
+    }
+    
+    /**
+     * Génère les offres en ne planifiant que les hôtels candidats de l'index
+     * (voir selectCandidateHotels)
+     * @param req les critères de recherche
+     * @param sites la liste des sites disponibles
+     * @param hotels index de tous les hôtels du catalogue
+     * @return liste d'offres complètes (avec prix et score)
+     */
+    public List<Offer> generate(OfferRequest req, List<Site> sites, HotelIndex hotels) {
+        return generate(req, sites, selectCandidateHotels(req, sites, hotels));
+    }
+    
+    /**
+     * Garde les MAX_OFFERS meilleures offres candidates :
+     * offres dans le budget d'abord, puis meilleur confort, puis prix le plus bas
+     */
+    private List<CompactOffer> selectTopOffers(OfferRequest req, OfferCatalog catalog, List<CompactOffer> candidates) {
+        Comparator<CompactOffer> order = Comparator
+                .comparing((CompactOffer c) -> req.getBudget() > 0 && c.getTotalPrice() > req.getBudget())
+                .thenComparing(Comparator.comparingInt((CompactOffer c) -> comfortScore(catalog, c)).reversed())
+                .thenComparingDouble(CompactOffer::getTotalPrice);
+        
+        List<CompactOffer> sorted = new ArrayList<>(candidates);
+        sorted.sort(order);
+        return sorted.subList(0, Math.min(MAX_OFFERS, sorted.size()));
+    }
+    
+    private int comfortScore(OfferCatalog catalog, CompactOffer offer) {
+        Hotel hotel = offer.getHotel() < 0 ? null : catalog.getHotel(offer.getHotel());
+        return comfortScorer.calculate(offer.getComfortSum(), offer.getLegCount(),
+                offer.getRestDaysCount(), offer.getNbDays(), hotel);
     }
     
     /**
-     * Sélectionne le meilleur hôtel pour les sites donnés
+     * Sélectionne les hôtels candidats via l'index :
+     * les k plus proches du barycentre des sites parmi ceux qui respectent
+     * les étoiles et la part hôtel du budget par nuit.
+     * Si aucun hôtel ne tient dans le budget, la contrainte de prix est levée
+     * (les offres hors budget sont classées en dernier par selectTopOffers).
      */
-    private Hotel selectBestHotel(List<Site> sites, int starRating) {
-        // TODO: Implémenter la sélection
-        return null;
+    private List<Hotel> selectCandidateHotels(OfferRequest req, List<Site> sites, HotelIndex hotels) {
+        double maxPricePerNight = req.getBudget() / req.getNbDays() * HOTEL_BUDGET_SHARE;
+        List<Hotel> candidates = hotels.findNearest(HotelIndex.centroid(sites), MAX_HOTEL_CANDIDATES,
+                req.getStarRating(), maxPricePerNight);
+        if (candidates.isEmpty()) {
+            candidates = hotels.findNearest(HotelIndex.centroid(sites), MAX_HOTEL_CANDIDATES,
+                    req.getStarRating(), Double.MAX_VALUE);
+        }
+        return candidates;
     }
     
     /**
      * Sélectionne le site le plus proche de l'hôtel
      */
     private Site selectNearestSite(Hotel hotel, List<Site> sites) {
-        // TODO: Implémenter la sélection
-        return null;
+        return ItineraryPlanner.selectNearestSite(hotel, sites);
     }
 }
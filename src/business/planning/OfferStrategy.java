@@ -2,7 +2,9 @@ package business.planning;
 
 import business.domain.Hotel;
 import business.domain.Site;
+import business.simulation.CompactOffer;
 import business.simulation.Offer;
+import business.simulation.OfferCatalog;
 import business.simulation.OfferRequest;
 
 import java.util.List;
@@ -21,4 +23,14 @@ public interface OfferStrategy {
      * @return liste d'offres générées
      */
     List<Offer> buildOffers(OfferRequest req, List<Site> sites, List<Hotel> hotels);
+    
+    /**
+     * Construit les offres candidates en représentation compacte
+     * Utilisé par OfferGenerator : seules les meilleures offres sont
+     * ensuite converties en objets Offer
+     * @param req les critères de recherche
+     * @param catalog le catalogue indexé des sites et hôtels disponibles
+     * @return liste d'offres candidates
+     */
+    List<CompactOffer> buildCompactOffers(OfferRequest req, OfferCatalog catalog);
 }
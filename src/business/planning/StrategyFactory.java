@@ -5,12 +5,31 @@ import business.simulation.DesiredIntensity;
 /**
  * Factory pour créer la bonne stratégie selon l'intensité demandée
  * Pattern Factory
+ * 
+ * Toutes les stratégies créées partagent le même ExcursionCache
  */
 public class StrategyFactory {
     
+    private ExcursionCache excursionCache;
+    
     // ==================== Constructeurs ====================
     
     public StrategyFactory() {
+        this.excursionCache = new ExcursionCache();
+    }
+    
+    public StrategyFactory(ExcursionCache excursionCache) {
+        this.excursionCache = excursionCache;
+    }
+    
+    // ==================== Getters & Setters ====================
+    
+    public ExcursionCache getExcursionCache() {
+        return excursionCache;
+    }
+    
+    public void setExcursionCache(ExcursionCache excursionCache) {
+        this.excursionCache = excursionCache;
     }
     
     // ==================== Methods ====================
@@ -21,7 +40,14 @@ public class StrategyFactory {
      * @return la stratégie correspondante
      */
     public OfferStrategy getStrategy(DesiredIntensity intensity) {
-        // TODO: Implémenter le switch
-        return null;
+        switch (intensity) {
+            case LOW:
+                return new LowIntensityStrategy(excursionCache);
+            case HIGH:
+                return new HighIntensityStrategy(excursionCache);
+            case MEDIUM:
+            default:
+                return new MediumIntensityStrategy(excursionCache);
+        }
     }
 }
@@ -0,0 +1,157 @@
+package business.scoring;
+
+import business.domain.Hotel;
+import business.simulation.DayPlan;
+import business.simulation.Offer;
+import business.simulation.TravelLeg;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Contexte de score de confort incrémental
+ * Conserve les agrégats d'une offre de base (somme de confort des trajets,
+ * nombre de trajets, jours de repos, hôtel) et retourne la variation
+ * de score d'une modification en O(1).
+ * 
+ * Les indices de jour correspondent à la position dans Offer.getDays().
+ */
+public class ComfortContext {
+    
+    private final int[] dayComfortSums;
+    private final int[] dayLegCounts;
+    private final boolean[] dayRest;
+    private int comfortSum;
+    private int legCount;
+    private int restDays;
+    private Hotel hotel;
+    private int score;
+    
+    // ==================== Constructeurs ====================
+    
+    ComfortContext(Offer offer) {
+        List<DayPlan> days = offer.getDays();
+        int nbDays = days.size();
+        this.dayComfortSums = new int[nbDays];
+        this.dayLegCounts = new int[nbDays];
+        this.dayRest = new boolean[nbDays];
+        this.hotel = nbDays == 0 ? null : days.get(0).getHotel();
+        
+        for (int i = 0; i < nbDays; i++) {
+            DayPlan day = days.get(i);
+            List<TravelLeg> legs = legsOf(day);
+            dayComfortSums[i] = comfortOf(legs);
+            dayLegCounts[i] = legs.size();
+            dayRest[i] = day.isRestDay();
+            comfortSum += dayComfortSums[i];
+            legCount += dayLegCounts[i];
+            if (dayRest[i]) restDays++;
+        }
+        this.score = score(comfortSum, legCount, restDays, hotel);
+    }
+    
+    // ==================== Getters ====================
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public int getComfortSum() {
+        return comfortSum;
+    }
+    
+    public int getLegCount() {
+        return legCount;
+    }
+    
+    public int getRestDays() {
+        return restDays;
+    }
+    
+    public Hotel getHotel() {
+        return hotel;
+    }
+    
+    // ==================== Variations (sans modification du contexte) ====================
+    
+    public int deltaAddLeg(TravelLeg leg) {
+        return score(comfortSum + leg.getMode().getComfortScore(), legCount + 1, restDays, hotel) - score;
+    }
+    
+    public int deltaRemoveLeg(TravelLeg leg) {
+        return score(comfortSum - leg.getMode().getComfortScore(), legCount - 1, restDays, hotel) - score;
+    }
+    
+    public int deltaReplaceLeg(TravelLeg removed, TravelLeg added) {
+        int sum = comfortSum - removed.getMode().getComfortScore() + added.getMode().getComfortScore();
+        return score(sum, legCount, restDays, hotel) - score;
+    }
+    
+    /**
+     * Variation de score pour un échange de plusieurs trajets
+     * (ex : insertion d'un site = 1 trajet retiré, 2 trajets ajoutés)
+     */
+    public int deltaReplaceLegs(List<TravelLeg> removed, List<TravelLeg> added) {
+        int sum = comfortSum - comfortOf(removed) + comfortOf(added);
+        int count = legCount - removed.size() + added.size();
+        return score(sum, count, restDays, hotel) - score;
+    }
+    
+    public int deltaReplaceHotel(Hotel newHotel) {
+        return score(comfortSum, legCount, restDays, newHotel) - score;
+    }
+    
+    /**
+     * Variation de score si le jour dayIndex est remplacé par newDay
+     */
+    public int deltaReplaceDay(int dayIndex, DayPlan newDay) {
+        List<TravelLeg> legs = legsOf(newDay);
+        int sum = comfortSum - dayComfortSums[dayIndex] + comfortOf(legs);
+        int count = legCount - dayLegCounts[dayIndex] + legs.size();
+        int rest = restDays - (dayRest[dayIndex] ? 1 : 0) + (newDay.isRestDay() ? 1 : 0);
+        Hotel h = dayIndex == 0 ? newDay.getHotel() : hotel;
+        return score(sum, count, rest, h) - score;
+    }
+    
+    // ==================== Mise à jour ====================
+    
+    /**
+     * Remplace le jour dayIndex dans les agrégats (après acceptation d'un mouvement)
+     */
+    public void replaceDay(int dayIndex, DayPlan newDay) {
+        List<TravelLeg> legs = legsOf(newDay);
+        int dayComfort = comfortOf(legs);
+        comfortSum += dayComfort - dayComfortSums[dayIndex];
+        legCount += legs.size() - dayLegCounts[dayIndex];
+        if (dayRest[dayIndex]) restDays--;
+        if (newDay.isRestDay()) restDays++;
+        
+        dayComfortSums[dayIndex] = dayComfort;
+        dayLegCounts[dayIndex] = legs.size();
+        dayRest[dayIndex] = newDay.isRestDay();
+        if (dayIndex == 0) hotel = newDay.getHotel();
+        
+        score = score(comfortSum, legCount, restDays, hotel);
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private int score(int sum, int count, int rest, Hotel h) {
+        return ComfortScorer.combine(sum, count, rest, dayRest.length, h);
+    }
+    
+    private static List<TravelLeg> legsOf(DayPlan day) {
+        if (day.getExcursion() == null || day.getExcursion().getLegs() == null) {
+            return Collections.emptyList();
+        }
+        return day.getExcursion().getLegs();
+    }
+    
+    private static int comfortOf(List<TravelLeg> legs) {
+        int sum = 0;
+        for (TravelLeg leg : legs) {
+            sum += leg.getMode().getComfortScore();
+        }
+        return sum;
+    }
+}
@@ -1,18 +1,31 @@
 package business.scoring;
 
 import business.domain.Hotel;
+import business.domain.TransportMode;
 import business.simulation.DayPlan;
 import business.simulation.Offer;
 import business.simulation.TravelLeg;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Calculateur de score de confort pour les offres
  * Score de 0 à 100
+ * 
+ * Répartition :
+ * - transports : 40 points (confort moyen des trajets)
+ * - repos      : 30 points (proportion de jours de repos)
+ * - hôtel      : 30 points (nombre d'étoiles)
  */
 public class ComfortScorer {
     
+    static final int TRANSPORT_WEIGHT = 40;
+    static final int REST_WEIGHT = 30;
+    static final int HOTEL_WEIGHT = 30;
+    static final int MAX_STARS = 5;
+    static final int MAX_TRANSPORT_COMFORT = maxTransportComfort();
+    
     // ==================== Constructeurs ====================
     
     public ComfortScorer() {
@@ -26,31 +39,99 @@ public class ComfortScorer {
      * @return score de 0 à 100
      */
     public int calculate(Offer offer) {
-        // TODO: Implémenter le calcul
-        return 0;
+        List<DayPlan> days = offer.getDays();
+        List<TravelLeg> legs = new ArrayList<>();
+        for (DayPlan day : days) {
+            if (day.getExcursion() != null) {
+                legs.addAll(day.getExcursion().getLegs());
+            }
+        }
+        Hotel hotel = days.isEmpty() ? null : days.get(0).getHotel();
+        return clamp(scoreTransport(legs) + scoreRestDays(days) + scoreHotel(hotel));
+    }
+    
+    /**
+     * Calcule le score de confort à partir des agrégats d'une offre
+     * (utilisé avec la représentation compacte, sans matérialiser l'offre)
+     * @param comfortSum somme des scores de confort des trajets
+     * @param legCount nombre de trajets
+     * @param restDays nombre de jours de repos
+     * @param nbDays nombre de jours du séjour
+     * @param hotel hôtel du séjour
+     * @return score de 0 à 100
+     */
+    public int calculate(int comfortSum, int legCount, int restDays, int nbDays, Hotel hotel) {
+        return combine(comfortSum, legCount, restDays, nbDays, hotel);
+    }
+    
+    /**
+     * Crée un contexte de score incrémental à partir d'une offre de base
+     * @param offer l'offre de base
+     * @return contexte permettant d'évaluer des variations en O(1)
+     */
+    public ComfortContext createContext(Offer offer) {
+        return new ComfortContext(offer);
     }
     
     /**
      * Calcule le score lié aux transports
      */
     private int scoreTransport(List<TravelLeg> legs) {
-        // TODO: Implémenter
-        return 0;
+        int comfortSum = 0;
+        for (TravelLeg leg : legs) {
+            comfortSum += leg.getMode().getComfortScore();
+        }
+        return scoreTransport(comfortSum, legs.size());
     }
     
     /**
      * Calcule le score lié aux jours de repos
      */
     private int scoreRestDays(List<DayPlan> days) {
-        // TODO: Implémenter
-        return 0;
+        int restDays = 0;
+        for (DayPlan day : days) {
+            if (day.isRestDay()) restDays++;
+        }
+        return scoreRestDays(restDays, days.size());
     }
     
     /**
      * Calcule le score lié à l'hôtel
      */
     private int scoreHotel(Hotel hotel) {
-        // TODO: Implémenter
-        return 0;
+        return hotel == null ? 0 : scoreStars(hotel.getStarRating());
+    }
+    
+    // ==================== Agrégats (partagés avec ComfortContext) ====================
+    
+    static int combine(int comfortSum, int legCount, int restDays, int nbDays, Hotel hotel) {
+        int hotelScore = hotel == null ? 0 : scoreStars(hotel.getStarRating());
+        return clamp(scoreTransport(comfortSum, legCount) + scoreRestDays(restDays, nbDays) + hotelScore);
+    }
+    
+    static int scoreTransport(int comfortSum, int legCount) {
+        if (legCount == 0) return TRANSPORT_WEIGHT;
+        return (int) Math.round((double) comfortSum * TRANSPORT_WEIGHT / (legCount * MAX_TRANSPORT_COMFORT));
+    }
+    
+    static int scoreRestDays(int restDays, int nbDays) {
+        if (nbDays == 0) return 0;
+        return (int) Math.round((double) restDays * REST_WEIGHT / nbDays);
+    }
+    
+    static int scoreStars(int stars) {
+        return (int) Math.round((double) stars * HOTEL_WEIGHT / MAX_STARS);
+    }
+    
+    static int clamp(int score) {
+        return Math.max(0, Math.min(100, score));
+    }
+    
+    private static int maxTransportComfort() {
+        int max = 1;
+        for (TransportMode mode : TransportMode.values()) {
+            max = Math.max(max, mode.getComfortScore());
+        }
+        return max;
     }
 }
@@ -1,6 +1,7 @@
 package business.scoring;
 
 import business.domain.Hotel;
+import business.domain.Site;
 import business.simulation.DayPlan;
 import business.simulation.Excursion;
 import business.simulation.Offer;
@@ -25,8 +26,24 @@ public class PriceCalculator {
      * @return prix total en euros
      */
     public double calculateTotal(Offer offer) {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        double total = 0.0;
+        for (DayPlan day : offer.getDays()) {
+            total += calculateDayCost(day);
+        }
+        return total;
+    }
+    
+    /**
+     * Calcule le coût d'une journée (une nuit d'hôtel + excursion éventuelle)
+     * @param day la journée à calculer
+     * @return coût en euros
+     */
+    public double calculateDayCost(DayPlan day) {
+        double cost = calculateHotelCost(day.getHotel(), 1);
+        if (day.getExcursion() != null) {
+            cost += calculateExcursionCost(day.getExcursion());
+        }
+        return cost;
     }
     
     /**
@@ -35,8 +52,14 @@ public class PriceCalculator {
      * @return coût en euros
      */
     public double calculateExcursionCost(Excursion excursion) {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        double cost = 0.0;
+        for (Site site : excursion.getSites()) {
+            cost += site.getPrice();
+        }
+        for (TravelLeg leg : excursion.getLegs()) {
+            cost += calculateTransportCost(leg);
+        }
+        return cost;
     }
     
     /**
@@ -46,8 +69,8 @@ public class PriceCalculator {
      * @return coût en euros
      */
     public double calculateHotelCost(Hotel hotel, int nights) {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        if (hotel == null) return 0.0;
+        return hotel.getPrice() * nights;
     }
     
     /**
@@ -56,7 +79,15 @@ public class PriceCalculator {
      * @return coût en euros
      */
     public double calculateTransportCost(TravelLeg leg) {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        return leg.getCost();
+    }
+    
+    /**
+     * Crée un contexte de calcul incrémental à partir d'une offre de base
+     * @param offer l'offre de base
+     * @return contexte permettant d'évaluer des variations en O(1)
+     */
+    public PriceContext createContext(Offer offer) {
+        return new PriceContext(this, offer);
     }
 }
@@ -0,0 +1,102 @@
+package business.scoring;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.simulation.DayPlan;
+import business.simulation.Offer;
+import business.simulation.TravelLeg;
+
+import java.util.List;
+
+/**
+ * Contexte de calcul de prix incrémental
+ * Conserve les agrégats d'une offre de base (coût par jour, total)
+ * et retourne la variation de prix d'une modification en O(1),
+ * sans recalculer l'offre complète.
+ * 
+ * Les indices de jour correspondent à la position dans Offer.getDays().
+ */
+public class PriceContext {
+    
+    private final PriceCalculator calculator;
+    private final double[] dayCosts;
+    private double total;
+    
+    // ==================== Constructeurs ====================
+    
+    PriceContext(PriceCalculator calculator, Offer offer) {
+        this.calculator = calculator;
+        List<DayPlan> days = offer.getDays();
+        this.dayCosts = new double[days.size()];
+        for (int i = 0; i < dayCosts.length; i++) {
+            dayCosts[i] = calculator.calculateDayCost(days.get(i));
+            total += dayCosts[i];
+        }
+    }
+    
+    // ==================== Getters ====================
+    
+    public double getTotal() {
+        return total;
+    }
+    
+    public double getDayCost(int dayIndex) {
+        return dayCosts[dayIndex];
+    }
+    
+    public int getNbDays() {
+        return dayCosts.length;
+    }
+    
+    // ==================== Variations (sans modification du contexte) ====================
+    
+    public double deltaAddSite(Site site) {
+        return site.getPrice();
+    }
+    
+    public double deltaRemoveSite(Site site) {
+        return -site.getPrice();
+    }
+    
+    public double deltaReplaceSite(Site removed, Site added) {
+        return added.getPrice() - removed.getPrice();
+    }
+    
+    public double deltaAddLeg(TravelLeg leg) {
+        return calculator.calculateTransportCost(leg);
+    }
+    
+    public double deltaRemoveLeg(TravelLeg leg) {
+        return -calculator.calculateTransportCost(leg);
+    }
+    
+    public double deltaReplaceLeg(TravelLeg removed, TravelLeg added) {
+        return calculator.calculateTransportCost(added) - calculator.calculateTransportCost(removed);
+    }
+    
+    /**
+     * Variation de prix si l'hôtel change pour tout le séjour
+     */
+    public double deltaReplaceHotel(Hotel removed, Hotel added) {
+        return (calculator.calculateHotelCost(added, 1) - calculator.calculateHotelCost(removed, 1)) * dayCosts.length;
+    }
+    
+    /**
+     * Variation de prix si le jour dayIndex est remplacé par newDay
+     * Coût proportionnel à la taille de la journée (max 3 sites), donc O(1)
+     */
+    public double deltaReplaceDay(int dayIndex, DayPlan newDay) {
+        return calculator.calculateDayCost(newDay) - dayCosts[dayIndex];
+    }
+    
+    // ==================== Mise à jour ====================
+    
+    /**
+     * Remplace le jour dayIndex dans les agrégats (après acceptation d'un mouvement)
+     */
+    public void replaceDay(int dayIndex, DayPlan newDay) {
+        double cost = calculator.calculateDayCost(newDay);
+        total += cost - dayCosts[dayIndex];
+        dayCosts[dayIndex] = cost;
+    }
+}
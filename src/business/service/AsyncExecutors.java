@@ -0,0 +1,99 @@
+package business.service;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteurs pour les appels bloquants (JDBC, Lucene) de la couche métier
+ * 
+ * - JDK 21+ : un thread virtuel par tâche (Executors.newVirtualThreadPerTaskExecutor,
+ *   appelé par réflexion pour rester compilable en Java 8).
+ * - JDK plus anciens : pool borné de threads démons ; quand la file est pleine,
+ *   la tâche s'exécute dans le thread appelant (contre-pression).
+ */
+public final class AsyncExecutors {
+    
+    public static final int DEFAULT_POOL_SIZE = 32;
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    
+    private AsyncExecutors() {
+    }
+    
+    /**
+     * Exécuteur commun aux composants sans exécuteur configuré
+     * (créé au premier appel, threads démons)
+     */
+    public static ExecutorService shared() {
+        return SharedHolder.INSTANCE;
+    }
+    
+    /**
+     * Threads virtuels si disponibles, sinon pool borné par défaut
+     */
+    public static ExecutorService newBlockingIoExecutor() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : newBoundedExecutor(DEFAULT_POOL_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * @return un exécuteur à threads virtuels, null si le JDK ne les supporte pas
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+    
+    public static boolean isVirtualThreadsAvailable() {
+        try {
+            java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Pool borné : poolSize threads au plus, queueCapacity tâches en attente
+     */
+    public static ExecutorService newBoundedExecutor(int poolSize, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity),
+                daemonThreads("travel-io"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    /**
+     * Planificateur d'un seul thread pour les délais d'expiration
+     */
+    public static ScheduledExecutorService newTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, daemonThreads("travel-timeout"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+    
+    private static final class SharedHolder {
+        private static final ExecutorService INSTANCE = newBlockingIoExecutor();
+    }
+    
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package business.service;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.planning.HotelIndex;
+import business.simulation.Offer;
+import business.simulation.OfferRequest;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Façade asynchrone de TravelService
+ * 
+ * Les appels bloquants (DAO JDBC / Lucene) s'exécutent sur l'exécuteur
+ * d'entrées-sorties (threads virtuels si disponibles, voir AsyncExecutors) :
+ * le thread de la requête JSF n'attend plus la base de données.
+ * 
+ * - Délai : chaque future échoue avec TimeoutException après timeoutMillis
+ *   (0 = pas de délai), et l'appel DAO correspondant est interrompu.
+ * - Annulation : future.cancel(true) interrompt l'appel DAO en cours.
+ *   Pour buildOffersAsync, le calcul est partagé entre requêtes identiques :
+ *   l'annulation détache seulement l'appelant.
+ */
+public class AsyncTravelService {
+    
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+    
+    // ==================== Attributs ====================
+    
+    private TravelService travelService;
+    private ExecutorService executor;
+    private final ScheduledExecutorService scheduler = AsyncExecutors.newTimeoutScheduler();
+    private volatile long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+    
+    // ==================== Constructeurs ====================
+    
+    public AsyncTravelService() {
+        this.executor = AsyncExecutors.newBlockingIoExecutor();
+    }
+    
+    public AsyncTravelService(TravelService travelService) {
+        this(travelService, AsyncExecutors.newBlockingIoExecutor());
+    }
+    
+    public AsyncTravelService(TravelService travelService, ExecutorService executor) {
+        this.travelService = travelService;
+        this.executor = executor;
+    }
+    
+    // ==================== Getters & Setters ====================
+    
+    public TravelService getTravelService() {
+        return travelService;
+    }
+    
+    public void setTravelService(TravelService travelService) {
+        this.travelService = travelService;
+    }
+    
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+    
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+    
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    // ==================== Méthodes de recherche ====================
+    
+    /**
+     * Version asynchrone de TravelService.searchSites
+     */
+    public CompletableFuture<List<Site>> searchSitesAsync(String keywords) {
+        return withTimeout(submit(() -> travelService.searchSites(keywords)));
+    }
+    
+    /**
+     * Version asynchrone de TravelService.searchHotels
+     */
+    public CompletableFuture<List<Hotel>> searchHotelsAsync(String keywords) {
+        return withTimeout(submit(() -> travelService.searchHotels(keywords)));
+    }
+    
+    /**
+     * Version asynchrone de TravelService.searchHotelsByStars
+     */
+    public CompletableFuture<List<Hotel>> searchHotelsByStarsAsync(int minStars) {
+        return withTimeout(submit(() -> travelService.searchHotelsByStars(minStars)));
+    }
+    
+    /**
+     * Version asynchrone de TravelService.searchCombined : les deux requêtes
+     * sont lancées sur l'exécuteur, la fusion se fait à la fin de la dernière
+     */
+    public CompletableFuture<CombinedSearchResult> searchCombinedAsync(String keywords, double radiusKm) {
+        long start = System.nanoTime();
+        long[] nanos = new long[2];
+        CompletableFuture<List<Site>> sites = submit(() -> timed(nanos, 0, () -> travelService.searchSites(keywords)));
+        CompletableFuture<List<Hotel>> hotels = submit(() -> timed(nanos, 1, () -> travelService.searchHotels(keywords)));
+        
+        CompletableFuture<CombinedSearchResult> combined = sites.thenCombine(hotels,
+                (s, h) -> new CombinedSearchResult(keywords.trim(), s, h,
+                        nanos[0] / 1_000_000, nanos[1] / 1_000_000, (System.nanoTime() - start) / 1_000_000, radiusKm));
+        combined.whenComplete((value, error) -> {
+            if (error != null) {
+                sites.cancel(true);
+                hotels.cancel(true);
+            }
+        });
+        return withTimeout(combined);
+    }
+    
+    // ==================== Méthodes de génération d'offres ====================
+    
+    /**
+     * Version asynchrone de TravelService.buildOffers
+     * 
+     * Le chargement des sites et celui de l'index des hôtels sont lancés
+     * en parallèle, puis la génération s'exécute sur l'exécuteur.
+     * Partage le calcul et le cache court de TravelService.buildOffers.
+     */
+    public CompletableFuture<List<Offer>> buildOffersAsync(OfferRequest req) {
+        try {
+            travelService.checkOfferRequest(req);
+        } catch (RuntimeException e) {
+            return failed(e);
+        }
+        
+        CompletableFuture<List<Offer>> shared = travelService.getOfferCoalescer().executeAsync(
+                OfferRequestKey.of(req), () -> withTimeout(computeOffers(req)));
+        // Future propre à l'appelant : son annulation ne touche pas les autres
+        return withTimeout(shared.thenApply(offers -> offers));
+    }
+    
+    /**
+     * Arrête les exécuteurs (destroy-method Spring)
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private CompletableFuture<List<Offer>> computeOffers(OfferRequest req) {
+        CompletableFuture<List<Site>> sites = submit(() -> travelService.loadSites(req));
+        CompletableFuture<HotelIndex> index = submit(() -> travelService.getHotelIndex());
+        
+        CompletableFuture<List<Offer>> offers = sites.thenCombineAsync(index,
+                (s, i) -> travelService.generateOffers(req, s, i), executor);
+        offers.whenComplete((value, error) -> {
+            if (error != null) {
+                sites.cancel(true);
+                index.cancel(true);
+            }
+        });
+        return offers;
+    }
+    
+    /**
+     * Exécute call sur l'exécuteur ; l'échec du future (annulation, délai)
+     * interrompt la tâche si elle est encore en cours
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    private static <T> T timed(long[] nanos, int slot, Callable<T> call) throws Exception {
+        long t0 = System.nanoTime();
+        try {
+            return call.call();
+        } finally {
+            nanos[slot] = System.nanoTime() - t0;
+        }
+    }
+    
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> future) {
+        long timeout = timeoutMillis;
+        if (timeout <= 0 || future.isDone()) return future;
+        
+        ScheduledFuture<?> timer = scheduler.schedule(
+                () -> future.completeExceptionally(new TimeoutException("Délai dépassé : " + timeout + " ms")),
+                timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((value, error) -> timer.cancel(false));
+        return future;
+    }
+    
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+}
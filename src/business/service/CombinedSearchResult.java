@@ -0,0 +1,189 @@
+package business.service;
+
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Résultat d'une recherche combinée sites + hôtels (voir TravelService.searchCombined)
+ * 
+ * Contient les deux listes, le temps de chaque source et, si un rayon est
+ * demandé, les hôtels trouvés situés à moins de radiusKm d'un site trouvé
+ * (jointure géographique calculée en mémoire).
+ */
+public class CombinedSearchResult {
+    
+    /** Un degré de latitude vaut environ 111,2 km */
+    private static final double KM_PER_DEGREE_LATITUDE = 111.2;
+    
+    // ==================== Attributs ====================
+    
+    private final String keywords;
+    private final List<Site> sites;
+    private final List<Hotel> hotels;
+    private final long siteSearchMillis;
+    private final long hotelSearchMillis;
+    private final long totalMillis;
+    private final double radiusKm;
+    private final List<NearbyHotel> hotelsNearSites;
+    
+    // ==================== Constructeur ====================
+    
+    /**
+     * @param radiusKm rayon de la jointure géographique, 0 ou moins pour ne pas la calculer
+     */
+    public CombinedSearchResult(String keywords, List<Site> sites, List<Hotel> hotels,
+                                long siteSearchMillis, long hotelSearchMillis, long totalMillis,
+                                double radiusKm) {
+        this.keywords = keywords;
+        this.sites = sites;
+        this.hotels = hotels;
+        this.siteSearchMillis = siteSearchMillis;
+        this.hotelSearchMillis = hotelSearchMillis;
+        this.totalMillis = totalMillis;
+        this.radiusKm = radiusKm;
+        this.hotelsNearSites = radiusKm > 0
+                ? joinHotelsNearSites(sites, hotels, radiusKm)
+                : Collections.<NearbyHotel>emptyList();
+    }
+    
+    // ==================== Getters ====================
+    
+    public String getKeywords() {
+        return keywords;
+    }
+    
+    public List<Site> getSites() {
+        return sites;
+    }
+    
+    public List<Hotel> getHotels() {
+        return hotels;
+    }
+    
+    public long getSiteSearchMillis() {
+        return siteSearchMillis;
+    }
+    
+    public long getHotelSearchMillis() {
+        return hotelSearchMillis;
+    }
+    
+    /**
+     * Temps total, proche du max des deux sources (requêtes en parallèle)
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+    
+    public double getRadiusKm() {
+        return radiusKm;
+    }
+    
+    /**
+     * Hôtels à moins de radiusKm d'un site, du plus proche au plus éloigné
+     */
+    public List<NearbyHotel> getHotelsNearSites() {
+        return hotelsNearSites;
+    }
+    
+    public boolean isEmpty() {
+        return sites.isEmpty() && hotels.isEmpty();
+    }
+    
+    @Override
+    public String toString() {
+        return "CombinedSearchResult{keywords='" + keywords + "', sites=" + sites.size()
+                + " (" + siteSearchMillis + " ms), hotels=" + hotels.size()
+                + " (" + hotelSearchMillis + " ms), total=" + totalMillis + " ms"
+                + (radiusKm > 0 ? ", hotelsNearSites=" + hotelsNearSites.size() : "") + "}";
+    }
+    
+    // ==================== Jointure géographique ====================
+    
+    /**
+     * Pour chaque hôtel, cherche le site le plus proche parmi ceux dont la
+     * latitude est dans la bande ±radiusKm (sites triés par latitude,
+     * recherche dichotomique de la bande), puis garde les hôtels dans le rayon.
+     */
+    static List<NearbyHotel> joinHotelsNearSites(List<Site> sites, List<Hotel> hotels, double radiusKm) {
+        Site[] located = sites.stream()
+                .filter(s -> s.getPosition() != null)
+                .sorted(Comparator.comparingDouble(s -> s.getPosition().getLatitude()))
+                .toArray(Site[]::new);
+        if (located.length == 0) return Collections.emptyList();
+        
+        double[] latitudes = new double[located.length];
+        for (int i = 0; i < located.length; i++) {
+            latitudes[i] = located[i].getPosition().getLatitude();
+        }
+        double band = radiusKm / KM_PER_DEGREE_LATITUDE;
+        
+        List<NearbyHotel> result = new ArrayList<>();
+        for (Hotel hotel : hotels) {
+            Position position = hotel.getPosition();
+            if (position == null) continue;
+            
+            int from = lowerBound(latitudes, position.getLatitude() - band);
+            Site nearest = null;
+            double best = radiusKm;
+            for (int i = from; i < located.length && latitudes[i] <= position.getLatitude() + band; i++) {
+                double distance = position.distanceTo(located[i].getPosition());
+                if (distance <= best) {
+                    best = distance;
+                    nearest = located[i];
+                }
+            }
+            if (nearest != null) {
+                result.add(new NearbyHotel(hotel, nearest, best));
+            }
+        }
+        result.sort(Comparator.comparingDouble(NearbyHotel::getDistanceKm));
+        return result;
+    }
+    
+    private static int lowerBound(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) return -index - 1;
+        while (index > 0 && sorted[index - 1] == value) index--;
+        return index;
+    }
+    
+    /**
+     * Hôtel proche d'un site trouvé
+     */
+    public static class NearbyHotel {
+        private final Hotel hotel;
+        private final Site nearestSite;
+        private final double distanceKm;
+        
+        public NearbyHotel(Hotel hotel, Site nearestSite, double distanceKm) {
+            this.hotel = hotel;
+            this.nearestSite = nearestSite;
+            this.distanceKm = distanceKm;
+        }
+        
+        public Hotel getHotel() {
+            return hotel;
+        }
+        
+        public Site getNearestSite() {
+            return nearestSite;
+        }
+        
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+        
+        @Override
+        public String toString() {
+            return hotel.getName() + " → " + nearestSite.getName() + String.format(" (%.2f km)", distanceKm);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package business.service;
+
+import business.simulation.DesiredIntensity;
+import business.simulation.OfferRequest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Clé canonique d'une OfferRequest
+ * Deux requêtes équivalentes (mêmes mots-clés à la casse, aux espaces et à
+ * l'ordre près, mêmes budget, durée, intensité, étoiles, type d'activité
+ * et hôtel choisi)
+ * produisent des clés égales et partagent donc le même calcul d'offres.
+ */
+public final class OfferRequestKey {
+    
+    private final String keywords;
+    private final double budget;
+    private final int nbDays;
+    private final DesiredIntensity intensity;
+    private final int starRating;
+    private final String typeActivity;
+    private final int hotelId;
+    
+    // ==================== Constructeurs ====================
+    
+    private OfferRequestKey(String keywords, double budget, int nbDays,
+                            DesiredIntensity intensity, int starRating, String typeActivity, int hotelId) {
+        this.keywords = keywords;
+        this.budget = budget;
+        this.nbDays = nbDays;
+        this.intensity = intensity;
+        this.starRating = starRating;
+        this.typeActivity = typeActivity;
+        this.hotelId = hotelId;
+    }
+    
+    public static OfferRequestKey of(OfferRequest req) {
+        return new OfferRequestKey(
+                normalizeKeywords(req.getKeywords()),
+                req.getBudget(),
+                req.getNbDays(),
+                req.getIntensity(),
+                req.getStarRating(),
+                normalize(req.getTypeActivity()),
+                req.getHotelId());
+    }
+    
+    // ==================== Methods ====================
+    
+    private static String normalizeKeywords(String keywords) {
+        String normalized = normalize(keywords);
+        if (normalized.isEmpty()) return normalized;
+        String[] words = normalized.split("\\s+");
+        Arrays.sort(words);
+        return String.join(" ", words);
+    }
+    
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        OfferRequestKey other = (OfferRequestKey) obj;
+        return Double.compare(budget, other.budget) == 0
+            && nbDays == other.nbDays
+            && starRating == other.starRating
+            && hotelId == other.hotelId
+            && intensity == other.intensity
+            && keywords.equals(other.keywords)
+            && typeActivity.equals(other.typeActivity);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(keywords, budget, nbDays, intensity, starRating, typeActivity, hotelId);
+    }
+    
+    @Override
+    public String toString() {
+        return "OfferRequestKey{keywords='" + keywords + "', budget=" + budget + ", nbDays=" + nbDays +
+               ", intensity=" + intensity + ", starRating=" + starRating + ", typeActivity='" + typeActivity + "', hotelId=" + hotelId + "}";
+    }
+}
@@ -0,0 +1,207 @@
+package business.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Déduplication des calculs identiques concurrents ("single flight")
+ * 
+ * - Calcul en cours : les appelants suivants reçoivent le même CompletableFuture
+ *   au lieu de relancer le calcul.
+ * - Calcul terminé : le résultat est conservé pendant une courte durée (TTL)
+ *   et servi directement. Les échecs ne sont pas conservés.
+ * - invalidateAll() : les calculs lancés avant ne sont plus rejoints et leur
+ *   résultat n'est pas conservé (génération).
+ * 
+ * Les résultats sont partagés entre appelants : ils ne doivent pas être modifiés.
+ * 
+ * @param <K> type de la clé canonique
+ * @param <V> type du résultat
+ */
+public class RequestCoalescer<K, V> {
+    
+    public static final long DEFAULT_TTL_MILLIS = 30_000;
+    public static final int DEFAULT_MAX_COMPLETED = 1_000;
+    
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Map<K, Completed<V>> completed = new ConcurrentHashMap<>();
+    private final int maxCompleted;
+    private volatile long ttlNanos;
+    
+    /** Incrémentée par invalidateAll : un calcul d'une génération passée n'est pas conservé */
+    private final AtomicLong generation = new AtomicLong();
+    
+    private final LongAdder computations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    
+    // ==================== Constructeurs ====================
+    
+    public RequestCoalescer() {
+        this(DEFAULT_TTL_MILLIS, DEFAULT_MAX_COMPLETED);
+    }
+    
+    public RequestCoalescer(long ttlMillis, int maxCompleted) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxCompleted = maxCompleted;
+    }
+    
+    // ==================== Methods ====================
+    
+    /**
+     * Retourne le résultat pour la clé : depuis le cache, en rejoignant
+     * le calcul en cours, ou en exécutant computation dans le thread appelant
+     * 
+     * @param key clé canonique de la requête
+     * @param computation calcul à exécuter si nécessaire
+     * @return future partagé par tous les appelants de la même clé
+     */
+    public CompletableFuture<V> execute(K key, Supplier<V> computation) {
+        return executeAsync(key, () -> CompletableFuture.completedFuture(computation.get()));
+    }
+    
+    /**
+     * Variante non bloquante : computation lance le calcul et retourne
+     * immédiatement son future. Le calcul reste enregistré comme "en cours"
+     * jusqu'à la complétion de ce future.
+     * 
+     * Le future retourné est partagé : l'annuler l'annule pour tous les
+     * appelants de la même clé. Un appelant qui veut pouvoir abandonner
+     * seul doit travailler sur un future dépendant (thenApply, ...).
+     * 
+     * @param key clé canonique de la requête
+     * @param computation lancement du calcul si nécessaire
+     * @return future partagé par tous les appelants de la même clé
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> computation) {
+        long gen = generation.get();
+        CompletableFuture<V> cached = lookup(key);
+        if (cached != null) return cached;
+        
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        
+        computations.increment();
+        CompletableFuture<V> source = start(computation);
+        source.whenComplete((value, error) -> {
+            try {
+                if (error == null) {
+                    remember(key, value, gen);
+                    created.complete(value);
+                } else {
+                    created.completeExceptionally(error);
+                }
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        // Le calcul abandonné par les appelants est abandonné à la source
+        created.whenComplete((value, error) -> {
+            if (created.isCancelled()) {
+                inFlight.remove(key, created);
+                source.cancel(true);
+            }
+        });
+        return created;
+    }
+    
+    public long getComputations() {
+        return computations.sum();
+    }
+    
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+    
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+    
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+    
+    public void setTtlMillis(long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+    
+    /**
+     * Vide le cache des résultats terminés (ex : après une mise à jour du catalogue).
+     * Les calculs en cours se terminent pour leurs appelants actuels, mais les
+     * nouveaux appelants relancent le calcul et l'ancien résultat n'est pas conservé.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        completed.clear();
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private CompletableFuture<V> lookup(K key) {
+        Completed<V> done = completed.get(key);
+        if (done == null) return null;
+        if (done.isExpired(System.nanoTime())) {
+            completed.remove(key, done);
+            return null;
+        }
+        cacheHits.increment();
+        return CompletableFuture.completedFuture(done.value);
+    }
+    
+    private static <V> CompletableFuture<V> start(Supplier<CompletableFuture<V>> computation) {
+        try {
+            return computation.get();
+        } catch (Throwable t) {
+            CompletableFuture<V> failed = new CompletableFuture<>();
+            failed.completeExceptionally(t);
+            return failed;
+        }
+    }
+    
+    private void remember(K key, V value, long gen) {
+        if (ttlNanos <= 0 || generation.get() != gen) return;
+        long now = System.nanoTime();
+        if (completed.size() >= maxCompleted) {
+            purgeExpired(now);
+            if (completed.size() >= maxCompleted) return;
+        }
+        Completed<V> done = new Completed<>(value, now + ttlNanos);
+        completed.put(key, done);
+        // invalidateAll() concurrent : ne pas survivre au vidage
+        if (generation.get() != gen) {
+            completed.remove(key, done);
+        }
+    }
+    
+    private void purgeExpired(long now) {
+        Iterator<Completed<V>> it = completed.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().isExpired(now)) it.remove();
+        }
+    }
+    
+    private static final class Completed<V> {
+        private final V value;
+        private final long expiresAt;
+        
+        Completed(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
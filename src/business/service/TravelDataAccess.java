@@ -1,9 +1,12 @@
 package business.service;
 
 import business.domain.Hotel;
+import business.domain.Position;
 import business.domain.Site;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface d'accès aux données
@@ -28,6 +31,20 @@ public interface TravelDataAccess {
      */
     List<Site> findSitesByKeywords(String keywords);
     
+    /**
+     * Recherche des sites par mots-clés, la distance à rankOrigin (ex : hôtel
+     * choisi) entrant dans le classement hybride côté persistance
+     * 
+     * Implémentation par défaut : origine ignorée.
+     * 
+     * @param keywords les mots-clés de recherche
+     * @param rankOrigin origine du critère distance (null = aucune)
+     * @return liste des sites correspondants (jamais null)
+     */
+    default List<Site> findSitesByKeywords(String keywords, Position rankOrigin) {
+        return findSitesByKeywords(keywords);
+    }
+    
     /**
      * Recherche des sites par fourchette de budget
      * 
@@ -70,4 +87,23 @@ public interface TravelDataAccess {
      * @return liste de tous les hôtels
      */
     List<Hotel> getAllHotels();
+    
+    // ==================== Extraits ====================
+    
+    /**
+     * Extraits surlignés des descriptions complètes pour une page de sites
+     * trouvés par mots-clés (HTML : texte échappé, termes en &lt;mark&gt;).
+     * Calculés seulement pour siteIds et dans la limite de budgetMillis ;
+     * un site sans extrait garde sa description courte.
+     * 
+     * Implémentation par défaut : aucun extrait.
+     * 
+     * @param keywords les mots-clés de la recherche
+     * @param siteIds les sites affichés, dans l'ordre d'affichage
+     * @param budgetMillis temps maximum consacré aux extraits
+     * @return Map<id_site, extrait> (jamais null)
+     */
+    default Map<Integer, String> highlightSites(String keywords, List<Integer> siteIds, long budgetMillis) {
+        return new HashMap<>();
+    }
 }
@@ -1,13 +1,24 @@
 package business.service;
 
+import business.catalog.CatalogListener;
 import business.domain.Hotel;
+import business.domain.Position;
 import business.domain.Site;
+import business.monitoring.HotelIndexRebuildEvent;
+import business.monitoring.TravelRequestEvent;
+import business.planning.HotelIndex;
 import business.planning.OfferGenerator;
 import business.simulation.Offer;
 import business.simulation.OfferRequest;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Service principal de la couche métier (Façade)
@@ -16,13 +27,22 @@ import java.util.List;
  * Cette classe ne fait PAS d'accès direct à la base de données.
  * Elle délègue tout à l'interface TravelDataAccess.
  */
-public class TravelService {
+public class TravelService implements CatalogListener {
     
     // ==================== Attributs ====================
     
     private OfferGenerator generator;
     private TravelDataAccess dataAccess;
     
+    /** Index des hôtels, construit à la première génération d'offres */
+    private volatile HotelIndex hotelIndex;
+    
+    /** Déduplication des requêtes d'offres identiques concurrentes + cache court */
+    private final RequestCoalescer<OfferRequestKey, List<Offer>> offerCoalescer = new RequestCoalescer<>();
+    
+    /** Exécuteur des requêtes lancées en parallèle (null = AsyncExecutors.shared()) */
+    private Executor searchExecutor;
+    
     // ==================== Constructeurs ====================
     
     public TravelService() {
@@ -55,6 +75,27 @@ public class TravelService {
     
     public void setDataAccess(TravelDataAccess dataAccess) {
         this.dataAccess = dataAccess;
+        this.hotelIndex = null;
+        this.offerCoalescer.invalidateAll();
+    }
+    
+    /**
+     * Durée de conservation des offres calculées (0 = pas de cache)
+     */
+    public void setOfferCacheTtlMillis(long ttlMillis) {
+        offerCoalescer.setTtlMillis(ttlMillis);
+    }
+    
+    public RequestCoalescer<OfferRequestKey, List<Offer>> getOfferCoalescer() {
+        return offerCoalescer;
+    }
+    
+    public Executor getSearchExecutor() {
+        return searchExecutor != null ? searchExecutor : AsyncExecutors.shared();
+    }
+    
+    public void setSearchExecutor(Executor searchExecutor) {
+        this.searchExecutor = searchExecutor;
     }
     
     // ==================== Méthodes de recherche ====================
@@ -68,6 +109,20 @@ public class TravelService {
      * @throws IllegalArgumentException si keywords est null ou vide
      */
     public List<Site> searchSites(String keywords) {
+        return searchSites(keywords, null);
+    }
+    
+    /**
+     * Recherche des sites par mots-clés, classés aussi selon la distance à
+     * rankOrigin si la formule de classement de la persistance le prévoit
+     * 
+     * @param keywords les mots-clés de recherche
+     * @param rankOrigin position de l'hôtel choisi (null = aucune)
+     * @return liste des sites correspondants, liste vide si aucun résultat
+     * @throws IllegalStateException si dataAccess n'est pas configuré
+     * @throws IllegalArgumentException si keywords est null ou vide
+     */
+    public List<Site> searchSites(String keywords, Position rankOrigin) {
         // 1. Vérifier que dataAccess est configuré
         if (dataAccess == null) {
             throw new IllegalStateException("TravelDataAccess n'est pas configuré. Vérifiez l'injection Spring.");
@@ -82,10 +137,42 @@ public class TravelService {
         String cleanedKeywords = keywords.trim();
         
         // 4. Déléguer la recherche à la couche DAO
-        List<Site> results = dataAccess.findSitesByKeywords(cleanedKeywords);
+        TravelRequestEvent event = TravelRequestEvent.start("searchSites", cleanedKeywords);
+        List<Site> results = rankOrigin == null
+                ? dataAccess.findSitesByKeywords(cleanedKeywords)
+                : dataAccess.findSitesByKeywords(cleanedKeywords, rankOrigin);
         
         // 5. Retourner les résultats (jamais null)
-        return results != null ? results : new ArrayList<>();
+        results = results != null ? results : new ArrayList<>();
+        event.finish(results.size());
+        return results;
+    }
+    
+    /**
+     * Extraits surlignés des descriptions pour une page de sites trouvés
+     * (voir TravelDataAccess.highlightSites). Jamais d'exception : sans
+     * extraits, la page affiche les descriptions courtes.
+     * 
+     * @param keywords les mots-clés de la recherche
+     * @param page les sites affichés
+     * @param budgetMillis temps maximum consacré aux extraits
+     * @return Map<id_site, extrait HTML> (jamais null)
+     */
+    public Map<Integer, String> highlightSites(String keywords, List<Site> page, long budgetMillis) {
+        if (dataAccess == null || keywords == null || keywords.trim().isEmpty() || page.isEmpty() || budgetMillis <= 0) {
+            return new HashMap<>();
+        }
+        List<Integer> ids = new ArrayList<>(page.size());
+        for (Site site : page) {
+            ids.add(site.getId());
+        }
+        try {
+            Map<Integer, String> snippets = dataAccess.highlightSites(keywords.trim(), ids, budgetMillis);
+            return snippets != null ? snippets : new HashMap<>();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Extraits indisponibles : " + e.getMessage());
+            return new HashMap<>();
+        }
     }
     
     /**
@@ -111,10 +198,73 @@ public class TravelService {
         String cleanedKeywords = keywords.trim();
         
         // 4. Déléguer la recherche à la couche DAO
+        TravelRequestEvent event = TravelRequestEvent.start("searchHotels", cleanedKeywords);
         List<Hotel> results = dataAccess.findHotelsByKeywords(cleanedKeywords);
         
         // 5. Retourner les résultats (jamais null)
-        return results != null ? results : new ArrayList<>();
+        results = results != null ? results : new ArrayList<>();
+        event.finish(results.size());
+        return results;
+    }
+    
+    /**
+     * Recherche combinée : la requête sites et la requête hôtels sont lancées
+     * en parallèle (hôtels sur l'exécuteur de recherche, sites dans le thread
+     * appelant), le temps total est donc proche du max des deux.
+     * 
+     * @param keywords les mots-clés, utilisés pour les deux recherches
+     * @param radiusKm si > 0, calcule aussi les hôtels à moins de radiusKm d'un site trouvé
+     * @return résultat fusionné avec le temps de chaque source
+     * @throws IllegalStateException si dataAccess n'est pas configuré
+     * @throws IllegalArgumentException si keywords est null ou vide
+     */
+    public CombinedSearchResult searchCombined(String keywords, double radiusKm) {
+        // 1. Vérifier la configuration et les mots-clés avant de lancer quoi que ce soit
+        if (dataAccess == null) {
+            throw new IllegalStateException("TravelDataAccess n'est pas configuré. Vérifiez l'injection Spring.");
+        }
+        if (keywords == null || keywords.trim().isEmpty()) {
+            throw new IllegalArgumentException("Les mots-clés de recherche ne peuvent pas être vides.");
+        }
+        long start = System.nanoTime();
+        TravelRequestEvent event = TravelRequestEvent.start("searchCombined", keywords.trim());
+        
+        // 2. Hôtels en parallèle
+        long[] hotelNanos = new long[1];
+        CompletableFuture<List<Hotel>> hotels = CompletableFuture.supplyAsync(() -> {
+            long t0 = System.nanoTime();
+            try {
+                return searchHotels(keywords);
+            } finally {
+                hotelNanos[0] = System.nanoTime() - t0;
+            }
+        }, getSearchExecutor());
+        
+        // 3. Sites dans le thread appelant
+        List<Site> sites;
+        long siteStart = System.nanoTime();
+        try {
+            sites = searchSites(keywords);
+        } catch (RuntimeException e) {
+            hotels.cancel(true);
+            throw e;
+        }
+        long siteNanos = System.nanoTime() - siteStart;
+        
+        // 4. Attendre les hôtels et fusionner
+        List<Hotel> hotelResults;
+        try {
+            hotelResults = hotels.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        CombinedSearchResult result = new CombinedSearchResult(keywords.trim(), sites, hotelResults,
+                toMillis(siteNanos), toMillis(hotelNanos[0]), toMillis(System.nanoTime() - start), radiusKm);
+        event.finish(sites.size() + hotelResults.size());
+        return result;
     }
     
     /**
@@ -137,10 +287,13 @@ public class TravelService {
         }
         
         // 3. Déléguer la recherche à la couche DAO
+        TravelRequestEvent event = TravelRequestEvent.start("searchHotelsByStars", null);
         List<Hotel> results = dataAccess.findHotelsByStars(minStars);
         
         // 4. Retourner les résultats (jamais null)
-        return results != null ? results : new ArrayList<>();
+        results = results != null ? results : new ArrayList<>();
+        event.finish(results.size());
+        return results;
     }
     
     /**
@@ -175,13 +328,121 @@ public class TravelService {
     
     /**
      * Génère une liste d'offres selon les critères de la requête
-     * (sera implémenté plus tard)
+     * 
+     * Les sites sont ceux correspondant aux mots-clés (tous les sites si
+     * aucun mot-clé). Seuls les quelques hôtels ayant au moins le nombre
+     * d'étoiles demandé, dans la part hôtel du budget et les plus proches
+     * des sites sont transmis à la recherche d'itinéraires.
+     * 
+     * Les requêtes identiques (voir OfferRequestKey) reçues en même temps
+     * partagent un seul calcul, et le résultat est conservé quelques secondes.
+     * La liste retournée est partagée et non modifiable.
      * 
      * @param req les critères de recherche
-     * @return liste d'offres générées
+     * @return liste d'offres générées, liste vide si aucune offre possible
+     * @throws IllegalStateException si dataAccess n'est pas configuré
+     * @throws IllegalArgumentException si la requête est invalide
      */
     public List<Offer> buildOffers(OfferRequest req) {
-        // TODO: Implémenter dans la prochaine étape
-        return null;
+        // 1. Vérifier la configuration et la requête
+        checkOfferRequest(req);
+        
+        // 2. Calcul unique pour les requêtes identiques
+        TravelRequestEvent event = TravelRequestEvent.start("buildOffers", req.getKeywords());
+        try {
+            List<Offer> offers = offerCoalescer.execute(OfferRequestKey.of(req), () -> computeOffers(req)).join();
+            event.finish(offers.size());
+            return offers;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Reconstruit l'index des hôtels (à appeler après une mise à jour du catalogue)
+     */
+    public void refreshHotelIndex() {
+        hotelIndex = dataAccess != null ? buildHotelIndex() : null;
+        offerCoalescer.invalidateAll();
+    }
+    
+    /**
+     * Catalogue remplacé par la source de données : index des hôtels reconstruit
+     */
+    @Override
+    public void catalogReloaded() {
+        refreshHotelIndex();
+    }
+    
+    // ==================== Étapes de génération (utilisées par AsyncTravelService) ====================
+    
+    /**
+     * @throws IllegalStateException si dataAccess n'est pas configuré
+     * @throws IllegalArgumentException si la requête est invalide
+     */
+    void checkOfferRequest(OfferRequest req) {
+        if (dataAccess == null) {
+            throw new IllegalStateException("TravelDataAccess n'est pas configuré. Vérifiez l'injection Spring.");
+        }
+        if (req == null || !req.validate()) {
+            throw new IllegalArgumentException("Requête d'offre invalide : " + req);
+        }
+    }
+    
+    /**
+     * Sites de la requête : ceux des mots-clés (classés depuis l'hôtel
+     * choisi s'il y en a un), tous les sites si aucun mot-clé
+     */
+    List<Site> loadSites(OfferRequest req) {
+        if (req.getKeywords() == null || req.getKeywords().trim().isEmpty()) {
+            return getAllSites();
+        }
+        Hotel chosen = req.getHotelId() > 0 ? getHotelIndex().findById(req.getHotelId()) : null;
+        return searchSites(req.getKeywords(), chosen != null ? chosen.getPosition() : null);
+    }
+    
+    /**
+     * Index des hôtels, construit au premier appel
+     */
+    HotelIndex getHotelIndex() {
+        HotelIndex index = hotelIndex;
+        if (index == null) {
+            index = buildHotelIndex();
+            hotelIndex = index;
+        }
+        return index;
+    }
+    
+    /**
+     * Génère les offres à partir des sites déjà chargés
+     * 
+     * @return liste non modifiable, jamais null
+     */
+    List<Offer> generateOffers(OfferRequest req, List<Site> sites, HotelIndex index) {
+        // Déléguer la génération (hôtels candidats pris dans l'index,
+        // seules les meilleures offres sont matérialisées)
+        List<Offer> offers = generator.generate(req, sites, index);
+        return offers != null ? Collections.unmodifiableList(offers) : Collections.<Offer>emptyList();
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private HotelIndex buildHotelIndex() {
+        HotelIndexRebuildEvent event = HotelIndexRebuildEvent.start();
+        List<Hotel> hotels = getAllHotels();
+        HotelIndex index = new HotelIndex(hotels);
+        event.finish(hotels.size());
+        return index;
+    }
+    
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000;
+    }
+    
+    private List<Offer> computeOffers(OfferRequest req) {
+        return generateOffers(req, loadSites(req), getHotelIndex());
     }
 }
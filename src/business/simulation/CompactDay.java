@@ -0,0 +1,127 @@
+package business.simulation;
+
+import business.domain.Site;
+import business.domain.TransportMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Représentation compacte et immuable d'une journée
+ * - hôtel : indice dans l'OfferCatalog
+ * - sites : tableau d'indices de sites (null = jour de repos)
+ * - trajets : indices de matrice (voir OfferCatalog.leg)
+ */
+public final class CompactDay {
+    
+    private static final long[] NO_LEGS = new long[0];
+    
+    private final int hotel;
+    private final int[] sites;
+    private final long[] legs;
+    
+    // ==================== Constructeurs ====================
+    
+    private CompactDay(int hotel, int[] sites, long[] legs) {
+        this.hotel = hotel;
+        this.sites = sites;
+        this.legs = legs;
+    }
+    
+    /**
+     * Crée un jour de repos à l'hôtel
+     */
+    public static CompactDay rest(int hotel) {
+        return new CompactDay(hotel, null, NO_LEGS);
+    }
+    
+    /**
+     * Crée une excursion hôtel -> sites -> hôtel
+     * Les trajets sont choisis par OfferCatalog.leg selon la distance
+     */
+    public static CompactDay excursion(OfferCatalog catalog, int hotel, int... sites) {
+        long[] legs = new long[sites.length + 1];
+        int previous = catalog.hotelNode(hotel);
+        for (int i = 0; i < sites.length; i++) {
+            int node = catalog.siteNode(sites[i]);
+            legs[i] = catalog.leg(previous, node);
+            previous = node;
+        }
+        legs[sites.length] = catalog.leg(previous, catalog.hotelNode(hotel));
+        return new CompactDay(hotel, sites.clone(), legs);
+    }
+    
+    // ==================== Getters ====================
+    
+    public int getHotel() {
+        return hotel;
+    }
+    
+    public boolean isRestDay() {
+        return sites == null;
+    }
+    
+    public int getSiteCount() {
+        return sites == null ? 0 : sites.length;
+    }
+    
+    public int getSite(int i) {
+        return sites[i];
+    }
+    
+    public int getLegCount() {
+        return legs.length;
+    }
+    
+    public long getLeg(int i) {
+        return legs[i];
+    }
+    
+    // ==================== Methods ====================
+    
+    /**
+     * Coût de la journée : une nuit d'hôtel + entrées des sites + trajets
+     */
+    public double cost(OfferCatalog catalog) {
+        double cost = catalog.getHotel(hotel).getPrice();
+        for (int i = 0; i < getSiteCount(); i++) {
+            cost += catalog.getSite(sites[i]).getPrice();
+        }
+        for (long leg : legs) {
+            cost += catalog.legCost(leg);
+        }
+        return cost;
+    }
+    
+    /**
+     * Somme des scores de confort des trajets de la journée
+     */
+    public int comfortSum(OfferCatalog catalog) {
+        int sum = 0;
+        for (long leg : legs) {
+            TransportMode mode = catalog.legMode(leg);
+            sum += mode.getComfortScore();
+        }
+        return sum;
+    }
+    
+    /**
+     * Matérialise la journée en DayPlan (uniquement pour les offres finales)
+     */
+    public DayPlan toDayPlan(int dayIndex, OfferCatalog catalog) {
+        if (isRestDay()) {
+            return new DayPlan(dayIndex, catalog.getHotel(hotel), null);
+        }
+        List<Site> siteList = new ArrayList<>(sites.length);
+        for (int site : sites) {
+            siteList.add(catalog.getSite(site));
+        }
+        List<TravelLeg> legList = new ArrayList<>(legs.length);
+        for (long leg : legs) {
+            legList.add(catalog.toTravelLeg(leg));
+        }
+        Excursion excursion = new Excursion(siteList, catalog.getHotel(hotel), legList);
+        excursion.setCost(excursion.calculateCost());
+        return new DayPlan(dayIndex, catalog.getHotel(hotel), excursion);
+    }
+}
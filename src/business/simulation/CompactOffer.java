@@ -0,0 +1,108 @@
+package business.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Représentation compacte et immuable d'une offre candidate
+ * Utilisée pendant la recherche d'itinéraires à la place d'Offer :
+ * quelques objets par offre au lieu de plusieurs dizaines.
+ * 
+ * Les agrégats (prix, confort des trajets, jours de repos) sont maintenus
+ * à chaque modification, sans reparcourir les journées.
+ * La conversion en Offer n'est faite que pour les offres retenues.
+ */
+public final class CompactOffer {
+    
+    private final DayList days;
+    private final double totalPrice;
+    private final int comfortSum;
+    private final int legCount;
+    private final int restDays;
+    
+    // ==================== Constructeurs ====================
+    
+    private CompactOffer(DayList days, double totalPrice, int comfortSum, int legCount, int restDays) {
+        this.days = days;
+        this.totalPrice = totalPrice;
+        this.comfortSum = comfortSum;
+        this.legCount = legCount;
+        this.restDays = restDays;
+    }
+    
+    public static CompactOffer of(OfferCatalog catalog, DayList days) {
+        double price = 0.0;
+        int comfort = 0;
+        int legs = 0;
+        int rest = 0;
+        for (CompactDay day : days) {
+            price += day.cost(catalog);
+            comfort += day.comfortSum(catalog);
+            legs += day.getLegCount();
+            if (day.isRestDay()) rest++;
+        }
+        return new CompactOffer(days, price, comfort, legs, rest);
+    }
+    
+    // ==================== Getters ====================
+    
+    public DayList getDays() {
+        return days;
+    }
+    
+    public int getNbDays() {
+        return days.size();
+    }
+    
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+    
+    public int getComfortSum() {
+        return comfortSum;
+    }
+    
+    public int getLegCount() {
+        return legCount;
+    }
+    
+    public int getRestDaysCount() {
+        return restDays;
+    }
+    
+    /**
+     * Indice de l'hôtel du premier jour (-1 si l'offre est vide)
+     */
+    public int getHotel() {
+        return days.isEmpty() ? -1 : days.get(0).getHotel();
+    }
+    
+    // ==================== Methods ====================
+    
+    /**
+     * Retourne une nouvelle offre où le jour index est remplacé
+     * Les autres journées sont partagées avec cette offre
+     */
+    public CompactOffer withDay(OfferCatalog catalog, int index, CompactDay day) {
+        CompactDay old = days.get(index);
+        return new CompactOffer(
+                days.with(index, day),
+                totalPrice - old.cost(catalog) + day.cost(catalog),
+                comfortSum - old.comfortSum(catalog) + day.comfortSum(catalog),
+                legCount - old.getLegCount() + day.getLegCount(),
+                restDays - (old.isRestDay() ? 1 : 0) + (day.isRestDay() ? 1 : 0));
+    }
+    
+    /**
+     * Matérialise l'offre en objets métier (DayPlan, Excursion, TravelLeg)
+     * Prix et score de confort sont laissés à OfferGenerator
+     */
+    public Offer toOffer(OfferCatalog catalog) {
+        List<DayPlan> plans = new ArrayList<>(days.size());
+        int dayIndex = 0;
+        for (CompactDay day : days) {
+            plans.add(day.toDayPlan(dayIndex++, catalog));
+        }
+        return new Offer(plans);
+    }
+}
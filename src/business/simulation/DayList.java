@@ -0,0 +1,101 @@
+package business.simulation;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Liste persistante (immuable) de journées compactes
+ * 
+ * Liste chaînée à partage structurel : remplacer le jour i ne copie que
+ * les i premiers maillons, la suite de la liste est partagée avec
+ * l'original. Deux offres candidates qui ne diffèrent que d'un jour
+ * partagent donc l'essentiel de leur structure.
+ */
+public final class DayList implements Iterable<CompactDay> {
+    
+    public static final DayList EMPTY = new DayList(null, null, 0);
+    
+    private final CompactDay head;
+    private final DayList tail;
+    private final int size;
+    
+    // ==================== Constructeurs ====================
+    
+    private DayList(CompactDay head, DayList tail, int size) {
+        this.head = head;
+        this.tail = tail;
+        this.size = size;
+    }
+    
+    /**
+     * Construit une liste à partir d'un tableau de journées
+     */
+    public static DayList of(CompactDay... days) {
+        DayList list = EMPTY;
+        for (int i = days.length - 1; i >= 0; i--) {
+            list = list.prepend(days[i]);
+        }
+        return list;
+    }
+    
+    // ==================== Methods ====================
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public DayList prepend(CompactDay day) {
+        return new DayList(day, this, size + 1);
+    }
+    
+    public CompactDay get(int index) {
+        checkIndex(index);
+        DayList node = this;
+        for (int i = 0; i < index; i++) {
+            node = node.tail;
+        }
+        return node.head;
+    }
+    
+    /**
+     * Retourne une nouvelle liste où le jour index est remplacé
+     * Les maillons suivants sont partagés avec la liste d'origine
+     */
+    public DayList with(int index, CompactDay day) {
+        checkIndex(index);
+        if (index == 0) {
+            return tail.prepend(day);
+        }
+        return tail.with(index - 1, day).prepend(head);
+    }
+    
+    @Override
+    public Iterator<CompactDay> iterator() {
+        return new Iterator<CompactDay>() {
+            private DayList node = DayList.this;
+            
+            @Override
+            public boolean hasNext() {
+                return node.size > 0;
+            }
+            
+            @Override
+            public CompactDay next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                CompactDay day = node.head;
+                node = node.tail;
+                return day;
+            }
+        };
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
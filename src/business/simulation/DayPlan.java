@@ -56,8 +56,7 @@ public class DayPlan {
      * @return true si jour de repos
      */
     public boolean isRestDay() {
-        // TODO: Implémenter
-        return false;
+        return excursion == null;
     }
     
     /**
@@ -65,8 +64,11 @@ public class DayPlan {
      * @return coût en euros
      */
     public double getDayCost() {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        double cost = hotel != null ? hotel.getPrice() : 0.0;
+        if (excursion != null) {
+            cost += excursion.calculateCost();
+        }
+        return cost;
     }
     
     @Override
@@ -75,8 +75,14 @@ public class Excursion {
      * @return coût total en euros
      */
     public double calculateCost() {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        double total = 0.0;
+        for (Site site : sites) {
+            total += site.getPrice();
+        }
+        for (TravelLeg leg : legs) {
+            total += leg.getCost();
+        }
+        return total;
     }
     
     /**
@@ -84,8 +90,7 @@ public class Excursion {
      * @return true si valide
      */
     public boolean isValid() {
-        // TODO: Implémenter la validation
-        return false;
+        return sites != null && !sites.isEmpty() && sites.size() <= MAX_SITES;
     }
     
     @Override
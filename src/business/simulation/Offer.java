@@ -63,8 +63,11 @@ public class Offer {
      * @return prix en euros
      */
     public double calculatePrice() {
-        // TODO: Implémenter le calcul
-        return 0.0;
+        double total = 0.0;
+        for (DayPlan day : days) {
+            total += day.getDayCost();
+        }
+        return total;
     }
     
     /**
@@ -80,8 +83,11 @@ public class Offer {
      * @return nombre de jours de repos
      */
     public int getRestDaysCount() {
-        // TODO: Implémenter
-        return 0;
+        int count = 0;
+        for (DayPlan day : days) {
+            if (day.isRestDay()) count++;
+        }
+        return count;
     }
     
     @Override
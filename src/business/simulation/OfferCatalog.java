@@ -0,0 +1,154 @@
+package business.simulation;
+
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+
+import java.util.List;
+
+/**
+ * Catalogue indexé utilisé par la représentation compacte des offres
+ * 
+ * Les hôtels et les sites sont référencés par leur indice dans le catalogue.
+ * Les noeuds du graphe de trajets sont numérotés ainsi :
+ * - hôtels : [0, nbHotels)
+ * - sites  : [nbHotels, nbHotels + nbSites)
+ * 
+ * Un trajet n'est jamais matérialisé pendant la recherche : il est référencé
+ * par son indice dans la matrice virtuelle (départ, arrivée, mode).
+ * Le TravelLeg correspondant n'est créé qu'à la conversion finale.
+ */
+public class OfferCatalog {
+    
+    private static final int MODES = TransportMode.values().length;
+    private static final double FOOT_MAX_KM = 1.5;
+    private static final double BOAT_MIN_KM = 15.0;
+    
+    private final Hotel[] hotels;
+    private final Site[] sites;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    
+    // ==================== Constructeurs ====================
+    
+    public OfferCatalog(List<Site> sites, List<Hotel> hotels) {
+        this.hotels = hotels.toArray(new Hotel[0]);
+        this.sites = sites.toArray(new Site[0]);
+        
+        int nodes = this.hotels.length + this.sites.length;
+        this.latitudes = new double[nodes];
+        this.longitudes = new double[nodes];
+        for (int node = 0; node < nodes; node++) {
+            Position p = (node < this.hotels.length)
+                    ? this.hotels[node].getPosition()
+                    : this.sites[node - this.hotels.length].getPosition();
+            latitudes[node] = p.getLatitude();
+            longitudes[node] = p.getLongitude();
+        }
+    }
+    
+    // ==================== Getters ====================
+    
+    public int getNbHotels() {
+        return hotels.length;
+    }
+    
+    public int getNbSites() {
+        return sites.length;
+    }
+    
+    public int getNbNodes() {
+        return latitudes.length;
+    }
+    
+    public Hotel getHotel(int hotelIndex) {
+        return hotels[hotelIndex];
+    }
+    
+    public Site getSite(int siteIndex) {
+        return sites[siteIndex];
+    }
+    
+    // ==================== Noeuds ====================
+    
+    public int hotelNode(int hotelIndex) {
+        return hotelIndex;
+    }
+    
+    public int siteNode(int siteIndex) {
+        return hotels.length + siteIndex;
+    }
+    
+    /**
+     * Distance en km entre deux noeuds (formule de Haversine)
+     */
+    public double distance(int fromNode, int toNode) {
+        return new Position(latitudes[fromNode], longitudes[fromNode])
+                .distanceTo(new Position(latitudes[toNode], longitudes[toNode]));
+    }
+    
+    // ==================== Trajets (indices de matrice) ====================
+    
+    /**
+     * Retourne l'indice de matrice du trajet (départ, arrivée, mode)
+     */
+    public long leg(int fromNode, int toNode, TransportMode mode) {
+        return ((long) fromNode * getNbNodes() + toNode) * MODES + mode.ordinal();
+    }
+    
+    /**
+     * Retourne l'indice du trajet en choisissant le mode selon la distance
+     */
+    public long leg(int fromNode, int toNode) {
+        return leg(fromNode, toNode, chooseMode(distance(fromNode, toNode)));
+    }
+    
+    public int legFrom(long leg) {
+        return (int) (leg / MODES / getNbNodes());
+    }
+    
+    public int legTo(long leg) {
+        return (int) (leg / MODES % getNbNodes());
+    }
+    
+    public TransportMode legMode(long leg) {
+        return TransportMode.values()[(int) (leg % MODES)];
+    }
+    
+    public double legDistance(long leg) {
+        return distance(legFrom(leg), legTo(leg));
+    }
+    
+    public double legCost(long leg) {
+        return legDistance(leg) * legMode(leg).getPricePerKm();
+    }
+    
+    public int legDuration(long leg) {
+        return (int) Math.ceil(legDistance(leg) / legMode(leg).getSpeedKmH() * 60);
+    }
+    
+    /**
+     * Matérialise un trajet (uniquement pour les offres finales)
+     */
+    public TravelLeg toTravelLeg(long leg) {
+        int from = legFrom(leg);
+        int to = legTo(leg);
+        TravelLeg travelLeg = new TravelLeg(
+                new Position(latitudes[from], longitudes[from]),
+                new Position(latitudes[to], longitudes[to]),
+                legMode(leg));
+        travelLeg.calculate();
+        return travelLeg;
+    }
+    
+    /**
+     * Mode de transport par défaut selon la distance :
+     * à pied pour les courtes distances, bateau entre les îles, bus sinon
+     */
+    public TransportMode chooseMode(double distanceKm) {
+        if (distanceKm <= FOOT_MAX_KM) return TransportMode.FOOT;
+        if (distanceKm >= BOAT_MIN_KM) return TransportMode.BOAT;
+        return TransportMode.BUS;
+    }
+}
@@ -13,6 +13,9 @@ public class OfferRequest {
     private int starRating;
     private String typeActivity;
     
+    /** Hôtel choisi (0 = aucun) : origine du critère distance du classement des sites */
+    private int hotelId;
+    
     // ==================== Constructeurs ====================
     
     public OfferRequest() {
@@ -78,6 +81,14 @@ public class OfferRequest {
         this.typeActivity = typeActivity;
     }
     
+    public int getHotelId() {
+        return hotelId;
+    }
+    
+    public void setHotelId(int hotelId) {
+        this.hotelId = hotelId;
+    }
+    
     // ==================== Methods ====================
     
     /**
@@ -85,14 +96,16 @@ public class OfferRequest {
      * @return true si tous les critères sont valides
      */
     public boolean validate() {
-        // TODO: Implémenter la validation
-        return false;
+        return budget > 0
+            && nbDays > 0
+            && intensity != null
+            && starRating >= 0 && starRating <= 5;
     }
     
     @Override
     public String toString() {
         return "OfferRequest{keywords='" + keywords + "', budget=" + budget +
                ", nbDays=" + nbDays + ", intensity=" + intensity +
-               ", starRating=" + starRating + ", typeActivity='" + typeActivity + "'}";
+               ", starRating=" + starRating + ", typeActivity='" + typeActivity + "', hotelId=" + hotelId + "}";
     }
 }
@@ -71,7 +71,9 @@ public class TravelLeg {
      * Calcule la distance, le coût et la durée du trajet
      */
     public void calculate() {
-        // TODO: Implémenter le calcul
+        distanceKm = from.distanceTo(to);
+        cost = distanceKm * mode.getPricePerKm();
+        durationMin = (int) Math.ceil(distanceKm / mode.getSpeedKmH() * 60);
     }
     
     @Override
@@ -0,0 +1,71 @@
+package dao;
+
+/**
+ * Bilan d'une écriture en masse (CatalogImportDao) : lignes validées,
+ * lots, durée et débit. En cas d'échec, les lots déjà validés restent en
+ * base ; getError() décrit la cause.
+ * 
+ * @author Équipe Persistance
+ */
+public class BulkWriteReport {
+    
+    private final String table;
+    private final long rows;
+    private final int batches;
+    private final long elapsedNanos;
+    private final long textBytes;
+    private final String error;
+    
+    public BulkWriteReport(String table, long rows, int batches, long elapsedNanos, long textBytes, String error) {
+        this.table = table;
+        this.rows = rows;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+        this.textBytes = textBytes;
+        this.error = error;
+    }
+    
+    public String getTable() {
+        return table;
+    }
+    
+    /** Lignes validées (commit) */
+    public long getRows() {
+        return rows;
+    }
+    
+    public int getBatches() {
+        return batches;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    /** Octets de descriptions écrits dans le répertoire R */
+    public long getTextBytes() {
+        return textBytes;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public boolean isSuccessful() {
+        return error == null;
+    }
+    
+    public double getRowsPerSecond() {
+        return rows / Math.max(elapsedNanos / 1e9, 1e-9);
+    }
+    
+    @Override
+    public String toString() {
+        String line = String.format("%s : %d lignes, %d lots en %.1f s (%.0f lignes/s)",
+                table, rows, batches, elapsedNanos / 1e9, getRowsPerSecond());
+        if (textBytes > 0) {
+            line += String.format(", %d Ko de descriptions", textBytes / 1024);
+        }
+        return isSuccessful() ? "✅ " + line : "❌ " + line + " — " + error;
+    }
+}
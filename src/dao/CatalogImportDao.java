@@ -0,0 +1,97 @@
+package dao;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.domain.TransportMode;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Interface DAO d'écriture en masse du catalogue (imports nocturnes).
+ * Implémentation : JdbcCatalogImportDao (package persistence.jdbc)
+ * 
+ * Les sources sont parcourues une seule fois (Iterable : liste, ou
+ * {@code stream::iterator} pour un flux) et écrites par lots ; chaque
+ * méthode retourne son bilan (lignes, lots, débit).
+ * 
+ * @author Équipe Persistance
+ */
+public interface CatalogImportDao {
+    
+    /**
+     * Textes associés à un site, hors colonnes de Site :
+     * catégorie (activity_category) et description complète (fichier c.txt
+     * du répertoire R, indexé par Lucene).
+     */
+    interface SiteText {
+        
+        String category(Site site);
+        
+        String fullDescription(Site site);
+        
+        /** Sans catégorie ; la description courte sert de description complète */
+        static SiteText shortDescriptionOnly() {
+            return of(site -> null, Site::getDescription);
+        }
+        
+        static SiteText of(Function<Site, String> category, Function<Site, String> fullDescription) {
+            return new SiteText() {
+                @Override
+                public String category(Site site) {
+                    return category.apply(site);
+                }
+                
+                @Override
+                public String fullDescription(Site site) {
+                    return fullDescription.apply(site);
+                }
+            };
+        }
+    }
+    
+    /**
+     * Insère ou met à jour (même id_site) les sites, écrit leurs descriptions
+     * dans le répertoire R et met à jour l'index Lucene, lot par lot.
+     * 
+     * @param sites sites avec id explicite (> 0)
+     * @param text catégorie et description complète de chaque site
+     */
+    BulkWriteReport saveSites(Iterable<? extends Site> sites, SiteText text);
+    
+    default BulkWriteReport saveSites(Iterable<? extends Site> sites) {
+        return saveSites(sites, SiteText.shortDescriptionOnly());
+    }
+    
+    /**
+     * Insère ou met à jour (même id_hotel) les hôtels.
+     * 
+     * @param hotels hôtels avec id explicite (> 0)
+     */
+    BulkWriteReport saveHotels(Iterable<? extends Hotel> hotels);
+    
+    /**
+     * Insère ou met à jour les routes : une route par couple (origine,
+     * destination) (clé unique_route), un ré-import remplace distance, mode
+     * et durée au lieu de dupliquer la route.
+     * 
+     * @param edges liens "H:id"/"S:id"
+     * @param distanceKm distance de chaque lien (colonne distance_km)
+     */
+    BulkWriteReport saveRoutes(Iterable<TransportEdge> edges, ToDoubleFunction<TransportEdge> distanceKm);
+    
+    /**
+     * Variante sans distances connues : distance déduite du coût (prix au km
+     * du mode) ou, pour la marche, de la durée.
+     */
+    default BulkWriteReport saveRoutes(Iterable<TransportEdge> edges) {
+        return saveRoutes(edges, CatalogImportDao::estimatedDistanceKm);
+    }
+    
+    static double estimatedDistanceKm(TransportEdge edge) {
+        TransportMode mode = edge.mode;
+        return mode.getPricePerKm() > 0
+                ? edge.cost / mode.getPricePerKm()
+                : edge.durationMinutes * mode.getSpeedKmH() / 60.0;
+    }
+}
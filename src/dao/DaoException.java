@@ -0,0 +1,20 @@
+package dao;
+
+/**
+ * Échec d'un accès aux données qui ne doit pas passer pour un résultat vide
+ * (pages et flux : un résultat partiel serait pris pour un résultat complet).
+ *
+ * @author Équipe Persistance
+ */
+public class DaoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param operation méthode DAO en échec (ex: "findSitesPage")
+     * @param cause erreur SQL ou de lecture d'origine
+     */
+    public DaoException(String operation, Throwable cause) {
+        super(operation + " : " + cause.getMessage(), cause);
+    }
+}
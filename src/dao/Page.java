@@ -0,0 +1,49 @@
+package dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page de résultats d'une pagination par clé.
+ * 
+ * {@link #getNextKey()} est le curseur à repasser pour obtenir la page
+ * suivante ; il vaut null sur la dernière page.
+ * 
+ * @param <T> type des éléments
+ * @author Équipe Persistance
+ */
+public class Page<T> {
+    
+    private final List<T> items;
+    private final SeekKey nextKey;
+    
+    public Page(List<T> items, SeekKey nextKey) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextKey = nextKey;
+    }
+    
+    public static <T> Page<T> empty() {
+        return new Page<T>(Collections.<T>emptyList(), null);
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public SeekKey getNextKey() {
+        return nextKey;
+    }
+    
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+    
+    public int size() {
+        return items.size();
+    }
+    
+    @Override
+    public String toString() {
+        return "Page[" + items.size() + " items, next=" + nextKey + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utilitaires de pagination par clé.
+ * 
+ * - slice : découpe en mémoire d'une liste (implémentations par défaut des DAO)
+ * - stream : Stream paresseux qui enchaîne les pages, une seule page en mémoire
+ *   à la fois (la requête suivante n'est exécutée qu'une fois la page courante
+ *   consommée)
+ * 
+ * @author Équipe Persistance
+ */
+public final class Pages {
+    
+    /** Taille de page par défaut des variantes Stream. */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    
+    private Pages() {
+    }
+    
+    /**
+     * Page des éléments strictement après {@code after}, dans l'ordre des clés.
+     * 
+     * @param items éléments (dans n'importe quel ordre)
+     * @param keyOf clé de tri d'un élément
+     * @param after curseur (SeekKey.FIRST pour la première page)
+     * @param limit nombre maximum d'éléments
+     */
+    public static <T> Page<T> slice(List<T> items, Function<? super T, SeekKey> keyOf,
+                                    SeekKey after, int limit) {
+        checkLimit(limit);
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(keyOf));
+        List<SeekKey> keys = new ArrayList<>(sorted.size());
+        for (T item : sorted) {
+            keys.add(keyOf.apply(item));
+        }
+        int from = after == null || after.isFirst() ? 0 : upperBound(keys, after);
+        int to = Math.min(sorted.size(), from + limit);
+        SeekKey next = to < sorted.size() && to > from ? keys.get(to - 1) : null;
+        return new Page<T>(new ArrayList<>(sorted.subList(from, to)), next);
+    }
+    
+    /**
+     * Page d'une liste sans clé naturelle : la clé est la position (1-based).
+     */
+    public static <T> Page<T> sliceByPosition(List<T> items, SeekKey after, int limit) {
+        checkLimit(limit);
+        int from = after == null || after.isFirst() ? 0 : Math.max(0, after.getId());
+        if (from >= items.size()) {
+            return Page.empty();
+        }
+        int to = Math.min(items.size(), from + limit);
+        return new Page<T>(new ArrayList<>(items.subList(from, to)),
+                to < items.size() ? SeekKey.afterId(to) : null);
+    }
+    
+    /**
+     * Construit une page à partir de limit + 1 lignes lues : la ligne en trop
+     * indique seulement qu'une page suivante existe.
+     * 
+     * @param rows lignes lues (au plus limit + 1)
+     */
+    public static <T> Page<T> fromLookahead(List<T> rows, Function<? super T, SeekKey> keyOf, int limit) {
+        if (rows.size() <= limit) {
+            return new Page<T>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new Page<T>(items, keyOf.apply(items.get(limit - 1)));
+    }
+    
+    /**
+     * Stream paresseux sur toutes les pages : fetch est appelé avec
+     * SeekKey.FIRST, puis avec la clé suivante de chaque page, jusqu'à la
+     * dernière page. Une exception de fetch (DaoException) interrompt le
+     * Stream et remonte au consommateur.
+     * 
+     * @param fetch requête d'une page à partir d'un curseur
+     */
+    public static <T> Stream<T> stream(Function<SeekKey, Page<T>> fetch) {
+        Iterator<T> it = new Iterator<T>() {
+            private Iterator<T> current = Collections.emptyIterator();
+            private SeekKey next = SeekKey.FIRST;
+            
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && next != null) {
+                    Page<T> page = fetch.apply(next);
+                    current = page.getItems().iterator();
+                    next = page.getNextKey();
+                }
+                return current.hasNext();
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return current.next();
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * @throws IllegalArgumentException si limit n'est pas strictement positif
+     */
+    public static void checkLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be > 0: " + limit);
+        }
+    }
+    
+    /** Premier indice dont la clé est strictement supérieure à key. */
+    private static int upperBound(List<SeekKey> keys, SeekKey key) {
+        int lo = 0, hi = keys.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys.get(mid).compareTo(key) <= 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,73 @@
+package dao;
+
+/**
+ * Curseur de pagination par clé (keyset / seek pagination).
+ * 
+ * Représente la clé de tri du dernier élément vu : (valeur, id). La page
+ * suivante est obtenue par un prédicat « strictement après » sur cette clé
+ * ({@code WHERE (entry_price, id_site) > (?, ?) ORDER BY entry_price, id_site LIMIT ?})
+ * au lieu d'un OFFSET : une page profonde coûte O(limit), pas O(offset + limit).
+ * 
+ * Pour les listes triées uniquement par id, la valeur vaut 0.
+ * 
+ * @author Équipe Persistance
+ */
+public final class SeekKey implements Comparable<SeekKey> {
+    
+    /** Avant le premier élément (première page). */
+    public static final SeekKey FIRST = new SeekKey(Double.NEGATIVE_INFINITY, Integer.MIN_VALUE);
+    
+    private final double value;
+    private final int id;
+    
+    private SeekKey(double value, int id) {
+        this.value = value;
+        this.id = id;
+    }
+    
+    /** Curseur pour une liste triée par id. */
+    public static SeekKey afterId(int id) {
+        return new SeekKey(0, id);
+    }
+    
+    /** Curseur pour une liste triée par (valeur, id). */
+    public static SeekKey after(double value, int id) {
+        return new SeekKey(value, id);
+    }
+    
+    public boolean isFirst() {
+        return this == FIRST;
+    }
+    
+    public double getValue() {
+        return value;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    /** Ordre lexicographique (valeur, id), celui des requêtes SQL. */
+    @Override
+    public int compareTo(SeekKey other) {
+        int c = Double.compare(value, other.value);
+        return c != 0 ? c : Integer.compare(id, other.id);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SeekKey)) return false;
+        SeekKey k = (SeekKey) o;
+        return Double.compare(value, k.value) == 0 && id == k.id;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(value) + id;
+    }
+    
+    @Override
+    public String toString() {
+        return isFirst() ? "SeekKey[FIRST]" : "SeekKey[" + value + ", " + id + "]";
+    }
+}
@@ -0,0 +1,250 @@
+package dao;
+
+import business.domain.Position;
+import business.domain.Site;
+
+import java.time.LocalTime;
+import java.util.Locale;
+
+/**
+ * Critères combinés de recherche de sites (tous optionnels, combinés par ET).
+ * Utilisé par TravelDao.findSites : l'implémentation JDBC compile l'ensemble
+ * en une seule requête SQL paramétrée (+ Lucene si mots-clés).
+ * 
+ * Exemple :
+ * <pre>
+ *   SiteCriteria.create()
+ *       .type("ACTIVITY")
+ *       .priceBetween(0, 60)
+ *       .openBetween(LocalTime.of(9, 0), LocalTime.of(12, 0))
+ *       .near(new Position(-17.53, -149.57), 10)
+ *       .keywords("plongée lagon")
+ * </pre>
+ * 
+ * @author Équipe Persistance
+ */
+public class SiteCriteria {
+    
+    private static final double KM_PER_DEGREE = 111.19;
+    
+    private String siteType;
+    private Double minPrice;
+    private Double maxPrice;
+    private String category;
+    private LocalTime openFrom;
+    private LocalTime openTo;
+    private Double minLatitude;
+    private Double maxLatitude;
+    private Double minLongitude;
+    private Double maxLongitude;
+    private Position center;
+    private double radiusKm;
+    private String keywords;
+    private Position rankOrigin;
+    private int limit;
+    
+    public static SiteCriteria create() {
+        return new SiteCriteria();
+    }
+    
+    // ==================== Critères ====================
+    
+    /**
+     * @param siteType "HISTORICAL" ou "ACTIVITY"
+     */
+    public SiteCriteria type(String siteType) {
+        this.siteType = siteType == null ? null : siteType.toUpperCase(Locale.ROOT);
+        return this;
+    }
+    
+    public SiteCriteria priceBetween(double min, double max) {
+        this.minPrice = min;
+        this.maxPrice = max;
+        return this;
+    }
+    
+    public SiteCriteria minPrice(double min) {
+        this.minPrice = min;
+        return this;
+    }
+    
+    public SiteCriteria maxPrice(double max) {
+        this.maxPrice = max;
+        return this;
+    }
+    
+    /**
+     * @param category valeur de activity_category (ex : "plongée")
+     */
+    public SiteCriteria category(String category) {
+        this.category = category;
+        return this;
+    }
+    
+    /**
+     * Site ouvert pendant toute la plage [from, to]
+     */
+    public SiteCriteria openBetween(LocalTime from, LocalTime to) {
+        this.openFrom = from;
+        this.openTo = to;
+        return this;
+    }
+    
+    public SiteCriteria boundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+        return this;
+    }
+    
+    /**
+     * Sites à moins de radiusKm de center : boîte englobante en SQL
+     * (index idx_site_location) puis distance exacte sur les candidats
+     */
+    public SiteCriteria near(Position center, double radiusKm) {
+        this.center = center;
+        this.radiusKm = radiusKm;
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double dLon = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(center.getLatitude())), 1e-6));
+        return boundingBox(center.getLatitude() - dLat, center.getLatitude() + dLat,
+                center.getLongitude() - dLon, center.getLongitude() + dLon);
+    }
+    
+    /**
+     * Origine du critère distance du classement hybride (ex : hôtel choisi),
+     * sans filtrer par rayon. Par défaut : le centre de near().
+     */
+    public SiteCriteria rankFrom(Position origin) {
+        this.rankOrigin = origin;
+        return this;
+    }
+    
+    /**
+     * Mots-clés de recherche plein texte (Lucene), résultats triés par pertinence
+     */
+    public SiteCriteria keywords(String keywords) {
+        this.keywords = keywords == null || keywords.trim().isEmpty() ? null : keywords.trim();
+        return this;
+    }
+    
+    /**
+     * Nombre maximum de résultats (0 = pas de limite)
+     */
+    public SiteCriteria limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+    
+    // ==================== Évaluation en mémoire ====================
+    
+    /**
+     * Vérifie les critères sur un site déjà chargé (hors mots-clés).
+     * Le domaine ne porte pas activity_category : la catégorie est
+     * alors recherchée dans le nom et la description.
+     */
+    public boolean matches(Site site) {
+        if (siteType != null && site.isHistorical() != "HISTORICAL".equals(siteType)) return false;
+        if (minPrice != null && site.getPrice() < minPrice) return false;
+        if (maxPrice != null && site.getPrice() > maxPrice) return false;
+        if (category != null && !containsIgnoreCase(site.getName(), category)
+                && !containsIgnoreCase(site.getDescription(), category)) return false;
+        if (openFrom != null && site.getStartTime() != null && site.getStartTime().isAfter(openFrom)) return false;
+        if (openTo != null && site.getEndTime() != null && site.getEndTime().isBefore(openTo)) return false;
+        if (hasBoundingBox()) {
+            double lat = site.getPosition().getLatitude();
+            double lon = site.getPosition().getLongitude();
+            if (lat < minLatitude || lat > maxLatitude || lon < minLongitude || lon > maxLongitude) return false;
+        }
+        return withinRadius(site);
+    }
+    
+    /**
+     * Filtre exact du rayon (la boîte englobante seule inclut les coins)
+     */
+    public boolean withinRadius(Site site) {
+        return center == null || site.getPosition().distanceTo(center) <= radiusKm;
+    }
+    
+    private static boolean containsIgnoreCase(String text, String word) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(word.toLowerCase(Locale.ROOT));
+    }
+    
+    // ==================== Getters ====================
+    
+    public String getSiteType() {
+        return siteType;
+    }
+    
+    public Double getMinPrice() {
+        return minPrice;
+    }
+    
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public LocalTime getOpenFrom() {
+        return openFrom;
+    }
+    
+    public LocalTime getOpenTo() {
+        return openTo;
+    }
+    
+    public boolean hasBoundingBox() {
+        return minLatitude != null;
+    }
+    
+    public Double getMinLatitude() {
+        return minLatitude;
+    }
+    
+    public Double getMaxLatitude() {
+        return maxLatitude;
+    }
+    
+    public Double getMinLongitude() {
+        return minLongitude;
+    }
+    
+    public Double getMaxLongitude() {
+        return maxLongitude;
+    }
+    
+    public Position getCenter() {
+        return center;
+    }
+    
+    public double getRadiusKm() {
+        return radiusKm;
+    }
+    
+    public String getKeywords() {
+        return keywords;
+    }
+    
+    public Position getRankOrigin() {
+        return rankOrigin != null ? rankOrigin : center;
+    }
+    
+    /**
+     * Vrai si au moins un prédicat structurel (SQL) est défini
+     */
+    public boolean hasFilters() {
+        return siteType != null || minPrice != null || maxPrice != null || category != null
+                || openFrom != null || openTo != null || hasBoundingBox() || center != null;
+    }
+    
+    public boolean hasKeywords() {
+        return keywords != null;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+}
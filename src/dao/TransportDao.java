@@ -4,6 +4,7 @@ import business.domain.TransportMode;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface DAO pour l'accès aux données de transport.
@@ -32,4 +33,42 @@ public interface TransportDao {
      * @return Liste des TransportEdge correspondants
      */
     List<TransportEdge> findTransportEdgesByModes(Set<TransportMode> allowedModes);
+    
+    // ==================== LECTURE EN FLUX ====================
+    
+    /**
+     * Liens de transport des modes autorisés (tous si null ou vide), mappés à
+     * la demande depuis un curseur en avant seulement (JdbcTransportDao).
+     * Le Stream tient une connexion ouverte jusqu'à sa fermeture : l'utiliser
+     * dans un try-with-resources.
+     * 
+     * Implémentation par défaut : flux de la liste matérialisée.
+     */
+    default Stream<TransportEdge> streamTransportEdges(Set<TransportMode> allowedModes) {
+        if (allowedModes == null || allowedModes.isEmpty()) {
+            return findAllTransportEdges().stream();
+        }
+        return findTransportEdgesByModes(allowedModes).stream();
+    }
+    
+    // ==================== PAGINATION PAR CLÉ ====================
+    
+    /**
+     * Page de liens de transport dans l'ordre de findAllTransportEdges.
+     * Le curseur porte l'identifiant de la dernière route vue (id_route en
+     * JDBC, position dans la liste pour les implémentations en mémoire).
+     * 
+     * @param after curseur de la page précédente (SeekKey.FIRST au départ)
+     * @param limit taille maximale de la page
+     */
+    default Page<TransportEdge> findTransportEdgesPage(SeekKey after, int limit) {
+        return Pages.sliceByPosition(findAllTransportEdges(), after, limit);
+    }
+    
+    /**
+     * Tous les liens de transport, page par page (une page en mémoire à la fois).
+     */
+    default Stream<TransportEdge> streamTransportEdges(int pageSize) {
+        return Pages.stream(key -> findTransportEdgesPage(key, pageSize));
+    }
 }
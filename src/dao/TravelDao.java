@@ -1,10 +1,15 @@
 package dao;
 
 import business.domain.Hotel;
+import business.domain.Position;
 import business.domain.Site;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface DAO pour l'accès aux données Sites et Hotels.
@@ -67,6 +72,42 @@ public interface TravelDao {
      */
     List<Site> findSitesByPriceRange(double min, double max);
     
+    /**
+     * Recherche de sites par mots-clés, classés aussi selon la distance à
+     * rankOrigin (ex : hôtel choisi) si la formule de classement hybride
+     * comporte un critère distance.
+     * 
+     * @param rankOrigin origine du critère distance (null = aucune)
+     */
+    default List<Site> findSitesByKeywords(String keywords, Position rankOrigin) {
+        return findSites(new SiteCriteria().keywords(keywords).rankFrom(rankOrigin));
+    }
+    
+    /**
+     * Recherche de sites multi-critères (type, prix, catégorie, horaires,
+     * zone géographique, mots-clés) en un seul aller-retour.
+     * 
+     * Implémentation par défaut : filtrage en mémoire de findSitesByKeywords
+     * (ou findAllSites sans mots-clés). JdbcTravelDao compile les critères
+     * en une requête SQL unique.
+     * 
+     * @param criteria critères combinés par ET
+     * @return sites triés par pertinence (si mots-clés) ou par id
+     */
+    default List<Site> findSites(SiteCriteria criteria) {
+        List<Site> candidates = criteria.hasKeywords()
+                ? findSitesByKeywords(criteria.getKeywords())
+                : findAllSites();
+        List<Site> result = new ArrayList<>();
+        for (Site site : candidates) {
+            if (criteria.matches(site)) {
+                result.add(site);
+                if (result.size() == criteria.getLimit()) break;
+            }
+        }
+        return result;
+    }
+    
     // ==================== HOTELS ====================
     
     /**
@@ -113,4 +154,103 @@ public interface TravelDao {
      * @return Liste des hôtels correspondants
      */
     List<Hotel> findHotelsByKeywords(String keywords);
+    
+    // ==================== LECTURE EN FLUX ====================
+    
+    /**
+     * Tous les sites, mappés à la demande depuis un curseur en avant seulement
+     * (JdbcTravelDao) : la mémoire reste constante quelle que soit la taille
+     * de la table. Le Stream tient une connexion ouverte jusqu'à sa fermeture :
+     * l'utiliser dans un try-with-resources. Une erreur SQL lève DaoException
+     * (à l'ouverture ou en cours de parcours).
+     * 
+     * Implémentation par défaut : findAllSites().stream().
+     */
+    default Stream<Site> streamAllSites() {
+        return findAllSites().stream();
+    }
+    
+    /**
+     * Tous les hôtels en flux (voir streamAllSites).
+     */
+    default Stream<Hotel> streamAllHotels() {
+        return findAllHotels().stream();
+    }
+    
+    // ==================== PAGINATION PAR CLÉ ====================
+    
+    /*
+     * Variantes bornées des méthodes de liste : chaque page est obtenue par un
+     * prédicat « après le dernier élément vu » (pas d'OFFSET), donc une page
+     * profonde coûte O(limit). Les implémentations par défaut découpent la
+     * liste complète en mémoire ; JdbcTravelDao les traduit en SQL.
+     * Une page en échec lève DaoException (jamais une page vide qui
+     * terminerait le Stream comme s'il était complet).
+     */
+    
+    /**
+     * Page de sites triés par id.
+     * 
+     * @param after curseur de la page précédente (SeekKey.FIRST au départ)
+     * @param limit taille maximale de la page
+     */
+    default Page<Site> findSitesPage(SeekKey after, int limit) {
+        return Pages.slice(findAllSites(), s -> SeekKey.afterId(s.getId()), after, limit);
+    }
+    
+    /**
+     * Page de sites dans la fourchette de prix, triés par (entry_price, id_site).
+     */
+    default Page<Site> findSitesByPriceRangePage(double min, double max, SeekKey after, int limit) {
+        return Pages.slice(findSitesByPriceRange(min, max),
+                s -> SeekKey.after(s.getPrice(), s.getId()), after, limit);
+    }
+    
+    /**
+     * Page d'hôtels triés par id.
+     */
+    default Page<Hotel> findHotelsPage(SeekKey after, int limit) {
+        return Pages.slice(findAllHotels(), h -> SeekKey.afterId(h.getId()), after, limit);
+    }
+    
+    /**
+     * Page d'hôtels dans la fourchette de prix, triés par (price_per_night, id_hotel).
+     */
+    default Page<Hotel> findHotelsByPriceRangePage(double min, double max, SeekKey after, int limit) {
+        return Pages.slice(findHotelsByPriceRange(min, max),
+                h -> SeekKey.after(h.getPrice(), h.getId()), after, limit);
+    }
+    
+    /**
+     * Tous les sites, page par page (une page en mémoire à la fois).
+     * Le Stream est paresseux : la requête d'une page n'est exécutée que
+     * lorsque la précédente est consommée.
+     */
+    default Stream<Site> streamSites(int pageSize) {
+        return Pages.stream(key -> findSitesPage(key, pageSize));
+    }
+    
+    default Stream<Site> streamSitesByPriceRange(double min, double max, int pageSize) {
+        return Pages.stream(key -> findSitesByPriceRangePage(min, max, key, pageSize));
+    }
+    
+    default Stream<Hotel> streamHotels(int pageSize) {
+        return Pages.stream(key -> findHotelsPage(key, pageSize));
+    }
+    
+    default Stream<Hotel> streamHotelsByPriceRange(double min, double max, int pageSize) {
+        return Pages.stream(key -> findHotelsByPriceRangePage(min, max, key, pageSize));
+    }
+    
+    // ==================== EXTRAITS ====================
+    
+    /**
+     * Extraits surlignés des descriptions (c.txt) des sites siteIds pour la
+     * recherche keywords (voir TravelDataAccess.highlightSites).
+     * 
+     * Implémentation par défaut : aucun extrait.
+     */
+    default Map<Integer, String> findSiteSnippets(String keywords, List<Integer> siteIds, long budgetMillis) {
+        return new HashMap<>();
+    }
 }
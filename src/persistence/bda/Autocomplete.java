@@ -0,0 +1,170 @@
+package persistence.bda;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service de complétion (type-ahead) des recherches : noms de sites,
+ * noms d'hôtels, plages et termes fréquents des descriptions.
+ *
+ * Répond depuis un CompletionIndex (FST) en mémoire, sans MySQL ni Lucene
+ * sur disque. L'index est reconstruit à chaque version du catalogue
+ * (rebuild, appelé par SnapshotTravelDataAccess) puis remplacé d'un bloc :
+ * les recherches en cours gardent l'ancien.
+ *
+ * POIDS :
+ * - site, hôtel : 1 + popularité (PopularityCounters)
+ * - plage : nombre d'hôtels sur la plage
+ * - terme : nombre de descriptions qui le contiennent (au moins minTermSites)
+ */
+public class Autocomplete {
+
+    public static final int DEFAULT_LIMIT = 8;
+
+    /** Termes de description retenus au plus (les plus fréquents) */
+    public static final int DEFAULT_MAX_TERMS = 2000;
+
+    private static final int MIN_TERM_LENGTH = 4;
+    private static final CharArraySet STOP_WORDS = FrenchAnalyzer.getDefaultStopSet();
+
+    private static final Autocomplete SHARED = new Autocomplete();
+
+    private volatile CompletionIndex index = CompletionIndex.empty();
+
+    private PopularityCounters sitePopularity = PopularityCounters.shared();
+    private PopularityCounters hotelPopularity = new PopularityCounters();
+    private int maxTerms = DEFAULT_MAX_TERMS;
+    private int minTermSites = 2;
+
+    /** Service partagé de l'application (servlet /suggest) */
+    public static Autocomplete shared() {
+        return SHARED;
+    }
+
+    // ==================== Configuration ====================
+
+    public void setSitePopularity(PopularityCounters sitePopularity) {
+        this.sitePopularity = sitePopularity;
+    }
+
+    public void setHotelPopularity(PopularityCounters hotelPopularity) {
+        this.hotelPopularity = hotelPopularity;
+    }
+
+    public int getMaxTerms() {
+        return maxTerms;
+    }
+
+    public void setMaxTerms(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    public int getMinTermSites() {
+        return minTermSites;
+    }
+
+    public void setMinTermSites(int minTermSites) {
+        this.minTermSites = minTermSites;
+    }
+
+    // ==================== Complétion ====================
+
+    /**
+     * Suggestions pour la saisie en cours, par poids décroissant
+     */
+    public List<CompletionIndex.Suggestion> suggest(String prefix, int limit) {
+        return index.lookup(prefix, limit);
+    }
+
+    public List<CompletionIndex.Suggestion> suggest(String prefix) {
+        return suggest(prefix, DEFAULT_LIMIT);
+    }
+
+    public CompletionIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Reconstruit l'index depuis le catalogue ; en cas d'échec l'ancien est conservé
+     */
+    public void rebuild(List<? extends Site> sites, List<? extends Hotel> hotels) {
+        long t0 = System.nanoTime();
+        try {
+            index = build(sites, hotels);
+            System.out.println(String.format("✅ Complétion : %d libellés, %d Ko en %.1f ms",
+                    index.size(), index.ramBytesUsed() / 1024, (System.nanoTime() - t0) / 1e6));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Reconstruction de la complétion impossible : " + e.getMessage());
+        }
+    }
+
+    private CompletionIndex build(List<? extends Site> sites, List<? extends Hotel> hotels) throws IOException {
+        CompletionIndex.Builder builder = new CompletionIndex.Builder();
+
+        for (Site site : sites) {
+            builder.add(site.getName(), CompletionIndex.Kind.SITE, site.getId(), 1 + sitePopularity.get(site.getId()));
+        }
+
+        Map<String, Integer> hotelsByBeach = new HashMap<>();
+        for (Hotel hotel : hotels) {
+            builder.add(hotel.getName(), CompletionIndex.Kind.HOTEL, hotel.getId(), 1 + hotelPopularity.get(hotel.getId()));
+            if (hotel.getBeachName() != null && !hotel.getBeachName().trim().isEmpty()) {
+                hotelsByBeach.merge(hotel.getBeachName().trim(), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> beach : hotelsByBeach.entrySet()) {
+            builder.add(beach.getKey(), CompletionIndex.Kind.BEACH, 0, beach.getValue());
+        }
+
+        for (Map.Entry<String, Integer> term : frequentTerms(sites).entrySet()) {
+            builder.add(term.getKey(), CompletionIndex.Kind.TERM, 0, term.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Termes des descriptions présents dans au moins minTermSites sites
+     * (hors mots vides), maxTerms au plus, forme minuscule accentuée
+     */
+    Map<String, Integer> frequentTerms(List<? extends Site> sites) {
+        Map<String, Integer> siteCount = new HashMap<>();
+        Map<String, String> surface = new HashMap<>();
+        for (Site site : sites) {
+            if (site.getDescription() == null) continue;
+            Set<String> seen = new HashSet<>();
+            for (String word : site.getDescription().toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                if (word.length() < MIN_TERM_LENGTH || STOP_WORDS.contains(word)) continue;
+                String key = CompletionIndex.normalize(word);
+                if (seen.add(key)) {
+                    siteCount.merge(key, 1, Integer::sum);
+                    surface.putIfAbsent(key, word);
+                }
+            }
+        }
+
+        List<Map.Entry<String, Integer>> frequent = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : siteCount.entrySet()) {
+            if (e.getValue() >= minTermSites) {
+                frequent.add(e);
+            }
+        }
+        frequent.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+
+        Map<String, Integer> terms = new HashMap<>();
+        for (Map.Entry<String, Integer> e : frequent.subList(0, Math.min(maxTerms, frequent.size()))) {
+            terms.put(surface.get(e.getKey()), e.getValue());
+        }
+        return terms;
+    }
+}
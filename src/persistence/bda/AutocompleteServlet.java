@@ -0,0 +1,61 @@
+package persistence.bda;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Complétion de la recherche (GET /suggest?q=pla&limit=8)
+ * Réponse JSON : [{"text":"Plage de Matira","kind":"SITE","id":12}, ...]
+ */
+public class AutocompleteServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_LIMIT = 20;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        int limit = Autocomplete.DEFAULT_LIMIT;
+        try {
+            if (req.getParameter("limit") != null) {
+                limit = Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(req.getParameter("limit"))));
+            }
+        } catch (NumberFormatException e) {
+            // limite par défaut
+        }
+
+        List<CompletionIndex.Suggestion> suggestions = Autocomplete.shared().suggest(req.getParameter("q"), limit);
+
+        resp.setContentType("application/json; charset=UTF-8");
+        resp.setHeader("Cache-Control", "max-age=60");
+        resp.getWriter().write(toJson(suggestions));
+    }
+
+    private static String toJson(List<CompletionIndex.Suggestion> suggestions) {
+        StringBuilder sb = new StringBuilder("[");
+        for (CompletionIndex.Suggestion s : suggestions) {
+            if (sb.length() > 1) sb.append(',');
+            sb.append("{\"text\":\"").append(escape(s.getText()))
+              .append("\",\"kind\":\"").append(s.getKind())
+              .append("\",\"id\":").append(s.getId()).append('}');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
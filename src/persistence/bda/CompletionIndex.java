@@ -0,0 +1,222 @@
+package persistence.bda;
+
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntsRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.FSTCompiler;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
+import org.apache.lucene.util.fst.Util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index de complétion (type-ahead) sur un FST Lucene, immuable.
+ *
+ * Même principe que WFSTCompletionLookup (module lucene-suggest) :
+ * - les entrées sont classées par poids décroissant, le rang (0 = meilleure)
+ *   est la sortie du FST ;
+ * - une recherche descend le préfixe dans le FST puis extrait les N chemins
+ *   de plus petite sortie (Util.TopNSearcher), sans parcourir les autres.
+ *
+ * Les clés sont normalisées (minuscules, sans accents) : "plon" complète
+ * "Plongée". Chaque mot d'un libellé est aussi une clé : "lagon" complète
+ * "Plage du Lagon".
+ */
+public final class CompletionIndex {
+
+    public enum Kind { SITE, HOTEL, BEACH, TERM }
+
+    /** Séparateur entre la clé et le rang (clés uniques, même libellé autorisé deux fois) */
+    private static final int SEPARATOR = 0;
+
+    private static final CompletionIndex EMPTY = new CompletionIndex(null, new Suggestion[0]);
+
+    private final FST<Long> fst;
+    private final Suggestion[] byRank;
+
+    private CompletionIndex(FST<Long> fst, Suggestion[] byRank) {
+        this.fst = fst;
+        this.byRank = byRank;
+    }
+
+    public static CompletionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Complétions du préfixe, par poids décroissant, sans doublon
+     *
+     * @param prefix saisie de l'utilisateur
+     * @param limit nombre maximum de suggestions
+     */
+    public List<Suggestion> lookup(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<Suggestion> results = new ArrayList<>();
+        if (fst == null || key.isEmpty() || limit <= 0) {
+            return results;
+        }
+        try {
+            FST.BytesReader reader = fst.getBytesReader();
+            FST.Arc<Long> arc = fst.getFirstArc(new FST.Arc<>());
+            long prefixOutput = 0;
+            for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+                if (fst.findTargetArc(b & 0xFF, arc, arc, reader) == null) {
+                    return results;
+                }
+                prefixOutput += arc.output();
+            }
+
+            Set<Long> seen = new HashSet<>();
+            Util.TopNSearcher<Long> searcher = new Util.TopNSearcher<Long>(fst, limit, limit * 4 + 16,
+                    Comparator.<Long>naturalOrder()) {
+                @Override
+                protected boolean acceptResult(IntsRef input, Long output) {
+                    return seen.add(output); // un libellé atteint par plusieurs de ses mots
+                }
+            };
+            searcher.addStartPaths(arc, prefixOutput, true, new IntsRefBuilder());
+            for (Util.Result<Long> result : searcher.search()) {
+                results.add(byRank[result.output.intValue()]);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Complétion impossible (" + prefix + ") : " + e.getMessage());
+        }
+        return results;
+    }
+
+    /** Nombre de libellés distincts */
+    public int size() {
+        return byRank.length;
+    }
+
+    /** Taille du FST en mémoire (octets) */
+    public long ramBytesUsed() {
+        return fst == null ? 0 : fst.ramBytesUsed();
+    }
+
+    /**
+     * Minuscules, sans accents, espaces réduits
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    // ==================== Construction ====================
+
+    /**
+     * Accumule les libellés puis compile le FST (build)
+     */
+    public static final class Builder {
+
+        private final List<Suggestion> entries = new ArrayList<>();
+
+        public Builder add(String text, Kind kind, int id, long weight) {
+            if (!normalize(text).isEmpty()) {
+                entries.add(new Suggestion(text.trim(), kind, id, weight));
+            }
+            return this;
+        }
+
+        public CompletionIndex build() throws IOException {
+            if (entries.isEmpty()) {
+                return EMPTY;
+            }
+            Suggestion[] byRank = entries.toArray(new Suggestion[0]);
+            Arrays.sort(byRank, Comparator.comparingLong((Suggestion s) -> -s.weight)
+                    .thenComparing(s -> s.kind)
+                    .thenComparing(s -> s.text));
+
+            // Entrées du FST triées par octets : clé, séparateur, rang (4 octets)
+            TreeSet<BytesRef> inputs = new TreeSet<>();
+            for (int rank = 0; rank < byRank.length; rank++) {
+                String[] words = normalize(byRank[rank].text).split(" ");
+                for (int w = 0; w < words.length; w++) {
+                    if (w > 0 && words[w].length() < 2) continue;
+                    inputs.add(input(String.join(" ", Arrays.copyOfRange(words, w, words.length)), rank));
+                }
+            }
+
+            FSTCompiler<Long> compiler = new FSTCompiler.Builder<>(FST.INPUT_TYPE.BYTE1,
+                    PositiveIntOutputs.getSingleton()).build();
+            IntsRefBuilder scratch = new IntsRefBuilder();
+            for (BytesRef input : inputs) {
+                compiler.add(Util.toIntsRef(input, scratch), rankOf(input));
+            }
+            return new CompletionIndex(compiler.compile(), byRank);
+        }
+
+        private static BytesRef input(String key, int rank) {
+            byte[] text = key.getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = Arrays.copyOf(text, text.length + 5);
+            bytes[text.length] = SEPARATOR;
+            bytes[text.length + 1] = (byte) (rank >>> 24);
+            bytes[text.length + 2] = (byte) (rank >>> 16);
+            bytes[text.length + 3] = (byte) (rank >>> 8);
+            bytes[text.length + 4] = (byte) rank;
+            return new BytesRef(bytes);
+        }
+
+        private static long rankOf(BytesRef input) {
+            int end = input.offset + input.length;
+            byte[] b = input.bytes;
+            return ((b[end - 4] & 0xFFL) << 24) | ((b[end - 3] & 0xFF) << 16)
+                    | ((b[end - 2] & 0xFF) << 8) | (b[end - 1] & 0xFF);
+        }
+    }
+
+    // ==================== Résultat ====================
+
+    /**
+     * Une suggestion : libellé affiché, nature, clé (0 pour plages et termes), poids
+     */
+    public static final class Suggestion {
+
+        private final String text;
+        private final Kind kind;
+        private final int id;
+        private final long weight;
+
+        public Suggestion(String text, Kind kind, int id, long weight) {
+            this.text = text;
+            this.kind = kind;
+            this.id = id;
+            this.weight = weight;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return text + " (" + kind + ", " + weight + ")";
+        }
+    }
+}
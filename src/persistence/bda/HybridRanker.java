@@ -0,0 +1,199 @@
+package persistence.bda;
+
+import business.domain.Position;
+
+import java.util.Arrays;
+
+/**
+ * Étape de classement hybride après la jointure SQL-Text (voir HybridRanking).
+ * 
+ * Les candidats sont rangés en colonnes de types primitifs (Candidates) ;
+ * les scores sont calculés en une seule passe, puis les k meilleurs sont
+ * sélectionnés par un tas de taille k (O(n log k), pas de tri complet).
+ * À score égal, l'ordre d'entrée (rang Lucene) est conservé.
+ */
+public class HybridRanker {
+    
+    private static final double KM_PER_DEGREE = 111.19;
+    
+    private final HybridRanking ranking;
+    
+    public HybridRanker(HybridRanking ranking) {
+        this.ranking = ranking;
+    }
+    
+    public HybridRanking getRanking() {
+        return ranking;
+    }
+    
+    // ==================== Candidats ====================
+    
+    /**
+     * Candidats en colonnes (une ligne par résultat de la jointure)
+     */
+    public static final class Candidates {
+        private int size;
+        private int[] ids;
+        private float[] textScores;
+        private float[] prices;
+        private double[] latitudes;
+        private double[] longitudes;
+        private long[] popularity;
+        
+        public Candidates(int capacity) {
+            int n = Math.max(capacity, 8);
+            ids = new int[n];
+            textScores = new float[n];
+            prices = new float[n];
+            latitudes = new double[n];
+            longitudes = new double[n];
+            popularity = new long[n];
+        }
+        
+        public int add(int id, float textScore, double price, double latitude, double longitude, long views) {
+            if (size == ids.length) {
+                int n = size * 2;
+                ids = Arrays.copyOf(ids, n);
+                textScores = Arrays.copyOf(textScores, n);
+                prices = Arrays.copyOf(prices, n);
+                latitudes = Arrays.copyOf(latitudes, n);
+                longitudes = Arrays.copyOf(longitudes, n);
+                popularity = Arrays.copyOf(popularity, n);
+            }
+            ids[size] = id;
+            textScores[size] = textScore;
+            prices[size] = (float) price;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            popularity[size] = views;
+            return size++;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public int id(int row) {
+            return ids[row];
+        }
+    }
+    
+    // ==================== Classement ====================
+    
+    /**
+     * Scores de tous les candidats, en une passe.
+     * 
+     * @param origin origine du terme distance (null = terme ignoré)
+     */
+    public double[] score(Candidates c, Position origin) {
+        int n = c.size;
+        float maxText = 0;
+        long maxViews = 0;
+        for (int i = 0; i < n; i++) {
+            if (c.textScores[i] > maxText) maxText = c.textScores[i];
+            if (c.popularity[i] > maxViews) maxViews = c.popularity[i];
+        }
+        
+        double wText = maxText > 0 ? ranking.getTextWeight() / maxText : 0;
+        double wPrice = ranking.getPriceWeight();
+        double priceScale = ranking.getPriceScale();
+        double wDistance = origin != null ? ranking.getDistanceWeight() : 0;
+        double distanceScale = ranking.getDistanceScaleKm();
+        double wPopularity = maxViews > 0 ? ranking.getPopularityWeight() / Math.log1p(maxViews) : 0;
+        
+        // Distance équirectangulaire (écart < 0,1 % à l'échelle d'un archipel)
+        double originLat = origin != null ? origin.getLatitude() : 0;
+        double originLon = origin != null ? origin.getLongitude() : 0;
+        double lonFactor = Math.cos(Math.toRadians(originLat));
+        
+        double[] scores = new double[n];
+        for (int i = 0; i < n; i++) {
+            double s = wText * c.textScores[i];
+            if (wPrice != 0) {
+                s += wPrice * priceScale / (priceScale + Math.max(c.prices[i], 0f));
+            }
+            if (wDistance != 0) {
+                double dLat = c.latitudes[i] - originLat;
+                double dLon = (c.longitudes[i] - originLon) * lonFactor;
+                double km = KM_PER_DEGREE * Math.sqrt(dLat * dLat + dLon * dLon);
+                s += wDistance * distanceScale / (distanceScale + km);
+            }
+            if (wPopularity != 0) {
+                s += wPopularity * Math.log1p(c.popularity[i]);
+            }
+            scores[i] = s;
+        }
+        return scores;
+    }
+    
+    /**
+     * Lignes des k meilleurs candidats, score décroissant.
+     * 
+     * @param k nombre de résultats (≤ 0 : tous)
+     */
+    public int[] rank(Candidates c, Position origin, int k) {
+        return topK(score(c, origin), k);
+    }
+    
+    /**
+     * Sélection des k meilleurs scores par tas minimum de taille k.
+     * À score égal, la ligne la plus petite l'emporte.
+     * 
+     * @return indices des k meilleurs, score décroissant
+     */
+    public static int[] topK(double[] scores, int k) {
+        int n = scores.length;
+        if (k <= 0 || k > n) k = n;
+        int[] heap = new int[k];
+        int size = 0;
+        for (int row = 0; row < n; row++) {
+            if (size < k) {
+                heap[size] = row;
+                siftUp(heap, size++, scores);
+            } else if (better(row, heap[0], scores)) {
+                heap[0] = row;
+                siftDown(heap, 0, size, scores);
+            }
+        }
+        // Vidage du tas : le pire sort en premier, rangé à la fin
+        int[] result = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, 0, size, scores);
+        }
+        return result;
+    }
+    
+    private static boolean better(int a, int b, double[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+    
+    private static void siftUp(int[] heap, int i, double[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i], scores)) break;
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+    
+    private static void siftDown(int[] heap, int i, int size, double[] scores) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(heap[worst], heap[right], scores)) worst = right;
+            if (!better(heap[i], heap[worst], scores)) break;
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+    
+    private static void swap(int[] heap, int i, int j) {
+        int t = heap[i];
+        heap[i] = heap[j];
+        heap[j] = t;
+    }
+}
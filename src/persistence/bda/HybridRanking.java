@@ -0,0 +1,149 @@
+package persistence.bda;
+
+/**
+ * Formule de classement hybride (configurable) :
+ * 
+ * <pre>
+ *   score = text       × bm25 / bm25max
+ *         + price      × priceScale / (priceScale + prix)
+ *         + distance   × distanceScaleKm / (distanceScaleKm + d(origine, site))
+ *         + popularity × log(1 + vues) / log(1 + vuesmax)
+ * </pre>
+ * 
+ * Chaque terme est ramené dans [0, 1] : les poids se lisent directement
+ * comme l'importance relative des critères. Le terme distance est ignoré
+ * sans origine (hôtel choisi, centre de recherche).
+ * 
+ * Format texte : "text=1,price=0.3,distance=0.5,popularity=0.2"
+ * (clés optionnelles : priceScale, distanceScaleKm)
+ */
+public class HybridRanking {
+    
+    /** Score Lucene seul : ordre identique à JoinedOperator */
+    public static final String TEXT_ONLY = "text=1";
+    
+    /** Propriété système de la formule (ex : -Dtahiti.search.ranking=text=1,distance=0.5) */
+    public static final String FORMULA_PROPERTY = "tahiti.search.ranking";
+    
+    private double textWeight = 1.0;
+    private double priceWeight;
+    private double distanceWeight;
+    private double popularityWeight;
+    private double priceScale = 50.0;
+    private double distanceScaleKm = 5.0;
+    
+    public static HybridRanking textOnly() {
+        return new HybridRanking();
+    }
+    
+    /**
+     * Formule de la propriété système FORMULA_PROPERTY, score Lucene seul
+     * si elle est absente ou invalide
+     */
+    public static HybridRanking fromSystemProperty() {
+        String spec = System.getProperty(FORMULA_PROPERTY);
+        if (spec == null || spec.trim().isEmpty()) {
+            return textOnly();
+        }
+        try {
+            return parse(spec);
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ " + FORMULA_PROPERTY + " ignorée : " + e.getMessage());
+            return textOnly();
+        }
+    }
+    
+    public static HybridRanking parse(String spec) {
+        HybridRanking ranking = new HybridRanking();
+        ranking.textWeight = 0;
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Formule de classement invalide : " + part);
+            double value = Double.parseDouble(kv[1].trim());
+            switch (kv[0].trim()) {
+                case "text":            ranking.setTextWeight(value); break;
+                case "price":           ranking.setPriceWeight(value); break;
+                case "distance":        ranking.setDistanceWeight(value); break;
+                case "popularity":      ranking.setPopularityWeight(value); break;
+                case "priceScale":      ranking.setPriceScale(value); break;
+                case "distanceScaleKm": ranking.setDistanceScaleKm(value); break;
+                default: throw new IllegalArgumentException("Critère de classement inconnu : " + kv[0]);
+            }
+        }
+        return ranking;
+    }
+    
+    /**
+     * Vrai si seul le score Lucene compte : le classement hybride est inutile
+     */
+    public boolean isTextOnly() {
+        return priceWeight == 0 && distanceWeight == 0 && popularityWeight == 0;
+    }
+    
+    // ==================== Getters / Setters ====================
+    
+    public double getTextWeight() {
+        return textWeight;
+    }
+    
+    public void setTextWeight(double textWeight) {
+        this.textWeight = checkWeight(textWeight, "text");
+    }
+    
+    public double getPriceWeight() {
+        return priceWeight;
+    }
+    
+    public void setPriceWeight(double priceWeight) {
+        this.priceWeight = checkWeight(priceWeight, "price");
+    }
+    
+    public double getDistanceWeight() {
+        return distanceWeight;
+    }
+    
+    public void setDistanceWeight(double distanceWeight) {
+        this.distanceWeight = checkWeight(distanceWeight, "distance");
+    }
+    
+    public double getPopularityWeight() {
+        return popularityWeight;
+    }
+    
+    public void setPopularityWeight(double popularityWeight) {
+        this.popularityWeight = checkWeight(popularityWeight, "popularity");
+    }
+    
+    public double getPriceScale() {
+        return priceScale;
+    }
+    
+    public void setPriceScale(double priceScale) {
+        this.priceScale = checkScale(priceScale, "priceScale");
+    }
+    
+    public double getDistanceScaleKm() {
+        return distanceScaleKm;
+    }
+    
+    public void setDistanceScaleKm(double distanceScaleKm) {
+        this.distanceScaleKm = checkScale(distanceScaleKm, "distanceScaleKm");
+    }
+    
+    private static double checkWeight(double weight, String name) {
+        if (weight < 0 || Double.isNaN(weight)) throw new IllegalArgumentException("Poids négatif pour " + name);
+        return weight;
+    }
+    
+    private static double checkScale(double scale, String name) {
+        if (!(scale > 0)) throw new IllegalArgumentException(name + " doit être > 0");
+        return scale;
+    }
+    
+    @Override
+    public String toString() {
+        return "text=" + textWeight + ",price=" + priceWeight + ",distance=" + distanceWeight
+                + ",popularity=" + popularityWeight + ",priceScale=" + priceScale
+                + ",distanceScaleKm=" + distanceScaleKm;
+    }
+}
@@ -0,0 +1,244 @@
+package persistence.bda;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NRTCachingDirectory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Stockage des index Lucene : emplacements configurables et choix du
+ * Directory selon la taille de l'index.
+ *
+ * EMPLACEMENTS (propriétés système, ou setters / Spring) :
+ * - tahiti.lucene.indexDir : index Lucene (défaut : lucene_index)
+ * - tahiti.lucene.docsDir  : répertoire R des descriptions (c.txt,
+ *   défaut : site_description_folder)
+ * Les défauts sont relatifs au répertoire de travail.
+ *
+ * LECTURE (openForSearch, Directory partagé par chemin, à ne pas fermer) :
+ * - HEAP : petit index copié en mémoire (ByteBuffersDirectory), aucune E/S
+ *   disque pendant les recherches
+ * - MMAP : grand index projeté en mémoire (MMapDirectory), fichiers
+ *   préchargés à l'ouverture
+ * - AUTO (défaut) : HEAP jusqu'à heapMaxMB, MMAP au-delà
+ *
+ * ÉCRITURE (openForWrite) : NRTCachingDirectory, les petits segments des
+ * imports restent en mémoire jusqu'au commit. Après un commit, invalidate()
+ * fait relire l'index (copie HEAP à jour, mode réévalué selon la taille).
+ *
+ * @author Équipe Persistance
+ */
+public class IndexStorage {
+
+    public enum Mode { AUTO, HEAP, MMAP }
+
+    /** Taille maximale d'un index chargé en mémoire en mode AUTO */
+    public static final long DEFAULT_HEAP_MAX_MB = 64;
+
+    /** NRTCachingDirectory : segments fusionnés ≤ 5 Mo, 60 Mo en cache au plus */
+    private static final double NRT_MAX_MERGE_MB = 5.0;
+    private static final double NRT_MAX_CACHED_MB = 60.0;
+
+    /** Emplacements par défaut si aucune propriété n'est définie (relatifs au répertoire de travail) */
+    public static final String DEFAULT_INDEX_DIR = "lucene_index";
+    public static final String DEFAULT_DOCS_DIR = "site_description_folder";
+
+    private static final IndexStorage SHARED = new IndexStorage();
+
+    private volatile Path indexPath = Paths.get(System.getProperty("tahiti.lucene.indexDir", DEFAULT_INDEX_DIR));
+    private volatile String docsDir = System.getProperty("tahiti.lucene.docsDir", DEFAULT_DOCS_DIR);
+    private volatile Mode mode = Mode.valueOf(System.getProperty("tahiti.lucene.directory", "AUTO")
+            .toUpperCase(Locale.ROOT));
+    private volatile long heapMaxBytes = Long.getLong("tahiti.lucene.heapMaxMB", DEFAULT_HEAP_MAX_MB) << 20;
+
+    private final ConcurrentHashMap<Path, Directory> searchDirs = new ConcurrentHashMap<>();
+
+    /** Stockage partagé de l'application */
+    public static IndexStorage shared() {
+        return SHARED;
+    }
+
+    // ==================== Configuration ====================
+
+    public Path getIndexPath() {
+        return indexPath;
+    }
+
+    public void setIndexDir(String indexDir) {
+        this.indexPath = Paths.get(indexDir);
+    }
+
+    /** Répertoire R des descriptions (fichiers c.txt) */
+    public String getDocsDir() {
+        return docsDir;
+    }
+
+    public void setDocsDir(String docsDir) {
+        this.docsDir = docsDir;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+        searchDirs.clear();
+    }
+
+    public long getHeapMaxMB() {
+        return heapMaxBytes >> 20;
+    }
+
+    public void setHeapMaxMB(long heapMaxMB) {
+        if (heapMaxMB < 0) {
+            throw new IllegalArgumentException("heapMaxMB must be >= 0: " + heapMaxMB);
+        }
+        this.heapMaxBytes = heapMaxMB << 20;
+        searchDirs.clear();
+    }
+
+    // ==================== Lecture ====================
+
+    /**
+     * Charge l'index configuré au démarrage (init-method Spring) : la copie
+     * HEAP ou le préchargement MMAP ne pèsent pas sur la première recherche.
+     */
+    public void warmUp() {
+        try {
+            Directory dir = openForSearch(indexPath);
+            if (!DirectoryReader.indexExists(dir)) {
+                System.out.println("⏳ Index Lucene absent (" + indexPath + ") : construit à la première recherche");
+                return;
+            }
+            try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                System.out.println("✅ Index Lucene chargé (" + describe(dir) + ", "
+                        + sizeOf(indexPath) / 1024 + " Ko, " + reader.numDocs() + " documents) : " + indexPath);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Chargement de l'index Lucene impossible (" + indexPath + ") : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Directory de lecture de l'index path, partagé entre les recherches
+     * (ne pas le fermer). Une copie HEAP ne voit que les écritures passées
+     * par invalidate().
+     */
+    public Directory openForSearch(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        Directory dir = searchDirs.get(key);
+        if (dir == null) {
+            try {
+                dir = searchDirs.computeIfAbsent(key, this::load);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Mode effectif pour un index de sizeBytes octets
+     */
+    public Mode modeFor(long sizeBytes) {
+        if (mode != Mode.AUTO) {
+            return mode;
+        }
+        return sizeBytes <= heapMaxBytes ? Mode.HEAP : Mode.MMAP;
+    }
+
+    /**
+     * Oublie le Directory de lecture de path : la prochaine recherche relit
+     * l'index. L'ancien n'est pas fermé (des recherches en cours peuvent
+     * encore le lire) ; une copie HEAP est libérée par le GC.
+     */
+    public void invalidate(Path path) {
+        searchDirs.remove(path.toAbsolutePath().normalize());
+    }
+
+    private Directory load(Path path) {
+        try {
+            Mode effective = modeFor(sizeOf(path));
+            if (effective == Mode.HEAP) {
+                return copyToHeap(path);
+            }
+            MMapDirectory mmap = new MMapDirectory(path);
+            mmap.setPreload(MMapDirectory.ALL_FILES);
+            return mmap;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copie en mémoire les fichiers du dernier commit (pas les fichiers
+     * d'un écrivain en cours)
+     */
+    private static Directory copyToHeap(Path path) throws IOException {
+        ByteBuffersDirectory heap = new ByteBuffersDirectory();
+        if (!Files.isDirectory(path)) {
+            return heap;
+        }
+        try (Directory fs = FSDirectory.open(path)) {
+            if (!DirectoryReader.indexExists(fs)) {
+                return heap;
+            }
+            for (String file : SegmentInfos.readLatestCommit(fs).files(true)) {
+                heap.copyFrom(fs, file, file, IOContext.READONCE);
+            }
+        }
+        return heap;
+    }
+
+    // ==================== Écriture ====================
+
+    /**
+     * Directory d'écriture (imports, reconstruction) : petits segments
+     * gardés en mémoire jusqu'au commit. À fermer par l'appelant.
+     */
+    public Directory openForWrite(Path path) throws IOException {
+        Files.createDirectories(path);
+        return new NRTCachingDirectory(FSDirectory.open(path), NRT_MAX_MERGE_MB, NRT_MAX_CACHED_MB);
+    }
+
+    // ==================== Utilitaires ====================
+
+    /** Taille sur disque de l'index (0 s'il n'existe pas) */
+    public static long sizeOf(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return 0;
+        }
+        long size = 0;
+        try (Stream<Path> files = Files.list(path)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try {
+                    if (Files.isRegularFile(file)) {
+                        size += Files.size(file);
+                    }
+                } catch (NoSuchFileException e) {
+                    // fichier supprimé par une fusion en cours
+                }
+            }
+        }
+        return size;
+    }
+
+    private static String describe(Directory dir) {
+        return dir instanceof ByteBuffersDirectory ? "mémoire" : "mmap";
+    }
+}
@@ -1,5 +1,9 @@
 package persistence.bda;
 
+import persistence.metrics.JoinExecutionEvent;
+import persistence.metrics.MetricsRegistry;
+import persistence.metrics.OperatorMetrics;
+
 import java.sql.ResultSet;
 import java.util.*;
 
@@ -18,6 +22,12 @@ import java.util.*;
  * - Résultats SQL potentiellement grands (itération)
  * - Résultats finaux petits (gardés en mémoire)
  * 
+ * PLANS :
+ * - SQL d'abord (clés SQL ≤ sqlFirstMaxKeys) : les clés SQL filtrent la
+ *   recherche Lucene, seuls ces documents sont évalués ; résultat exact
+ * - Texte d'abord (au-delà) : recherche Lucene non filtrée (plafonnée à
+ *   100 résultats) puis intersection avec les clés SQL
+ * 
  * @author Équipe Persistance
  */
 public class JoinedOperator implements Operator<Map.Entry<Integer, Double>> {
@@ -26,9 +36,18 @@ public class JoinedOperator implements Operator<Map.Entry<Integer, Double>> {
     private final String docsDir;
     private final String tableName;
     
+    /** Seuil par défaut du plan SQL d'abord (nombre de clés SQL) */
+    public static final int DEFAULT_SQL_FIRST_MAX_KEYS = 1000;
+    
     private final SqlOperator sqlOp = new SqlOperator();
     private final TextualOperator txtOp;
     
+    /** Métriques par table (ex : "JoinedOperator[Site]") */
+    private final OperatorMetrics metrics;
+    
+    private int sqlFirstMaxKeys = DEFAULT_SQL_FIRST_MAX_KEYS;
+    private boolean lastPlanSqlFirst;
+    
     private LinkedHashMap<Integer, Double> resultJoined = new LinkedHashMap<>();
     private Iterator<Map.Entry<Integer, Double>> it;
     
@@ -44,10 +63,13 @@ public class JoinedOperator implements Operator<Map.Entry<Integer, Double>> {
         this.keyCol = keyCol;
         this.docsDir = docsDir;
         this.txtOp = new TextualOperator(keyCol, docsDir);
+        this.metrics = MetricsRegistry.operator("JoinedOperator[" + tableName + "]");
     }
     
     @Override
     public void init(String query) {
+        long start = System.nanoTime();
+        JoinExecutionEvent event = JoinExecutionEvent.start();
         resultJoined = new LinkedHashMap<>();
         
         // Séparer la requête mixte : "SELECT ... FROM ... WITH mot-clés"
@@ -60,25 +82,15 @@ public class JoinedOperator implements Operator<Map.Entry<Integer, Double>> {
             sqlPart = injectKeyInSelect(sqlPart, keyCol);
         }
         
-        // ===== ÉTAPE 1 : OPÉRATEUR TEXTUEL =====
-        // Recherche Lucene sur fichiers du répertoire R
-        txtOp.init(textPart);
-        Map<Integer, Float> txtScores = txtOp.getScores(); // Déjà trié score desc
-        
-        // ===== ÉTAPE 2 : OPÉRATEUR SQL =====
-        // Exécution requête SQL
+        // ===== ÉTAPE 1 : OPÉRATEUR SQL =====
+        // Exécution requête SQL, clés gardées en mémoire (entiers seulement)
         sqlOp.init(sqlPart);
-        ResultSet rs = sqlOp.getResultSet();
-        
-        // ===== ÉTAPE 3 : OPÉRATEUR DE JOINTURE =====
-        // Intersection sur la clé c (id_site)
-        // Hypothèse BDA : résultats texte en mémoire, SQL potentiellement volumineux
-        Set<Integer> txtIds = txtScores.keySet();
         Set<Integer> sqlIds = new HashSet<>();
         
         try {
-            while (rs.next()) {
-                sqlIds.add(rs.getInt(keyCol));
+            ResultSet row;
+            while ((row = sqlOp.next()) != null) {
+                sqlIds.add(row.getInt(keyCol));
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -86,15 +98,46 @@ public class JoinedOperator implements Operator<Map.Entry<Integer, Double>> {
             sqlOp.close();
         }
         
-        // ===== ÉTAPE 4 : TRI PAR SCORE =====
-        // Construire résultat final dans l'ordre du texte (score desc)
+        // ===== ÉTAPE 2 : OPÉRATEUR TEXTUEL =====
+        // SQL sélectif : Lucene filtré par les clés SQL (exact) ;
+        // sinon recherche Lucene non filtrée sur le répertoire R
+        lastPlanSqlFirst = sqlIds.size() <= sqlFirstMaxKeys;
+        if (lastPlanSqlFirst) {
+            txtOp.init(textPart, sqlIds);
+        } else {
+            txtOp.init(textPart);
+        }
+        Map<Integer, Float> txtScores = txtOp.getScores(); // Déjà trié score desc
+        
+        // ===== ÉTAPE 3 : OPÉRATEUR DE JOINTURE + TRI PAR SCORE =====
+        // Intersection sur la clé c (id_site), dans l'ordre du texte (score desc)
+        // (déjà restreinte aux clés SQL par le filtre dans le plan SQL d'abord)
+        resultJoined = joinByKey(txtScores, sqlIds);
+        
+        it = resultJoined.entrySet().iterator();
+        
+        metrics.addRowsIn(txtScores.size() + sqlIds.size());
+        metrics.addRowsOut(resultJoined.size());
+        metrics.recordInit(System.nanoTime() - start);
+        event.finish(tableName, textPart, txtScores.size(), sqlIds.size(), resultJoined.size());
+    }
+    
+    /**
+     * Jointure sur la clé : garde les résultats texte dont la clé est
+     * dans le résultat SQL, dans l'ordre du texte (score décroissant).
+     * 
+     * @param txtScores Map<id, score> triée par score décroissant
+     * @param sqlIds Clés retournées par la requête SQL
+     * @return Map<id, score> triée par score décroissant
+     */
+    public static LinkedHashMap<Integer, Double> joinByKey(Map<Integer, Float> txtScores, Set<Integer> sqlIds) {
+        LinkedHashMap<Integer, Double> joined = new LinkedHashMap<>();
         for (Map.Entry<Integer, Float> e : txtScores.entrySet()) {
             if (sqlIds.contains(e.getKey())) {
-                resultJoined.put(e.getKey(), (double) e.getValue());
+                joined.put(e.getKey(), (double) e.getValue());
             }
         }
-        
-        it = resultJoined.entrySet().iterator();
+        return joined;
     }
     
     /**
@@ -119,10 +162,32 @@ public class JoinedOperator implements Operator<Map.Entry<Integer, Double>> {
                sql.substring(afterSelect).trim();
     }
     
+    /**
+     * @param sqlFirstMaxKeys nombre maximum de clés SQL pour le plan SQL
+     *        d'abord (0 : toujours texte d'abord)
+     */
+    public void setSqlFirstMaxKeys(int sqlFirstMaxKeys) {
+        this.sqlFirstMaxKeys = sqlFirstMaxKeys;
+    }
+    
+    public int getSqlFirstMaxKeys() {
+        return sqlFirstMaxKeys;
+    }
+    
+    /** Plan choisi par le dernier init() */
+    public boolean isLastPlanSqlFirst() {
+        return lastPlanSqlFirst;
+    }
+    
     @Override
     public Map.Entry<Integer, Double> next() {
-        if (it != null && it.hasNext()) return it.next();
-        return null;
+        long start = System.nanoTime();
+        try {
+            if (it != null && it.hasNext()) return it.next();
+            return null;
+        } finally {
+            metrics.recordNext(System.nanoTime() - start);
+        }
     }
     
     /**
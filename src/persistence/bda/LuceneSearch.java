@@ -2,15 +2,26 @@ package persistence.bda;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.fr.FrenchAnalyzer;
-import org.apache.lucene.document.Document;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.*;
 import org.apache.lucene.store.Directory;
-import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import persistence.metrics.LuceneSearchEvent;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,16 +37,33 @@ public class LuceneSearch {
     private final String keyField;
     private static final int MAX_RESULTS = 100;
     
+    /** Au-delà, le filtre par clés parcourt les DocValues au lieu du dictionnaire de termes */
+    static final int TERMS_FILTER_MAX_KEYS = 4096;
+    
+    /** Nombre total de documents correspondant à la dernière recherche */
+    private long lastTotalHits;
+    
+    /** Documents candidats de la dernière recherche (clés du filtre, ou tout l'index) */
+    private long lastCandidates;
+    
     /**
      * Constructeur.
      * 
      * @param keyField Nom du champ contenant la clé (ex: "id_site")
-     * @param indexPath Chemin de l'index Lucene
+     * @param indexPath Chemin de l'index Lucene (lu via IndexStorage : mémoire ou mmap)
      * @throws Exception Si l'index n'existe pas
      */
     public LuceneSearch(String keyField, Path indexPath) throws Exception {
+        this(keyField, IndexStorage.shared().openForSearch(indexPath));
+    }
+    
+    /**
+     * @param keyField Nom du champ contenant la clé
+     * @param indexDir Directory de l'index (non fermé par LuceneSearch)
+     */
+    public LuceneSearch(String keyField, Directory indexDir) {
         this.keyField = keyField;
-        this.indexDir = FSDirectory.open(indexPath);
+        this.indexDir = indexDir;
     }
     
     /**
@@ -46,25 +74,134 @@ public class LuceneSearch {
      * @throws Exception Si erreur lors de la recherche
      */
     public Map<Integer, Float> search(String queryText) throws Exception {
+        return search(queryText, null, MAX_RESULTS);
+    }
+    
+    /**
+     * Recherche restreinte à un ensemble de clés (plan SQL d'abord).
+     * 
+     * Les clés deviennent un filtre Lucene (clause FILTER, sans effet sur le
+     * score) : TermInSetQuery sur les termes de la clé pour un petit
+     * ensemble, filtre sur les DocValues au-delà de TERMS_FILTER_MAX_KEYS.
+     * Seuls ces documents sont évalués, et tous ceux qui correspondent au
+     * texte sont retournés (pas de plafond MAX_RESULTS) : le résultat est exact.
+     * 
+     * @param queryText Texte de la requête
+     * @param keys Clés retenues par la partie SQL
+     * @return Map<id, score> triée par score décroissant (LinkedHashMap)
+     */
+    public Map<Integer, Float> search(String queryText, Collection<Integer> keys) throws Exception {
+        if (keys.isEmpty()) {
+            lastTotalHits = 0;
+            lastCandidates = 0;
+            return new LinkedHashMap<>();
+        }
+        return search(queryText, keyFilter(keyField, keys), keys.size());
+    }
+    
+    private Map<Integer, Float> search(String queryText, Query filter, int topN) throws Exception {
         Map<Integer, Float> scores = new LinkedHashMap<>();
+        LuceneSearchEvent event = LuceneSearchEvent.start();
         
         try (DirectoryReader reader = DirectoryReader.open(indexDir)) {
             IndexSearcher searcher = new IndexSearcher(reader);
             QueryParser qp = new QueryParser("description", analyzer);
             Query q = qp.parse(queryText == null ? "" : queryText);
+            if (filter != null) {
+                q = new BooleanQuery.Builder()
+                        .add(q, BooleanClause.Occur.MUST)
+                        .add(filter, BooleanClause.Occur.FILTER)
+                        .build();
+            }
             
-            TopDocs results = searcher.search(q, MAX_RESULTS);
+            TopDocs results = searcher.search(q, Math.max(1, Math.min(topN, reader.maxDoc())));
+            lastTotalHits = results.totalHits.value;
+            lastCandidates = filter != null ? Math.min(topN, reader.numDocs()) : reader.numDocs();
             
-            for (ScoreDoc sd : results.scoreDocs) {
-                Document d = searcher.doc(sd.doc);
-                int id = Integer.parseInt(d.get(keyField));
-                scores.put(id, sd.score);
+            long[] keys = readKeys(reader, results.scoreDocs, keyField);
+            for (int i = 0; i < keys.length; i++) {
+                scores.put((int) keys[i], results.scoreDocs[i].score);
             }
         }
         
+        event.finish(queryText, lastTotalHits, scores.size());
         return scores;
     }
     
+    /**
+     * Filtre Lucene « clé dans keys »
+     */
+    public static Query keyFilter(String keyField, Collection<Integer> keys) {
+        if (keys.size() <= TERMS_FILTER_MAX_KEYS) {
+            List<BytesRef> terms = new ArrayList<>(keys.size());
+            for (Integer key : keys) {
+                terms.add(new BytesRef(String.valueOf(key)));
+            }
+            return new TermInSetQuery(keyField, terms);
+        }
+        long[] values = new long[keys.size()];
+        int i = 0;
+        for (Integer key : keys) {
+            values[i++] = key;
+        }
+        return NumericDocValuesField.newSlowSetQuery(keyField, values);
+    }
+    
+    /**
+     * Clés des résultats lues dans les DocValues numériques du champ clé
+     * (pas de décompression de stored fields ni de parseInt par résultat).
+     * 
+     * Les itérateurs NumericDocValues n'avancent que vers l'avant : les
+     * résultats sont parcourus par numéro de document croissant (tri d'un
+     * long[] doc << 32 | rang), segment par segment, puis rangés à leur rang.
+     * Repli sur le champ stocké pour un index construit avant les DocValues.
+     * 
+     * @return clé de chaque résultat, dans l'ordre de hits
+     */
+    public static long[] readKeys(IndexReader reader, ScoreDoc[] hits, String keyField) throws IOException {
+        long[] keys = new long[hits.length];
+        long[] byDoc = new long[hits.length];
+        for (int i = 0; i < hits.length; i++) {
+            byDoc[i] = ((long) hits[i].doc << 32) | i;
+        }
+        Arrays.sort(byDoc);
+        
+        List<LeafReaderContext> leaves = reader.leaves();
+        int leafIndex = 0;
+        LeafReaderContext leaf = null;
+        NumericDocValues values = null;
+        StoredFields stored = null;
+        for (long packed : byDoc) {
+            int doc = (int) (packed >>> 32);
+            int rank = (int) packed;
+            if (leaf == null || doc >= leaf.docBase + leaf.reader().maxDoc()) {
+                while (doc >= leaves.get(leafIndex).docBase + leaves.get(leafIndex).reader().maxDoc()) {
+                    leafIndex++;
+                }
+                leaf = leaves.get(leafIndex);
+                LeafReader leafReader = leaf.reader();
+                values = leafReader.getNumericDocValues(keyField);
+                stored = values == null ? leafReader.storedFields() : null;
+            }
+            int leafDoc = doc - leaf.docBase;
+            if (values != null && values.advanceExact(leafDoc)) {
+                keys[rank] = values.longValue();
+            } else {
+                if (stored == null) stored = leaf.reader().storedFields();
+                keys[rank] = Long.parseLong(stored.document(leafDoc).get(keyField));
+            }
+        }
+        return keys;
+    }
+    
+    public long getLastTotalHits() {
+        return lastTotalHits;
+    }
+    
+    public long getLastCandidates() {
+        return lastCandidates;
+    }
+    
     public Analyzer getAnalyzer() {
         return analyzer;
     }
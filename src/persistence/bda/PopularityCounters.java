@@ -0,0 +1,42 @@
+package persistence.bda;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs de popularité par clé (vues de fiche, sélections dans une offre...).
+ * En mémoire, sans contention entre threads (LongAdder). Utilisés par le
+ * terme popularity de HybridRanking.
+ */
+public class PopularityCounters {
+    
+    private static final PopularityCounters SHARED = new PopularityCounters();
+    
+    private final ConcurrentHashMap<Integer, LongAdder> counts = new ConcurrentHashMap<>();
+    
+    /** Compteurs partagés de l'application (sites) */
+    public static PopularityCounters shared() {
+        return SHARED;
+    }
+    
+    public void record(int key) {
+        counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+    
+    public void record(int key, long times) {
+        counts.computeIfAbsent(key, k -> new LongAdder()).add(times);
+    }
+    
+    public long get(int key) {
+        LongAdder adder = counts.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+    
+    public int size() {
+        return counts.size();
+    }
+    
+    public void clear() {
+        counts.clear();
+    }
+}
@@ -0,0 +1,243 @@
+package persistence.bda;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extraits surlignés des descriptions (c.txt) pour une page de résultats.
+ *
+ * Même stratégie que l'UnifiedHighlighter de Lucene en mode postings : les
+ * positions des termes de la requête sont lues dans les offsets indexés
+ * (TextualOperator.textDocument), le texte n'est pas ré-analysé. Le texte
+ * lui-même est relu dans c.txt (il n'est pas stocké dans l'index).
+ *
+ * Seules les clés demandées (la page affichée) sont traitées, dans leur
+ * ordre, jusqu'à épuisement du budget de temps : les suivantes n'ont pas
+ * d'extrait (l'appelant affiche alors la description courte).
+ *
+ * @author Équipe Persistance
+ */
+public class SnippetGenerator {
+
+    /** Longueur visée d'un extrait (caractères) */
+    public static final int DEFAULT_SNIPPET_CHARS = 160;
+
+    private static final String ELLIPSIS = "…";
+
+    private final Analyzer analyzer = new FrenchAnalyzer();
+    private final String keyField;
+    private final String docsDir;
+    private final Directory indexDir;
+    private int snippetChars = DEFAULT_SNIPPET_CHARS;
+
+    /**
+     * @param keyField Nom du champ clé (ex: "id_site")
+     * @param docsDir Répertoire R contenant les fichiers c.txt
+     * @param indexPath Chemin de l'index Lucene (lu via IndexStorage)
+     */
+    public SnippetGenerator(String keyField, String docsDir, Path indexPath) throws IOException {
+        this(keyField, docsDir, IndexStorage.shared().openForSearch(indexPath));
+    }
+
+    public SnippetGenerator(String keyField, String docsDir, Directory indexDir) {
+        this.keyField = keyField;
+        this.docsDir = docsDir;
+        this.indexDir = indexDir;
+    }
+
+    public void setSnippetChars(int snippetChars) {
+        this.snippetChars = snippetChars;
+    }
+
+    /**
+     * Extraits HTML (texte échappé, termes en &lt;mark&gt;) des clés keys
+     *
+     * @param queryText Mots-clés de la recherche
+     * @param keys Clés de la page affichée, dans l'ordre d'affichage
+     * @param budgetMillis Temps maximum consacré aux extraits
+     * @return Map<clé, extrait> ; clés sans correspondance ou hors budget absentes
+     */
+    public Map<Integer, String> snippets(String queryText, List<Integer> keys, long budgetMillis) throws Exception {
+        Map<Integer, String> snippets = new LinkedHashMap<>();
+        if (keys.isEmpty() || queryText == null || queryText.trim().isEmpty() || budgetMillis <= 0) {
+            return snippets;
+        }
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+
+        Set<Term> terms = new HashSet<>();
+        new QueryParser(TextualOperator.DESCRIPTION_FIELD, analyzer).parse(queryText)
+                .visit(QueryVisitor.termCollector(terms));
+
+        try (DirectoryReader reader = DirectoryReader.open(indexDir)) {
+            // Documents des clés de la page (filtre par clé, sans score)
+            TopDocs byKey = new IndexSearcher(reader).search(LuceneSearch.keyFilter(keyField, keys), keys.size());
+            long[] docKeys = LuceneSearch.readKeys(reader, byKey.scoreDocs, keyField);
+            Map<Integer, Integer> docOf = new HashMap<>();
+            for (int i = 0; i < docKeys.length; i++) {
+                docOf.put((int) docKeys[i], byKey.scoreDocs[i].doc);
+            }
+
+            for (Integer key : keys) {
+                if (System.nanoTime() > deadline) {
+                    break;
+                }
+                Integer doc = docOf.get(key);
+                if (doc == null) continue;
+                int[] offsets = matchOffsets(reader, doc, terms);
+                if (offsets.length == 0) continue;
+                String text = readText(key);
+                String snippet = text == null ? null : snippet(text, offsets, snippetChars);
+                if (snippet != null) {
+                    snippets.put(key, snippet);
+                }
+            }
+        }
+        return snippets;
+    }
+
+    /**
+     * Offsets [début, fin, début, fin...] des termes de la requête dans le
+     * document, triés par début, lus dans les postings
+     */
+    private static int[] matchOffsets(DirectoryReader reader, int doc, Set<Term> terms) throws IOException {
+        List<LeafReaderContext> leaves = reader.leaves();
+        LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(doc, leaves));
+        int leafDoc = doc - leaf.docBase;
+        Terms indexed = leaf.reader().terms(TextualOperator.DESCRIPTION_FIELD);
+        if (indexed == null || !indexed.hasOffsets()) {
+            return new int[0];
+        }
+
+        long[] packed = new long[8];
+        int n = 0;
+        TermsEnum termsEnum = indexed.iterator();
+        for (Term term : terms) {
+            if (!TextualOperator.DESCRIPTION_FIELD.equals(term.field()) || !termsEnum.seekExact(term.bytes())) {
+                continue;
+            }
+            PostingsEnum postings = termsEnum.postings(null, PostingsEnum.OFFSETS);
+            if (postings.advance(leafDoc) != leafDoc) {
+                continue;
+            }
+            for (int i = postings.freq(); i > 0; i--) {
+                postings.nextPosition();
+                if (n == packed.length) packed = Arrays.copyOf(packed, n * 2);
+                packed[n++] = ((long) postings.startOffset() << 32) | postings.endOffset();
+            }
+        }
+        Arrays.sort(packed, 0, n);
+
+        int[] offsets = new int[n * 2];
+        for (int i = 0; i < n; i++) {
+            offsets[2 * i] = (int) (packed[i] >>> 32);
+            offsets[2 * i + 1] = (int) packed[i];
+        }
+        return offsets;
+    }
+
+    /**
+     * Fenêtre de maxChars caractères contenant le plus de correspondances,
+     * coupée aux espaces, correspondances entre &lt;mark&gt;.
+     * Null si aucun offset n'est dans le texte (c.txt modifié depuis l'indexation).
+     */
+    private static String snippet(String text, int[] offsets, int maxChars) {
+        int matches = 0;
+        while (matches < offsets.length / 2 && offsets[2 * matches + 1] <= text.length()) {
+            matches++;
+        }
+        if (matches == 0) {
+            return null;
+        }
+        int best = 0;
+        int bestCount = 0;
+        for (int i = 0, j = 0; i < matches; i++) {
+            j = Math.max(j, i);
+            while (j < matches && offsets[2 * j + 1] <= offsets[2 * i] + maxChars) j++;
+            if (j - i > bestCount) {
+                bestCount = j - i;
+                best = i;
+            }
+        }
+
+        // Un peu de contexte avant la première correspondance
+        int start = Math.max(0, offsets[2 * best] - maxChars / 4);
+        int end = Math.min(text.length(), start + maxChars);
+        if (end - start < maxChars) start = Math.max(0, end - maxChars);
+        if (start > 0) {
+            int space = text.indexOf(' ', start);
+            if (space >= 0 && space < offsets[2 * best]) start = space + 1;
+        }
+        if (end < text.length()) {
+            int space = text.lastIndexOf(' ', end);
+            if (space > start) end = space;
+        }
+
+        StringBuilder sb = new StringBuilder(end - start + 32);
+        if (start > 0) sb.append(ELLIPSIS);
+        int pos = start;
+        for (int i = 0; i < matches; i++) {
+            int s = offsets[2 * i];
+            int e = offsets[2 * i + 1];
+            if (s < pos || e > end) continue;
+            escape(text, pos, s, sb);
+            sb.append("<mark>");
+            escape(text, s, e, sb);
+            sb.append("</mark>");
+            pos = e;
+        }
+        escape(text, pos, end, sb);
+        if (end < text.length()) sb.append(ELLIPSIS);
+        return sb.toString().replaceAll("\\s+", " ").trim();
+    }
+
+    private static void escape(String text, int from, int to, StringBuilder sb) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '&': sb.append("&amp;"); break;
+                case '"': sb.append("&quot;"); break;
+                default: sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Texte indexé de la clé (même décodage que TextualOperator.buildIndex,
+     * donc mêmes offsets)
+     */
+    private String readText(int key) throws IOException {
+        try {
+            return new String(Files.readAllBytes(Paths.get(docsDir, key + ".txt")), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package persistence.bda;
 
 import persistence.jdbc.JdbcExecuteQuery;
+import persistence.metrics.MetricsRegistry;
+import persistence.metrics.OperatorMetrics;
 
 import java.sql.ResultSet;
 
@@ -14,23 +16,35 @@ import java.sql.ResultSet;
  */
 public class SqlOperator implements Operator<ResultSet> {
     
+    private static final OperatorMetrics METRICS = MetricsRegistry.operator("SqlOperator");
+    
     private final JdbcExecuteQuery exec = new JdbcExecuteQuery();
     private ResultSet rs;
     
     @Override
     public void init(String sqlQuery) {
+        long start = System.nanoTime();
         exec.prepareQuery(sqlQuery);
         rs = exec.sqlExecutePreparedQuery();
+        METRICS.recordInit(System.nanoTime() - start);
     }
     
     @Override
     public ResultSet next() {
+        long start = System.nanoTime();
         try {
             if (rs == null) return null;
-            if (rs.next()) return rs;
+            if (rs.next()) {
+                // Pas de filtrage côté opérateur : chaque ligne lue est produite
+                METRICS.addRowsIn(1);
+                METRICS.addRowsOut(1);
+                return rs;
+            }
             return null;
         } catch (Exception e) {
             return null;
+        } finally {
+            METRICS.recordNext(System.nanoTime() - start);
         }
     }
     
@@ -0,0 +1,86 @@
+package persistence.bda;
+
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Mise à jour incrémentale de l'index Lucene du répertoire R.
+ * 
+ * Un seul IndexWriter pour tout un import : chaque document remplace celui
+ * de même clé (updateDocument), commit() rend le lot visible aux recherches.
+ * Écriture via IndexStorage.openForWrite (segments en cache mémoire jusqu'au
+ * commit) ; chaque commit fait relire l'index aux recherches.
+ * L'index est créé s'il n'existe pas encore ; un index à l'ancien format
+ * (clé sans DocValues ou description sans offsets) est refusé.
+ * 
+ * @author Équipe Persistance
+ */
+public class TextIndexUpdater implements AutoCloseable {
+    
+    private final String keyField;
+    private final Path indexPath;
+    private final Directory dir;
+    private final IndexWriter writer;
+    private int updated;
+    
+    /**
+     * @param keyField Nom du champ clé (ex: "id_site")
+     * @param indexPath Chemin de l'index Lucene
+     */
+    public TextIndexUpdater(String keyField, Path indexPath) throws IOException {
+        this.keyField = keyField;
+        this.indexPath = indexPath;
+        this.dir = IndexStorage.shared().openForWrite(indexPath);
+        if (DirectoryReader.indexExists(dir) && !TextualOperator.isCurrentFormat(dir, keyField)) {
+            dir.close();
+            throw new IOException("Index Lucene à l'ancien format (clé " + keyField
+                    + " sans DocValues ou description sans offsets) : le reconstruire avant une mise à jour incrémentale");
+        }
+        IndexWriterConfig config = new IndexWriterConfig(new FrenchAnalyzer());
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        IndexWriter w;
+        try {
+            w = new IndexWriter(dir, config);
+        } catch (IOException e) {
+            dir.close();
+            throw e;
+        }
+        this.writer = w;
+    }
+    
+    /**
+     * Ajoute ou remplace le document de clé key.
+     */
+    public void update(int key, String text) throws IOException {
+        String id = String.valueOf(key);
+        writer.updateDocument(new Term(keyField, id), TextualOperator.textDocument(keyField, id, text));
+        updated++;
+    }
+    
+    public void commit() throws IOException {
+        writer.commit();
+        IndexStorage.shared().invalidate(indexPath);
+    }
+    
+    /** Nombre de documents ajoutés ou remplacés */
+    public int getUpdated() {
+        return updated;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.close();
+        } finally {
+            dir.close();
+            IndexStorage.shared().invalidate(indexPath);
+        }
+    }
+}
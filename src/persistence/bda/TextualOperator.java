@@ -2,19 +2,29 @@ package persistence.bda;
 
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
+import persistence.metrics.MetricsRegistry;
+import persistence.metrics.OperatorMetrics;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -32,11 +42,24 @@ import java.util.Map;
  */
 public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
     
+    private static final OperatorMetrics METRICS = MetricsRegistry.operator("TextualOperator");
+    
     private final String keyField;
     private final String docsDir;
     
-    // ✅ MODIFICATION 1 : Index PERSISTANT sur disque (pas en /tmp)
-    private final Path indexPath = Paths.get("C:/Users/amine/eclipse-workspace/agpFinal/lucene_index");
+    // ✅ MODIFICATION 1 : Index PERSISTANT sur disque (pas en /tmp),
+    // emplacement configuré par IndexStorage, partagé avec TextIndexUpdater
+    private final Path indexPath;
+    
+    /** Champ texte indexé (c.txt) */
+    public static final String DESCRIPTION_FIELD = "description";
+    
+    /** Texte non stocké, postings avec positions et offsets */
+    static final FieldType DESCRIPTION_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+    static {
+        DESCRIPTION_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        DESCRIPTION_TYPE.freeze();
+    }
     
     private LuceneSearch lucene;
     private Map<Integer, Float> scores = new LinkedHashMap<>();
@@ -49,29 +72,66 @@ public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
      * @param docsDir Répertoire R contenant les fichiers .txt
      */
     public TextualOperator(String keyField, String docsDir) {
+        this(keyField, docsDir, IndexStorage.shared().getIndexPath());
+    }
+    
+    /**
+     * @param indexPath Emplacement de l'index Lucene
+     */
+    public TextualOperator(String keyField, String docsDir, Path indexPath) {
         this.keyField = keyField;
         this.docsDir = docsDir;
+        this.indexPath = indexPath;
     }
     
     @Override
     public void init(String textQuery) {
+        run(textQuery, null);
+    }
+    
+    /**
+     * Plan SQL d'abord : recherche restreinte aux clés déjà retenues par la
+     * partie SQL (filtre Lucene, voir LuceneSearch.search(String, Collection)).
+     * Résultat exact : tous les documents de keys qui correspondent au texte.
+     * 
+     * @param textQuery Mots-clés
+     * @param keys Clés issues de SqlOperator
+     */
+    public void init(String textQuery, Collection<Integer> keys) {
+        run(textQuery, keys);
+    }
+    
+    /**
+     * Vrai si la dernière recherche non filtrée a été tronquée à MAX_RESULTS
+     * (d'autres documents correspondaient au texte)
+     */
+    public boolean isTruncated() {
+        return lucene != null && lucene.getLastTotalHits() > scores.size();
+    }
+    
+    private void run(String textQuery, Collection<Integer> keys) {
+        long start = System.nanoTime();
         try {
             // ✅ MODIFICATION 2 : Vérifier si l'index existe, sinon le créer
             if (!indexExists()) {
                 System.out.println("⏳ Index Lucene n'existe pas. Création en cours...");
                 buildIndex();
                 System.out.println("✅ Index Lucene créé : " + indexPath);
-            } else {
-                System.out.println("✅ Index Lucene existant trouvé : " + indexPath);
             }
             
             lucene = new LuceneSearch(keyField, indexPath);
-            scores = lucene.search(textQuery == null ? "" : textQuery);
+            String text = textQuery == null ? "" : textQuery;
+            scores = keys == null ? lucene.search(text) : lucene.search(text, keys);
             it = scores.entrySet().iterator();
+            METRICS.addRowsIn(lucene.getLastCandidates());
+            METRICS.addLuceneHits(lucene.getLastTotalHits());
+            METRICS.addRowsOut(scores.size());
         } catch (Exception e) {
             e.printStackTrace();
             scores = new LinkedHashMap<>();
             it = scores.entrySet().iterator();
+        } finally {
+            METRICS.recordInit(System.nanoTime() - start);
         }
     }
     
@@ -90,14 +150,34 @@ public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
             // Vérifier si l'index est valide
             Directory dir = FSDirectory.open(indexPath);
             boolean exists = DirectoryReader.indexExists(dir);
+            boolean current = exists && isCurrentFormat(dir, keyField);
             dir.close();
             
-            return exists;
+            if (exists && !current) {
+                System.out.println("⏳ Index Lucene à l'ancien format (clé sans DocValues ou description sans offsets)");
+            }
+            return current;
         } catch (Exception e) {
             return false;
         }
     }
     
+    /**
+     * Vrai si l'index est au format actuel (voir textDocument) ou vide : clé
+     * en DocValues numériques, description indexée avec ses offsets. Lucene
+     * interdit de mélanger les formats pour un même champ : un ancien index
+     * est reconstruit.
+     */
+    static boolean isCurrentFormat(Directory dir, String keyField) throws IOException {
+        try (DirectoryReader reader = DirectoryReader.open(dir)) {
+            FieldInfos infos = FieldInfos.getMergedFieldInfos(reader);
+            FieldInfo key = infos.fieldInfo(keyField);
+            FieldInfo description = infos.fieldInfo(DESCRIPTION_FIELD);
+            return (key == null || key.getDocValuesType() == DocValuesType.NUMERIC)
+                    && (description == null || description.getIndexOptions() == DESCRIPTION_TYPE.indexOptions());
+        }
+    }
+    
     /**
      * Construit l'index Lucene à partir des fichiers du répertoire R.
      * CONFORME CAHIER DES CHARGES (page 7) :
@@ -107,9 +187,7 @@ public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
      * @throws Exception Si erreur lors de l'indexation
      */
     private void buildIndex() throws Exception {
-        Files.createDirectories(indexPath);
-        
-        Directory dir = FSDirectory.open(indexPath);
+        Directory dir = IndexStorage.shared().openForWrite(indexPath);
         
         IndexWriterConfig config = new IndexWriterConfig(new org.apache.lucene.analysis.fr.FrenchAnalyzer());
         config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
@@ -125,25 +203,49 @@ public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
             for (File f : files) {
                 // Extraire la clé c depuis le nom du fichier (ex: "1.txt" → 1)
                 String filename = f.getName().replace(".txt", "");
+                if (!filename.matches("\\d+")) continue; // clé numérique (DocValues)
                 
                 // Lire le contenu du fichier
-                String content = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+                byte[] bytes = Files.readAllBytes(f.toPath());
+                METRICS.addBytesRead(bytes.length);
+                String content = new String(bytes, StandardCharsets.UTF_8);
                 
-                Document doc = new Document();
-                doc.add(new TextField("description", content, Field.Store.YES));
-                doc.add(new StringField(keyField, filename, Field.Store.YES));
-                w.addDocument(doc);
+                w.addDocument(textDocument(keyField, filename, content));
             }
         } finally {
             try { if (w != null) w.close(); } catch (Exception ignored) {}
             try { if (dir != null) dir.close(); } catch (Exception ignored) {}
+            IndexStorage.shared().invalidate(indexPath);
         }
     }
     
+    /**
+     * Document Lucene d'un fichier c.txt (même forme pour la construction
+     * complète et pour les mises à jour incrémentales).
+     * 
+     * Rien n'est stocké : la description est seulement indexée (le texte
+     * reste dans c.txt) et la clé est lue dans ses DocValues numériques
+     * (LuceneSearch.readKeys). Le terme StringField de la clé sert aux
+     * remplacements (updateDocument). Les offsets des termes sont gardés
+     * dans les postings pour les extraits (SnippetGenerator).
+     */
+    public static Document textDocument(String keyField, String key, String content) {
+        Document doc = new Document();
+        doc.add(new Field(DESCRIPTION_FIELD, content, DESCRIPTION_TYPE));
+        doc.add(new StringField(keyField, key, Field.Store.NO));
+        doc.add(new NumericDocValuesField(keyField, Long.parseLong(key)));
+        return doc;
+    }
+    
     @Override
     public Map.Entry<Integer, Float> next() {
-        if (it != null && it.hasNext()) return it.next();
-        return null;
+        long start = System.nanoTime();
+        try {
+            if (it != null && it.hasNext()) return it.next();
+            return null;
+        } finally {
+            METRICS.recordNext(System.nanoTime() - start);
+        }
     }
     
     /**
@@ -193,16 +295,25 @@ public class TextualOperator implements Operator<Map.Entry<Integer, Float>> {
     
     /**
      * Ajoute plusieurs textes en une seule fois.
-     * Utile pour initialiser le répertoire R avec plusieurs documents.
+     * Utile pour initialiser le répertoire R avec plusieurs documents
+     * (imports en masse : répertoire créé une fois, aucun message par fichier).
      * 
      * @param docsDir Répertoire R où créer les fichiers
      * @param keyTextPairs Map<clé, texte> des documents à créer
+     * @return nombre d'octets écrits
      * @throws Exception Si erreur lors de la création des fichiers
      */
-    public static void addTextDocuments(String docsDir, Map<Integer, String> keyTextPairs) throws Exception {
+    public static long addTextDocuments(String docsDir, Map<Integer, String> keyTextPairs) throws Exception {
+        Path dir = Paths.get(docsDir);
+        Files.createDirectories(dir);
+        
+        long bytes = 0;
         for (Map.Entry<Integer, String> entry : keyTextPairs.entrySet()) {
-            addTextDocument(docsDir, entry.getKey(), entry.getValue());
+            byte[] content = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            Files.write(dir.resolve(entry.getKey() + ".txt"), content);
+            bytes += content.length;
         }
+        return bytes;
     }
     
     /**
@@ -0,0 +1,351 @@
+package persistence.jdbc;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.domain.TransportMode;
+import dao.BulkWriteReport;
+import dao.CatalogImportDao;
+import dao.TransportEdge;
+import persistence.bda.IndexStorage;
+import persistence.bda.TextIndexUpdater;
+import persistence.bda.TextualOperator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Implémentation JDBC de CatalogImportDao.
+ * 
+ * Pipeline par lot (batchSize lignes) :
+ * 1. addBatch() ligne à ligne, executeBatch() (INSERT multi-lignes grâce à
+ *    rewriteBatchedStatements, voir JdbcConnection.getBatchConnection)
+ * 2. commit du lot : un échec n'annule que le lot en cours
+ * 3. sites : fichiers c.txt du lot dans le répertoire R puis mise à jour de
+ *    l'index Lucene (un seul IndexWriter pour tout l'import, commit par lot)
+ * 
+ * Seul le lot courant est gardé en mémoire : les sources peuvent être des
+ * flux de plusieurs millions de lignes.
+ * 
+ * @author Équipe Persistance
+ */
+public class JdbcCatalogImportDao implements CatalogImportDao {
+    
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    
+    private static final String SITE_KEY_COL = "id_site";
+    
+    private static final String UPSERT_SITE =
+            "INSERT INTO Site (id_site, name, latitude, longitude, site_type, activity_category, entry_price, " +
+            "                  start_time, end_time, visit_duration_minutes, short_description, has_full_description) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name = VALUES(name), latitude = VALUES(latitude), longitude = VALUES(longitude), " +
+            "    site_type = VALUES(site_type), activity_category = VALUES(activity_category), " +
+            "    entry_price = VALUES(entry_price), start_time = VALUES(start_time), end_time = VALUES(end_time), " +
+            "    visit_duration_minutes = VALUES(visit_duration_minutes), " +
+            "    short_description = VALUES(short_description), has_full_description = VALUES(has_full_description)";
+    
+    private static final String UPSERT_HOTEL =
+            "INSERT INTO Hotel (id_hotel, name, latitude, longitude, star_rating, beach_name, price_per_night) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name = VALUES(name), latitude = VALUES(latitude), longitude = VALUES(longitude), " +
+            "    star_rating = VALUES(star_rating), beach_name = VALUES(beach_name), " +
+            "    price_per_night = VALUES(price_per_night)";
+    
+    /** Upsert sur la clé unique_route (origine, destination) : un ré-import ne duplique pas les routes */
+    private static final String UPSERT_ROUTE =
+            "INSERT INTO Transport_Route (origin_type, origin_id, destination_type, destination_id, " +
+            "                             distance_km, recommended_transport_id, estimated_duration_minutes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE distance_km = VALUES(distance_km), " +
+            "    recommended_transport_id = VALUES(recommended_transport_id), " +
+            "    estimated_duration_minutes = VALUES(estimated_duration_minutes)";
+    
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private String docsDir = IndexStorage.shared().getDocsDir();
+    private Path indexPath = IndexStorage.shared().getIndexPath();
+    private boolean writeDescriptions = true;
+    private boolean updateIndex = true;
+    
+    // ==================== Configuration ====================
+    
+    public int getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be > 0: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+    
+    /** Répertoire R des descriptions (fichiers c.txt) */
+    public String getDocsDir() {
+        return docsDir;
+    }
+    
+    public void setDocsDir(String docsDir) {
+        this.docsDir = docsDir;
+    }
+    
+    public Path getIndexPath() {
+        return indexPath;
+    }
+    
+    public void setIndexPath(Path indexPath) {
+        this.indexPath = indexPath;
+    }
+    
+    public void setIndexDir(String indexDir) {
+        this.indexPath = Paths.get(indexDir);
+    }
+    
+    public boolean isWriteDescriptions() {
+        return writeDescriptions;
+    }
+    
+    public void setWriteDescriptions(boolean writeDescriptions) {
+        this.writeDescriptions = writeDescriptions;
+    }
+    
+    public boolean isUpdateIndex() {
+        return updateIndex;
+    }
+    
+    public void setUpdateIndex(boolean updateIndex) {
+        this.updateIndex = updateIndex;
+    }
+    
+    // ==================== Écritures ====================
+    
+    @Override
+    public BulkWriteReport saveSites(Iterable<? extends Site> sites, SiteText text) {
+        TextIndexUpdater index = null;
+        try {
+            if (updateIndex) {
+                index = new TextIndexUpdater(SITE_KEY_COL, indexPath);
+            }
+            SiteTexts texts = new SiteTexts(text, index);
+            return write("Site", UPSERT_SITE, sites, (ps, site) -> {
+                String fullDescription = text.fullDescription(site);
+                ps.setInt(1, requireId(site.getId(), "id_site"));
+                ps.setString(2, site.getName());
+                ps.setDouble(3, site.getPosition().getLatitude());
+                ps.setDouble(4, site.getPosition().getLongitude());
+                ps.setString(5, site.isHistorical() ? "HISTORICAL" : "ACTIVITY");
+                setNullableString(ps, 6, text.category(site));
+                ps.setDouble(7, site.getPrice());
+                ps.setTime(8, site.getStartTime() != null ? Time.valueOf(site.getStartTime()) : null);
+                ps.setTime(9, site.getEndTime() != null ? Time.valueOf(site.getEndTime()) : null);
+                ps.setInt(10, site.getDuration() != null ? (int) site.getDuration().toMinutes() : 0);
+                setNullableString(ps, 11, site.getDescription());
+                ps.setBoolean(12, fullDescription != null && !fullDescription.isEmpty());
+            }, texts);
+        } catch (IOException e) {
+            System.err.println("❌ Index Lucene inaccessible pour saveSites : " + e.getMessage());
+            return new BulkWriteReport("Site", 0, 0, 0, 0, e.getMessage());
+        } finally {
+            if (index != null) {
+                try {
+                    index.close();
+                } catch (Exception e) {
+                    System.err.println("❌ Fermeture de l'index Lucene : " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    @Override
+    public BulkWriteReport saveHotels(Iterable<? extends Hotel> hotels) {
+        return write("Hotel", UPSERT_HOTEL, hotels, (ps, hotel) -> {
+            ps.setInt(1, requireId(hotel.getId(), "id_hotel"));
+            ps.setString(2, hotel.getName());
+            ps.setDouble(3, hotel.getPosition().getLatitude());
+            ps.setDouble(4, hotel.getPosition().getLongitude());
+            ps.setInt(5, hotel.getStarRating());
+            setNullableString(ps, 6, hotel.getBeachName());
+            ps.setDouble(7, hotel.getPrice());
+        }, null);
+    }
+    
+    @Override
+    public BulkWriteReport saveRoutes(Iterable<TransportEdge> edges, ToDoubleFunction<TransportEdge> distanceKm) {
+        Map<TransportMode, Integer> modeIds = new EnumMap<>(TransportMode.class);
+        return write("Transport_Route", UPSERT_ROUTE, edges, (ps, edge) -> {
+            if (modeIds.isEmpty()) {
+                modeIds.putAll(findTransportModeIds(ps.getConnection()));
+            }
+            ps.setString(1, nodeType(edge.fromNodeId));
+            ps.setInt(2, nodeId(edge.fromNodeId));
+            ps.setString(3, nodeType(edge.toNodeId));
+            ps.setInt(4, nodeId(edge.toNodeId));
+            ps.setDouble(5, Math.round(distanceKm.applyAsDouble(edge) * 1000) / 1000.0);
+            ps.setInt(6, modeIds.get(edge.mode));
+            ps.setInt(7, edge.durationMinutes);
+        }, null);
+    }
+    
+    /**
+     * Connexion de l'import (autoCommit désactivé le temps de l'écriture)
+     */
+    protected Connection openConnection() throws SQLException {
+        return JdbcConnection.getBatchConnection();
+    }
+    
+    // ==================== Pipeline par lot ====================
+    
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+    
+    private interface BatchListener<T> {
+        /** Appelé après le commit de chaque lot ; retourne les octets de texte écrits */
+        long afterCommit(List<T> batch) throws Exception;
+    }
+    
+    private <T> BulkWriteReport write(String table, String sql, Iterable<? extends T> rows,
+                                      RowBinder<T> binder, BatchListener<T> listener) {
+        long start = System.nanoTime();
+        long committed = 0;
+        long textBytes = 0;
+        int batches = 0;
+        String error = null;
+        List<T> batch = new ArrayList<>(listener != null ? batchSize : 0);
+        int pending = 0;
+        
+        try (Connection connection = openConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                Iterator<? extends T> it = rows.iterator();
+                while (it.hasNext()) {
+                    T row = it.next();
+                    binder.bind(ps, row);
+                    ps.addBatch();
+                    if (listener != null) batch.add(row);
+                    if (++pending < batchSize && it.hasNext()) {
+                        continue;
+                    }
+                    // Lot complet (ou dernier lot) : envoi, commit, puis textes du lot
+                    ps.executeBatch();
+                    connection.commit();
+                    committed += pending;
+                    batches++;
+                    pending = 0;
+                    if (listener != null) {
+                        textBytes += listener.afterCommit(batch);
+                        batch.clear();
+                    }
+                }
+            } catch (Exception e) {
+                error = e.getMessage();
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    System.err.println("❌ Rollback impossible : " + rollbackError.getMessage());
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            error = e.getMessage();
+        }
+        
+        BulkWriteReport report = new BulkWriteReport(table, committed, batches,
+                System.nanoTime() - start, textBytes, error);
+        if (report.isSuccessful()) {
+            System.out.println(report);
+        } else {
+            System.err.println(report);
+        }
+        return report;
+    }
+    
+    /**
+     * Descriptions et index d'un lot de sites validé
+     */
+    private class SiteTexts implements BatchListener<Site> {
+        private final SiteText text;
+        private final TextIndexUpdater index;
+        
+        SiteTexts(SiteText text, TextIndexUpdater index) {
+            this.text = text;
+            this.index = index;
+        }
+        
+        @Override
+        public long afterCommit(List<Site> batch) throws Exception {
+            Map<Integer, String> documents = new LinkedHashMap<>();
+            for (Site site : batch) {
+                String fullDescription = text.fullDescription(site);
+                if (fullDescription != null && !fullDescription.isEmpty()) {
+                    documents.put(site.getId(), fullDescription);
+                }
+            }
+            long bytes = writeDescriptions ? TextualOperator.addTextDocuments(docsDir, documents) : 0;
+            if (index != null) {
+                for (Map.Entry<Integer, String> doc : documents.entrySet()) {
+                    index.update(doc.getKey(), doc.getValue());
+                }
+                index.commit();
+            }
+            return bytes;
+        }
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private static Map<TransportMode, Integer> findTransportModeIds(Connection connection) throws SQLException {
+        Map<TransportMode, Integer> ids = new EnumMap<>(TransportMode.class);
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id_transport, name FROM Transport_Mode")) {
+            while (rs.next()) {
+                ids.put(TransportMode.valueOf(rs.getString("name").toUpperCase()), rs.getInt("id_transport"));
+            }
+        }
+        for (TransportMode mode : TransportMode.values()) {
+            if (!ids.containsKey(mode)) {
+                throw new SQLException("Mode de transport absent de Transport_Mode : " + mode);
+            }
+        }
+        return ids;
+    }
+    
+    private static int requireId(int id, String column) throws SQLException {
+        if (id <= 0) {
+            throw new SQLException(column + " explicite requis pour un import (reçu " + id + ")");
+        }
+        return id;
+    }
+    
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, value);
+        }
+    }
+    
+    private static String nodeType(String nodeId) {
+        return nodeId.charAt(0) == 'H' ? "HOTEL" : "SITE";
+    }
+    
+    private static int nodeId(String nodeId) {
+        return Integer.parseInt(nodeId.substring(2));
+    }
+}
@@ -26,4 +26,13 @@ public class JdbcConnection {
         // ✅ Crée une NOUVELLE instance à chaque appel
         return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
     }
+    
+    /**
+     * Connexion pour les écritures en masse : Connector/J réécrit chaque
+     * executeBatch() en INSERT multi-lignes (un aller-retour par lot).
+     * DOIT être fermée après usage.
+     */
+    public static Connection getBatchConnection() throws SQLException {
+        return DriverManager.getConnection(DB_URL + "?rewriteBatchedStatements=true", DB_USER, DB_PASSWORD);
+    }
 }
\ No newline at end of file
@@ -1,35 +1,123 @@
 package persistence.jdbc;
 
+import persistence.metrics.DaoQueryEvent;
+import persistence.metrics.MetricsRegistry;
+import persistence.metrics.QueryStats;
+import persistence.metrics.SqlFingerprint;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Exécution d'une requête préparée.
+ * 
+ * Chaque prepare / execute est chronométré et agrégé par empreinte SQL
+ * (voir SqlFingerprint, MetricsRegistry.queries()) avec le nombre de lignes
+ * lues. Les exécutions au-delà du seuil de SlowQueryLog y sont écrites
+ * avec leurs valeurs liées : pour cela getPreparedStatement() retourne
+ * un mandataire qui mémorise les appels setXxx(index, valeur).
+ * 
+ * prepareStreamingQuery prépare un curseur en avant seulement, en lecture
+ * seule, dont les lignes arrivent au fil de la lecture (voir ResultSetStream).
+ * 
+ * Chaque prepare ouvre une connexion (JdbcConnection) : close() la ferme,
+ * quel que soit le mode. Les erreurs SQL sont affichées et mémorisées
+ * (getError) ; les appelants qui ne doivent pas renvoyer un résultat vide
+ * à la place d'une erreur la relancent.
+ */
 public class JdbcExecuteQuery {
+    
+    /**
+     * Fetch size qui active le streaming ligne à ligne de MySQL Connector/J
+     * (sinon tout le résultat est chargé en mémoire par executeQuery).
+     */
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    
+    private Connection connection;
     private PreparedStatement preparedStatement;
     private ResultSet resultSet;
+    
+    private String sql;
+    private QueryStats stats;
+    private final Map<Integer, Object> binds = new TreeMap<>();
+    private long rows;
+    private boolean failed;
+    private SQLException error;
+    private DaoQueryEvent event;
 
     public void prepareQuery(String query) {
+        prepare(query, false);
+    }
+    
+    /**
+     * Prépare une requête lue en flux : TYPE_FORWARD_ONLY, CONCUR_READ_ONLY,
+     * fetch size de streaming. Tant que le ResultSet est ouvert, la connexion
+     * ne peut servir à rien d'autre.
+     */
+    public void prepareStreamingQuery(String query) {
+        prepare(query, true);
+    }
+    
+    private void prepare(String query, boolean streaming) {
+        if (connection != null) {
+            close(); // requête précédente non fermée par l'appelant
+        }
+        sql = query;
+        stats = MetricsRegistry.query(SqlFingerprint.of(query));
+        binds.clear();
+        rows = 0;
+        failed = false;
+        error = null;
+        
+        long start = System.nanoTime();
         try {
-            preparedStatement = JdbcConnection.getConnection().prepareStatement(query);
+            connection = JdbcConnection.getConnection();
+            PreparedStatement statement;
+            if (streaming) {
+                statement = connection.prepareStatement(query,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(STREAMING_FETCH_SIZE);
+            } else {
+                statement = connection.prepareStatement(query);
+            }
+            preparedStatement = recordingBinds(statement);
         } catch (SQLException e) {
-            System.err.println(e.getMessage());
+            fail(e);
+        } finally {
+            stats.recordPrepare(System.nanoTime() - start);
         }
     }
 
     public ResultSet sqlExecutePreparedQuery() {
+        event = DaoQueryEvent.start();
+        long start = System.nanoTime();
         try {
-            resultSet = preparedStatement.executeQuery();
+            resultSet = countingRows(preparedStatement.executeQuery());
         } catch (SQLException e) {
-            System.err.println(e.getMessage());
+            fail(e);
+        } finally {
+            afterExecute(System.nanoTime() - start);
         }
         return resultSet;
     }
 
     public int sqlExecutePreparedUpdate() {
+        event = DaoQueryEvent.start();
+        long start = System.nanoTime();
         try {
-            return preparedStatement.executeUpdate();
+            int updated = preparedStatement.executeUpdate();
+            rows += updated;
+            return updated;
         } catch (SQLException e) {
-            System.err.println(e.getMessage());
+            fail(e);
+        } finally {
+            afterExecute(System.nanoTime() - start);
         }
         return 0;
     }
@@ -41,13 +129,105 @@ public class JdbcExecuteQuery {
     public ResultSet getResultSet() {
         return resultSet;
     }
+    
+    /**
+     * Dernière erreur SQL de prepare / execute (null si aucune)
+     */
+    public SQLException getError() {
+        return error;
+    }
+    
+    /**
+     * Cause à relancer pour une erreur e survenue en lisant cette requête :
+     * l'erreur SQL mémorisée si prepare / execute a échoué (e est alors
+     * souvent un NullPointerException sur le statement ou le ResultSet absent)
+     */
+    public Exception causeOf(Exception e) {
+        return error != null ? error : e;
+    }
 
     public void close() {
+        if (stats != null) {
+            stats.addRows(rows);
+            if (event != null) {
+                event.finish(stats.getFingerprint(), rows, failed);
+                event = null;
+            }
+            rows = 0;
+        }
         try {
             if (resultSet != null) resultSet.close();
             if (preparedStatement != null) preparedStatement.close();
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            closeConnection();
+        }
+    }
+    
+    private void closeConnection() {
+        try {
+            if (connection != null) connection.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            connection = null;
+        }
+    }
+    
+    private void fail(SQLException e) {
+        failed = true;
+        error = e;
+        stats.recordError();
+        System.err.println(e.getMessage());
+    }
+    
+    // ==================== Instrumentation ====================
+    
+    private void afterExecute(long nanos) {
+        stats.recordExecute(nanos);
+        if (SlowQueryLog.isSlow(nanos)) {
+            stats.recordSlow();
+            SlowQueryLog.log(nanos, stats.getFingerprint(), sql, new TreeMap<>(binds));
+        }
+    }
+    
+    /**
+     * Mandataire qui mémorise les valeurs liées (setInt(1, 42), setString(2, "x"), ...)
+     */
+    private PreparedStatement recordingBinds(PreparedStatement target) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        binds.put((Integer) args[0], args[1]);
+                    } else if ("clearParameters".equals(name)) {
+                        binds.clear();
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+    
+    /**
+     * Mandataire qui compte les lignes lues (next() == true)
+     */
+    private ResultSet countingRows(ResultSet target) {
+        if (target == null) return null;
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                    return result;
+                });
+    }
+    
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
         }
     }
 }
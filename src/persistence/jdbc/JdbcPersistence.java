@@ -3,6 +3,7 @@ package persistence.jdbc;
 import API.JoinedOperator;
 import business.domain.*;
 import business.service.TravelDataAccess;
+import dao.SiteCriteria;
 import dao.TravelDao;
 
 import java.sql.ResultSet;
@@ -18,6 +19,9 @@ public class JdbcPersistence implements TravelDao, TravelDataAccess {
     private static final String LUCENE_KEY_COL = "id_site";
     private static final String LUCENE_DOCS_DIR = "src/lucene_docs";
 
+    // Recherche multi-critères et classement hybride
+    private final JdbcTravelDao rankedSearch = new JdbcTravelDao();
+
     // =========================================================
     // 1) HOTELS
     // =========================================================
@@ -276,6 +280,15 @@ public class JdbcPersistence implements TravelDao, TravelDataAccess {
         return getSitesByIds(orderedIds);
     }
 
+    /**
+     * Classement hybride depuis rankOrigin (hôtel choisi) : délégué à
+     * JdbcTravelDao.findSites, qui applique la formule tahiti.search.ranking.
+     */
+    @Override
+    public List<Site> findSitesByKeywords(String keywords, Position rankOrigin) {
+        return rankedSearch.findSites(new SiteCriteria().keywords(keywords).rankFrom(rankOrigin));
+    }
+
     // =========================================================
     // 4) MAPPING (DB -> Business Objects)
     // =========================================================
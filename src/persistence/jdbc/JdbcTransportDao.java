@@ -1,5 +1,9 @@
 package persistence.jdbc;
 
+import dao.DaoException;
+import dao.Page;
+import dao.Pages;
+import dao.SeekKey;
 import dao.TransportDao;
 import dao.TransportEdge;
 import business.domain.TransportMode;
@@ -9,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implémentation JDBC de TransportDao.
@@ -103,6 +108,100 @@ public class JdbcTransportDao implements TransportDao {
         return edges;
     }
     
+    // ==================== LECTURE EN FLUX ====================
+    
+    @Override
+    public Stream<TransportEdge> streamTransportEdges(Set<TransportMode> allowedModes) {
+        boolean filtered = allowedModes != null && !allowedModes.isEmpty();
+        String query =
+                "SELECT " +
+                "    tr.id_route, " +
+                "    tr.origin_type, " +
+                "    tr.origin_id, " +
+                "    tr.destination_type, " +
+                "    tr.destination_id, " +
+                "    tm.name AS transport_mode, " +
+                "    tr.distance_km, " +
+                "    tr.estimated_duration_minutes " +
+                "FROM Transport_Route tr " +
+                "JOIN Transport_Mode tm ON tr.recommended_transport_id = tm.id_transport " +
+                (filtered
+                        ? "WHERE tm.name IN (" + allowedModes.stream().map(m -> "?").collect(Collectors.joining(",")) + ") "
+                        : "") +
+                "ORDER BY tr.id_route";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareStreamingQuery(query);
+        if (filtered) {
+            try {
+                int i = 1;
+                for (TransportMode mode : allowedModes) {
+                    exec.getPreparedStatement().setString(i++, mode.name());
+                }
+            } catch (Exception e) {
+                System.err.println("❌ SQL Exception in streamTransportEdges: " + exec.causeOf(e).getMessage());
+                exec.close();
+                throw new DaoException("streamTransportEdges", exec.causeOf(e));
+            }
+        }
+        return ResultSetStream.execute(exec, this::mapTransportEdge, "streamTransportEdges");
+    }
+    
+    // ==================== PAGINATION PAR CLÉ ====================
+    
+    /**
+     * Page de liens triés par id_route : WHERE id_route > ? ... LIMIT ?.
+     * TransportEdge ne porte pas l'id de route, le curseur est donc lu dans
+     * le ResultSet. Le lien inverse ajouté par le graphe n'est pas concerné :
+     * une ligne = un lien.
+     */
+    @Override
+    public Page<TransportEdge> findTransportEdgesPage(SeekKey after, int limit) {
+        Pages.checkLimit(limit);
+        String query =
+                "SELECT " +
+                "    tr.id_route, " +
+                "    tr.origin_type, " +
+                "    tr.origin_id, " +
+                "    tr.destination_type, " +
+                "    tr.destination_id, " +
+                "    tm.name AS transport_mode, " +
+                "    tr.distance_km, " +
+                "    tr.estimated_duration_minutes " +
+                "FROM Transport_Route tr " +
+                "JOIN Transport_Mode tm ON tr.recommended_transport_id = tm.id_transport " +
+                "WHERE tr.id_route > ? " +
+                "ORDER BY tr.id_route " +
+                "LIMIT ?";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareQuery(query);
+        
+        List<TransportEdge> edges = new ArrayList<TransportEdge>();
+        int lastRouteId = 0;
+        boolean more = false;
+        try {
+            exec.getPreparedStatement().setInt(1, after == null || after.isFirst() ? Integer.MIN_VALUE : after.getId());
+            exec.getPreparedStatement().setInt(2, limit + 1);
+            exec.sqlExecutePreparedQuery();
+            ResultSet rs = exec.getResultSet();
+            while (rs.next()) {
+                if (edges.size() == limit) {
+                    more = true;
+                    break;
+                }
+                edges.add(mapTransportEdge(rs));
+                lastRouteId = rs.getInt("id_route");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ SQL Exception in findTransportEdgesPage: " + exec.causeOf(e).getMessage());
+            throw new DaoException("findTransportEdgesPage", exec.causeOf(e));
+        } finally {
+            exec.close();
+        }
+        return new Page<TransportEdge>(edges, more ? SeekKey.afterId(lastRouteId) : null);
+    }
+    
     // ==================== MÉTHODES PRIVÉES ====================
     
     /**
@@ -1,8 +1,19 @@
 package persistence.jdbc;
 
+import dao.DaoException;
+import dao.Page;
+import dao.Pages;
+import dao.SeekKey;
+import dao.SiteCriteria;
 import dao.TravelDao;
 import business.domain.*;
+import persistence.bda.HybridRanker;
+import persistence.bda.HybridRanking;
+import persistence.bda.IndexStorage;
 import persistence.bda.JoinedOperator;
+import persistence.bda.PopularityCounters;
+import persistence.bda.SnippetGenerator;
+import persistence.bda.TextualOperator;
 
 import java.sql.ResultSet;
 import java.sql.Time;
@@ -10,6 +21,7 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implémentation JDBC de TravelDao.
@@ -22,8 +34,46 @@ public class JdbcTravelDao implements TravelDao {
     
     // Constantes BDA (conformes cahier des charges)
     private static final String SITE_KEY_COL = "id_site";
-    private static final String SITE_DOCS_DIR = 
-        "C:/Users/amine/eclipse-workspace/agpFinal/site_description_folder";
+    
+    /** Au-delà, les clés Lucene sont jointes en Java plutôt que passées en IN (...) */
+    private static final int MAX_IN_KEYS = 1000;
+    
+    /** Plan SQL d'abord de findSites : nombre maximum de lignes SQL candidates */
+    private static final int SQL_FIRST_MAX_KEYS = JoinedOperator.DEFAULT_SQL_FIRST_MAX_KEYS;
+    
+    /** Classement des recherches par mots-clés (-Dtahiti.search.ranking=..., score Lucene seul par défaut) */
+    private HybridRanking ranking = HybridRanking.fromSystemProperty();
+    private PopularityCounters popularity = PopularityCounters.shared();
+    
+    // ==================== CONFIGURATION ====================
+    
+    public HybridRanking getRanking() {
+        return ranking;
+    }
+    
+    public void setRanking(HybridRanking ranking) {
+        this.ranking = ranking;
+    }
+    
+    /**
+     * @param formula ex : "text=1,price=0.3,distance=0.5,popularity=0.2"
+     */
+    public void setRankingFormula(String formula) {
+        this.ranking = HybridRanking.parse(formula);
+    }
+    
+    public PopularityCounters getPopularity() {
+        return popularity;
+    }
+    
+    public void setPopularity(PopularityCounters popularity) {
+        this.popularity = popularity;
+    }
+    
+    /** Répertoire R des descriptions de sites (configuré par IndexStorage) */
+    private static String siteDocsDir() {
+        return IndexStorage.shared().getDocsDir();
+    }
     
     // ==================== SITES ====================
     
@@ -70,6 +120,8 @@ public class JdbcTravelDao implements TravelDao {
             
             ResultSet rs = exec.getResultSet();
             if (rs.next()) {
+                // Consultation d'une fiche : compte pour la popularité
+                popularity.record(siteId);
                 return Optional.of(mapSite(rs));
             }
         } catch (Exception e) {
@@ -97,7 +149,7 @@ public class JdbcTravelDao implements TravelDao {
         String mixedQuery = "SELECT id_site FROM Site WITH " + 
                           (keywords == null ? "" : keywords);
         
-        JoinedOperator joined = new JoinedOperator("Site", SITE_KEY_COL, SITE_DOCS_DIR);
+        JoinedOperator joined = new JoinedOperator("Site", SITE_KEY_COL, siteDocsDir());
         joined.init(mixedQuery);
         
         // Récupérer les IDs triés par score décroissant
@@ -114,7 +166,7 @@ public class JdbcTravelDao implements TravelDao {
         List<Site> sites = getSitesByIds(orderedIds);
         
         joined.close();
-        return sites;
+        return rank(sites, scored, null, 0);
     }
     
     @Override
@@ -176,6 +228,175 @@ public class JdbcTravelDao implements TravelDao {
         return sites;
     }
     
+    /**
+     * Recherche multi-critères en un seul aller-retour SQL.
+     * 
+     * - Sans mots-clés : une requête SQL avec tous les prédicats
+     * - Avec mots-clés : Lucene d'abord (en mémoire, pas d'aller-retour base),
+     *   puis une requête SQL restreinte aux clés trouvées (id_site IN ...) si
+     *   elles sont peu nombreuses, sinon jointure sur la clé en Java
+     *   (JoinedOperator.joinByKey). Tri final par score Lucene décroissant.
+     * - Si Lucene a tronqué ses résultats et que des prédicats SQL existent,
+     *   des sites pertinents peuvent manquer : plan SQL d'abord (prédicats
+     *   seuls, au plus SQL_FIRST_MAX_KEYS lignes) puis Lucene filtré par ces
+     *   clés, exact. Au-delà (lignes SQL avant contrôle du rayon), ou si cette
+     *   requête échoue, le plan Lucene d'abord est conservé.
+     */
+    @Override
+    public List<Site> findSites(SiteCriteria criteria) {
+        Map<Integer, Float> scores = null;
+        if (criteria.hasKeywords()) {
+            TextualOperator txtOp = new TextualOperator(SITE_KEY_COL, siteDocsDir());
+            try {
+                txtOp.init(criteria.getKeywords());
+                scores = txtOp.getScores();
+                
+                if (txtOp.isTruncated() && criteria.hasFilters()) {
+                    // Décision sur les lignes SQL brutes : le contrôle exact du rayon
+                    // en retire, une lecture tronquée ne doit pas passer pour complète
+                    List<Site> rows = null;
+                    try {
+                        rows = selectSites(criteria, null, SQL_FIRST_MAX_KEYS + 1);
+                    } catch (DaoException e) {
+                        System.err.println("❌ Plan SQL d'abord impossible, plan Lucene d'abord : " + e.getMessage());
+                    }
+                    if (rows != null && rows.size() <= SQL_FIRST_MAX_KEYS) {
+                        Map<Integer, Site> candidates = withinRadius(rows, criteria);
+                        txtOp.init(criteria.getKeywords(), candidates.keySet());
+                        return orderByScore(candidates, txtOp.getScores(), criteria);
+                    }
+                }
+            } finally {
+                txtOp.close();
+            }
+            if (scores == null || scores.isEmpty()) {
+                return new ArrayList<>();
+            }
+        }
+        
+        Collection<Integer> keyIds = scores != null && scores.size() <= MAX_IN_KEYS ? scores.keySet() : null;
+        Map<Integer, Site> byId;
+        try {
+            byId = withinRadius(selectSites(criteria, keyIds, 0), criteria);
+        } catch (DaoException e) {
+            System.err.println("❌ SQL Exception in findSites: " + e.getCause().getMessage());
+            byId = new LinkedHashMap<>();
+        }
+        
+        if (scores == null) {
+            return limit(new ArrayList<>(byId.values()), criteria.getLimit());
+        }
+        return orderByScore(byId, scores, criteria);
+    }
+    
+    /**
+     * Exécute la requête compilée des critères (boîte englobante de near()
+     * comprise, sans le contrôle exact du rayon).
+     * 
+     * @param keyIds restriction id_site IN (...), null = aucune
+     * @param maxRows arrêt de la lecture après maxRows lignes (0 = toutes)
+     * @return lignes SQL dans l'ordre SQL
+     * @throws DaoException en cas d'erreur SQL (un résultat vide serait pris pour complet)
+     */
+    private List<Site> selectSites(SiteCriteria criteria, Collection<Integer> keyIds, int maxRows) {
+        SiteCriteriaQuery query = SiteCriteriaQuery.compile(criteria, keyIds);
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareQuery(query.getSql());
+        
+        List<Site> rows = new ArrayList<>();
+        try {
+            query.bind(exec.getPreparedStatement());
+            if (maxRows > 0) {
+                exec.getPreparedStatement().setMaxRows(maxRows);
+            }
+            exec.sqlExecutePreparedQuery();
+            
+            ResultSet rs = exec.getResultSet();
+            while (rs.next()) {
+                rows.add(mapSite(rs));
+            }
+        } catch (Exception e) {
+            throw new DaoException("findSites", exec.causeOf(e));
+        } finally {
+            exec.close();
+        }
+        return rows;
+    }
+    
+    /**
+     * Sites par id, dans l'ordre SQL, après contrôle exact du rayon de near()
+     */
+    private static Map<Integer, Site> withinRadius(List<Site> rows, SiteCriteria criteria) {
+        Map<Integer, Site> byId = new LinkedHashMap<>();
+        for (Site site : rows) {
+            if (criteria.withinRadius(site)) {
+                byId.put(site.getId(), site);
+            }
+        }
+        return byId;
+    }
+    
+    /**
+     * Ordre de pertinence Lucene (jointure sur la clé), puis classement hybride
+     */
+    private List<Site> orderByScore(Map<Integer, Site> byId, Map<Integer, Float> scores, SiteCriteria criteria) {
+        LinkedHashMap<Integer, Double> joined = JoinedOperator.joinByKey(scores, byId.keySet());
+        List<Site> ordered = new ArrayList<>();
+        for (Integer id : joined.keySet()) {
+            ordered.add(byId.get(id));
+        }
+        return rank(ordered, joined, criteria.getRankOrigin(), criteria.getLimit());
+    }
+    
+    /**
+     * Classement hybride (HybridRanking) des sites déjà hydratés : prix et
+     * position viennent de la ligne SQL, aucun aller-retour supplémentaire.
+     * Sans critère autre que le texte, l'ordre Lucene est conservé tel quel.
+     * 
+     * @param sites sites dans l'ordre du score Lucene
+     * @param textScores scores Lucene par id_site
+     * @param origin origine du critère distance (peut être null)
+     * @param k nombre de résultats (≤ 0 : tous)
+     */
+    private List<Site> rank(List<Site> sites, Map<Integer, Double> textScores, Position origin, int k) {
+        if (ranking.isTextOnly() || sites.size() < 2) {
+            return limit(sites, k);
+        }
+        HybridRanker.Candidates candidates = new HybridRanker.Candidates(sites.size());
+        for (Site site : sites) {
+            Double score = textScores.get(site.getId());
+            candidates.add(site.getId(), score != null ? score.floatValue() : 0f, site.getPrice(),
+                    site.getPosition().getLatitude(), site.getPosition().getLongitude(),
+                    popularity.get(site.getId()));
+        }
+        int[] rows = new HybridRanker(ranking).rank(candidates, origin, k);
+        List<Site> ranked = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            ranked.add(sites.get(row));
+        }
+        return ranked;
+    }
+    
+    private static List<Site> limit(List<Site> sites, int limit) {
+        return limit > 0 && sites.size() > limit ? new ArrayList<>(sites.subList(0, limit)) : sites;
+    }
+    
+    /**
+     * Extraits surlignés des fichiers c.txt, à partir des offsets indexés
+     * par Lucene (SnippetGenerator) : seulement pour les sites demandés
+     */
+    @Override
+    public Map<Integer, String> findSiteSnippets(String keywords, List<Integer> siteIds, long budgetMillis) {
+        try {
+            return new SnippetGenerator(SITE_KEY_COL, siteDocsDir(), IndexStorage.shared().getIndexPath())
+                    .snippets(keywords, siteIds, budgetMillis);
+        } catch (Exception e) {
+            System.err.println("❌ Lucene Exception in findSiteSnippets: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+    
     // ==================== HOTELS ====================
     
     @Override
@@ -364,6 +585,192 @@ public class JdbcTravelDao implements TravelDao {
         return hotels;
     }
     
+    // ==================== LECTURE EN FLUX ====================
+    
+    @Override
+    public Stream<Site> streamAllSites() {
+        String query =
+                "SELECT id_site, name, latitude, longitude, site_type, entry_price, " +
+                "       start_time, end_time, visit_duration_minutes, short_description " +
+                "FROM Site " +
+                "ORDER BY id_site";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareStreamingQuery(query);
+        return ResultSetStream.execute(exec, this::mapSite, "streamAllSites");
+    }
+    
+    @Override
+    public Stream<Hotel> streamAllHotels() {
+        String query =
+                "SELECT id_hotel, name, latitude, longitude, star_rating, beach_name, price_per_night " +
+                "FROM Hotel " +
+                "ORDER BY id_hotel";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareStreamingQuery(query);
+        return ResultSetStream.execute(exec, this::mapHotel, "streamAllHotels");
+    }
+    
+    // ==================== PAGINATION PAR CLÉ ====================
+    
+    /*
+     * Seek pagination : le curseur (dernière clé vue) devient un prédicat
+     * indexable, jamais un OFFSET. MySQL n'exploite pas l'index pour la forme
+     * « (entry_price, id_site) > (?, ?) » ; on écrit donc la forme développée
+     * équivalente, qui reste une plage sur l'index (entry_price) (lequel
+     * contient id_site en InnoDB). On lit limit + 1 lignes : la ligne en trop
+     * indique seulement qu'une page suivante existe.
+     */
+    
+    @Override
+    public Page<Site> findSitesPage(SeekKey after, int limit) {
+        Pages.checkLimit(limit);
+        String query =
+                "SELECT id_site, name, latitude, longitude, site_type, entry_price, " +
+                "       start_time, end_time, visit_duration_minutes, short_description " +
+                "FROM Site " +
+                "WHERE id_site > ? " +
+                "ORDER BY id_site " +
+                "LIMIT ?";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareQuery(query);
+        
+        List<Site> sites = new ArrayList<>();
+        try {
+            exec.getPreparedStatement().setInt(1, after == null || after.isFirst() ? Integer.MIN_VALUE : after.getId());
+            exec.getPreparedStatement().setInt(2, limit + 1);
+            exec.sqlExecutePreparedQuery();
+            
+            ResultSet rs = exec.getResultSet();
+            while (rs.next()) {
+                sites.add(mapSite(rs));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ SQL Exception in findSitesPage: " + exec.causeOf(e).getMessage());
+            throw new DaoException("findSitesPage", exec.causeOf(e));
+        } finally {
+            exec.close();
+        }
+        return Pages.fromLookahead(sites, s -> SeekKey.afterId(s.getId()), limit);
+    }
+    
+    @Override
+    public Page<Site> findSitesByPriceRangePage(double min, double max, SeekKey after, int limit) {
+        Pages.checkLimit(limit);
+        boolean first = after == null || after.isFirst();
+        String query =
+                "SELECT id_site, name, latitude, longitude, site_type, entry_price, " +
+                "       start_time, end_time, visit_duration_minutes, short_description " +
+                "FROM Site " +
+                "WHERE entry_price BETWEEN ? AND ? " +
+                (first ? "" : "  AND (entry_price > ? OR (entry_price = ? AND id_site > ?)) ") +
+                "ORDER BY entry_price ASC, id_site ASC " +
+                "LIMIT ?";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareQuery(query);
+        
+        List<Site> sites = new ArrayList<>();
+        try {
+            int i = 1;
+            exec.getPreparedStatement().setDouble(i++, min);
+            exec.getPreparedStatement().setDouble(i++, max);
+            if (!first) {
+                exec.getPreparedStatement().setDouble(i++, after.getValue());
+                exec.getPreparedStatement().setDouble(i++, after.getValue());
+                exec.getPreparedStatement().setInt(i++, after.getId());
+            }
+            exec.getPreparedStatement().setInt(i, limit + 1);
+            exec.sqlExecutePreparedQuery();
+            
+            ResultSet rs = exec.getResultSet();
+            while (rs.next()) {
+                sites.add(mapSite(rs));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ SQL Exception in findSitesByPriceRangePage: " + exec.causeOf(e).getMessage());
+            throw new DaoException("findSitesByPriceRangePage", exec.causeOf(e));
+        } finally {
+            exec.close();
+        }
+        return Pages.fromLookahead(sites, s -> SeekKey.after(s.getPrice(), s.getId()), limit);
+    }
+    
+    @Override
+    public Page<Hotel> findHotelsPage(SeekKey after, int limit) {
+        Pages.checkLimit(limit);
+        String query =
+                "SELECT id_hotel, name, latitude, longitude, star_rating, beach_name, price_per_night " +
+                "FROM Hotel " +
+                "WHERE id_hotel > ? " +
+                "ORDER BY id_hotel " +
+                "LIMIT ?";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareQuery(query);
+        
+        List<Hotel> hotels = new ArrayList<>();
+        try {
+            exec.getPreparedStatement().setInt(1, after == null || after.isFirst() ? Integer.MIN_VALUE : after.getId());
+            exec.getPreparedStatement().setInt(2, limit + 1);
+            exec.sqlExecutePreparedQuery();
+            
+            ResultSet rs = exec.getResultSet();
+            while (rs.next()) {
+                hotels.add(mapHotel(rs));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ SQL Exception in findHotelsPage: " + exec.causeOf(e).getMessage());
+            throw new DaoException("findHotelsPage", exec.causeOf(e));
+        } finally {
+            exec.close();
+        }
+        return Pages.fromLookahead(hotels, h -> SeekKey.afterId(h.getId()), limit);
+    }
+    
+    @Override
+    public Page<Hotel> findHotelsByPriceRangePage(double min, double max, SeekKey after, int limit) {
+        Pages.checkLimit(limit);
+        boolean first = after == null || after.isFirst();
+        String query =
+                "SELECT id_hotel, name, latitude, longitude, star_rating, beach_name, price_per_night " +
+                "FROM Hotel " +
+                "WHERE price_per_night BETWEEN ? AND ? " +
+                (first ? "" : "  AND (price_per_night > ? OR (price_per_night = ? AND id_hotel > ?)) ") +
+                "ORDER BY price_per_night ASC, id_hotel ASC " +
+                "LIMIT ?";
+        
+        JdbcExecuteQuery exec = new JdbcExecuteQuery();
+        exec.prepareQuery(query);
+        
+        List<Hotel> hotels = new ArrayList<>();
+        try {
+            int i = 1;
+            exec.getPreparedStatement().setDouble(i++, min);
+            exec.getPreparedStatement().setDouble(i++, max);
+            if (!first) {
+                exec.getPreparedStatement().setDouble(i++, after.getValue());
+                exec.getPreparedStatement().setDouble(i++, after.getValue());
+                exec.getPreparedStatement().setInt(i++, after.getId());
+            }
+            exec.getPreparedStatement().setInt(i, limit + 1);
+            exec.sqlExecutePreparedQuery();
+            
+            ResultSet rs = exec.getResultSet();
+            while (rs.next()) {
+                hotels.add(mapHotel(rs));
+            }
+        } catch (Exception e) {
+            System.err.println("❌ SQL Exception in findHotelsByPriceRangePage: " + exec.causeOf(e).getMessage());
+            throw new DaoException("findHotelsByPriceRangePage", exec.causeOf(e));
+        } finally {
+            exec.close();
+        }
+        return Pages.fromLookahead(hotels, h -> SeekKey.after(h.getPrice(), h.getId()), limit);
+    }
+    
     // ==================== MÉTHODES PRIVÉES ====================
     
     /**
@@ -1,6 +1,7 @@
 package persistence.jdbc;
 
 import dao.search.TextSearchEngine;
+import persistence.bda.IndexStorage;
 import persistence.bda.TextualOperator;
 
 import java.util.ArrayList;
@@ -18,15 +19,11 @@ public class LuceneTextSearchEngine implements TextSearchEngine {
     private static final String SITE_KEY_COL = "id_site";
     private static final String HOTEL_KEY_COL = "id_hotel";
     
-    // Répertoire R pour les descriptions de sites
-    private static final String SITE_DOCS_DIR = 
-        "C:/Users/amine/eclipse-workspace/agpFinal/site_description_folder";
-    
     // Répertoire R pour les descriptions d'hôtels (si nécessaire)
     
     @Override
     public List<Integer> searchSiteIdsByKeywords(String keywords) {
-        TextualOperator txtOp = new TextualOperator(SITE_KEY_COL, SITE_DOCS_DIR);
+        TextualOperator txtOp = new TextualOperator(SITE_KEY_COL, IndexStorage.shared().getDocsDir());
         txtOp.init(keywords);
         
         Map<Integer, Float> scores = txtOp.getScores();
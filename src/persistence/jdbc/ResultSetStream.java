@@ -0,0 +1,121 @@
+package persistence.jdbc;
+
+import dao.DaoException;
+
+import java.sql.ResultSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stream paresseux sur un ResultSet : chaque ligne est mappée au moment où
+ * elle est consommée, rien n'est accumulé.
+ * 
+ * Une erreur SQL ou de mapping en cours de parcours libère les ressources
+ * puis lève DaoException : le consommateur (import, index, snapshot) ne
+ * prend jamais un flux interrompu pour un flux complet.
+ * 
+ * Les ressources (ResultSet, statement, connexion) sont libérées dès la fin
+ * du parcours, à la première erreur, ou à la fermeture du Stream — le
+ * consommateur doit donc l'utiliser dans un try-with-resources s'il peut
+ * s'arrêter avant la fin :
+ * <pre>
+ *   try (Stream&lt;Site&gt; sites = travelDao.streamAllSites()) {
+ *       sites.forEach(indexer::add);
+ *   }
+ * </pre>
+ * 
+ * @author Équipe Persistance
+ */
+public final class ResultSetStream {
+    
+    /**
+     * Mapping d'une ligne (les mapXxx(ResultSet) des DAO)
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws Exception;
+    }
+    
+    private ResultSetStream() {
+    }
+    
+    /**
+     * @param rs ResultSet positionné avant la première ligne (null = vide)
+     * @param mapper mapping d'une ligne
+     * @param release libération des ressources, appelée une seule fois
+     * @param label nom de la méthode DAO pour les messages d'erreur
+     */
+    public static <T> Stream<T> of(ResultSet rs, RowMapper<T> mapper, Runnable release, String label) {
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable closeOnce = () -> {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        };
+        
+        Iterator<T> it = new Iterator<T>() {
+            private T next;
+            private boolean done = rs == null;
+            
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                if (done) return false;
+                try {
+                    if (rs.next()) {
+                        next = mapper.map(rs);
+                        return true;
+                    }
+                } catch (Exception e) {
+                    System.err.println("❌ SQL Exception in " + label + ": " + e.getMessage());
+                    done = true;
+                    closeOnce.run();
+                    throw new DaoException(label, e);
+                }
+                done = true;
+                closeOnce.run();
+                return false;
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                T current = next;
+                next = null;
+                return current;
+            }
+        };
+        if (rs == null) {
+            closeOnce.run();
+        }
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(closeOnce);
+    }
+    
+    /**
+     * Exécute une requête préparée par prepareStreamingQuery et retourne ses
+     * lignes en Stream.
+     * 
+     * @throws DaoException si la requête échoue (ressources libérées)
+     */
+    static <T> Stream<T> execute(JdbcExecuteQuery exec, RowMapper<T> mapper, String label) {
+        try {
+            exec.sqlExecutePreparedQuery();
+        } catch (Exception e) {
+            System.err.println("❌ SQL Exception in " + label + ": " + exec.causeOf(e).getMessage());
+            exec.close();
+            throw new DaoException(label, exec.causeOf(e));
+        }
+        if (exec.getError() != null) {
+            exec.close();
+            throw new DaoException(label, exec.getError());
+        }
+        return of(exec.getResultSet(), mapper, exec::close, label);
+    }
+}
@@ -0,0 +1,140 @@
+package persistence.jdbc;
+
+import dao.SiteCriteria;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compilation de SiteCriteria en une requête SQL paramétrée unique
+ * 
+ * Chaque critère devient un prédicat sargable sur une colonne indexée :
+ * - site_type = ?                       (idx_site_type)
+ * - entry_price BETWEEN ? AND ?         (idx_site_price)
+ * - activity_category = ?               (idx_site_category)
+ * - latitude / longitude BETWEEN        (idx_site_location)
+ * - start_time &lt;= ? AND end_time &gt;= ?
+ * - id_site IN (...) : clés retournées par Lucene (mots-clés)
+ * 
+ * Les valeurs sont toujours liées en paramètres, jamais concaténées.
+ */
+public class SiteCriteriaQuery {
+    
+    static final String SITE_COLUMNS =
+            "SELECT id_site, name, latitude, longitude, site_type, entry_price, " +
+            "       start_time, end_time, visit_duration_minutes, short_description " +
+            "FROM Site";
+    
+    private final String sql;
+    private final List<Object> parameters;
+    
+    private SiteCriteriaQuery(String sql, List<Object> parameters) {
+        this.sql = sql;
+        this.parameters = Collections.unmodifiableList(parameters);
+    }
+    
+    /**
+     * @param keyIds clés à retenir (résultat Lucene), null = pas de restriction
+     */
+    public static SiteCriteriaQuery compile(SiteCriteria criteria, Collection<Integer> keyIds) {
+        List<String> where = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        
+        if (criteria.getSiteType() != null) {
+            where.add("site_type = ?");
+            params.add(criteria.getSiteType());
+        }
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null) {
+            where.add("entry_price BETWEEN ? AND ?");
+            params.add(criteria.getMinPrice());
+            params.add(criteria.getMaxPrice());
+        } else if (criteria.getMinPrice() != null) {
+            where.add("entry_price >= ?");
+            params.add(criteria.getMinPrice());
+        } else if (criteria.getMaxPrice() != null) {
+            where.add("entry_price <= ?");
+            params.add(criteria.getMaxPrice());
+        }
+        if (criteria.getCategory() != null) {
+            where.add("activity_category = ?");
+            params.add(criteria.getCategory());
+        }
+        if (criteria.getOpenFrom() != null) {
+            where.add("start_time <= ?");
+            params.add(Time.valueOf(criteria.getOpenFrom()));
+        }
+        if (criteria.getOpenTo() != null) {
+            where.add("end_time >= ?");
+            params.add(Time.valueOf(criteria.getOpenTo()));
+        }
+        if (criteria.hasBoundingBox()) {
+            where.add("latitude BETWEEN ? AND ?");
+            params.add(criteria.getMinLatitude());
+            params.add(criteria.getMaxLatitude());
+            where.add("longitude BETWEEN ? AND ?");
+            params.add(criteria.getMinLongitude());
+            params.add(criteria.getMaxLongitude());
+        }
+        if (keyIds != null) {
+            if (keyIds.isEmpty()) {
+                where.add("1 = 0");
+            } else {
+                StringBuilder in = new StringBuilder("id_site IN (");
+                for (int i = 0; i < keyIds.size(); i++) {
+                    in.append(i == 0 ? "?" : ", ?");
+                }
+                where.add(in.append(')').toString());
+                params.addAll(keyIds);
+            }
+        }
+        
+        StringBuilder sql = new StringBuilder(SITE_COLUMNS);
+        for (int i = 0; i < where.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(where.get(i));
+        }
+        sql.append(" ORDER BY id_site");
+        
+        // Avec mots-clés, le tri (score) et la limite sont appliqués après la requête ;
+        // avec un rayon, le filtre exact peut encore écarter des lignes
+        if (criteria.getLimit() > 0 && !criteria.hasKeywords() && criteria.getCenter() == null) {
+            sql.append(" LIMIT ?");
+            params.add(criteria.getLimit());
+        }
+        return new SiteCriteriaQuery(sql.toString(), params);
+    }
+    
+    // ==================== Accès ====================
+    
+    public String getSql() {
+        return sql;
+    }
+    
+    public List<Object> getParameters() {
+        return parameters;
+    }
+    
+    public void bind(PreparedStatement ps) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            if (value instanceof Integer) {
+                ps.setInt(i + 1, (Integer) value);
+            } else if (value instanceof Double) {
+                ps.setDouble(i + 1, (Double) value);
+            } else if (value instanceof Time) {
+                ps.setTime(i + 1, (Time) value);
+            } else {
+                ps.setString(i + 1, (String) value);
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return sql + " " + parameters;
+    }
+}
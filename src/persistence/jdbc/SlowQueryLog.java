@@ -0,0 +1,89 @@
+package persistence.jdbc;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Journal des requêtes lentes, avec rotation (java.util.logging.FileHandler)
+ * 
+ * Configuration par propriétés système :
+ * - tahiti.sql.slowThresholdMs : seuil en ms (défaut 200, négatif = désactivé)
+ * - tahiti.sql.slowLog         : fichier (défaut ${java.io.tmpdir}/tahiti-slow-query.log)
+ * 
+ * Rotation : MAX_FILE_BYTES par fichier, MAX_FILES fichiers (.0 le plus récent).
+ */
+public final class SlowQueryLog {
+    
+    public static final long DEFAULT_THRESHOLD_MILLIS = 200;
+    public static final int MAX_FILE_BYTES = 5 * 1024 * 1024;
+    public static final int MAX_FILES = 5;
+    
+    private static final Logger LOGGER = Logger.getLogger("persistence.jdbc.slowquery");
+    
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("tahiti.sql.slowThresholdMs", DEFAULT_THRESHOLD_MILLIS));
+    private static volatile boolean initialized;
+    
+    private SlowQueryLog() {
+    }
+    
+    // ==================== Configuration ====================
+    
+    public static long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+    
+    public static void setThresholdMillis(long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+    
+    public static boolean isSlow(long nanos) {
+        long threshold = thresholdNanos;
+        return threshold >= 0 && nanos >= threshold;
+    }
+    
+    // ==================== Journalisation ====================
+    
+    /**
+     * Écrit une requête lente : durée, empreinte, SQL et valeurs liées
+     */
+    public static void log(long nanos, String fingerprint, String sql, Map<Integer, Object> binds) {
+        ensureInitialized();
+        LOGGER.log(Level.WARNING, TimeUnit.NANOSECONDS.toMillis(nanos) + " ms | " + fingerprint
+                + "\n    sql   : " + sql.replaceAll("\\s+", " ").trim()
+                + "\n    binds : " + binds);
+    }
+    
+    private static void ensureInitialized() {
+        if (initialized) return;
+        synchronized (SlowQueryLog.class) {
+            if (initialized) return;
+            String file = System.getProperty("tahiti.sql.slowLog",
+                    new File(System.getProperty("java.io.tmpdir"), "tahiti-slow-query.log").getPath());
+            try {
+                FileHandler handler = new FileHandler(file + ".%g", MAX_FILE_BYTES, MAX_FILES, true);
+                handler.setEncoding("UTF-8");
+                handler.setFormatter(new LineFormatter());
+                LOGGER.addHandler(handler);
+                LOGGER.setUseParentHandlers(false);
+            } catch (IOException e) {
+                System.err.println("⚠️ Journal des requêtes lentes indisponible (" + file + ") : " + e.getMessage());
+            }
+            initialized = true;
+        }
+    }
+    
+    private static final class LineFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return String.format("%1$tF %1$tT.%1$tL %2$s%n", record.getMillis(), record.getMessage());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package persistence.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une requête JDBC, de l'exécution à la fermeture
+ * (lecture des lignes comprise)
+ */
+@Name("tahiti.DaoQuery")
+@Label("Requête JDBC")
+@Category({ "Tahiti Travel", "Persistance" })
+@Description("Requête préparée exécutée par JdbcExecuteQuery")
+public class DaoQueryEvent extends Event {
+    
+    @Label("Empreinte SQL")
+    String fingerprint;
+    
+    @Label("Lignes")
+    long rows;
+    
+    @Label("Erreur")
+    boolean failed;
+    
+    public static DaoQueryEvent start() {
+        DaoQueryEvent event = new DaoQueryEvent();
+        event.begin();
+        return event;
+    }
+    
+    public void finish(String fingerprint, long rows, boolean failed) {
+        if (shouldCommit()) {
+            this.fingerprint = fingerprint;
+            this.rows = rows;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
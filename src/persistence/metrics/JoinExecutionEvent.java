@@ -0,0 +1,49 @@
+package persistence.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une exécution de JoinedOperator (requête mixte SQL + texte)
+ */
+@Name("tahiti.JoinExecution")
+@Label("Jointure SQL-Texte")
+@Category({ "Tahiti Travel", "Persistance" })
+@Description("Requête mixte : opérateur textuel, opérateur SQL, jointure sur la clé")
+public class JoinExecutionEvent extends Event {
+    
+    @Label("Table")
+    String table;
+    
+    @Label("Mots-clés")
+    String keywords;
+    
+    @Label("Résultats texte")
+    int textRows;
+    
+    @Label("Lignes SQL")
+    int sqlRows;
+    
+    @Label("Résultats joints")
+    int joinedRows;
+    
+    public static JoinExecutionEvent start() {
+        JoinExecutionEvent event = new JoinExecutionEvent();
+        event.begin();
+        return event;
+    }
+    
+    public void finish(String table, String keywords, int textRows, int sqlRows, int joinedRows) {
+        if (shouldCommit()) {
+            this.table = table;
+            this.keywords = keywords;
+            this.textRows = textRows;
+            this.sqlRows = sqlRows;
+            this.joinedRows = joinedRows;
+            commit();
+        }
+    }
+}
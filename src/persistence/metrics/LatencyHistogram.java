@@ -0,0 +1,96 @@
+package persistence.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de latences à faible coût (sans verrou)
+ * 
+ * Seaux logarithmiques : 8 sous-seaux par puissance de 2 de nanosecondes,
+ * soit une erreur relative d'au plus 12,5 % sur les percentiles,
+ * de 1 ns à environ 9 minutes (au-delà : dernier seau).
+ */
+public class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 38;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    
+    // ==================== Enregistrement ====================
+    
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        total.increment();
+        sumNanos.add(nanos);
+    }
+    
+    // ==================== Lecture ====================
+    
+    public long getCount() {
+        return total.sum();
+    }
+    
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+    
+    public double getMeanNanos() {
+        long count = total.sum();
+        return count == 0 ? 0 : (double) sumNanos.sum() / count;
+    }
+    
+    /**
+     * Percentile approché (borne haute du seau)
+     * 
+     * @param percentile entre 0 et 100 (ex : 50, 99)
+     * @return latence en nanosecondes, 0 si aucune mesure
+     */
+    public long percentileNanos(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) return 0;
+        
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperBoundOf(i);
+        }
+        return upperBoundOf(BUCKETS - 1);
+    }
+    
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        sumNanos.reset();
+    }
+    
+    // ==================== Seaux ====================
+    
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+    
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
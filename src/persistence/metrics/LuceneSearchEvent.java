@@ -0,0 +1,41 @@
+package persistence.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Événement JFR : une recherche Lucene (LuceneSearch.search)
+ */
+@Name("tahiti.LuceneSearch")
+@Label("Recherche Lucene")
+@Category({ "Tahiti Travel", "Persistance" })
+@Description("Recherche plein texte sur l'index des descriptions")
+public class LuceneSearchEvent extends Event {
+    
+    @Label("Requête")
+    String query;
+    
+    @Label("Documents correspondants")
+    long totalHits;
+    
+    @Label("Résultats retournés")
+    int returned;
+    
+    public static LuceneSearchEvent start() {
+        LuceneSearchEvent event = new LuceneSearchEvent();
+        event.begin();
+        return event;
+    }
+    
+    public void finish(String query, long totalHits, int returned) {
+        if (shouldCommit()) {
+            this.query = query;
+            this.totalHits = totalHits;
+            this.returned = returned;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package persistence.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre global des métriques de la couche persistance
+ * 
+ * - Chaque métrique est enregistrée dans le serveur MBean de la plateforme
+ *   à sa création (consultable avec JConsole / VisualVM).
+ * - dump() produit un export texte (voir MetricsServlet, /metrics).
+ */
+public final class MetricsRegistry {
+    
+    public static final String JMX_DOMAIN = "persistence.bda";
+    
+    /** Au-delà, les nouvelles empreintes SQL sont agrégées sous OTHER_QUERIES */
+    public static final int MAX_QUERY_FINGERPRINTS = 10_000;
+    public static final String OTHER_QUERIES = "(autres requêtes)";
+    
+    private static final Map<String, OperatorMetrics> OPERATORS = new ConcurrentHashMap<>();
+    private static final Map<String, QueryStats> QUERIES = new ConcurrentHashMap<>();
+    
+    private MetricsRegistry() {
+    }
+    
+    /**
+     * Métriques de l'opérateur name (créées au premier appel)
+     */
+    public static OperatorMetrics operator(String name) {
+        OperatorMetrics metrics = OPERATORS.get(name);
+        if (metrics != null) return metrics;
+        
+        OperatorMetrics created = new OperatorMetrics(name);
+        metrics = OPERATORS.putIfAbsent(name, created);
+        if (metrics != null) return metrics;
+        
+        register("type=Operator,name=" + ObjectName.quote(name), created);
+        return created;
+    }
+    
+    /**
+     * Statistiques de l'empreinte SQL fingerprint (créées au premier appel)
+     */
+    public static QueryStats query(String fingerprint) {
+        QueryStats stats = QUERIES.get(fingerprint);
+        if (stats != null) return stats;
+        if (QUERIES.size() >= MAX_QUERY_FINGERPRINTS) {
+            fingerprint = OTHER_QUERIES;
+        }
+        return QUERIES.computeIfAbsent(fingerprint, QueryStats::new);
+    }
+    
+    /**
+     * Statistiques SQL, de la plus coûteuse (temps total) à la moins coûteuse
+     */
+    public static List<QueryStats> queries() {
+        List<QueryStats> list = new ArrayList<>(QUERIES.values());
+        list.sort(Comparator.comparingLong(QueryStats::getTotalExecuteMillis).reversed());
+        return list;
+    }
+    
+    /**
+     * Copie triée par nom des métriques d'opérateurs
+     */
+    public static Map<String, OperatorMetrics> operators() {
+        return new TreeMap<>(OPERATORS);
+    }
+    
+    /**
+     * Remet tous les compteurs à zéro
+     */
+    public static void resetAll() {
+        for (OperatorMetrics metrics : OPERATORS.values()) {
+            metrics.reset();
+        }
+        for (QueryStats stats : QUERIES.values()) {
+            stats.reset();
+        }
+    }
+    
+    /**
+     * Export texte : une ligne par opérateur, puis une ligne par empreinte SQL
+     */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder("# Opérateurs BDA\n");
+        for (OperatorMetrics metrics : operators().values()) {
+            sb.append(metrics).append('\n');
+        }
+        sb.append("\n# Requêtes SQL (par temps total décroissant)\n");
+        for (QueryStats stats : queries()) {
+            sb.append(stats).append('\n');
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Enregistre un MBean sous JMX_DOMAIN ; les erreurs JMX
+     * (serveur indisponible, nom déjà pris) n'empêchent pas les mesures
+     */
+    static void register(String properties, Object mbean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Enregistrement JMX impossible (" + properties + ") : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package persistence.metrics;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Export texte des métriques (GET /metrics)
+ * POST /metrics : exporte puis remet les compteurs à zéro.
+ * Accès restreint au rôle metrics (security-constraint de web.xml).
+ */
+public class MetricsServlet extends HttpServlet {
+    
+    private static final long serialVersionUID = 1L;
+    
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType("text/plain; charset=UTF-8");
+        resp.getWriter().write(MetricsRegistry.dump());
+    }
+    
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setContentType("text/plain; charset=UTF-8");
+        resp.getWriter().write(MetricsRegistry.dump());
+        MetricsRegistry.resetAll();
+    }
+}
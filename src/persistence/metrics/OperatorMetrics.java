@@ -0,0 +1,128 @@
+package persistence.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'exécution d'un opérateur BDA (SqlOperator, TextualOperator, JoinedOperator)
+ * 
+ * Partagés par toutes les instances d'un même opérateur et mis à jour sans
+ * verrou (LongAdder). Obtenus via MetricsRegistry.operator(nom).
+ */
+public class OperatorMetrics implements OperatorMetricsMXBean {
+    
+    private final String name;
+    
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder rowsIn = new LongAdder();
+    private final LongAdder rowsOut = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder luceneHits = new LongAdder();
+    private final LongAdder nextNanos = new LongAdder();
+    private final LatencyHistogram initLatency = new LatencyHistogram();
+    
+    OperatorMetrics(String name) {
+        this.name = name;
+    }
+    
+    // ==================== Enregistrement ====================
+    
+    /**
+     * Fin d'un init() : une exécution de plus et sa durée
+     */
+    public void recordInit(long nanos) {
+        executions.increment();
+        initLatency.record(nanos);
+    }
+    
+    public void recordNext(long nanos) {
+        nextNanos.add(nanos);
+    }
+    
+    public void addRowsIn(long rows) {
+        rowsIn.add(rows);
+    }
+    
+    public void addRowsOut(long rows) {
+        rowsOut.add(rows);
+    }
+    
+    public void addBytesRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+    
+    public void addLuceneHits(long hits) {
+        luceneHits.add(hits);
+    }
+    
+    // ==================== Lecture (JMX) ====================
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public long getExecutions() {
+        return executions.sum();
+    }
+    
+    @Override
+    public long getRowsIn() {
+        return rowsIn.sum();
+    }
+    
+    @Override
+    public long getRowsOut() {
+        return rowsOut.sum();
+    }
+    
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+    
+    @Override
+    public long getLuceneHits() {
+        return luceneHits.sum();
+    }
+    
+    @Override
+    public long getInitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(initLatency.getSumNanos());
+    }
+    
+    @Override
+    public long getNextMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nextNanos.sum());
+    }
+    
+    @Override
+    public long getInitP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(initLatency.percentileNanos(50));
+    }
+    
+    @Override
+    public long getInitP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(initLatency.percentileNanos(99));
+    }
+    
+    @Override
+    public void reset() {
+        executions.reset();
+        rowsIn.reset();
+        rowsOut.reset();
+        bytesRead.reset();
+        luceneHits.reset();
+        nextNanos.reset();
+        initLatency.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%-24s exec=%d rowsIn=%d rowsOut=%d bytes=%d luceneHits=%d "
+                        + "init=%dms (p50=%dus p99=%dus) next=%dms",
+                name, getExecutions(), getRowsIn(), getRowsOut(), getBytesRead(), getLuceneHits(),
+                getInitMillis(), getInitP50Micros(), getInitP99Micros(), getNextMillis());
+    }
+}
@@ -0,0 +1,30 @@
+package persistence.metrics;
+
+/**
+ * Vue JMX des métriques d'un opérateur BDA
+ * (ObjectName : persistence.bda:type=Operator,name=...)
+ */
+public interface OperatorMetricsMXBean {
+    
+    String getName();
+    
+    long getExecutions();
+    
+    long getRowsIn();
+    
+    long getRowsOut();
+    
+    long getBytesRead();
+    
+    long getLuceneHits();
+    
+    long getInitMillis();
+    
+    long getNextMillis();
+    
+    long getInitP50Micros();
+    
+    long getInitP99Micros();
+    
+    void reset();
+}
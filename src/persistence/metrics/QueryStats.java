@@ -0,0 +1,97 @@
+package persistence.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistiques agrégées d'une empreinte SQL (voir SqlFingerprint)
+ */
+public class QueryStats {
+    
+    private final String fingerprint;
+    
+    private final LongAdder prepareNanos = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LatencyHistogram executeLatency = new LatencyHistogram();
+    
+    QueryStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    // ==================== Enregistrement ====================
+    
+    public void recordPrepare(long nanos) {
+        prepareNanos.add(nanos);
+    }
+    
+    public void recordExecute(long nanos) {
+        executeLatency.record(nanos);
+    }
+    
+    public void addRows(long count) {
+        rows.add(count);
+    }
+    
+    public void recordError() {
+        errors.increment();
+    }
+    
+    public void recordSlow() {
+        slow.increment();
+    }
+    
+    // ==================== Lecture ====================
+    
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    public long getCount() {
+        return executeLatency.getCount();
+    }
+    
+    public long getRows() {
+        return rows.sum();
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    public long getSlowCount() {
+        return slow.sum();
+    }
+    
+    public long getPrepareMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(prepareNanos.sum());
+    }
+    
+    public long getTotalExecuteMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(executeLatency.getSumNanos());
+    }
+    
+    public long getP50Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(executeLatency.percentileNanos(50));
+    }
+    
+    public long getP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(executeLatency.percentileNanos(99));
+    }
+    
+    public void reset() {
+        prepareNanos.reset();
+        rows.reset();
+        errors.reset();
+        slow.reset();
+        executeLatency.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("count=%d rows=%d errors=%d slow=%d total=%dms p50=%dus p99=%dus prepare=%dms | %s",
+                getCount(), getRows(), getErrors(), getSlowCount(), getTotalExecuteMillis(),
+                getP50Micros(), getP99Micros(), getPrepareMillis(), fingerprint);
+    }
+}
@@ -0,0 +1,41 @@
+package persistence.metrics;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Empreinte normalisée d'une requête SQL
+ * 
+ * Deux requêtes qui ne diffèrent que par leurs littéraux, la taille de
+ * leurs listes IN (...) ou la longueur d'une chaîne "col LIKE ? OR col LIKE ?"
+ * ont la même empreinte, et leurs statistiques sont donc agrégées.
+ * 
+ * Exemple : "SELECT * FROM Site WHERE id_site IN (3, 7, 12) AND name = 'Musée'"
+ *        → "select * from site where id_site in (?+) and name = ?"
+ */
+public final class SqlFingerprint {
+    
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin \\( ?\\?(?: ?, ?\\?)* ?\\)");
+    private static final Pattern LIKE_CHAIN = Pattern.compile(
+            "([\\w.]+(?: collate \\w+)? like \\?)(?: or \\1)+");
+    
+    private SqlFingerprint() {
+    }
+    
+    public static String of(String sql) {
+        if (sql == null) return "";
+        String s = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        s = LINE_COMMENT.matcher(s).replaceAll(" ");
+        s = STRING_LITERAL.matcher(s).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = WHITESPACE.matcher(s).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        s = IN_LIST.matcher(s).replaceAll("in (?+)");
+        s = LIKE_CHAIN.matcher(s).replaceAll("$1 (or ...)+");
+        return s;
+    }
+}
@@ -0,0 +1,323 @@
+package persistence.snapshot;
+
+import business.catalog.ColumnarCatalog;
+import business.catalog.HotelColumns;
+import business.catalog.SiteColumns;
+import business.catalog.StringDictionary;
+import business.domain.ActivitySite;
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+import dao.TransportEdge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static persistence.snapshot.CatalogSnapshotFormat.*;
+
+/**
+ * Snapshot binaire du catalogue, lu directement dans un fichier projeté en mémoire
+ * 
+ * - Ouverture en O(1) hors vérification du CRC : rien n'est désérialisé,
+ *   les colonnes sont lues à la demande (siteLatitude(i), hotelStars(i)...)
+ * - Les chaînes sont décodées au premier accès puis gardées
+ * - site(i) / hotel(i) / edge(i) construisent les objets du domaine
+ * 
+ * Instance immuable, utilisable par plusieurs threads (lectures absolues).
+ */
+public class CatalogSnapshot {
+    
+    private static final TransportMode[] MODES = TransportMode.values();
+    
+    private final ByteBuffer buffer;
+    private final long createdAt;
+    private final int stringCount;
+    private final int siteCount;
+    private final int hotelCount;
+    private final int edgeCount;
+    
+    private final int stringOffsets;
+    private final int stringData;
+    private final int sites;
+    private final int hotels;
+    private final int edges;
+    
+    private final String[] decoded;
+    
+    // ==================== Ouverture ====================
+    
+    /**
+     * Projette le fichier en mémoire et vérifie en-tête, taille et CRC
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot trop volumineux : " + channel.size() + " octets");
+            }
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    public static CatalogSnapshot wrap(ByteBuffer buffer) throws IOException {
+        return new CatalogSnapshot(buffer);
+    }
+    
+    private CatalogSnapshot(ByteBuffer source) throws IOException {
+        this.buffer = source.duplicate();
+        if (buffer.capacity() < HEADER_BYTES + FOOTER_BYTES) {
+            throw new IOException("Snapshot tronqué (" + buffer.capacity() + " octets)");
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Fichier non reconnu comme snapshot de catalogue");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Version de snapshot " + version + " non supportée (attendue : " + VERSION + ")");
+        }
+        this.createdAt = buffer.getLong(8);
+        this.stringCount = buffer.getInt(16);
+        this.siteCount = buffer.getInt(20);
+        this.hotelCount = buffer.getInt(24);
+        this.edgeCount = buffer.getInt(28);
+        
+        this.stringOffsets = HEADER_BYTES;
+        this.stringData = stringOffsets + 4 * (stringCount + 1);
+        this.sites = stringData + buffer.getInt(stringOffsets + 4 * stringCount);
+        this.hotels = sites + SITE_BYTES * siteCount;
+        this.edges = hotels + HOTEL_BYTES * hotelCount;
+        long expected = (long) edges + (long) EDGE_BYTES * edgeCount + FOOTER_BYTES;
+        if (expected != buffer.capacity()) {
+            throw new IOException("Taille de snapshot incohérente : " + buffer.capacity() + " octets, " + expected + " attendus");
+        }
+        verifyChecksum();
+        this.decoded = new String[stringCount];
+    }
+    
+    private void verifyChecksum() throws IOException {
+        int payload = buffer.capacity() - FOOTER_BYTES;
+        ByteBuffer view = buffer.duplicate();
+        view.position(0).limit(payload);
+        CRC32 crc = new CRC32();
+        crc.update(view);
+        if (crc.getValue() != buffer.getLong(payload)) {
+            throw new IOException("Snapshot corrompu (CRC32 invalide)");
+        }
+    }
+    
+    // ==================== En-tête ====================
+    
+    public long getCreatedAt() {
+        return createdAt;
+    }
+    
+    public int getSiteCount() {
+        return siteCount;
+    }
+    
+    public int getHotelCount() {
+        return hotelCount;
+    }
+    
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+    
+    public int getStringCount() {
+        return stringCount;
+    }
+    
+    public int getSizeBytes() {
+        return buffer.capacity();
+    }
+    
+    // ==================== Colonnes : sites ====================
+    
+    public int siteId(int i) {
+        return buffer.getInt(sites + 4 * i);
+    }
+    
+    public double siteLatitude(int i) {
+        return buffer.getDouble(sites + siteCount * 4 + 8 * i);
+    }
+    
+    public double siteLongitude(int i) {
+        return buffer.getDouble(sites + siteCount * 12 + 8 * i);
+    }
+    
+    public double sitePrice(int i) {
+        return buffer.getDouble(sites + siteCount * 20 + 8 * i);
+    }
+    
+    public boolean siteHistorical(int i) {
+        return buffer.get(sites + siteCount * 28 + i) != 0;
+    }
+    
+    public int siteStartSeconds(int i) {
+        return buffer.getInt(sites + siteCount * 29 + 4 * i);
+    }
+    
+    public int siteEndSeconds(int i) {
+        return buffer.getInt(sites + siteCount * 33 + 4 * i);
+    }
+    
+    public int siteDurationSeconds(int i) {
+        return buffer.getInt(sites + siteCount * 37 + 4 * i);
+    }
+    
+    public String siteName(int i) {
+        return string(buffer.getInt(sites + siteCount * 41 + 4 * i));
+    }
+    
+    public String siteDescription(int i) {
+        return string(buffer.getInt(sites + siteCount * 45 + 4 * i));
+    }
+    
+    // ==================== Colonnes : hôtels ====================
+    
+    public int hotelId(int i) {
+        return buffer.getInt(hotels + 4 * i);
+    }
+    
+    public double hotelLatitude(int i) {
+        return buffer.getDouble(hotels + hotelCount * 4 + 8 * i);
+    }
+    
+    public double hotelLongitude(int i) {
+        return buffer.getDouble(hotels + hotelCount * 12 + 8 * i);
+    }
+    
+    public double hotelPrice(int i) {
+        return buffer.getDouble(hotels + hotelCount * 20 + 8 * i);
+    }
+    
+    public int hotelStars(int i) {
+        return buffer.get(hotels + hotelCount * 28 + i);
+    }
+    
+    public String hotelName(int i) {
+        return string(buffer.getInt(hotels + hotelCount * 29 + 4 * i));
+    }
+    
+    public String hotelBeachName(int i) {
+        return string(buffer.getInt(hotels + hotelCount * 33 + 4 * i));
+    }
+    
+    // ==================== Colonnes : arêtes ====================
+    
+    public String edgeFrom(int i) {
+        return decodeNode(buffer.getInt(edges + 4 * i));
+    }
+    
+    public String edgeTo(int i) {
+        return decodeNode(buffer.getInt(edges + edgeCount * 4 + 4 * i));
+    }
+    
+    public TransportMode edgeMode(int i) {
+        return MODES[buffer.get(edges + edgeCount * 8 + i)];
+    }
+    
+    public double edgeCost(int i) {
+        return buffer.getDouble(edges + edgeCount * 9 + 8 * i);
+    }
+    
+    public int edgeDurationMinutes(int i) {
+        return buffer.getInt(edges + edgeCount * 17 + 4 * i);
+    }
+    
+    // ==================== Objets du domaine ====================
+    
+    public Site site(int i) {
+        Position position = new Position(siteLatitude(i), siteLongitude(i));
+        LocalTime start = time(siteStartSeconds(i));
+        LocalTime end = time(siteEndSeconds(i));
+        int duration = siteDurationSeconds(i);
+        Duration visit = duration == NULL_REF ? null : Duration.ofSeconds(duration);
+        return siteHistorical(i)
+                ? new HistoricalSite(siteId(i), siteName(i), sitePrice(i), position, siteDescription(i), start, end, visit)
+                : new ActivitySite(siteId(i), siteName(i), sitePrice(i), position, siteDescription(i), start, end, visit);
+    }
+    
+    public Hotel hotel(int i) {
+        return new Hotel(hotelId(i), hotelName(i), hotelPrice(i),
+                new Position(hotelLatitude(i), hotelLongitude(i)), hotelStars(i), hotelBeachName(i));
+    }
+    
+    public TransportEdge edge(int i) {
+        return new TransportEdge(edgeFrom(i), edgeTo(i), edgeMode(i), edgeCost(i), edgeDurationMinutes(i));
+    }
+    
+    public List<Site> sites() {
+        List<Site> result = new ArrayList<>(siteCount);
+        for (int i = 0; i < siteCount; i++) result.add(site(i));
+        return result;
+    }
+    
+    public List<Hotel> hotels() {
+        List<Hotel> result = new ArrayList<>(hotelCount);
+        for (int i = 0; i < hotelCount; i++) result.add(hotel(i));
+        return result;
+    }
+    
+    public List<TransportEdge> edges() {
+        List<TransportEdge> result = new ArrayList<>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) result.add(edge(i));
+        return result;
+    }
+    
+    /**
+     * Copie les colonnes dans un catalogue en tableaux primitifs, sans créer d'objets du domaine
+     */
+    public ColumnarCatalog toColumnarCatalog() {
+        StringDictionary strings = new StringDictionary();
+        SiteColumns siteColumns = new SiteColumns(strings, siteCount);
+        for (int i = 0; i < siteCount; i++) {
+            siteColumns.add(siteId(i), siteLatitude(i), siteLongitude(i), sitePrice(i), siteHistorical(i),
+                    minutes(siteStartSeconds(i)), minutes(siteEndSeconds(i)), minutes(siteDurationSeconds(i)),
+                    siteName(i), siteDescription(i));
+        }
+        HotelColumns hotelColumns = new HotelColumns(strings, hotelCount);
+        for (int i = 0; i < hotelCount; i++) {
+            hotelColumns.add(hotelId(i), hotelLatitude(i), hotelLongitude(i), hotelPrice(i), hotelStars(i),
+                    hotelName(i), hotelBeachName(i));
+        }
+        return new ColumnarCatalog(strings, siteColumns, hotelColumns);
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private static long minutes(int seconds) {
+        return seconds == NULL_REF ? NULL_REF : seconds / 60;
+    }
+
+    
+    private String string(int ref) {
+        if (ref == NULL_REF) return null;
+        String value = decoded[ref];
+        if (value == null) {
+            int from = buffer.getInt(stringOffsets + 4 * ref);
+            int to = buffer.getInt(stringOffsets + 4 * (ref + 1));
+            byte[] bytes = new byte[to - from];
+            ByteBuffer view = buffer.duplicate();
+            view.position(stringData + from);
+            view.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            decoded[ref] = value;
+        }
+        return value;
+    }
+    
+    private static LocalTime time(int seconds) {
+        return seconds == NULL_REF ? null : LocalTime.ofSecondOfDay(seconds);
+    }
+}
@@ -0,0 +1,51 @@
+package persistence.snapshot;
+
+/**
+ * Constantes du format binaire des snapshots de catalogue (version 1)
+ * 
+ * Disposition (big-endian, colonnes de tableaux primitifs) :
+ * 
+ *   en-tête   : magic (int), version (int), date de création (long),
+ *               nb chaînes, nb sites, nb hôtels, nb arêtes (int x4)
+ *   chaînes   : offsets int[nbChaînes + 1], puis octets UTF-8 concaténés
+ *   sites     : id int[], latitude double[], longitude double[], prix double[],
+ *               historique byte[], ouverture int[], fermeture int[] (secondes, -1 = null),
+ *               durée int[] (secondes, -1 = null), nom int[], description int[] (réf. chaîne, -1 = null)
+ *   hôtels    : id int[], latitude double[], longitude double[], prix double[],
+ *               étoiles byte[], nom int[], plage int[]
+ *   arêtes    : origine int[], destination int[] (nœud codé), mode byte[],
+ *               coût double[], durée int[] (minutes)
+ *   pied      : CRC32 de tout ce qui précède (long)
+ * 
+ * Toute évolution incompatible incrémente VERSION : un ancien snapshot est
+ * alors ignoré et reconstruit depuis la base.
+ */
+final class CatalogSnapshotFormat {
+    
+    static final int MAGIC = 0x54534E50; // "TSNP"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 4 * 4;
+    static final int FOOTER_BYTES = 8;
+    
+    static final int NULL_REF = -1;
+    
+    /** Bytes par site / hôtel / arête dans les sections colonnes */
+    static final int SITE_BYTES = 4 + 8 + 8 + 8 + 1 + 4 + 4 + 4 + 4 + 4;
+    static final int HOTEL_BYTES = 4 + 8 + 8 + 8 + 1 + 4 + 4;
+    static final int EDGE_BYTES = 4 + 4 + 1 + 8 + 4;
+    
+    private CatalogSnapshotFormat() {
+    }
+    
+    /**
+     * Nœud du graphe "H:12" / "S:33" codé sur un int : (id << 1) | 1 pour un hôtel
+     */
+    static int encodeNode(String nodeId) {
+        int id = Integer.parseInt(nodeId.substring(2));
+        return nodeId.charAt(0) == 'H' ? (id << 1) | 1 : id << 1;
+    }
+    
+    static String decodeNode(int node) {
+        return ((node & 1) == 1 ? "H:" : "S:") + (node >>> 1);
+    }
+}
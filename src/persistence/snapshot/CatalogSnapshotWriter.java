@@ -0,0 +1,154 @@
+package persistence.snapshot;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import dao.TransportEdge;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static persistence.snapshot.CatalogSnapshotFormat.*;
+
+/**
+ * Écriture d'un snapshot binaire du catalogue (voir CatalogSnapshotFormat)
+ * 
+ * Les chaînes sont dédupliquées dans un dictionnaire (noms de plages,
+ * descriptions répétées). Le fichier est écrit à côté puis renommé
+ * atomiquement : un lecteur ne voit jamais un snapshot à moitié écrit.
+ */
+public class CatalogSnapshotWriter {
+    
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+    
+    private CatalogSnapshotWriter() {
+    }
+    
+    /**
+     * @param edges peut être vide (graphe de transport non chargé)
+     * @return taille du fichier en octets
+     */
+    public static long write(Path file, List<Site> sites, List<Hotel> hotels, List<TransportEdge> edges)
+            throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                new CatalogSnapshotWriter().writeTo(out, sites, hotels, edges);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return Files.size(file);
+    }
+    
+    private void writeTo(OutputStream target, List<Site> sites, List<Hotel> hotels, List<TransportEdge> edges)
+            throws IOException {
+        // Références de chaînes calculées d'abord : le dictionnaire précède les colonnes
+        int[] siteNames = new int[sites.size()];
+        int[] siteDescriptions = new int[sites.size()];
+        for (int i = 0; i < sites.size(); i++) {
+            siteNames[i] = ref(sites.get(i).getName());
+            siteDescriptions[i] = ref(sites.get(i).getDescription());
+        }
+        int[] hotelNames = new int[hotels.size()];
+        int[] hotelBeaches = new int[hotels.size()];
+        for (int i = 0; i < hotels.size(); i++) {
+            hotelNames[i] = ref(hotels.get(i).getName());
+            hotelBeaches[i] = ref(hotels.get(i).getBeachName());
+        }
+        
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(target, 1 << 16), crc));
+        
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(strings.size());
+        out.writeInt(sites.size());
+        out.writeInt(hotels.size());
+        out.writeInt(edges.size());
+        
+        // ==================== Dictionnaire ====================
+        byte[][] encoded = new byte[strings.size()][];
+        int offset = 0;
+        out.writeInt(0);
+        for (int s = 0; s < encoded.length; s++) {
+            encoded[s] = strings.get(s).getBytes(StandardCharsets.UTF_8);
+            offset += encoded[s].length;
+            out.writeInt(offset);
+        }
+        for (byte[] bytes : encoded) {
+            out.write(bytes);
+        }
+        
+        // ==================== Sites ====================
+        for (Site site : sites) out.writeInt(site.getId());
+        for (Site site : sites) out.writeDouble(site.getPosition().getLatitude());
+        for (Site site : sites) out.writeDouble(site.getPosition().getLongitude());
+        for (Site site : sites) out.writeDouble(site.getPrice());
+        for (Site site : sites) out.writeByte(site.isHistorical() ? 1 : 0);
+        for (Site site : sites) out.writeInt(seconds(site.getStartTime()));
+        for (Site site : sites) out.writeInt(seconds(site.getEndTime()));
+        for (Site site : sites) out.writeInt(seconds(site.getDuration()));
+        for (int ref : siteNames) out.writeInt(ref);
+        for (int ref : siteDescriptions) out.writeInt(ref);
+        
+        // ==================== Hôtels ====================
+        for (Hotel hotel : hotels) out.writeInt(hotel.getId());
+        for (Hotel hotel : hotels) out.writeDouble(hotel.getPosition().getLatitude());
+        for (Hotel hotel : hotels) out.writeDouble(hotel.getPosition().getLongitude());
+        for (Hotel hotel : hotels) out.writeDouble(hotel.getPrice());
+        for (Hotel hotel : hotels) out.writeByte(hotel.getStarRating());
+        for (int ref : hotelNames) out.writeInt(ref);
+        for (int ref : hotelBeaches) out.writeInt(ref);
+        
+        // ==================== Arêtes ====================
+        for (TransportEdge edge : edges) out.writeInt(encodeNode(edge.fromNodeId));
+        for (TransportEdge edge : edges) out.writeInt(encodeNode(edge.toNodeId));
+        for (TransportEdge edge : edges) out.writeByte(edge.mode.ordinal());
+        for (TransportEdge edge : edges) out.writeDouble(edge.cost);
+        for (TransportEdge edge : edges) out.writeInt(edge.durationMinutes);
+        
+        out.flush();
+        // Le CRC ne se couvre pas lui-même : écrit hors du flux contrôlé
+        DataOutputStream footer = new DataOutputStream(target);
+        footer.writeLong(crc.getValue());
+        footer.flush();
+    }
+    
+    private int ref(String value) {
+        if (value == null) return NULL_REF;
+        Integer ref = stringRefs.get(value);
+        if (ref == null) {
+            ref = strings.size();
+            strings.add(value);
+            stringRefs.put(value, ref);
+        }
+        return ref;
+    }
+    
+    private static int seconds(LocalTime time) {
+        return time == null ? NULL_REF : time.toSecondOfDay();
+    }
+    
+    private static int seconds(Duration duration) {
+        return duration == null ? NULL_REF : (int) duration.getSeconds();
+    }
+}
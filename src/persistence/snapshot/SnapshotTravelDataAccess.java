@@ -0,0 +1,447 @@
+package persistence.snapshot;
+
+import business.catalog.CatalogListener;
+import business.catalog.ColumnarCatalog;
+import business.catalog.HotelColumns;
+import business.catalog.SiteColumns;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+import business.service.AsyncExecutors;
+import business.service.TravelDataAccess;
+import dao.TransportDao;
+import dao.TransportEdge;
+import dao.TravelDao;
+import persistence.bda.Autocomplete;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Source de données servie depuis un snapshot binaire, réconciliée avec la base en arrière-plan
+ * 
+ * Démarrage (start, init-method Spring) :
+ * 1. si le snapshot existe, il est projeté en mémoire et sert immédiatement ;
+ * 2. la base (delegate, transportDao) est relue de façon asynchrone ; une fois
+ *    chargée, elle remplace le snapshot et un nouveau snapshot est écrit.
+ * Sans snapshot valide, start attend la base (premier démarrage).
+ * Après chaque réconciliation, les CatalogListener (index des hôtels, cache
+ * des excursions) sont prévenus.
+ * Emplacement du snapshot : propriété système tahiti.catalog.snapshot
+ * (défaut : tahiti-catalog.snapshot dans le répertoire temporaire).
+ * Sous Windows, un fichier encore projeté ne peut pas être remplacé : l'échec
+ * de réécriture est alors signalé et le snapshot sera mis à jour au prochain démarrage.
+ * 
+ * Recherche par mots-clés : filtre "contains" sur le snapshot tant que la base
+ * n'est pas réconciliée, puis delegate (SQL + Lucene). Les autres recherches
+ * parcourent directement les colonnes (ColumnarCatalog) et renvoient des vues.
+ */
+public class SnapshotTravelDataAccess implements TravelDataAccess, TravelDao, TransportDao {
+    
+    private Path snapshotFile = Paths.get(System.getProperty("tahiti.catalog.snapshot",
+            Paths.get(System.getProperty("java.io.tmpdir"), "tahiti-catalog.snapshot").toString()));
+    private TravelDataAccess delegate;
+    private TransportDao transportDao;
+    private Executor executor;
+    private Autocomplete autocomplete;
+    private final List<CatalogListener> catalogListeners = new CopyOnWriteArrayList<>();
+    
+    private volatile Catalog catalog = Catalog.EMPTY;
+    private volatile CompletableFuture<Void> reconciliation;
+    
+    // ==================== Constructeurs ====================
+    
+    public SnapshotTravelDataAccess() {
+    }
+    
+    public SnapshotTravelDataAccess(TravelDataAccess delegate, Path snapshotFile) {
+        this.delegate = delegate;
+        this.snapshotFile = snapshotFile;
+    }
+    
+    // ==================== Getters & Setters ====================
+    
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+    
+    public void setSnapshotFile(String snapshotFile) {
+        this.snapshotFile = Paths.get(snapshotFile);
+    }
+    
+    public TravelDataAccess getDelegate() {
+        return delegate;
+    }
+    
+    public void setDelegate(TravelDataAccess delegate) {
+        this.delegate = delegate;
+    }
+    
+    public TransportDao getTransportDao() {
+        return transportDao;
+    }
+    
+    public void setTransportDao(TransportDao transportDao) {
+        this.transportDao = transportDao;
+    }
+    
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+    
+    /**
+     * Complétion reconstruite à chaque nouvelle version du catalogue
+     */
+    public void setAutocomplete(Autocomplete autocomplete) {
+        this.autocomplete = autocomplete;
+    }
+    
+    /**
+     * Prévenus après chaque réconciliation avec la base
+     */
+    public void setCatalogListeners(List<CatalogListener> listeners) {
+        catalogListeners.clear();
+        catalogListeners.addAll(listeners);
+    }
+    
+    public void addCatalogListener(CatalogListener listener) {
+        catalogListeners.add(listener);
+    }
+    
+    /**
+     * Vrai une fois les données de la base chargées (le snapshot n'est plus servi)
+     */
+    public boolean isReconciled() {
+        return catalog.fromDatabase;
+    }
+    
+    /**
+     * Origine des données servies : "snapshot", "base" ou "vide"
+     */
+    public String getSource() {
+        return catalog == Catalog.EMPTY ? "vide" : catalog.fromDatabase ? "base" : "snapshot";
+    }
+    
+    // ==================== Cycle de vie ====================
+    
+    /**
+     * Charge le snapshot s'il existe, puis lance la réconciliation avec la base
+     */
+    public void start() {
+        boolean loaded = false;
+        if (Files.isRegularFile(snapshotFile)) {
+            long t0 = System.nanoTime();
+            try {
+                CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotFile);
+                catalog = Catalog.of(snapshot);
+                System.out.println(String.format("✅ Snapshot %s : %d sites, %d hôtels, %d arêtes en %.1f ms",
+                        snapshotFile, snapshot.getSiteCount(), snapshot.getHotelCount(), snapshot.getEdgeCount(),
+                        (System.nanoTime() - t0) / 1e6));
+                refreshAutocomplete();
+                loaded = true;
+            } catch (IOException e) {
+                System.err.println("❌ Snapshot ignoré (" + snapshotFile + ") : " + e.getMessage());
+            }
+        }
+        // loaded est fixé avant le lancement : la réconciliation peut remplacer
+        // catalog avant le test, on attendrait sinon pas la base au premier démarrage
+        CompletableFuture<Void> pending = reconcileAsync();
+        if (!loaded) {
+            try {
+                pending.join();
+            } catch (RuntimeException e) {
+                // Déjà signalé par reconcileAsync : on démarre sans données
+            }
+        }
+    }
+    
+    /**
+     * Relit la base en arrière-plan ; une seule réconciliation à la fois
+     */
+    public synchronized CompletableFuture<Void> reconcileAsync() {
+        if (reconciliation != null && !reconciliation.isDone()) {
+            return reconciliation;
+        }
+        if (delegate == null) {
+            reconciliation = CompletableFuture.completedFuture(null);
+            return reconciliation;
+        }
+        reconciliation = CompletableFuture.runAsync(this::reconcile,
+                executor != null ? executor : AsyncExecutors.shared());
+        reconciliation.whenComplete((ignored, e) -> {
+            if (e != null) {
+                System.err.println("❌ Réconciliation avec la base impossible (" + getSource() + " conservé) : " + e.getMessage());
+            }
+        });
+        return reconciliation;
+    }
+    
+    /**
+     * Charge la base, remplace les données servies et réécrit le snapshot
+     */
+    public void reconcile() {
+        long t0 = System.nanoTime();
+        List<Site> sites = delegate.getAllSites();
+        List<Hotel> hotels = delegate.getAllHotels();
+        List<TransportEdge> edges = transportDao != null ? transportDao.findAllTransportEdges() : catalog.edges();
+        catalog = Catalog.of(sites, hotels, edges);
+        System.out.println(String.format("✅ Catalogue réconcilié avec la base en %.1f ms", (System.nanoTime() - t0) / 1e6));
+        refreshAutocomplete();
+        for (CatalogListener listener : catalogListeners) {
+            try {
+                listener.catalogReloaded();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Mise à jour après réconciliation impossible (" + listener.getClass().getSimpleName() + ") : " + e.getMessage());
+            }
+        }
+        
+        try {
+            long bytes = CatalogSnapshotWriter.write(snapshotFile, sites, hotels, edges);
+            System.out.println("✅ Snapshot écrit : " + snapshotFile + " (" + bytes / 1024 + " Ko)");
+        } catch (IOException e) {
+            System.err.println("❌ Écriture du snapshot impossible : " + e.getMessage());
+        }
+    }
+    
+    private void refreshAutocomplete() {
+        if (autocomplete != null) {
+            ColumnarCatalog columns = catalog.columns();
+            autocomplete.rebuild(columns.getSites().asList(), columns.getHotels().asList());
+        }
+    }
+    
+    // ==================== TravelDataAccess ====================
+    
+    @Override
+    public List<Site> findSitesByKeywords(String keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (catalog.fromDatabase) {
+            return delegate.findSitesByKeywords(keywords);
+        }
+        String searchLower = keywords.toLowerCase();
+        SiteColumns sites = catalog.columns().getSites();
+        List<Site> results = new ArrayList<>();
+        for (int row = 0; row < sites.size(); row++) {
+            String description = sites.description(row);
+            if (sites.name(row).toLowerCase().contains(searchLower) ||
+                (description != null && description.toLowerCase().contains(searchLower))) {
+                results.add(sites.view(row));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Après réconciliation : délégué (classement hybride) ; avant, même
+     * filtrage en mémoire que findSitesByKeywords, origine ignorée
+     */
+    @Override
+    public List<Site> findSitesByKeywords(String keywords, Position rankOrigin) {
+        if (keywords != null && !keywords.isEmpty() && catalog.fromDatabase) {
+            return delegate.findSitesByKeywords(keywords, rankOrigin);
+        }
+        return findSitesByKeywords(keywords);
+    }
+    
+    @Override
+    public List<Site> findSitesByBudget(double min, double max) {
+        SiteColumns sites = catalog.columns().getSites();
+        return new ArrayList<>(sites.views(sites.selectByPrice(min, max)));
+    }
+    
+    @Override
+    public List<Site> getAllSites() {
+        return new ArrayList<>(catalog.columns().getSites().asList());
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByKeywords(String keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (catalog.fromDatabase) {
+            return delegate.findHotelsByKeywords(keywords);
+        }
+        String searchLower = keywords.toLowerCase();
+        HotelColumns hotels = catalog.columns().getHotels();
+        List<Hotel> results = new ArrayList<>();
+        for (int row = 0; row < hotels.size(); row++) {
+            if (hotels.name(row).toLowerCase().contains(searchLower) ||
+                hotels.beachName(row).toLowerCase().contains(searchLower)) {
+                results.add(hotels.view(row));
+            }
+        }
+        return results;
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByStars(int minStars) {
+        HotelColumns hotels = catalog.columns().getHotels();
+        return new ArrayList<>(hotels.views(hotels.selectByMinStars(minStars)));
+    }
+    
+    @Override
+    public List<Hotel> getAllHotels() {
+        return new ArrayList<>(catalog.columns().getHotels().asList());
+    }
+    
+    /**
+     * Extraits : toujours calculés par delegate (index Lucene et c.txt)
+     */
+    @Override
+    public Map<Integer, String> highlightSites(String keywords, List<Integer> siteIds, long budgetMillis) {
+        return delegate != null ? delegate.highlightSites(keywords, siteIds, budgetMillis) : new HashMap<>();
+    }
+    
+    // ==================== TravelDao ====================
+    
+    @Override
+    public List<Site> findAllSites() {
+        return getAllSites();
+    }
+    
+    @Override
+    public Optional<Site> findSiteById(int siteId) {
+        SiteColumns sites = catalog.columns().getSites();
+        int row = sites.rowOf(siteId);
+        return row < 0 ? Optional.<Site>empty() : Optional.<Site>of(sites.view(row));
+    }
+    
+    @Override
+    public List<Site> findSitesByType(String siteType) {
+        boolean historical = "HISTORICAL".equalsIgnoreCase(siteType);
+        if (!historical && !"ACTIVITY".equalsIgnoreCase(siteType)) {
+            return new ArrayList<>();
+        }
+        SiteColumns sites = catalog.columns().getSites();
+        return new ArrayList<>(sites.views(sites.selectByType(historical)));
+    }
+    
+    @Override
+    public List<Site> findSitesByPriceRange(double min, double max) {
+        return findSitesByBudget(min, max);
+    }
+    
+    @Override
+    public List<Hotel> findAllHotels() {
+        return getAllHotels();
+    }
+    
+    @Override
+    public Optional<Hotel> findHotelById(int hotelId) {
+        HotelColumns hotels = catalog.columns().getHotels();
+        int row = hotels.rowOf(hotelId);
+        return row < 0 ? Optional.<Hotel>empty() : Optional.<Hotel>of(hotels.view(row));
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByMinStars(int minStars) {
+        return findHotelsByStars(minStars);
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByPriceRange(double min, double max) {
+        HotelColumns hotels = catalog.columns().getHotels();
+        return new ArrayList<>(hotels.views(hotels.selectByPrice(min, max)));
+    }
+    
+    @Override
+    public Map<Integer, String> findSiteSnippets(String keywords, List<Integer> siteIds, long budgetMillis) {
+        return highlightSites(keywords, siteIds, budgetMillis);
+    }
+    
+    /**
+     * Catalogue en colonnes actuellement servi (filtres directs pour la planification)
+     */
+    public ColumnarCatalog getColumnarCatalog() {
+        return catalog.columns();
+    }
+    
+    // ==================== TransportDao ====================
+    
+    @Override
+    public List<TransportEdge> findAllTransportEdges() {
+        return new ArrayList<>(catalog.edges());
+    }
+    
+    @Override
+    public List<TransportEdge> findTransportEdgesByModes(Set<TransportMode> allowedModes) {
+        if (allowedModes == null || allowedModes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return catalog.edges().stream()
+            .filter(edge -> allowedModes.contains(edge.mode))
+            .collect(Collectors.toList());
+    }
+    
+    // ==================== Données servies ====================
+    
+    /**
+     * Version immuable des données : soit un snapshot (colonnes copiées au
+     * premier accès), soit les données lues en base. Remplacée d'un bloc.
+     * Les sites et hôtels sont servis sous forme de vues sur les colonnes.
+     */
+    private static final class Catalog {
+        
+        static final Catalog EMPTY = new Catalog(null, false);
+        
+        final CatalogSnapshot snapshot;
+        final boolean fromDatabase;
+        private volatile ColumnarCatalog columns;
+        private volatile List<TransportEdge> edges;
+        
+        private Catalog(CatalogSnapshot snapshot, boolean fromDatabase) {
+            this.snapshot = snapshot;
+            this.fromDatabase = fromDatabase;
+        }
+        
+        static Catalog of(CatalogSnapshot snapshot) {
+            return new Catalog(snapshot, false);
+        }
+        
+        static Catalog of(List<Site> sites, List<Hotel> hotels, List<TransportEdge> edges) {
+            Catalog catalog = new Catalog(null, true);
+            catalog.columns = ColumnarCatalog.of(sites, hotels);
+            catalog.columns.getSites().trim();
+            catalog.columns.getHotels().trim();
+            catalog.edges = Collections.unmodifiableList(new ArrayList<>(edges));
+            return catalog;
+        }
+        
+        ColumnarCatalog columns() {
+            if (columns == null) {
+                synchronized (this) {
+                    if (columns == null) {
+                        columns = snapshot == null
+                                ? ColumnarCatalog.of(Collections.<Site>emptyList(), Collections.<Hotel>emptyList())
+                                : snapshot.toColumnarCatalog();
+                    }
+                }
+            }
+            return columns;
+        }
+        
+        List<TransportEdge> edges() {
+            if (edges == null) {
+                edges = snapshot == null ? Collections.<TransportEdge>emptyList() : Collections.unmodifiableList(snapshot.edges());
+            }
+            return edges;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package persistence.synthetic;
+
+import business.domain.ActivitySite;
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+import dao.TransportEdge;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Générateur déterministe d'un catalogue synthétique (sites, hôtels, routes, descriptions)
+ * 
+ * - Déterministe : même graine = même catalogue. Chaque élément est calculé
+ *   à partir de (graine, index) uniquement, sans état : site(i) peut être
+ *   regénéré isolément et les flux ne gardent rien en mémoire (1M sites possibles).
+ * - Îles : les sites et hôtels sont répartis sur islandCount îles de Polynésie ;
+ *   les sites autour du centre de l'île, les hôtels sur le littoral.
+ *   Le site i et l'hôtel h sont sur l'île (i % islandCount) / (h % islandCount).
+ * - Routes : chaque site est relié à 2 hôtels et à 2 sites voisins de son île,
+ *   chaque hôtel à un hôtel de l'île suivante (bateau).
+ * - Descriptions : texte c.txt par site, tiré d'un vocabulaire par catégorie.
+ */
+public class SyntheticCatalog {
+    
+    public static final long DEFAULT_SEED = 2026L;
+    
+    /** Au-delà de 1,5 km à pied, en bus sur une île, en bateau entre îles */
+    private static final double FOOT_MAX_KM = 1.5;
+    private static final double KM_PER_DEGREE = 111.2;
+    private static final int SITE_NEIGHBOURS = 2;
+    private static final int HOTELS_PER_SITE = 2;
+    
+    private static final String[] ISLANDS = {
+        "Tahiti", "Moorea", "Bora Bora", "Huahine", "Raiatea", "Tahaa", "Maupiti", "Rangiroa",
+        "Fakarava", "Tikehau", "Nuku Hiva", "Hiva Oa", "Rurutu", "Tubuai", "Raivavae", "Manihi"
+    };
+    
+    private static final String[] ACTIVITY_CATEGORIES = {
+        "plongée", "surf", "randonnée", "snorkeling", "kayak", "baleines", "pêche", "plage"
+    };
+    private static final String[] HISTORICAL_CATEGORIES = {
+        "musée", "marae", "église", "archéologie", "perles", "culture"
+    };
+    private static final String[] ADJECTIVES = {
+        "spectaculaire", "paisible", "authentique", "préservé", "sauvage", "familial",
+        "inoubliable", "traditionnel", "cristallin", "sacré", "tropical", "secret"
+    };
+    private static final String[] NATURE = {
+        "lagon", "récif", "corail", "cascade", "vallée", "volcan", "motu", "cocotiers",
+        "raies", "requins", "tortues", "dauphins", "poissons tropicaux", "belvédère"
+    };
+    private static final String[] CULTURE = {
+        "tiki", "pirogue", "tatouage", "danse", "chants", "légendes", "ancêtres",
+        "navigation", "artisanat", "vanille", "monoï", "histoire"
+    };
+    
+    private final long seed;
+    private final int siteCount;
+    private final int hotelCount;
+    private final int islandCount;
+    
+    /** Centre et rayon (km) de chaque île : seule donnée pré-calculée, O(îles) */
+    private final double[] islandLat;
+    private final double[] islandLon;
+    private final double[] islandRadiusKm;
+    
+    // ==================== Constructeurs ====================
+    
+    /**
+     * Catalogue avec un nombre d'îles proportionnel à la taille (3 à 118)
+     */
+    public SyntheticCatalog(long seed, int siteCount, int hotelCount) {
+        this(seed, siteCount, hotelCount, Math.max(3, Math.min(118, (siteCount + hotelCount) / 500)));
+    }
+    
+    public SyntheticCatalog(long seed, int siteCount, int hotelCount, int islandCount) {
+        if (siteCount < 0 || hotelCount < 0 || islandCount < 1) {
+            throw new IllegalArgumentException("Tailles invalides : sites=" + siteCount
+                    + ", hôtels=" + hotelCount + ", îles=" + islandCount);
+        }
+        this.seed = seed;
+        this.siteCount = siteCount;
+        this.hotelCount = hotelCount;
+        this.islandCount = islandCount;
+        this.islandLat = new double[islandCount];
+        this.islandLon = new double[islandCount];
+        this.islandRadiusKm = new double[islandCount];
+        
+        // Îles dans la zone de la Polynésie française (-8° à -24°, -155° à -134°)
+        for (int k = 0; k < islandCount; k++) {
+            SplittableRandom random = random(0, k);
+            islandLat[k] = -24 + random.nextDouble() * 16;
+            islandLon[k] = -155 + random.nextDouble() * 21;
+            islandRadiusKm[k] = 3 + random.nextDouble() * 12;
+        }
+        // La première île est Tahiti
+        islandLat[0] = -17.65;
+        islandLon[0] = -149.45;
+        islandRadiusKm[0] = 15;
+    }
+    
+    // ==================== Getters ====================
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public int getSiteCount() {
+        return siteCount;
+    }
+    
+    public int getHotelCount() {
+        return hotelCount;
+    }
+    
+    public int getIslandCount() {
+        return islandCount;
+    }
+    
+    public String getIslandName(int island) {
+        return island < ISLANDS.length ? ISLANDS[island] : "Motu " + (island - ISLANDS.length + 1);
+    }
+    
+    public int islandOfSite(int index) {
+        return index % islandCount;
+    }
+    
+    public int islandOfHotel(int index) {
+        return index % islandCount;
+    }
+    
+    /**
+     * Vocabulaire des descriptions (catégories puis thèmes), pour générer des recherches réalistes
+     */
+    public static List<String> keywords() {
+        List<String> words = new ArrayList<>();
+        Collections.addAll(words, ACTIVITY_CATEGORIES);
+        Collections.addAll(words, HISTORICAL_CATEGORIES);
+        Collections.addAll(words, NATURE);
+        Collections.addAll(words, CULTURE);
+        return Collections.unmodifiableList(words);
+    }
+    
+    public Position getIslandCenter(int island) {
+        return new Position(islandLat[island], islandLon[island]);
+    }
+    
+    public double getIslandRadiusKm(int island) {
+        return islandRadiusKm[island];
+    }
+    
+    // ==================== Éléments (accès direct) ====================
+    
+    /**
+     * Site d'index 0..siteCount-1 (id = index + 1)
+     */
+    public Site site(int index) {
+        SplittableRandom random = random(1, index);
+        int island = islandOfSite(index);
+        boolean historical = random.nextInt(100) < 35;
+        String category = category(random, historical);
+        
+        // Position : distribution gaussienne autour du centre, bornée au rayon de l'île
+        double r = Math.min(islandRadiusKm[island], Math.abs(gaussian(random)) * islandRadiusKm[island] / 2);
+        Position position = offset(island, r, random.nextDouble() * 2 * Math.PI);
+        
+        // Horaires et durée de visite (la visite tient toujours dans le créneau)
+        LocalTime start = historical ? LocalTime.of(8 + random.nextInt(2), 0) : LocalTime.of(6 + random.nextInt(3), 30);
+        LocalTime end = historical ? LocalTime.of(16 + random.nextInt(3), 0) : LocalTime.of(12 + random.nextInt(7), 0);
+        Duration duration = Duration.ofMinutes(60 + 30 * random.nextInt(historical ? 4 : 5));
+        
+        double price = historical ? 5 * random.nextInt(6) : 20 + 5 * random.nextInt(27);
+        String name = capitalize(category) + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                + " de " + getIslandName(island) + " " + (index / islandCount + 1);
+        String description = shortDescription(random, category);
+        
+        int id = index + 1;
+        return historical
+                ? new HistoricalSite(id, name, price, position, description, start, end, duration)
+                : new ActivitySite(id, name, price, position, description, start, end, duration);
+    }
+    
+    /**
+     * Hôtel d'index 0..hotelCount-1 (id = index + 1)
+     */
+    public Hotel hotel(int index) {
+        SplittableRandom random = random(2, index);
+        int island = islandOfHotel(index);
+        
+        int[] starWeights = { 10, 20, 35, 25, 10 };
+        int pick = random.nextInt(100);
+        int stars = 1;
+        for (int w = 0; pick >= starWeights[w]; w++) {
+            pick -= starWeights[w];
+            stars++;
+        }
+        double price = Math.round(40 * stars * (0.7 + random.nextDouble() * 0.7));
+        
+        // Sur le littoral : entre 85 % et 100 % du rayon
+        double r = islandRadiusKm[island] * (0.85 + random.nextDouble() * 0.15);
+        Position position = offset(island, r, random.nextDouble() * 2 * Math.PI);
+        String beach = "Plage " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " de " + getIslandName(island);
+        String name = (stars >= 4 ? "Resort " : stars >= 3 ? "Hôtel " : "Pension ")
+                + NATURE[random.nextInt(NATURE.length)] + " " + getIslandName(island) + " " + (index / islandCount + 1);
+        
+        return new Hotel(index + 1, name, price, position, stars, beach);
+    }
+    
+    /**
+     * Catégorie (activity_category) du site d'index index
+     */
+    public String category(int index) {
+        SplittableRandom random = random(1, index);
+        boolean historical = random.nextInt(100) < 35;
+        return category(random, historical);
+    }
+    
+    /**
+     * Texte complet du fichier c.txt du site d'index index (nom en première ligne)
+     */
+    public String description(int index) {
+        Site site = site(index);
+        SplittableRandom random = random(3, index);
+        boolean historical = site.isHistorical();
+        String[] themes = historical ? CULTURE : NATURE;
+        
+        StringBuilder sb = new StringBuilder(site.getName()).append('\n').append(site.getDescription());
+        int sentences = 3 + random.nextInt(4);
+        for (int s = 0; s < sentences; s++) {
+            sb.append(' ').append(capitalize(themes[random.nextInt(themes.length)]))
+              .append(' ').append(ADJECTIVES[random.nextInt(ADJECTIVES.length)])
+              .append(historical ? ", témoin des " : " et ")
+              .append(themes[random.nextInt(themes.length)])
+              .append(historical ? " de " : " à deux pas de ")
+              .append(getIslandName(islandOfSite(index))).append('.');
+        }
+        return sb.append('\n').toString();
+    }
+    
+    /**
+     * Position d'un nœud du graphe de transport ("H:12" ou "S:33")
+     */
+    public Position position(String nodeId) {
+        int index = Integer.parseInt(nodeId.substring(2)) - 1;
+        return nodeId.charAt(0) == 'H' ? hotel(index).getPosition() : site(index).getPosition();
+    }
+    
+    // ==================== Flux (génération à la demande) ====================
+    
+    public Stream<Site> sites() {
+        return IntStream.range(0, siteCount).mapToObj(this::site);
+    }
+    
+    public Stream<Hotel> hotels() {
+        return IntStream.range(0, hotelCount).mapToObj(this::hotel);
+    }
+    
+    /**
+     * Routes du graphe de transport, dans les deux sens
+     */
+    public Stream<TransportEdge> transportEdges() {
+        Stream<TransportEdge> siteEdges = IntStream.range(0, siteCount).boxed().flatMap(this::siteEdges);
+        Stream<TransportEdge> hotelEdges = IntStream.range(0, hotelCount).boxed().flatMap(this::hotelEdges);
+        return Stream.concat(siteEdges, hotelEdges);
+    }
+    
+    /**
+     * Écrit les fichiers c.txt des sites dans dir (répertoire R des requêtes mixtes)
+     * 
+     * @return nombre de fichiers écrits
+     */
+    public int writeDescriptions(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (int i = 0; i < siteCount; i++) {
+            try (Writer out = Files.newBufferedWriter(dir.resolve((i + 1) + ".txt"), StandardCharsets.UTF_8)) {
+                out.write(description(i));
+            }
+        }
+        return siteCount;
+    }
+    
+    // ==================== Méthodes privées ====================
+    
+    private Stream<TransportEdge> siteEdges(int index) {
+        Stream.Builder<TransportEdge> edges = Stream.builder();
+        Site site = site(index);
+        
+        // Sites voisins de la même île (index + k * islandCount)
+        for (int k = 1; k <= SITE_NEIGHBOURS; k++) {
+            int neighbour = index + k * islandCount;
+            if (neighbour >= siteCount) break;
+            addBoth(edges, "S:" + site.getId(), "S:" + (neighbour + 1),
+                    site.getPosition().distanceTo(site(neighbour).getPosition()), false);
+        }
+        
+        // Hôtels de la même île
+        int island = islandOfSite(index);
+        int hotelsOnIsland = island < hotelCount ? (hotelCount - 1 - island) / islandCount + 1 : 0;
+        for (int k = 0; k < Math.min(HOTELS_PER_SITE, hotelsOnIsland); k++) {
+            int slot = (index / islandCount + k) % hotelsOnIsland;
+            int hotel = island + slot * islandCount;
+            addBoth(edges, "H:" + (hotel + 1), "S:" + site.getId(),
+                    hotel(hotel).getPosition().distanceTo(site.getPosition()), false);
+        }
+        return edges.build();
+    }
+    
+    private Stream<TransportEdge> hotelEdges(int index) {
+        Stream.Builder<TransportEdge> edges = Stream.builder();
+        // Liaison bateau vers un hôtel de l'île suivante
+        int target = index + 1;
+        if (islandCount > 1 && target < hotelCount && islandOfHotel(target) != islandOfHotel(index)) {
+            addBoth(edges, "H:" + (index + 1), "H:" + (target + 1),
+                    hotel(index).getPosition().distanceTo(hotel(target).getPosition()), true);
+        }
+        return edges.build();
+    }
+    
+    private static void addBoth(Stream.Builder<TransportEdge> edges, String from, String to,
+                                double distanceKm, boolean interIsland) {
+        TransportMode mode = interIsland ? TransportMode.BOAT
+                : distanceKm <= FOOT_MAX_KM ? TransportMode.FOOT : TransportMode.BUS;
+        double cost = Math.round(distanceKm * mode.getPricePerKm() * 100) / 100.0;
+        int duration = (int) Math.ceil(distanceKm / mode.getSpeedKmH() * 60);
+        edges.add(new TransportEdge(from, to, mode, cost, duration));
+        edges.add(new TransportEdge(to, from, mode, cost, duration));
+    }
+    
+    private Position offset(int island, double distanceKm, double angle) {
+        double lat = islandLat[island] + distanceKm * Math.sin(angle) / KM_PER_DEGREE;
+        double lon = islandLon[island] + distanceKm * Math.cos(angle)
+                / (KM_PER_DEGREE * Math.cos(Math.toRadians(islandLat[island])));
+        return new Position(lat, lon);
+    }
+    
+    private static String category(SplittableRandom random, boolean historical) {
+        String[] categories = historical ? HISTORICAL_CATEGORIES : ACTIVITY_CATEGORIES;
+        return categories[random.nextInt(categories.length)];
+    }
+    
+    private static String shortDescription(SplittableRandom random, String category) {
+        return capitalize(category) + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                + " : " + NATURE[random.nextInt(NATURE.length)] + ", " + CULTURE[random.nextInt(CULTURE.length)]
+                + " et " + NATURE[random.nextInt(NATURE.length)] + ".";
+    }
+    
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+    
+    /**
+     * Générateur propre à un élément : ne dépend que de (graine, type, index)
+     */
+    private SplittableRandom random(int kind, int index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + ((long) kind << 32) + index);
+    }
+    
+    /**
+     * Loi normale centrée réduite (Box-Muller)
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
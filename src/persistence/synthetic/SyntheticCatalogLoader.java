@@ -0,0 +1,68 @@
+package persistence.synthetic;
+
+import dao.BulkWriteReport;
+import dao.CatalogImportDao;
+import persistence.jdbc.JdbcCatalogImportDao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chargement en masse d'un catalogue synthétique dans la base tahiti_travel
+ * 
+ * - Génération en flux : rien n'est matérialisé, 1M sites passent en mémoire constante
+ * - Écriture par CatalogImportDao (lots JDBC, commit par lot, descriptions c.txt
+ *   et index Lucene mis à jour dans le même pipeline)
+ * - Ids explicites (id_site = index + 1) : cohérents avec les fichiers c.txt et le graphe
+ * 
+ * Usage : SyntheticCatalogLoader [sites] [hotels] [seed] [dossier descriptions] [dossier index]
+ */
+public class SyntheticCatalogLoader {
+    
+    private final SyntheticCatalog catalog;
+    
+    public SyntheticCatalogLoader(SyntheticCatalog catalog) {
+        this.catalog = catalog;
+    }
+    
+    // ==================== Chargement ====================
+    
+    /**
+     * Écrit hôtels, sites puis routes ; s'arrête au premier échec
+     * 
+     * @return bilans des tables écrites
+     */
+    public List<BulkWriteReport> load(CatalogImportDao importDao) {
+        List<BulkWriteReport> reports = new ArrayList<>();
+        reports.add(importDao.saveHotels(() -> catalog.hotels().iterator()));
+        if (!reports.get(0).isSuccessful()) return reports;
+        
+        reports.add(importDao.saveSites(() -> catalog.sites().iterator(), CatalogImportDao.SiteText.of(
+                site -> catalog.category(site.getId() - 1),
+                site -> catalog.description(site.getId() - 1))));
+        if (!reports.get(1).isSuccessful()) return reports;
+        
+        reports.add(importDao.saveRoutes(() -> catalog.transportEdges().iterator(),
+                edge -> catalog.position(edge.fromNodeId).distanceTo(catalog.position(edge.toNodeId))));
+        return reports;
+    }
+    
+    // ==================== Point d'entrée ====================
+    
+    public static void main(String[] args) throws Exception {
+        int sites = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int hotels = args.length > 1 ? Integer.parseInt(args[1]) : sites / 20;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : SyntheticCatalog.DEFAULT_SEED;
+        
+        SyntheticCatalog catalog = new SyntheticCatalog(seed, sites, hotels);
+        System.out.println("Catalogue synthétique : " + sites + " sites, " + hotels + " hôtels, "
+                + catalog.getIslandCount() + " îles (graine " + seed + ")");
+        
+        JdbcCatalogImportDao importDao = new JdbcCatalogImportDao();
+        importDao.setDocsDir(args.length > 3 ? args[3] : "site_description_folder");
+        if (args.length > 4) {
+            importDao.setIndexDir(args[4]);
+        }
+        new SyntheticCatalogLoader(catalog).load(importDao);
+    }
+}
@@ -0,0 +1,225 @@
+package persistence.synthetic;
+
+import business.catalog.ColumnarCatalog;
+import business.catalog.HotelColumns;
+import business.catalog.SiteColumns;
+import business.catalog.StringDictionary;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+import business.service.MockTravelDataAccess;
+import dao.TransportDao;
+import dao.TransportEdge;
+import dao.TravelDao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Source de données synthétique à grande échelle (remplace les 10 sites en dur du mock)
+ * 
+ * - Même contrat que MockTravelDataAccess (recherche "contains" insensible à la casse),
+ *   plus TravelDao et TransportDao : la couche Business et le graphe de transport
+ *   peuvent tourner sur 1M sites sans base de données.
+ * - Sites et hôtels sont chargés au premier appel dans un catalogue en colonnes
+ *   (une quarantaine d'octets par ligne) et servis sous forme de vues ;
+ *   findSiteById / findHotelById regénèrent l'élément sans rien charger.
+ */
+public class SyntheticTravelDataAccess extends MockTravelDataAccess implements TravelDao, TransportDao {
+    
+    private final SyntheticCatalog catalog;
+    
+    private volatile ColumnarCatalog columns;
+    private volatile List<TransportEdge> edges;
+    
+    // ==================== Constructeurs ====================
+    
+    public SyntheticTravelDataAccess(SyntheticCatalog catalog) {
+        this.catalog = catalog;
+    }
+    
+    public SyntheticTravelDataAccess(long seed, int siteCount, int hotelCount) {
+        this(new SyntheticCatalog(seed, siteCount, hotelCount));
+    }
+    
+    public SyntheticCatalog getCatalog() {
+        return catalog;
+    }
+    
+    // ==================== TravelDataAccess ====================
+    
+    @Override
+    public List<Site> findSitesByKeywords(String keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String searchLower = keywords.toLowerCase();
+        return sites().stream()
+            .filter(site ->
+                site.getName().toLowerCase().contains(searchLower) ||
+                site.getDescription().toLowerCase().contains(searchLower)
+            )
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Site> findSitesByKeywords(String keywords, Position rankOrigin) {
+        return findSitesByKeywords(keywords);
+    }
+    
+    @Override
+    public List<Site> findSitesByBudget(double min, double max) {
+        SiteColumns sites = columns().getSites();
+        return new ArrayList<>(sites.views(sites.selectByPrice(min, max)));
+    }
+    
+    @Override
+    public List<Site> getAllSites() {
+        return new ArrayList<>(sites());
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByKeywords(String keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String searchLower = keywords.toLowerCase();
+        return hotels().stream()
+            .filter(hotel ->
+                hotel.getName().toLowerCase().contains(searchLower) ||
+                hotel.getBeachName().toLowerCase().contains(searchLower)
+            )
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByStars(int minStars) {
+        HotelColumns hotels = columns().getHotels();
+        return new ArrayList<>(hotels.views(hotels.selectByMinStars(minStars)));
+    }
+    
+    @Override
+    public List<Hotel> getAllHotels() {
+        return new ArrayList<>(hotels());
+    }
+    
+    // ==================== TravelDao ====================
+    
+    @Override
+    public List<Site> findAllSites() {
+        return getAllSites();
+    }
+    
+    @Override
+    public Optional<Site> findSiteById(int siteId) {
+        if (siteId < 1 || siteId > catalog.getSiteCount()) {
+            return Optional.empty();
+        }
+        return Optional.of(catalog.site(siteId - 1));
+    }
+    
+    @Override
+    public List<Site> findSitesByType(String siteType) {
+        boolean historical = "HISTORICAL".equalsIgnoreCase(siteType);
+        if (!historical && !"ACTIVITY".equalsIgnoreCase(siteType)) {
+            return new ArrayList<>();
+        }
+        SiteColumns sites = columns().getSites();
+        return new ArrayList<>(sites.views(sites.selectByType(historical)));
+    }
+    
+    @Override
+    public List<Site> findSitesByPriceRange(double min, double max) {
+        return findSitesByBudget(min, max);
+    }
+    
+    @Override
+    public List<Hotel> findAllHotels() {
+        return getAllHotels();
+    }
+    
+    @Override
+    public Optional<Hotel> findHotelById(int hotelId) {
+        if (hotelId < 1 || hotelId > catalog.getHotelCount()) {
+            return Optional.empty();
+        }
+        return Optional.of(catalog.hotel(hotelId - 1));
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByMinStars(int minStars) {
+        return findHotelsByStars(minStars);
+    }
+    
+    @Override
+    public List<Hotel> findHotelsByPriceRange(double min, double max) {
+        HotelColumns hotels = columns().getHotels();
+        return new ArrayList<>(hotels.views(hotels.selectByPrice(min, max)));
+    }
+    
+    // ==================== TransportDao ====================
+    
+    @Override
+    public List<TransportEdge> findAllTransportEdges() {
+        return new ArrayList<>(edges());
+    }
+    
+    @Override
+    public List<TransportEdge> findTransportEdgesByModes(Set<TransportMode> allowedModes) {
+        if (allowedModes == null || allowedModes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return edges().stream()
+            .filter(edge -> allowedModes.contains(edge.mode))
+            .collect(Collectors.toList());
+    }
+    
+    // ==================== Matérialisation paresseuse ====================
+    
+    /**
+     * Catalogue en colonnes, rempli en flux depuis le générateur (aucune liste intermédiaire)
+     */
+    public ColumnarCatalog columns() {
+        ColumnarCatalog result = columns;
+        if (result == null) {
+            synchronized (this) {
+                if (columns == null) {
+                    StringDictionary strings = new StringDictionary();
+                    SiteColumns sites = new SiteColumns(strings, catalog.getSiteCount());
+                    catalog.sites().forEach(sites::add);
+                    HotelColumns hotels = new HotelColumns(strings, catalog.getHotelCount());
+                    catalog.hotels().forEach(hotels::add);
+                    columns = new ColumnarCatalog(strings, sites, hotels);
+                }
+                result = columns;
+            }
+        }
+        return result;
+    }
+    
+    private List<Site> sites() {
+        return columns().getSites().asList();
+    }
+    
+    private List<Hotel> hotels() {
+        return columns().getHotels().asList();
+    }
+    
+    private List<TransportEdge> edges() {
+        List<TransportEdge> result = edges;
+        if (result == null) {
+            synchronized (this) {
+                if (edges == null) {
+                    edges = Collections.unmodifiableList(catalog.transportEdges().collect(Collectors.toList()));
+                }
+                result = edges;
+            }
+        }
+        return result;
+    }
+}
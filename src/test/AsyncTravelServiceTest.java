@@ -0,0 +1,141 @@
+package test;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.service.AsyncExecutors;
+import business.service.AsyncTravelService;
+import business.service.MockTravelDataAccess;
+import business.service.TravelService;
+import business.simulation.DesiredIntensity;
+import business.simulation.Offer;
+import business.simulation.OfferRequest;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la façade asynchrone AsyncTravelService
+ * Utilise MockTravelDataAccess (pas de base de données)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class AsyncTravelServiceTest {
+    
+    /**
+     * Mock dont les appels peuvent bloquer, pour observer parallélisme et interruptions
+     */
+    private static class BlockingDataAccess extends MockTravelDataAccess {
+        private final CountDownLatch hotelsRequested = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private volatile boolean sitesSawHotels;
+        private volatile long siteDelayMillis;
+        
+        @Override
+        public List<Site> findSitesByKeywords(String keywords) {
+            try {
+                if (siteDelayMillis > 0) {
+                    Thread.sleep(siteDelayMillis);
+                } else {
+                    // Ne progresse que si le chargement des hôtels est lancé en même temps
+                    sitesSawHotels = hotelsRequested.await(2, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return super.findSitesByKeywords(keywords);
+        }
+        
+        @Override
+        public List<Hotel> getAllHotels() {
+            hotelsRequested.countDown();
+            return super.getAllHotels();
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("searchSitesAsync - Résultat identique à la version synchrone")
+    public void testSearchSitesAsync() throws Exception {
+        TravelService service = new TravelService(new MockTravelDataAccess());
+        AsyncTravelService async = new AsyncTravelService(service);
+        try {
+            List<Site> sites = async.searchSitesAsync("plongée").get(5, TimeUnit.SECONDS);
+            assertEquals(service.searchSites("plongée").size(), sites.size());
+        } finally {
+            async.shutdown();
+        }
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("buildOffersAsync - Sites et hôtels chargés en parallèle")
+    public void testBuildOffersAsync_FanOut() throws Exception {
+        BlockingDataAccess dataAccess = new BlockingDataAccess();
+        AsyncTravelService async = new AsyncTravelService(new TravelService(dataAccess),
+                AsyncExecutors.newBoundedExecutor(4, 16));
+        try {
+            List<Offer> offers = async.buildOffersAsync(
+                    new OfferRequest("plongée", 2000, 4, DesiredIntensity.LOW, 3, null)).get(5, TimeUnit.SECONDS);
+            assertTrue(dataAccess.sitesSawHotels, "Les hôtels doivent être chargés pendant la recherche de sites");
+            assertFalse(offers.isEmpty());
+        } finally {
+            async.shutdown();
+        }
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("searchSitesAsync - Délai dépassé : TimeoutException et appel DAO interrompu")
+    public void testSearchSitesAsync_Timeout() throws Exception {
+        BlockingDataAccess dataAccess = new BlockingDataAccess();
+        dataAccess.siteDelayMillis = 5_000;
+        AsyncTravelService async = new AsyncTravelService(new TravelService(dataAccess));
+        async.setTimeoutMillis(100);
+        try {
+            CompletableFuture<List<Site>> future = async.searchSitesAsync("plongée");
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof TimeoutException);
+            assertTrue(dataAccess.interrupted.await(2, TimeUnit.SECONDS), "L'appel DAO doit être interrompu");
+        } finally {
+            async.shutdown();
+        }
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("searchSitesAsync - Annulation : appel DAO interrompu")
+    public void testSearchSitesAsync_Cancel() throws Exception {
+        BlockingDataAccess dataAccess = new BlockingDataAccess();
+        dataAccess.siteDelayMillis = 5_000;
+        AsyncTravelService async = new AsyncTravelService(new TravelService(dataAccess));
+        try {
+            CompletableFuture<List<Site>> future = async.searchSitesAsync("plongée");
+            Thread.sleep(50);
+            future.cancel(true);
+            assertTrue(dataAccess.interrupted.await(2, TimeUnit.SECONDS), "L'appel DAO doit être interrompu");
+        } finally {
+            async.shutdown();
+        }
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("buildOffersAsync - Requête invalide : future en échec")
+    public void testBuildOffersAsync_InvalidRequest() {
+        AsyncTravelService async = new AsyncTravelService(new TravelService(new MockTravelDataAccess()));
+        try {
+            CompletableFuture<List<Offer>> future = async.buildOffersAsync(
+                    new OfferRequest("plongée", -1, 4, DesiredIntensity.LOW, 3, null));
+            assertTrue(future.isCompletedExceptionally());
+        } finally {
+            async.shutdown();
+        }
+    }
+}
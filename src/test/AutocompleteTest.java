@@ -0,0 +1,134 @@
+package test;
+
+import business.domain.ActivitySite;
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import org.junit.jupiter.api.*;
+import persistence.bda.Autocomplete;
+import persistence.bda.CompletionIndex;
+import persistence.bda.CompletionIndex.Kind;
+import persistence.bda.CompletionIndex.Suggestion;
+import persistence.bda.PopularityCounters;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la complétion (FST) des noms et termes de recherche
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class AutocompleteTest {
+    
+    private static final Position TAHITI = new Position(-17.65, -149.43);
+    
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).collect(Collectors.toList());
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Préfixe - Sans accents, par poids décroissant")
+    public void testPrefixByWeight() throws Exception {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add("Plongée au lagon", Kind.SITE, 1, 5)
+                .add("Plage de Matira", Kind.SITE, 2, 40)
+                .add("Musée de Tahiti", Kind.SITE, 3, 90)
+                .add("plage", Kind.TERM, 0, 12)
+                .build();
+        
+        assertEquals(Arrays.asList("Plage de Matira", "plage", "Plongée au lagon"), texts(index.lookup("pl", 10)));
+        assertEquals(Arrays.asList("Plongée au lagon"), texts(index.lookup("PLON", 10)));
+        assertEquals(Arrays.asList("Musée de Tahiti"), texts(index.lookup("musee", 10)));
+        assertEquals(1, index.lookup("pl", 1).size());
+        assertTrue(index.lookup("xyz", 10).isEmpty());
+        assertTrue(index.lookup("  ", 10).isEmpty());
+        assertTrue(CompletionIndex.empty().lookup("pl", 10).isEmpty());
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Mots internes - Une seule suggestion par libellé")
+    public void testInfixWithoutDuplicates() throws Exception {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add("Lagon bleu du lagon", Kind.SITE, 1, 3)
+                .add("Lagon", Kind.HOTEL, 7, 1)
+                .add("Lagon", Kind.BEACH, 0, 2)
+                .build();
+        
+        List<Suggestion> lagon = index.lookup("lag", 10);
+        assertEquals(3, lagon.size());
+        assertEquals(Kind.SITE, lagon.get(0).getKind());
+        assertEquals(Kind.BEACH, lagon.get(1).getKind());
+        assertEquals(7, lagon.get(2).getId());
+        
+        assertEquals(Arrays.asList("Lagon bleu du lagon"), texts(index.lookup("bleu d", 10)));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Catalogue - Noms, plages, termes fréquents et popularité")
+    public void testRebuildFromCatalog() {
+        List<Site> sites = new ArrayList<>();
+        sites.add(new ActivitySite(1, "Plongée avec les requins", 80, TAHITI,
+                "Plongée dans le lagon turquoise", LocalTime.of(8, 0), LocalTime.of(17, 0), Duration.ofHours(2)));
+        sites.add(new ActivitySite(2, "Plongée de nuit", 90, TAHITI,
+                "Plongée sous les étoiles du lagon", LocalTime.of(19, 0), LocalTime.of(23, 0), Duration.ofHours(2)));
+        sites.add(new HistoricalSite(3, "Marae Arahurahu", 0, TAHITI,
+                "Temple ancien", LocalTime.of(8, 0), LocalTime.of(16, 0), Duration.ofHours(1)));
+        List<Hotel> hotels = Arrays.asList(
+                new Hotel(10, "Hôtel Tiare", 200, TAHITI, 4, "Plage de Matira"),
+                new Hotel(11, "Pension Matira", 90, TAHITI, 2, "Plage de Matira"));
+        
+        PopularityCounters popularity = new PopularityCounters();
+        popularity.record(2, 10);
+        Autocomplete autocomplete = new Autocomplete();
+        autocomplete.setSitePopularity(popularity);
+        autocomplete.rebuild(sites, hotels);
+        
+        List<Suggestion> plon = autocomplete.suggest("plon");
+        assertEquals("Plongée de nuit", plon.get(0).getText(), "le plus consulté d'abord");
+        assertEquals(Kind.TERM, plon.get(1).getKind(), "terme présent dans 2 descriptions (poids 2)");
+        assertEquals("plongée", plon.get(1).getText());
+        assertEquals("Plongée avec les requins", plon.get(2).getText());
+        
+        List<Suggestion> matira = autocomplete.suggest("mati");
+        assertEquals(Arrays.asList("Plage de Matira", "Pension Matira"), texts(matira));
+        assertEquals(Kind.BEACH, matira.get(0).getKind());
+        
+        assertEquals(Arrays.asList("lagon"), texts(autocomplete.suggest("lago")));
+        assertTrue(autocomplete.suggest("temple").isEmpty(), "terme d'une seule description");
+        assertEquals(1, autocomplete.suggest("ma", 1).size());
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Performance - Complétion sous la milliseconde")
+    public void testLookupLatency() throws Exception {
+        CompletionIndex.Builder builder = new CompletionIndex.Builder();
+        String[] words = { "plage", "lagon", "musée", "cascade", "jardin", "belvédère", "marae", "pension" };
+        for (int i = 0; i < 50_000; i++) {
+            builder.add(words[i % words.length] + " " + words[(i / 8) % words.length] + " " + i, Kind.SITE, i, i % 997);
+        }
+        CompletionIndex index = builder.build();
+        assertEquals(50_000, index.size());
+        
+        for (int i = 0; i < 2_000; i++) {
+            index.lookup(words[i % words.length].substring(0, 3), 8);
+        }
+        long t0 = System.nanoTime();
+        int n = 5_000;
+        for (int i = 0; i < n; i++) {
+            assertEquals(8, index.lookup(words[i % words.length].substring(0, 3), 8).size());
+        }
+        double avgMillis = (System.nanoTime() - t0) / 1e6 / n;
+        assertTrue(avgMillis < 1.0, "moyenne " + avgMillis + " ms");
+    }
+}
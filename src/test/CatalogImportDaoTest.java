@@ -0,0 +1,247 @@
+package test;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import dao.BulkWriteReport;
+import dao.CatalogImportDao;
+import dao.TransportEdge;
+import org.junit.jupiter.api.*;
+import persistence.bda.LuceneSearch;
+import persistence.jdbc.JdbcCatalogImportDao;
+import persistence.synthetic.SyntheticCatalog;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de l'écriture en masse (lots JDBC, commits, descriptions et index)
+ * sur une connexion factice qui enregistre les appels
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CatalogImportDaoTest {
+    
+    private static SyntheticCatalog catalog;
+    private Path workDir;
+    
+    /** Appels JDBC observés */
+    private static class Recorder {
+        int addBatch;
+        List<Integer> batchSizes = new ArrayList<>();
+        int commits;
+        int rollbacks;
+        int failOnBatch;
+        boolean closed;
+        List<String> statements = new ArrayList<>();
+    }
+    
+    private static class RecordingImportDao extends JdbcCatalogImportDao {
+        final Recorder recorder = new Recorder();
+        
+        @Override
+        protected Connection openConnection() {
+            return fakeConnection(recorder);
+        }
+    }
+    
+    @BeforeAll
+    public static void setUp() {
+        catalog = new SyntheticCatalog(44, 250, 30);
+    }
+    
+    @BeforeEach
+    public void createWorkDir() throws Exception {
+        workDir = Files.createTempDirectory("import-test");
+    }
+    
+    @AfterEach
+    public void deleteWorkDir() throws Exception {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+    
+    private RecordingImportDao newDao(int batchSize) {
+        RecordingImportDao dao = new RecordingImportDao();
+        dao.setBatchSize(batchSize);
+        dao.setDocsDir(workDir.resolve("R").toString());
+        dao.setIndexPath(workDir.resolve("index"));
+        return dao;
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Lots - executeBatch + commit par lot, dernier lot partiel")
+    public void testBatchesAndCommits() {
+        RecordingImportDao dao = newDao(40);
+        BulkWriteReport report = dao.saveHotels(() -> catalog.hotels().iterator());
+        
+        assertTrue(report.isSuccessful());
+        assertEquals(30, report.getRows());
+        assertEquals(1, report.getBatches());
+        
+        report = dao.saveSites(() -> catalog.sites().iterator());
+        assertEquals(250, report.getRows());
+        assertEquals(7, report.getBatches());
+        assertEquals(40, dao.recorder.batchSizes.get(1).intValue());
+        assertEquals(10, dao.recorder.batchSizes.get(7).intValue());
+        assertEquals(8, dao.recorder.commits);
+        assertTrue(dao.recorder.closed);
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Pipeline - Descriptions c.txt et index Lucene à jour")
+    public void testDescriptionsAndIndex() throws Exception {
+        RecordingImportDao dao = newDao(100);
+        BulkWriteReport report = dao.saveSites(() -> catalog.sites().iterator(), CatalogImportDao.SiteText.of(
+                site -> catalog.category(site.getId() - 1),
+                site -> catalog.description(site.getId() - 1)));
+        
+        assertTrue(report.isSuccessful());
+        assertTrue(report.getTextBytes() > 0);
+        Path r = workDir.resolve("R");
+        assertEquals(catalog.description(41), new String(Files.readAllBytes(r.resolve("42.txt")), "UTF-8"));
+        try (Stream<Path> files = Files.list(r)) {
+            assertEquals(250, files.count());
+        }
+        
+        String word = catalog.category(0);
+        Map<Integer, Float> hits = new LuceneSearch("id_site", workDir.resolve("index")).search(word);
+        assertTrue(hits.containsKey(1), "site 1 trouvé par sa catégorie");
+        
+        // Réimport : remplacement, pas de doublon
+        dao.saveSites(() -> catalog.sites().iterator(), CatalogImportDao.SiteText.of(
+                site -> catalog.category(site.getId() - 1),
+                site -> catalog.description(site.getId() - 1)));
+        Map<Integer, Float> again = new LuceneSearch("id_site", workDir.resolve("index")).search(word);
+        assertEquals(hits.keySet(), again.keySet());
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Échec - Lots validés conservés, lot en cours annulé")
+    public void testFailureRollsBackCurrentBatch() {
+        RecordingImportDao dao = newDao(50);
+        dao.setUpdateIndex(false);
+        dao.recorder.failOnBatch = 3;
+        BulkWriteReport report = dao.saveSites(() -> catalog.sites().iterator());
+        
+        assertFalse(report.isSuccessful());
+        assertEquals(100, report.getRows());
+        assertEquals(1, dao.recorder.rollbacks);
+        assertTrue(dao.recorder.closed);
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Routes - Upsert (ré-import sans doublon), ids explicites requis")
+    public void testRoutesAndIds() {
+        RecordingImportDao dao = newDao(1000);
+        List<TransportEdge> edges = catalog.transportEdges().collect(Collectors.toList());
+        BulkWriteReport report = dao.saveRoutes(edges);
+        assertTrue(report.isSuccessful());
+        assertEquals(edges.size(), report.getRows());
+        assertEquals((edges.size() + 999) / 1000, report.getBatches());
+        assertTrue(dao.recorder.statements.get(0).contains("ON DUPLICATE KEY UPDATE"),
+                "un ré-import met à jour les routes existantes (clé unique_route)");
+        
+        Hotel anonymous = catalog.hotel(0);
+        anonymous.setId(0);
+        List<Hotel> hotels = new ArrayList<>();
+        hotels.add(anonymous);
+        assertFalse(dao.saveHotels(hotels).isSuccessful());
+    }
+    
+    // ==================== Connexion factice ====================
+    
+    private static Connection fakeConnection(Recorder recorder) {
+        int[] pending = {0};
+        PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "addBatch":
+                            recorder.addBatch++;
+                            pending[0]++;
+                            return null;
+                        case "executeBatch":
+                            recorder.batchSizes.add(pending[0]);
+                            if (recorder.batchSizes.size() == recorder.failOnBatch) {
+                                throw new SQLException("Duplicate entry");
+                            }
+                            int[] counts = new int[pending[0]];
+                            pending[0] = 0;
+                            return counts;
+                        case "getConnection":
+                            return connectionOf(recorder, proxy);
+                        default:
+                            return null;
+                    }
+                });
+        return connectionOf(recorder, ps);
+    }
+    
+    private static Connection connectionOf(Recorder recorder, Object ps) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement":
+                            recorder.statements.add((String) args[0]);
+                            return ps;
+                        case "getAutoCommit":
+                            return true;
+                        case "commit":
+                            recorder.commits++;
+                            return null;
+                        case "rollback":
+                            recorder.rollbacks++;
+                            return null;
+                        case "close":
+                            recorder.closed = true;
+                            return null;
+                        case "createStatement":
+                            return modesStatement();
+                        default:
+                            return null;
+                    }
+                });
+    }
+    
+    /** SELECT id_transport, name FROM Transport_Mode */
+    private static Statement modesStatement() {
+        String[] names = {"FOOT", "BUS", "BOAT"};
+        int[] row = {-1};
+        ResultSet rs = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++row[0] < names.length;
+                        case "getString":
+                            return names[row[0]];
+                        case "getInt":
+                            return row[0] + 1;
+                        default:
+                            return null;
+                    }
+                });
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                new Class<?>[] { Statement.class }, (proxy, method, args) ->
+                        "executeQuery".equals(method.getName()) ? rs : null);
+    }
+}
@@ -0,0 +1,179 @@
+package test;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import business.service.MockTravelDataAccess;
+import dao.TransportEdge;
+import org.junit.jupiter.api.*;
+import persistence.snapshot.CatalogSnapshot;
+import persistence.snapshot.CatalogSnapshotWriter;
+import persistence.snapshot.SnapshotTravelDataAccess;
+import persistence.synthetic.SyntheticCatalog;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du snapshot binaire du catalogue (écriture, projection mémoire, réconciliation)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CatalogSnapshotTest {
+    
+    private Path dir;
+    
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("snapshot-test");
+    }
+    
+    @AfterEach
+    public void tearDown() throws IOException {
+        for (Path file : Files.list(dir).collect(Collectors.toList())) {
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Écriture puis lecture : sites, hôtels et arêtes identiques")
+    public void testRoundTrip() throws IOException {
+        SyntheticCatalog synthetic = new SyntheticCatalog(9, 3000, 150);
+        List<Site> sites = synthetic.sites().collect(Collectors.toList());
+        List<Hotel> hotels = synthetic.hotels().collect(Collectors.toList());
+        List<TransportEdge> edges = synthetic.transportEdges().collect(Collectors.toList());
+        
+        Path file = dir.resolve("catalog.snapshot");
+        long bytes = CatalogSnapshotWriter.write(file, sites, hotels, edges);
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+        
+        assertEquals(bytes, snapshot.getSizeBytes());
+        assertEquals(3000, snapshot.getSiteCount());
+        assertEquals(150, snapshot.getHotelCount());
+        assertEquals(edges.size(), snapshot.getEdgeCount());
+        // Dictionnaire : les noms de plages répétés ne sont stockés qu'une fois
+        assertTrue(snapshot.getStringCount() < 2 * 3000 + 2 * 150);
+        
+        for (int i = 0; i < sites.size(); i += 37) {
+            Site expected = sites.get(i);
+            Site actual = snapshot.site(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.isHistorical(), actual.isHistorical());
+            assertEquals(expected.getPosition().getLatitude(), actual.getPosition().getLatitude());
+            assertEquals(expected.getStartTime(), actual.getStartTime());
+            assertEquals(expected.getEndTime(), actual.getEndTime());
+            assertEquals(expected.getDuration(), actual.getDuration());
+        }
+        for (int i = 0; i < hotels.size(); i++) {
+            Hotel expected = hotels.get(i);
+            Hotel actual = snapshot.hotel(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getStarRating(), actual.getStarRating());
+            assertEquals(expected.getBeachName(), actual.getBeachName());
+        }
+        assertEquals(edges.get(123).toString(), snapshot.edge(123).toString());
+        assertEquals(edges.get(edges.size() - 1).toString(), snapshot.edge(edges.size() - 1).toString());
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Snapshot corrompu, tronqué ou d'une autre version : refusé")
+    public void testInvalidSnapshots() throws IOException {
+        MockTravelDataAccess mock = new MockTravelDataAccess();
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshotWriter.write(file, mock.getAllSites(), mock.getAllHotels(), Collections.<TransportEdge>emptyList());
+        assertEquals(10, CatalogSnapshot.open(file).getSiteCount());
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(200);
+            int b = raf.read();
+            raf.seek(200);
+            raf.write(b ^ 0xFF);
+        }
+        IOException corrupted = assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+        assertTrue(corrupted.getMessage().contains("CRC"));
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(4);
+            raf.writeInt(99);
+        }
+        IOException version = assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+        assertTrue(version.getMessage().contains("Version"));
+        
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Démarrage depuis le snapshot, puis réconciliation asynchrone avec la base")
+    public void testStartFromSnapshotThenReconcile() throws Exception {
+        Path file = dir.resolve("catalog.snapshot");
+        SyntheticCatalog synthetic = new SyntheticCatalog(4, 500, 40);
+        CatalogSnapshotWriter.write(file, synthetic.sites().collect(Collectors.toList()),
+                synthetic.hotels().collect(Collectors.toList()), Collections.<TransportEdge>emptyList());
+        
+        // "Base" lente : la réconciliation attend le feu vert du test
+        CountDownLatch databaseReady = new CountDownLatch(1);
+        MockTravelDataAccess database = new MockTravelDataAccess() {
+            @Override
+            public List<Site> getAllSites() {
+                try {
+                    databaseReady.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getAllSites();
+            }
+        };
+        
+        SnapshotTravelDataAccess access = new SnapshotTravelDataAccess(database, file);
+        AtomicInteger reloads = new AtomicInteger();
+        access.addCatalogListener(reloads::incrementAndGet);
+        access.start();
+        
+        assertEquals("snapshot", access.getSource());
+        assertEquals(0, reloads.get());
+        assertEquals(500, access.getAllSites().size());
+        assertEquals(synthetic.site(9).getName(), access.findSiteById(10).get().getName());
+        assertFalse(access.findSitesByKeywords("plongée").isEmpty());
+        
+        // Réconciliation lancée par start() (encore en cours : la base attend)
+        CompletableFuture<Void> pending = access.reconcileAsync();
+        databaseReady.countDown();
+        pending.get(5, TimeUnit.SECONDS);
+        
+        assertTrue(access.isReconciled());
+        assertEquals(1, reloads.get(), "listeners prévenus après la réconciliation");
+        assertEquals(10, access.getAllSites().size());
+        assertEquals(7, access.findAllHotels().size());
+        // Le snapshot a été réécrit avec les données de la base
+        assertEquals(10, CatalogSnapshot.open(file).getSiteCount());
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Premier démarrage sans snapshot : attend la base puis écrit le snapshot")
+    public void testColdStartWithoutSnapshot() throws Exception {
+        Path file = dir.resolve("catalog.snapshot");
+        SnapshotTravelDataAccess access = new SnapshotTravelDataAccess(new MockTravelDataAccess(), file);
+        access.start();
+        
+        assertEquals("base", access.getSource());
+        assertEquals(10, access.getAllSites().size());
+        assertTrue(Files.exists(file));
+    }
+}
@@ -0,0 +1,128 @@
+package test;
+
+import business.catalog.ColumnarCatalog;
+import business.catalog.HotelColumns;
+import business.catalog.SiteColumns;
+import business.catalog.SiteView;
+import business.domain.Hotel;
+import business.domain.Site;
+import business.service.MockTravelDataAccess;
+import org.junit.jupiter.api.*;
+import persistence.synthetic.SyntheticCatalog;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du catalogue en colonnes et des vues poids-mouche
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ColumnarCatalogTest {
+    
+    private static List<Site> sites;
+    private static List<Hotel> hotels;
+    private static ColumnarCatalog columns;
+    
+    @BeforeAll
+    public static void setUp() {
+        SyntheticCatalog synthetic = new SyntheticCatalog(21, 4000, 200);
+        sites = synthetic.sites().collect(Collectors.toList());
+        hotels = synthetic.hotels().collect(Collectors.toList());
+        columns = ColumnarCatalog.of(sites, hotels);
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Vues - Mêmes valeurs que les objets d'origine")
+    public void testViewsMatchOriginals() {
+        MockTravelDataAccess mock = new MockTravelDataAccess();
+        ColumnarCatalog small = ColumnarCatalog.of(mock.getAllSites(), mock.getAllHotels());
+        
+        List<Site> views = small.getSites().asList();
+        assertEquals(10, views.size());
+        for (int i = 0; i < views.size(); i++) {
+            Site expected = mock.getAllSites().get(i);
+            Site view = views.get(i);
+            assertEquals(expected.toString(), view.toString());
+            assertEquals(expected.getPrice(), view.getPrice());
+            assertEquals(expected.getPosition().getLatitude(), view.getPosition().getLatitude());
+            assertEquals(expected.getStartTime(), view.getStartTime());
+            assertEquals(expected.getEndTime(), view.getEndTime());
+            assertEquals(expected.getDuration(), view.getDuration());
+            assertEquals(expected.isHistorical(), view.isHistorical());
+        }
+        for (int i = 0; i < 7; i++) {
+            assertEquals(mock.getAllHotels().get(i).toString(), small.getHotels().view(i).toString());
+        }
+        
+        // Identité par id, comme Structure
+        assertEquals(small.getSites().view(3), small.getSites().view(3));
+        assertEquals(small.getSites().view(3).hashCode(), mock.getAllSites().get(3).hashCode());
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Vues - Lecture seule")
+    public void testViewsAreReadOnly() {
+        SiteView view = columns.getSites().view(0);
+        assertThrows(UnsupportedOperationException.class, () -> view.setName("x"));
+        assertThrows(UnsupportedOperationException.class, () -> view.setPrice(1));
+        assertThrows(UnsupportedOperationException.class, () -> columns.getHotels().view(0).setStarRating(5));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Filtres en colonnes - Mêmes résultats qu'un filtre sur les objets")
+    public void testColumnFilters() {
+        SiteColumns siteColumns = columns.getSites();
+        HotelColumns hotelColumns = columns.getHotels();
+        
+        assertArrayEquals(rows(sites, s -> s.getPrice() >= 30 && s.getPrice() <= 80), siteColumns.selectByPrice(30, 80));
+        assertArrayEquals(rows(sites, Site::isHistorical), siteColumns.selectByType(true));
+        assertArrayEquals(hotelRows(h -> h.getStarRating() >= 4), hotelColumns.selectByMinStars(4));
+        assertArrayEquals(hotelRows(h -> h.getPrice() >= 100 && h.getPrice() <= 200), hotelColumns.selectByPrice(100, 200));
+        
+        Site center = sites.get(0);
+        double lat = center.getPosition().getLatitude(), lon = center.getPosition().getLongitude();
+        assertArrayEquals(rows(sites, s -> s.getPosition().distanceTo(center.getPosition()) <= 5),
+                siteColumns.selectWithin(lat, lon, 5));
+        
+        // Ouvert au moins la durée de visite entre 14h et 16h
+        int[] open = siteColumns.selectOpenBetween(14 * 60, 16 * 60);
+        for (int row : open) {
+            Site site = sites.get(row);
+            assertTrue(site.getEndTime().getHour() * 60 + site.getEndTime().getMinute()
+                    - Math.max(14 * 60, site.getStartTime().getHour() * 60 + site.getStartTime().getMinute())
+                    >= site.getDuration().toMinutes());
+        }
+        
+        int[] both = SiteColumns.intersect(siteColumns.selectByType(true), siteColumns.selectByPrice(0, 10));
+        assertArrayEquals(rows(sites, s -> s.isHistorical() && s.getPrice() <= 10), both);
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Recherche par id et empreinte mémoire")
+    public void testRowOfAndFootprint() {
+        assertEquals(1234, columns.getSites().rowOf(1235));
+        assertEquals(-1, columns.getSites().rowOf(999_999));
+        assertEquals(sites.get(1234).getName(), columns.getSites().view(columns.getSites().rowOf(1235)).getName());
+        assertEquals(57, columns.getHotels().rowOf(58));
+        
+        // Colonnes : une quarantaine d'octets par site (hors chaînes partagées)
+        long perSite = columns.getSites().estimatedBytes() / sites.size();
+        assertTrue(perSite <= 50, "Octets par site : " + perSite);
+        assertTrue(columns.getStrings().size() < 2 * sites.size() + 2 * hotels.size());
+    }
+    
+    private static int[] rows(List<Site> list, java.util.function.Predicate<Site> predicate) {
+        return IntStream.range(0, list.size()).filter(i -> predicate.test(list.get(i))).toArray();
+    }
+    
+    private static int[] hotelRows(java.util.function.Predicate<Hotel> predicate) {
+        return IntStream.range(0, hotels.size()).filter(i -> predicate.test(hotels.get(i))).toArray();
+    }
+}
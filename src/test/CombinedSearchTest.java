@@ -0,0 +1,99 @@
+package test;
+
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.service.CombinedSearchResult;
+import business.service.MockTravelDataAccess;
+import business.service.TravelService;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la recherche combinée sites + hôtels de TravelService
+ * Utilise MockTravelDataAccess (pas de base de données)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CombinedSearchTest {
+    
+    /**
+     * Mock où chaque requête attend que l'autre soit lancée
+     */
+    private static class RendezVousDataAccess extends MockTravelDataAccess {
+        private final CountDownLatch sitesStarted = new CountDownLatch(1);
+        private final CountDownLatch hotelsStarted = new CountDownLatch(1);
+        private volatile boolean parallel = true;
+        
+        @Override
+        public List<Site> findSitesByKeywords(String keywords) {
+            sitesStarted.countDown();
+            await(hotelsStarted);
+            return super.findSitesByKeywords(keywords);
+        }
+        
+        @Override
+        public List<Hotel> findHotelsByKeywords(String keywords) {
+            hotelsStarted.countDown();
+            await(sitesStarted);
+            return super.findHotelsByKeywords(keywords);
+        }
+        
+        private void await(CountDownLatch latch) {
+            try {
+                if (!latch.await(2, TimeUnit.SECONDS)) parallel = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("searchCombined - Requêtes sites et hôtels en parallèle")
+    public void testSearchCombined_Parallel() {
+        RendezVousDataAccess dataAccess = new RendezVousDataAccess();
+        TravelService service = new TravelService(dataAccess);
+        
+        CombinedSearchResult result = service.searchCombined("plage", 0);
+        
+        assertTrue(dataAccess.parallel, "Les deux requêtes doivent s'exécuter en même temps");
+        assertEquals(new MockTravelDataAccess().findSitesByKeywords("plage").size(), result.getSites().size());
+        assertEquals(new MockTravelDataAccess().findHotelsByKeywords("plage").size(), result.getHotels().size());
+        assertTrue(result.getHotelsNearSites().isEmpty(), "Pas de jointure sans rayon");
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("searchCombined - Mots-clés vides refusés")
+    public void testSearchCombined_EmptyKeywords() {
+        TravelService service = new TravelService(new MockTravelDataAccess());
+        assertThrows(IllegalArgumentException.class, () -> service.searchCombined("  ", 5));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("CombinedSearchResult - Jointure géographique")
+    public void testHotelsNearSites() {
+        Site lagoon = new HistoricalSite(1, "Lagon", 10, new Position(-17.50, -149.80), null, null, null, null);
+        Site museum = new HistoricalSite(2, "Musée", 10, new Position(-17.60, -149.60), null, null, null, null);
+        Hotel near = new Hotel(1, "Proche", 100, new Position(-17.51, -149.80), 3, null);
+        Hotel far = new Hotel(2, "Loin", 100, new Position(-17.90, -149.20), 3, null);
+        Hotel nearMuseum = new Hotel(3, "Musée", 100, new Position(-17.60, -149.61), 3, null);
+        
+        CombinedSearchResult result = new CombinedSearchResult("test",
+                java.util.Arrays.asList(lagoon, museum), java.util.Arrays.asList(near, far, nearMuseum), 0, 0, 0, 5);
+        
+        List<CombinedSearchResult.NearbyHotel> nearby = result.getHotelsNearSites();
+        assertEquals(2, nearby.size());
+        assertSame(nearMuseum, nearby.get(0).getHotel());
+        assertSame(museum, nearby.get(0).getNearestSite());
+        assertSame(near, nearby.get(1).getHotel());
+        assertSame(lagoon, nearby.get(1).getNearestSite());
+    }
+}
@@ -0,0 +1,122 @@
+package test;
+
+import business.domain.ActivitySite;
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.scoring.ComfortScorer;
+import business.scoring.PriceCalculator;
+import business.simulation.CompactDay;
+import business.simulation.CompactOffer;
+import business.simulation.DayList;
+import business.simulation.Offer;
+import business.simulation.OfferCatalog;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la représentation compacte des offres
+ * (partage structurel, agrégats, conversion en objets métier)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CompactOfferTest {
+    
+    private static final double EPSILON = 1e-9;
+    
+    private OfferCatalog catalog;
+    
+    @BeforeEach
+    public void setUp() {
+        List<Site> sites = Arrays.asList(
+            new HistoricalSite(1, "Musée de Tahiti", 15.0, new Position(-17.555, -149.590),
+                    "Musée", LocalTime.of(9, 0), LocalTime.of(17, 0), Duration.ofHours(2)),
+            new ActivitySite(2, "Centre de plongée", 45.0, new Position(-17.535, -149.569),
+                    "Plongée", LocalTime.of(8, 0), LocalTime.of(17, 0), Duration.ofHours(3)),
+            new ActivitySite(3, "École de surf", 60.0, new Position(-17.850, -149.270),
+                    "Surf", LocalTime.of(7, 0), LocalTime.of(18, 0), Duration.ofHours(4)));
+        List<Hotel> hotels = Arrays.asList(
+            new Hotel(1, "Pension Fare Suisse", 90.0, new Position(-17.540, -149.570), 2, "Plage de Papeete"),
+            new Hotel(2, "InterContinental Tahiti", 350.0, new Position(-17.560, -149.610), 5, "Lagon privé"));
+        catalog = new OfferCatalog(sites, hotels);
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("DayList - Remplacement d'un jour avec partage de la suite")
+    public void testDayList_StructuralSharing() {
+        DayList days = DayList.of(
+            CompactDay.excursion(catalog, 0, 0),
+            CompactDay.rest(0),
+            CompactDay.excursion(catalog, 0, 1, 2),
+            CompactDay.rest(0));
+        
+        CompactDay replacement = CompactDay.excursion(catalog, 0, 2);
+        DayList modified = days.with(1, replacement);
+        
+        assertEquals(4, modified.size());
+        assertSame(replacement, modified.get(1));
+        assertTrue(days.get(1).isRestDay(), "La liste d'origine ne doit pas être modifiée");
+        assertSame(days.get(2), modified.get(2), "Les jours suivants doivent être partagés");
+        assertSame(days.get(3), modified.get(3), "Les jours suivants doivent être partagés");
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("CompactOffer - Agrégats maintenus par withDay")
+    public void testCompactOffer_WithDayAggregates() {
+        CompactOffer offer = CompactOffer.of(catalog, DayList.of(
+            CompactDay.excursion(catalog, 0, 0, 1),
+            CompactDay.rest(0),
+            CompactDay.excursion(catalog, 0, 2)));
+        
+        CompactOffer modified = offer.withDay(catalog, 1, CompactDay.excursion(catalog, 0, 2, 0));
+        CompactOffer recomputed = CompactOffer.of(catalog, modified.getDays());
+        
+        assertEquals(recomputed.getTotalPrice(), modified.getTotalPrice(), EPSILON);
+        assertEquals(recomputed.getComfortSum(), modified.getComfortSum());
+        assertEquals(recomputed.getLegCount(), modified.getLegCount());
+        assertEquals(0, modified.getRestDaysCount());
+        assertEquals(1, offer.getRestDaysCount());
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("CompactOffer - Conversion en Offer cohérente avec les calculateurs")
+    public void testCompactOffer_ToOffer() {
+        CompactOffer compact = CompactOffer.of(catalog, DayList.of(
+            CompactDay.excursion(catalog, 1, 0, 1, 2),
+            CompactDay.rest(1)));
+        
+        Offer offer = compact.toOffer(catalog);
+        
+        assertEquals(2, offer.getNbDays());
+        assertEquals(3, offer.getDays().get(0).getExcursion().getSites().size());
+        assertEquals(4, offer.getDays().get(0).getExcursion().getLegs().size());
+        assertEquals(new PriceCalculator().calculateTotal(offer), compact.getTotalPrice(), EPSILON);
+        
+        ComfortScorer scorer = new ComfortScorer();
+        assertEquals(scorer.calculate(offer), scorer.calculate(compact.getComfortSum(), compact.getLegCount(),
+                compact.getRestDaysCount(), compact.getNbDays(), catalog.getHotel(compact.getHotel())));
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("OfferCatalog - Décodage des indices de trajet")
+    public void testOfferCatalog_LegIndex() {
+        int from = catalog.hotelNode(1);
+        int to = catalog.siteNode(2);
+        long leg = catalog.leg(from, to);
+        
+        assertEquals(from, catalog.legFrom(leg));
+        assertEquals(to, catalog.legTo(leg));
+        assertEquals(catalog.chooseMode(catalog.distance(from, to)), catalog.legMode(leg));
+        assertEquals(catalog.toTravelLeg(leg).getCost(), catalog.legCost(leg), EPSILON);
+    }
+}
@@ -0,0 +1,128 @@
+package test;
+
+import business.domain.ActivitySite;
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.planning.ExcursionCache;
+import business.planning.ExcursionEvaluation;
+import business.scoring.PriceCalculator;
+import business.simulation.CompactDay;
+import business.simulation.OfferCatalog;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du cache d'évaluation des excursions
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ExcursionCacheTest {
+    
+    private static final double EPSILON = 1e-9;
+    
+    private OfferCatalog catalog;
+    
+    @BeforeEach
+    public void setUp() {
+        List<Site> sites = Arrays.asList(
+            new HistoricalSite(1, "Musée de Tahiti", 15.0, new Position(-17.555, -149.590),
+                    "Musée", LocalTime.of(9, 0), LocalTime.of(17, 0), Duration.ofHours(2)),
+            new ActivitySite(2, "Centre de plongée", 45.0, new Position(-17.535, -149.569),
+                    "Plongée", LocalTime.of(8, 0), LocalTime.of(17, 0), Duration.ofHours(3)),
+            new ActivitySite(3, "Randonnée Mont Aorai", 25.0, new Position(-17.580, -149.500),
+                    "Randonnée", LocalTime.of(6, 0), LocalTime.of(9, 0), Duration.ofHours(6)));
+        List<Hotel> hotels = Arrays.asList(
+            new Hotel(1, "Pension Fare Suisse", 90.0, new Position(-17.540, -149.570), 2, "Plage de Papeete"));
+        catalog = new OfferCatalog(sites, hotels);
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("ExcursionCache - Succès après premier calcul")
+    public void testExcursionCache_HitAfterMiss() {
+        ExcursionCache cache = new ExcursionCache(10);
+        int[] sites = {0, 1};
+        
+        ExcursionEvaluation first = cache.get(catalog, 0, sites, 2);
+        ExcursionEvaluation second = cache.get(catalog, 0, new int[] {0, 1}, 2);
+        
+        assertSame(first, second, "La seconde évaluation doit venir du cache");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio(), EPSILON);
+        
+        // L'ordre des sites fait partie de la clé
+        cache.get(catalog, 0, new int[] {1, 0}, 2);
+        assertEquals(2, cache.getMisses());
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("ExcursionCache - Coût identique au calculateur de prix")
+    public void testExcursionCache_CostMatchesPriceCalculator() {
+        ExcursionEvaluation evaluation = new ExcursionCache().get(catalog, 0, new int[] {0, 1}, 2);
+        CompactDay day = CompactDay.excursion(catalog, 0, 0, 1);
+        
+        double expected = new PriceCalculator().calculateExcursionCost(day.toDayPlan(0, catalog).getExcursion());
+        assertEquals(expected, evaluation.getCost(), EPSILON);
+        assertEquals(3, evaluation.getLegCount());
+        assertEquals(day.comfortSum(catalog), evaluation.getComfortSum());
+        assertTrue(evaluation.isFeasible());
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("ExcursionCache - Horaires d'ouverture non respectés")
+    public void testExcursionCache_TimeWindow() {
+        // La randonnée ferme à 9h mais dure 6h : jamais faisable
+        ExcursionEvaluation evaluation = new ExcursionCache().get(catalog, 0, new int[] {2}, 1);
+        assertFalse(evaluation.isFeasible());
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("ExcursionCache - Éviction par taille")
+    public void testExcursionCache_Eviction() {
+        ExcursionCache cache = new ExcursionCache(2);
+        cache.get(catalog, 0, new int[] {0}, 1);
+        cache.get(catalog, 0, new int[] {1}, 1);
+        cache.get(catalog, 0, new int[] {2}, 1);
+        
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        
+        // La plus ancienne entrée a été évincée
+        cache.get(catalog, 0, new int[] {0}, 1);
+        assertEquals(0, cache.getHits());
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("ExcursionCache - Identifiants au-delà de 16 bits")
+    public void testExcursionCache_LargeIds() {
+        List<Site> sites = Arrays.asList(
+            new HistoricalSite(70_000, "Musée de Tahiti", 15.0, new Position(-17.555, -149.590),
+                    "Musée", LocalTime.of(9, 0), LocalTime.of(17, 0), Duration.ofHours(2)),
+            new ActivitySite(1_000_000, "Centre de plongée", 45.0, new Position(-17.535, -149.569),
+                    "Plongée", LocalTime.of(8, 0), LocalTime.of(17, 0), Duration.ofHours(3)));
+        List<Hotel> hotels = Arrays.asList(
+            new Hotel(200_000, "Pension Fare Suisse", 90.0, new Position(-17.540, -149.570), 2, "Plage de Papeete"));
+        OfferCatalog large = new OfferCatalog(sites, hotels);
+        ExcursionCache cache = new ExcursionCache(10);
+        
+        ExcursionEvaluation first = cache.get(large, 0, new int[] {0, 1}, 2);
+        assertSame(first, cache.get(large, 0, new int[] {0, 1}, 2));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+        
+        cache.get(large, 0, new int[] {1}, 1);
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,99 @@
+package test;
+
+import business.domain.Hotel;
+import business.domain.Position;
+import business.planning.HotelIndex;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de l'index des hôtels candidats
+ * Les résultats de l'index sont comparés à un parcours exhaustif
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class HotelIndexTest {
+    
+    private static List<Hotel> hotels;
+    private static HotelIndex index;
+    
+    @BeforeAll
+    public static void setUpClass() {
+        // Hôtels répartis sur Tahiti et Moorea (graine fixe)
+        Random random = new Random(42);
+        hotels = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            double lat = -17.9 + random.nextDouble() * 0.45;
+            double lon = -149.95 + random.nextDouble() * 0.7;
+            hotels.add(new Hotel(i, "Hôtel " + i, 50 + random.nextInt(450), new Position(lat, lon),
+                    1 + random.nextInt(5), "Plage " + i));
+        }
+        index = new HotelIndex(hotels);
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("HotelIndex - Filtrage étoiles / prix")
+    public void testHotelIndex_Eligible() {
+        List<Hotel> expected = hotels.stream()
+                .filter(h -> h.getStarRating() >= 3 && h.getPrice() <= 200)
+                .collect(Collectors.toList());
+        
+        assertEquals(expected.size(), index.countEligible(3, 200));
+        List<Hotel> eligible = index.findEligible(3, 200);
+        assertEquals(expected.size(), eligible.size());
+        assertTrue(eligible.containsAll(expected));
+        for (int i = 1; i < eligible.size(); i++) {
+            assertTrue(eligible.get(i - 1).getStarRating() >= eligible.get(i).getStarRating(),
+                    "Tri par étoiles décroissantes");
+        }
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("HotelIndex - k plus proches identiques au parcours exhaustif")
+    public void testHotelIndex_NearestMatchesBruteForce() {
+        Random random = new Random(7);
+        for (int q = 0; q < 50; q++) {
+            Position center = new Position(-17.9 + random.nextDouble() * 0.45, -149.95 + random.nextDouble() * 0.7);
+            int minStars = 1 + random.nextInt(5);
+            double maxPrice = 100 + random.nextInt(400);
+            int k = 1 + random.nextInt(8);
+            
+            List<Hotel> expected = hotels.stream()
+                    .filter(h -> h.getStarRating() >= minStars && h.getPrice() <= maxPrice)
+                    .sorted(Comparator.comparingDouble(h -> h.getPosition().distanceTo(center)))
+                    .limit(k)
+                    .collect(Collectors.toList());
+            
+            assertEquals(expected, index.findNearest(center, k, minStars, maxPrice),
+                    "Requête " + q + " : centre=" + center + ", k=" + k);
+        }
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("HotelIndex - Aucun hôtel éligible")
+    public void testHotelIndex_NoEligible() {
+        assertTrue(index.findNearest(new Position(-17.5, -149.5), 3, 5, 10).isEmpty());
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("HotelIndex - Étoiles hors de [0, 5] : même résultat que la borne, quel que soit k")
+    public void testHotelIndex_StarsOutOfRange() {
+        Position center = new Position(-17.6, -149.6);
+        for (int k : new int[] {1, 3, 10, 100, 1000}) {
+            assertEquals(index.findNearest(center, k, 5, 300), index.findNearest(center, k, 7, 300), "k=" + k);
+            assertEquals(index.findNearest(center, k, 0, 300), index.findNearest(center, k, -2, 300), "k=" + k);
+            assertFalse(index.findNearest(center, k, 7, 300).isEmpty(), "k=" + k);
+        }
+        assertEquals(index.countEligible(5, 300), index.findNearest(center, 1000, 7, 300).size());
+    }
+}
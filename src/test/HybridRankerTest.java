@@ -0,0 +1,129 @@
+package test;
+
+import business.domain.Position;
+import org.junit.jupiter.api.*;
+import persistence.bda.HybridRanker;
+import persistence.bda.HybridRanking;
+import persistence.bda.PopularityCounters;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du classement hybride (score Lucene + prix, distance, popularité)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class HybridRankerTest {
+    
+    private static final Position PAPEETE = new Position(-17.535, -149.569);
+    
+    @Test
+    @Order(1)
+    @DisplayName("Top-k - Identique à un tri complet (égalités : ordre d'entrée)")
+    public void testTopKMatchesFullSort() {
+        SplittableRandom random = new SplittableRandom(7);
+        double[] scores = new double[5000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(200) / 10.0; // nombreuses égalités
+        }
+        int[] expected = IntStream.range(0, scores.length).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparingInt(i -> i))
+                .mapToInt(Integer::intValue).toArray();
+        
+        assertArrayEquals(Arrays.copyOf(expected, 25), HybridRanker.topK(scores, 25));
+        assertArrayEquals(expected, HybridRanker.topK(scores, 0));
+        assertEquals(0, HybridRanker.topK(new double[0], 10).length);
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Texte seul - Ordre Lucene conservé")
+    public void testTextOnly() {
+        HybridRanker.Candidates c = candidates();
+        assertTrue(HybridRanking.textOnly().isTextOnly());
+        int[] rows = new HybridRanker(HybridRanking.textOnly()).rank(c, PAPEETE, 0);
+        assertArrayEquals(new int[] {0, 1, 2, 3}, rows);
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Prix et distance - Un site moins pertinent mais proche et gratuit remonte")
+    public void testPriceAndDistance() {
+        HybridRanker.Candidates c = candidates();
+        HybridRanking ranking = HybridRanking.parse("text=1,price=0.5,distance=1");
+        int[] rows = new HybridRanker(ranking).rank(c, PAPEETE, 2);
+        
+        assertEquals(2, rows.length);
+        assertEquals(4, c.id(rows[0]), "site 4 : gratuit, à Papeete");
+        
+        // Sans origine, le terme distance est ignoré
+        int[] noOrigin = new HybridRanker(HybridRanking.parse("text=1,distance=1")).rank(c, null, 0);
+        assertArrayEquals(new int[] {0, 1, 2, 3}, noOrigin);
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Popularité - Compteurs et terme logarithmique")
+    public void testPopularity() {
+        PopularityCounters counters = new PopularityCounters();
+        counters.record(3, 500);
+        counters.record(2);
+        assertEquals(500, counters.get(3));
+        assertEquals(0, counters.get(99));
+        
+        HybridRanker.Candidates c = new HybridRanker.Candidates(2);
+        c.add(1, 10f, 20, -17.5, -149.5, counters.get(2));
+        c.add(3, 9f, 20, -17.5, -149.5, counters.get(3));
+        int[] rows = new HybridRanker(HybridRanking.parse("text=1,popularity=0.5")).rank(c, null, 0);
+        assertEquals(3, c.id(rows[0]));
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("Formule - Analyse et validation")
+    public void testParse() {
+        HybridRanking ranking = HybridRanking.parse("text=2, price=0.3, distanceScaleKm=10");
+        assertEquals(2.0, ranking.getTextWeight(), 1e-9);
+        assertEquals(0.3, ranking.getPriceWeight(), 1e-9);
+        assertEquals(10.0, ranking.getDistanceScaleKm(), 1e-9);
+        assertFalse(ranking.isTextOnly());
+        
+        assertThrows(IllegalArgumentException.class, () -> HybridRanking.parse("stars=1"));
+        assertThrows(IllegalArgumentException.class, () -> HybridRanking.parse("price=-1"));
+        assertThrows(IllegalArgumentException.class, () -> HybridRanking.parse("priceScale=0"));
+    }
+    
+    @Test
+    @Order(6)
+    @DisplayName("Formule - Propriété système (absente ou invalide : texte seul)")
+    public void testFromSystemProperty() {
+        String previous = System.getProperty(HybridRanking.FORMULA_PROPERTY);
+        try {
+            System.clearProperty(HybridRanking.FORMULA_PROPERTY);
+            assertTrue(HybridRanking.fromSystemProperty().isTextOnly());
+            
+            System.setProperty(HybridRanking.FORMULA_PROPERTY, "text=1,distance=0.5");
+            assertEquals(0.5, HybridRanking.fromSystemProperty().getDistanceWeight(), 1e-9);
+            
+            System.setProperty(HybridRanking.FORMULA_PROPERTY, "stars=1");
+            assertTrue(HybridRanking.fromSystemProperty().isTextOnly());
+        } finally {
+            if (previous == null) System.clearProperty(HybridRanking.FORMULA_PROPERTY);
+            else System.setProperty(HybridRanking.FORMULA_PROPERTY, previous);
+        }
+    }
+    
+    /** 4 candidats dans l'ordre Lucene ; le dernier est gratuit et à Papeete */
+    private static HybridRanker.Candidates candidates() {
+        HybridRanker.Candidates c = new HybridRanker.Candidates(1);
+        c.add(1, 12.0f, 80, -16.50, -151.74, 0);   // Bora Bora
+        c.add(2, 11.0f, 60, -17.48, -149.82, 0);   // Moorea
+        c.add(3, 10.5f, 45, -17.70, -149.30, 0);   // Presqu'île
+        c.add(4, 9.0f, 0, -17.536, -149.570, 0);   // Papeete
+        return c;
+    }
+}
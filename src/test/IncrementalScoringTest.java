@@ -0,0 +1,278 @@
+package test;
+
+import business.domain.ActivitySite;
+import business.domain.HistoricalSite;
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+import business.scoring.ComfortContext;
+import business.scoring.ComfortScorer;
+import business.scoring.PriceCalculator;
+import business.scoring.PriceContext;
+import business.simulation.DayPlan;
+import business.simulation.Excursion;
+import business.simulation.Offer;
+import business.simulation.TravelLeg;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de cohérence des contextes de score incrémentaux
+ * Chaque variation (delta) est comparée au recalcul complet de l'offre modifiée
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class IncrementalScoringTest {
+    
+    private static final double EPSILON = 1e-9;
+    
+    private final PriceCalculator priceCalculator = new PriceCalculator();
+    private final ComfortScorer comfortScorer = new ComfortScorer();
+    
+    private Hotel hotel;
+    private Hotel luxuryHotel;
+    private Site museum;
+    private Site diving;
+    private Site surf;
+    private Site hiking;
+    
+    @BeforeEach
+    public void setUp() {
+        hotel = new Hotel(1, "Pension Fare Suisse", 90.0, new Position(-17.540, -149.570), 2, "Plage de Papeete");
+        luxuryHotel = new Hotel(2, "InterContinental Tahiti", 350.0, new Position(-17.560, -149.610), 5, "Lagon privé");
+        museum = new HistoricalSite(1, "Musée de Tahiti", 15.0, new Position(-17.555, -149.590),
+                "Musée", LocalTime.of(9, 0), LocalTime.of(17, 0), Duration.ofHours(2));
+        diving = new ActivitySite(2, "Centre de plongée", 45.0, new Position(-17.535, -149.569),
+                "Plongée", LocalTime.of(8, 0), LocalTime.of(17, 0), Duration.ofHours(3));
+        surf = new ActivitySite(3, "École de surf", 60.0, new Position(-17.850, -149.270),
+                "Surf", LocalTime.of(7, 0), LocalTime.of(18, 0), Duration.ofHours(4));
+        hiking = new ActivitySite(4, "Randonnée Mont Aorai", 25.0, new Position(-17.580, -149.500),
+                "Randonnée", LocalTime.of(6, 0), LocalTime.of(14, 0), Duration.ofHours(6));
+    }
+    
+    // =====================================================
+    // TESTS PRIX
+    // =====================================================
+    
+    @Test
+    @Order(1)
+    @DisplayName("PriceContext - Total identique au recalcul complet")
+    public void testPriceContext_BaseTotal() {
+        Offer offer = baseOffer();
+        PriceContext ctx = priceCalculator.createContext(offer);
+        
+        assertEquals(priceCalculator.calculateTotal(offer), ctx.getTotal(), EPSILON);
+        assertEquals(offer.calculatePrice(), ctx.getTotal(), EPSILON);
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("PriceContext - Ajout d'un site dans une excursion")
+    public void testPriceContext_AddSite() {
+        Offer offer = baseOffer();
+        PriceContext ctx = priceCalculator.createContext(offer);
+        
+        // hotel -> musée -> hotel devient hotel -> musée -> randonnée -> hotel
+        Excursion exc = offer.getDays().get(0).getExcursion();
+        TravelLeg removed = exc.getLegs().get(1);
+        TravelLeg toHiking = leg(museum, hiking, TransportMode.BUS);
+        TravelLeg back = leg(hiking, hotel, TransportMode.BUS);
+        
+        double delta = ctx.deltaAddSite(hiking) + ctx.deltaRemoveLeg(removed)
+                     + ctx.deltaAddLeg(toHiking) + ctx.deltaAddLeg(back);
+        
+        exc.getSites().add(hiking);
+        exc.setLegs(new ArrayList<>(Arrays.asList(exc.getLegs().get(0), toHiking, back)));
+        
+        assertEquals(priceCalculator.calculateTotal(offer), ctx.getTotal() + delta, EPSILON);
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("PriceContext - Suppression et remplacement de site")
+    public void testPriceContext_RemoveAndReplaceSite() {
+        Offer offer = baseOffer();
+        PriceContext ctx = priceCalculator.createContext(offer);
+        Excursion exc = offer.getDays().get(2).getExcursion();
+        
+        double delta = ctx.deltaReplaceSite(surf, museum);
+        exc.getSites().set(exc.getSites().indexOf(surf), museum);
+        assertEquals(priceCalculator.calculateTotal(offer), ctx.getTotal() + delta, EPSILON);
+        
+        PriceContext ctx2 = priceCalculator.createContext(offer);
+        double delta2 = ctx2.deltaRemoveSite(diving);
+        exc.getSites().remove(diving);
+        assertEquals(priceCalculator.calculateTotal(offer), ctx2.getTotal() + delta2, EPSILON);
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("PriceContext - Remplacement de jour et d'hôtel")
+    public void testPriceContext_ReplaceDayAndHotel() {
+        Offer offer = baseOffer();
+        PriceContext ctx = priceCalculator.createContext(offer);
+        
+        DayPlan newDay = new DayPlan(1, hotel, excursion(hotel, TransportMode.BOAT, surf));
+        double delta = ctx.deltaReplaceDay(1, newDay);
+        offer.getDays().set(1, newDay);
+        assertEquals(priceCalculator.calculateTotal(offer), ctx.getTotal() + delta, EPSILON);
+        
+        ctx.replaceDay(1, newDay);
+        assertEquals(priceCalculator.calculateTotal(offer), ctx.getTotal(), EPSILON);
+        
+        double hotelDelta = ctx.deltaReplaceHotel(hotel, luxuryHotel);
+        for (DayPlan day : offer.getDays()) {
+            day.setHotel(luxuryHotel);
+        }
+        assertEquals(priceCalculator.calculateTotal(offer), ctx.getTotal() + hotelDelta, EPSILON);
+    }
+    
+    // =====================================================
+    // TESTS CONFORT
+    // =====================================================
+    
+    @Test
+    @Order(5)
+    @DisplayName("ComfortContext - Score identique au recalcul complet")
+    public void testComfortContext_BaseScore() {
+        Offer offer = baseOffer();
+        ComfortContext ctx = comfortScorer.createContext(offer);
+        
+        int score = comfortScorer.calculate(offer);
+        assertEquals(score, ctx.getScore());
+        assertTrue(score >= 0 && score <= 100, "Le score doit être entre 0 et 100");
+        assertEquals(offer.getRestDaysCount(), ctx.getRestDays());
+    }
+    
+    @Test
+    @Order(6)
+    @DisplayName("ComfortContext - Ajout, suppression et remplacement de trajets")
+    public void testComfortContext_Legs() {
+        Offer offer = baseOffer();
+        ComfortContext ctx = comfortScorer.createContext(offer);
+        Excursion exc = offer.getDays().get(0).getExcursion();
+        
+        TravelLeg removed = exc.getLegs().get(1);
+        TravelLeg toHiking = leg(museum, hiking, TransportMode.FOOT);
+        TravelLeg back = leg(hiking, hotel, TransportMode.BOAT);
+        int delta = ctx.deltaReplaceLegs(Arrays.asList(removed), Arrays.asList(toHiking, back));
+        exc.setLegs(new ArrayList<>(Arrays.asList(exc.getLegs().get(0), toHiking, back)));
+        assertEquals(comfortScorer.calculate(offer), ctx.getScore() + delta);
+        
+        ComfortContext ctx2 = comfortScorer.createContext(offer);
+        TravelLeg boat = leg(museum, hiking, TransportMode.BOAT);
+        int delta2 = ctx2.deltaReplaceLeg(toHiking, boat);
+        exc.getLegs().set(1, boat);
+        assertEquals(comfortScorer.calculate(offer), ctx2.getScore() + delta2);
+        
+        ComfortContext ctx3 = comfortScorer.createContext(offer);
+        int delta3 = ctx3.deltaRemoveLeg(back);
+        exc.getLegs().remove(back);
+        assertEquals(comfortScorer.calculate(offer), ctx3.getScore() + delta3);
+        
+        ComfortContext ctx4 = comfortScorer.createContext(offer);
+        TravelLeg extra = leg(hiking, hotel, TransportMode.FOOT);
+        int delta4 = ctx4.deltaAddLeg(extra);
+        exc.getLegs().add(extra);
+        assertEquals(comfortScorer.calculate(offer), ctx4.getScore() + delta4);
+    }
+    
+    @Test
+    @Order(7)
+    @DisplayName("ComfortContext - Transformation en jour de repos et changement d'hôtel")
+    public void testComfortContext_RestDayAndHotel() {
+        Offer offer = baseOffer();
+        ComfortContext ctx = comfortScorer.createContext(offer);
+        
+        DayPlan rest = new DayPlan(2, hotel, null);
+        int delta = ctx.deltaReplaceDay(2, rest);
+        offer.getDays().set(2, rest);
+        assertEquals(comfortScorer.calculate(offer), ctx.getScore() + delta);
+        
+        ctx.replaceDay(2, rest);
+        assertEquals(comfortScorer.calculate(offer), ctx.getScore());
+        
+        int hotelDelta = ctx.deltaReplaceHotel(luxuryHotel);
+        DayPlan first = new DayPlan(0, luxuryHotel, offer.getDays().get(0).getExcursion());
+        assertEquals(hotelDelta, ctx.deltaReplaceDay(0, first));
+        offer.getDays().set(0, first);
+        assertEquals(comfortScorer.calculate(offer), ctx.getScore() + hotelDelta);
+    }
+    
+    @Test
+    @Order(8)
+    @DisplayName("Contextes - Séquence de mouvements acceptés")
+    public void testContexts_MoveSequence() {
+        Offer offer = baseOffer();
+        PriceContext price = priceCalculator.createContext(offer);
+        ComfortContext comfort = comfortScorer.createContext(offer);
+        
+        List<DayPlan> moves = Arrays.asList(
+            new DayPlan(0, hotel, excursion(hotel, TransportMode.BOAT, diving, surf)),
+            new DayPlan(1, hotel, null),
+            new DayPlan(2, hotel, excursion(hotel, TransportMode.FOOT, museum, hiking, diving)),
+            new DayPlan(3, hotel, excursion(hotel, TransportMode.BUS, hiking))
+        );
+        
+        for (int i = 0; i < moves.size(); i++) {
+            int dayIndex = i % offer.getNbDays();
+            double priceDelta = price.deltaReplaceDay(dayIndex, moves.get(i));
+            int comfortDelta = comfort.deltaReplaceDay(dayIndex, moves.get(i));
+            
+            offer.getDays().set(dayIndex, moves.get(i));
+            assertEquals(priceCalculator.calculateTotal(offer), price.getTotal() + priceDelta, EPSILON);
+            assertEquals(comfortScorer.calculate(offer), comfort.getScore() + comfortDelta);
+            
+            price.replaceDay(dayIndex, moves.get(i));
+            comfort.replaceDay(dayIndex, moves.get(i));
+        }
+    }
+    
+    // =====================================================
+    // MÉTHODES UTILITAIRES
+    // =====================================================
+    
+    /**
+     * Offre de 4 jours : excursion (1 site), repos, excursion (2 sites), repos
+     */
+    private Offer baseOffer() {
+        List<DayPlan> days = new ArrayList<>();
+        days.add(new DayPlan(0, hotel, excursion(hotel, TransportMode.BUS, museum)));
+        days.add(new DayPlan(1, hotel, null));
+        days.add(new DayPlan(2, hotel, excursion(hotel, TransportMode.BOAT, diving, surf)));
+        days.add(new DayPlan(3, hotel, null));
+        return new Offer(days);
+    }
+    
+    private Excursion excursion(Hotel h, TransportMode mode, Site... sites) {
+        List<TravelLeg> legs = new ArrayList<>();
+        Position previous = h.getPosition();
+        for (Site site : sites) {
+            legs.add(leg(previous, site.getPosition(), mode));
+            previous = site.getPosition();
+        }
+        legs.add(leg(previous, h.getPosition(), mode));
+        return new Excursion(new ArrayList<>(Arrays.asList(sites)), h, legs);
+    }
+    
+    private TravelLeg leg(Site from, Site to, TransportMode mode) {
+        return leg(from.getPosition(), to.getPosition(), mode);
+    }
+    
+    private TravelLeg leg(Site from, Hotel to, TransportMode mode) {
+        return leg(from.getPosition(), to.getPosition(), mode);
+    }
+    
+    private TravelLeg leg(Position from, Position to, TransportMode mode) {
+        TravelLeg leg = new TravelLeg(from, to, mode);
+        leg.calculate();
+        return leg;
+    }
+}
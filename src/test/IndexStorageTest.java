@@ -0,0 +1,103 @@
+package test;
+
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NRTCachingDirectory;
+import org.junit.jupiter.api.*;
+import persistence.bda.IndexStorage;
+import persistence.bda.LuceneSearch;
+import persistence.bda.TextIndexUpdater;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du stockage des index Lucene (mémoire, mmap, cache NRT)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class IndexStorageTest {
+    
+    private Path index;
+    
+    @BeforeEach
+    public void createIndex() throws Exception {
+        index = Files.createTempDirectory("storage-index");
+        try (TextIndexUpdater updater = new TextIndexUpdater("id_site", index)) {
+            for (int id = 1; id <= 50; id++) {
+                updater.update(id, "lagon turquoise " + id);
+            }
+            updater.commit();
+        }
+    }
+    
+    @AfterEach
+    public void deleteIndex() throws Exception {
+        IndexStorage.shared().invalidate(index);
+        try (Stream<Path> files = Files.walk(index)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Mode AUTO - Petit index en mémoire, grand index en mmap")
+    public void testAutoMode() throws Exception {
+        IndexStorage storage = new IndexStorage();
+        Directory heap = storage.openForSearch(index);
+        assertTrue(heap instanceof ByteBuffersDirectory);
+        assertSame(heap, storage.openForSearch(index), "Directory partagé");
+        assertEquals(50, new LuceneSearch("id_site", heap).search("lagon").size());
+        
+        storage.setHeapMaxMB(0);
+        Directory mmap = storage.openForSearch(index);
+        assertTrue(mmap instanceof MMapDirectory);
+        assertEquals(50, new LuceneSearch("id_site", mmap).search("lagon").size());
+        
+        assertEquals(IndexStorage.Mode.MMAP, storage.modeFor(1));
+        storage.setMode(IndexStorage.Mode.HEAP);
+        assertEquals(IndexStorage.Mode.HEAP, storage.modeFor(Long.MAX_VALUE));
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Copie en mémoire - Relue après un commit")
+    public void testInvalidateOnCommit() throws Exception {
+        assertEquals(50, new LuceneSearch("id_site", index).search("lagon").size());
+        
+        try (TextIndexUpdater updater = new TextIndexUpdater("id_site", index)) {
+            updater.update(51, "lagon bleu");
+            updater.commit();
+            assertEquals(51, new LuceneSearch("id_site", index).search("lagon").size());
+        }
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Écriture - Cache NRT")
+    public void testWriteDirectory() throws Exception {
+        try (Directory dir = IndexStorage.shared().openForWrite(index)) {
+            assertTrue(dir instanceof NRTCachingDirectory);
+        }
+        assertTrue(IndexStorage.sizeOf(index) > 0);
+        assertEquals(0, IndexStorage.sizeOf(index.resolve("absent")));
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Emplacements - Défauts relatifs au répertoire de travail")
+    public void testDefaultLocations() {
+        IndexStorage storage = new IndexStorage();
+        assertEquals(Paths.get(IndexStorage.DEFAULT_INDEX_DIR), storage.getIndexPath());
+        assertFalse(storage.getIndexPath().isAbsolute());
+        assertEquals(IndexStorage.DEFAULT_DOCS_DIR, storage.getDocsDir());
+    }
+}
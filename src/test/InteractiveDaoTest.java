@@ -1,5 +1,6 @@
 package test;
 
+import dao.SiteCriteria;
 import dao.TravelDao;
 import persistence.jdbc.JdbcTransportDao;
 import persistence.jdbc.JdbcTravelDao;
@@ -82,7 +83,7 @@ public class InteractiveDaoTest {
         System.out.println("│  2. Recherche par MOTS-CLÉS (Lucene)                        │");
         System.out.println("│  3. Recherche par BUDGET (min-max)                          │");
         System.out.println("│  4. Recherche par TYPE (HISTORICAL/ACTIVITY)                │");
-        System.out.println("│  5. Recherche COMBINÉE (intersection)                       │");
+        System.out.println("│  5. Recherche COMBINÉE (multi-critères)                     │");
         System.out.println("│  0. Retour                                                  │");
         System.out.println("└─────────────────────────────────────────────────────────────┘");
         
@@ -186,43 +187,38 @@ public class InteractiveDaoTest {
     }
     
     private static void testSitesCombined() {
-        System.out.println("\n┌─ RECHERCHE COMBINÉE (INTERSECTION) ─────────────────────────┐");
+        System.out.println("\n┌─ RECHERCHE COMBINÉE (UNE SEULE REQUÊTE) ────────────────────┐");
         System.out.println("Cette recherche combine plusieurs critères et retourne");
         System.out.println("seulement les sites qui correspondent à TOUS les critères.\n");
         
+        SiteCriteria criteria = SiteCriteria.create();
+        
         // Critère 1 : Mots-clés (optionnel)
         System.out.print("Mots-clés (appuyez Entrée pour ignorer) : ");
-        String keywords = scanner.nextLine();
-        List<Site> byKeywords = null;
-        if (!keywords.trim().isEmpty()) {
-            byKeywords = travelDao.findSitesByKeywords(keywords);
-            System.out.println("  → " + byKeywords.size() + " sites trouvés par mots-clés");
-        }
+        criteria.keywords(scanner.nextLine());
         
         // Critère 2 : Budget (optionnel)
         System.out.print("Prix minimum (€) (0 pour ignorer) : ");
         double min = readDouble("");
         System.out.print("Prix maximum (€) (0 pour ignorer) : ");
         double max = readDouble("");
-        List<Site> byBudget = null;
-        if (min > 0 || max > 0) {
-            if (max == 0) max = Double.MAX_VALUE;
-            byBudget = travelDao.findSitesByPriceRange(min, max);
-            System.out.println("  → " + byBudget.size() + " sites trouvés par budget");
-        }
+        if (min > 0) criteria.minPrice(min);
+        if (max > 0) criteria.maxPrice(max);
         
         // Critère 3 : Type (optionnel)
         System.out.print("Type (HISTORICAL/ACTIVITY, Entrée pour ignorer) : ");
-        String type = scanner.nextLine().toUpperCase();
-        List<Site> byType = null;
-        if (!type.trim().isEmpty()) {
-            byType = travelDao.findSitesByType(type);
-            System.out.println("  → " + byType.size() + " sites trouvés par type");
-        }
+        String type = scanner.nextLine().trim();
+        if (!type.isEmpty()) criteria.type(type);
         
-        // INTERSECTION
-        System.out.println("\n⏳ Calcul de l'intersection...");
-        List<Site> result = intersectSites(byKeywords, byBudget, byType);
+        // Critère 4 : Catégorie (optionnel)
+        System.out.print("Catégorie (ex: plongée, Entrée pour ignorer) : ");
+        String category = scanner.nextLine().trim();
+        if (!category.isEmpty()) criteria.category(category);
+        
+        System.out.println("\n⏳ Exécution de la requête combinée...");
+        long start = System.currentTimeMillis();
+        List<Site> result = travelDao.findSites(criteria);
+        System.out.println("  → " + result.size() + " sites en " + (System.currentTimeMillis() - start) + " ms");
         
         System.out.println("\n╔═══════════════════════════════════════════════════════════╗");
         System.out.println("║                  RÉSULTATS COMBINÉS                       ║");
@@ -0,0 +1,61 @@
+package test;
+
+import business.service.MockTravelDataAccess;
+import business.service.TravelService;
+import business.simulation.DesiredIntensity;
+import business.simulation.OfferRequest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests des événements JFR de la couche métier
+ * Utilise MockTravelDataAccess (pas de base de données)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class JfrEventsTest {
+    
+    @Test
+    @Order(1)
+    @DisplayName("buildOffers - Événements requête, index et phases de génération")
+    public void testBuildOffersEvents() throws Exception {
+        File file = File.createTempFile("tahiti", ".jfr");
+        file.deleteOnExit();
+        
+        try (Recording recording = new Recording()) {
+            recording.enable("tahiti.TravelRequest");
+            recording.enable("tahiti.HotelIndexRebuild");
+            recording.enable("tahiti.OfferGenerationPhase");
+            recording.start();
+            
+            new TravelService(new MockTravelDataAccess())
+                    .buildOffers(new OfferRequest("plongée", 2000, 4, DesiredIntensity.MEDIUM, 3, null));
+            
+            recording.stop();
+            recording.dump(file.toPath());
+        }
+        
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+        Set<String> names = new HashSet<>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName());
+            if ("tahiti.OfferGenerationPhase".equals(event.getEventType().getName())
+                    && "PLAN".equals(event.getString("phase"))) {
+                assertEquals("MEDIUM", event.getString("intensity"));
+                assertTrue(event.getInt("candidates") > 0);
+            }
+        }
+        
+        assertTrue(names.contains("tahiti.TravelRequest"), names.toString());
+        assertTrue(names.contains("tahiti.HotelIndexRebuild"), names.toString());
+        assertTrue(names.contains("tahiti.OfferGenerationPhase"), names.toString());
+    }
+}
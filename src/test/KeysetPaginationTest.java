@@ -0,0 +1,153 @@
+package test;
+
+import business.domain.Hotel;
+import business.domain.Site;
+import dao.DaoException;
+import dao.Page;
+import dao.Pages;
+import dao.SeekKey;
+import dao.TransportEdge;
+import org.junit.jupiter.api.*;
+import persistence.jdbc.JdbcTravelDao;
+import persistence.synthetic.SyntheticTravelDataAccess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la pagination par clé (seek) et des variantes Stream
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class KeysetPaginationTest {
+    
+    private static SyntheticTravelDataAccess dao;
+    
+    @BeforeAll
+    public static void setUp() {
+        dao = new SyntheticTravelDataAccess(42, 1234, 87);
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Sites par id - Pages contiguës, sans doublon ni trou")
+    public void testSitesPagesCoverAll() {
+        List<Integer> seen = new ArrayList<>();
+        SeekKey key = SeekKey.FIRST;
+        int pages = 0;
+        do {
+            Page<Site> page = dao.findSitesPage(key, 100);
+            assertTrue(page.size() <= 100);
+            for (Site s : page.getItems()) seen.add(s.getId());
+            key = page.getNextKey();
+            pages++;
+        } while (key != null);
+        
+        assertEquals(13, pages);
+        List<Integer> expected = dao.findAllSites().stream().map(Site::getId).collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Prix - Ordre (prix, id) et curseur strictement après")
+    public void testPriceRangePages() {
+        List<Hotel> all = new ArrayList<>();
+        SeekKey key = SeekKey.FIRST;
+        do {
+            Page<Hotel> page = dao.findHotelsByPriceRangePage(50, 400, key, 7);
+            all.addAll(page.getItems());
+            key = page.getNextKey();
+        } while (key != null);
+        
+        assertEquals(dao.findHotelsByPriceRange(50, 400).size(), all.size());
+        for (int i = 1; i < all.size(); i++) {
+            SeekKey prev = SeekKey.after(all.get(i - 1).getPrice(), all.get(i - 1).getId());
+            SeekKey cur = SeekKey.after(all.get(i).getPrice(), all.get(i).getId());
+            assertTrue(prev.compareTo(cur) < 0, "ordre strict (prix, id)");
+        }
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Dernière page - Pas de curseur suivant")
+    public void testLastPage() {
+        Page<Site> page = dao.findSitesPage(SeekKey.afterId(1200), 100);
+        assertEquals(34, page.size());
+        assertFalse(page.hasNext());
+        
+        Page<Site> exact = dao.findSitesPage(SeekKey.afterId(1134), 100);
+        assertEquals(100, exact.size());
+        assertFalse(exact.hasNext());
+        
+        assertEquals(0, dao.findSitesPage(SeekKey.afterId(5000), 10).size());
+        assertThrows(IllegalArgumentException.class, () -> dao.findSitesPage(SeekKey.FIRST, 0));
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Stream - Paresseux, une page à la fois")
+    public void testStreamIsLazy() {
+        AtomicInteger fetches = new AtomicInteger();
+        List<Integer> data = new ArrayList<>();
+        for (int i = 1; i <= 95; i++) data.add(i);
+        
+        List<Integer> firstFifteen = Pages.<Integer>stream(key -> {
+            fetches.incrementAndGet();
+            return Pages.slice(data, SeekKey::afterId, key, 10);
+        }).limit(15).collect(Collectors.toList());
+        
+        assertEquals(15, firstFifteen.size());
+        assertEquals(Integer.valueOf(15), firstFifteen.get(14));
+        assertEquals(2, fetches.get());
+        
+        assertEquals(dao.findAllSites().size(), dao.streamSites(250).count());
+        assertEquals(dao.findSitesByPriceRange(10, 80).size(), dao.streamSitesByPriceRange(10, 80, 33).count());
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("Transport - Pagination par position")
+    public void testTransportEdgesPages() {
+        List<TransportEdge> all = dao.findAllTransportEdges();
+        List<TransportEdge> streamed = dao.streamTransportEdges(500).collect(Collectors.toList());
+        assertEquals(all, streamed);
+        
+        Page<TransportEdge> second = dao.findTransportEdgesPage(SeekKey.afterId(500), 500);
+        assertSame(all.get(500), second.getItems().get(0));
+    }
+    
+    @Test
+    @Order(6)
+    @DisplayName("Lookahead - limit + 1 lignes lues")
+    public void testFromLookahead() {
+        Page<Integer> more = Pages.fromLookahead(Arrays.asList(1, 2, 3, 4), SeekKey::afterId, 3);
+        assertEquals(Arrays.asList(1, 2, 3), more.getItems());
+        assertEquals(SeekKey.afterId(3), more.getNextKey());
+        
+        Page<Integer> last = Pages.fromLookahead(Arrays.asList(1, 2, 3), SeekKey::afterId, 3);
+        assertFalse(last.hasNext());
+    }
+    
+    @Test
+    @Order(7)
+    @DisplayName("Erreur - Une page en échec interrompt le Stream")
+    public void testPageFailureIsRethrown() {
+        Iterator<Integer> it = Pages.<Integer>stream(key -> {
+            if (!key.isFirst()) throw new DaoException("page", new IllegalStateException("connexion perdue"));
+            return Pages.slice(Arrays.asList(1, 2, 3), SeekKey::afterId, key, 2);
+        }).iterator();
+        
+        assertEquals(Integer.valueOf(1), it.next());
+        assertEquals(Integer.valueOf(2), it.next());
+        assertThrows(DaoException.class, it::next);
+        
+        // Sans base de données : exception, pas de page vide
+        assertThrows(DaoException.class, () -> new JdbcTravelDao().findSitesPage(SeekKey.FIRST, 10));
+    }
+}
@@ -0,0 +1,124 @@
+package test;
+
+import benchmark.load.LoadGenerator;
+import benchmark.load.LoadOperation;
+import benchmark.load.LoadReport;
+import benchmark.load.LoadRequest;
+import benchmark.load.LoadTarget;
+import benchmark.load.RequestMix;
+import benchmark.load.TravelServiceTarget;
+import benchmark.load.ZipfDistribution;
+import business.service.TravelService;
+import org.junit.jupiter.api.*;
+import persistence.synthetic.SyntheticCatalog;
+import persistence.synthetic.SyntheticTravelDataAccess;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du générateur de charge (distribution, mix, correction de l'omission coordonnée)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class LoadGeneratorTest {
+    
+    @Test
+    @Order(1)
+    @DisplayName("Zipf - Les premiers rangs dominent, tirages conformes aux probabilités")
+    public void testZipfDistribution() {
+        ZipfDistribution zipf = new ZipfDistribution(SyntheticCatalog.keywords(), 1.0);
+        double sum = 0;
+        for (int k = 0; k < zipf.size(); k++) {
+            sum += zipf.probability(k);
+            if (k > 0) assertTrue(zipf.probability(k) < zipf.probability(k - 1));
+        }
+        assertEquals(1.0, sum, 1e-9);
+        
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[zipf.size()];
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.sampleRank(random)]++;
+        }
+        assertEquals(zipf.probability(0), counts[0] / (double) samples, 0.01);
+        assertEquals(zipf.probability(9), counts[9] / (double) samples, 0.005);
+        
+        ZipfDistribution uniform = new ZipfDistribution(Arrays.asList("a", "b", "c", "d"), 0);
+        assertEquals(0.25, uniform.probability(3), 1e-9);
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("RequestMix - Parsing et respect des poids")
+    public void testRequestMix() {
+        RequestMix mix = RequestMix.parse("SITE_SEARCH=3, offer_build=1");
+        SplittableRandom random = new SplittableRandom(2);
+        int sites = 0;
+        for (int i = 0; i < 10_000; i++) {
+            LoadOperation op = mix.nextOperation(random);
+            assertTrue(op == LoadOperation.SITE_SEARCH || op == LoadOperation.OFFER_BUILD);
+            if (op == LoadOperation.SITE_SEARCH) sites++;
+        }
+        assertEquals(7500, sites, 300);
+        assertThrows(IllegalArgumentException.class, () -> RequestMix.parse("SITE_SEARCH"));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Boucle fermée sur TravelService avec un catalogue synthétique")
+    public void testInProcessRun() throws Exception {
+        TravelService service = new TravelService(new SyntheticTravelDataAccess(5, 2000, 100));
+        LoadReport report = new LoadGenerator(new ZipfDistribution(SyntheticCatalog.keywords(), 1.1))
+                .threads(4)
+                .warmupMillis(100)
+                .durationMillis(500)
+                .run(new TravelServiceTarget(service));
+        
+        assertTrue(report.getTotalCount() > 0);
+        assertEquals(0, report.getTotalErrors());
+        assertFalse(report.isCorrected());
+        for (LoadOperation op : LoadOperation.values()) {
+            assertTrue(report.getStats(op).getCount() > 0, "Aucune requête " + op);
+        }
+        assertTrue(report.toJson().contains("\"OFFER_BUILD\""));
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Omission coordonnée - Un blocage retarde les requêtes prévues pendant ce temps")
+    public void testCoordinatedOmissionCorrection() throws Exception {
+        AtomicBoolean stalled = new AtomicBoolean();
+        long begin = System.nanoTime();
+        LoadTarget stallOnce = new LoadTarget() {
+            @Override
+            public boolean supports(LoadOperation operation) {
+                return true;
+            }
+            
+            @Override
+            public int execute(LoadRequest request) throws Exception {
+                if (System.nanoTime() - begin > 300_000_000L && stalled.compareAndSet(false, true)) {
+                    Thread.sleep(300);
+                }
+                return 1;
+            }
+        };
+        
+        LoadReport report = new LoadGenerator(new ZipfDistribution(SyntheticCatalog.keywords(), 1.1))
+                .threads(1)
+                .targetRate(200)
+                .warmupMillis(100)
+                .durationMillis(1000)
+                .mix(RequestMix.parse("SITE_SEARCH=1"))
+                .run(stallOnce);
+        
+        assertTrue(report.isCorrected());
+        long service90 = report.getStats(LoadOperation.SITE_SEARCH).getServiceTime().percentileNanos(90);
+        long response90 = report.getStats(LoadOperation.SITE_SEARCH).getResponseTime().percentileNanos(90);
+        assertTrue(service90 < 20_000_000L, "p90 service : " + service90);
+        assertTrue(response90 > 50_000_000L, "p90 corrigé : " + response90);
+    }
+}
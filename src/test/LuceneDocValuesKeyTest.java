@@ -0,0 +1,92 @@
+package test;
+
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.*;
+import persistence.bda.LuceneSearch;
+import persistence.bda.TextIndexUpdater;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la clé Lucene en DocValues numériques (aucun champ stocké)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class LuceneDocValuesKeyTest {
+    
+    private Path index;
+    
+    @BeforeEach
+    public void createIndexDir() throws Exception {
+        index = Files.createTempDirectory("dv-index");
+    }
+    
+    @AfterEach
+    public void deleteIndexDir() throws Exception {
+        try (Stream<Path> files = Files.walk(index)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Plusieurs segments - Clés lues dans les DocValues")
+    public void testKeysFromDocValues() throws Exception {
+        try (TextIndexUpdater updater = new TextIndexUpdater("id_site", index)) {
+            for (int id = 1; id <= 90; id++) {
+                updater.update(id, id % 3 == 0 ? "plongée dans le lagon" : "randonnée en montagne");
+                if (id % 30 == 0) updater.commit(); // un segment par commit
+            }
+            updater.commit();
+        }
+        
+        Map<Integer, Float> hits = new LuceneSearch("id_site", index).search("lagon");
+        assertEquals(30, hits.size());
+        for (Integer id : hits.keySet()) {
+            assertEquals(0, id % 3, "clé " + id);
+        }
+        
+        try (DirectoryReader reader = DirectoryReader.open(FSDirectory.open(index))) {
+            assertTrue(reader.leaves().size() > 1);
+            assertTrue(reader.storedFields().document(0).getFields().isEmpty(), "rien n'est stocké");
+        }
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Ancien index - Lecture par la clé stockée, mise à jour refusée")
+    public void testStoredFallback() throws Exception {
+        try (IndexWriter writer = new IndexWriter(FSDirectory.open(index), new IndexWriterConfig(new FrenchAnalyzer()))) {
+            for (int id = 7; id <= 8; id++) {
+                Document doc = new Document();
+                doc.add(new TextField("description", "musée des perles " + id, Field.Store.YES));
+                doc.add(new StringField("id_site", String.valueOf(id), Field.Store.YES));
+                writer.addDocument(doc);
+            }
+        }
+        
+        Map<Integer, Float> hits = new LuceneSearch("id_site", index).search("musée");
+        assertEquals(2, hits.size());
+        assertTrue(hits.containsKey(7));
+        assertTrue(hits.containsKey(8));
+        
+        assertThrows(IOException.class, () -> new TextIndexUpdater("id_site", index));
+    }
+}
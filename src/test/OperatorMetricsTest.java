@@ -0,0 +1,61 @@
+package test;
+
+import org.junit.jupiter.api.*;
+import persistence.metrics.LatencyHistogram;
+import persistence.metrics.MetricsRegistry;
+import persistence.metrics.OperatorMetrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests des métriques d'opérateurs (sans base de données ni index Lucene)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class OperatorMetricsTest {
+    
+    @Test
+    @Order(1)
+    @DisplayName("LatencyHistogram - Percentiles à 12,5 % près")
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000);
+        }
+        
+        assertEquals(1000, histogram.getCount());
+        long p50 = histogram.percentileNanos(50);
+        long p99 = histogram.percentileNanos(99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50=" + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 1.125, "p99=" + p99);
+        
+        histogram.reset();
+        assertEquals(0, histogram.percentileNanos(99));
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("MetricsRegistry - Instance partagée, export texte et JMX")
+    public void testRegistry() throws Exception {
+        OperatorMetrics metrics = MetricsRegistry.operator("TestOperator");
+        assertSame(metrics, MetricsRegistry.operator("TestOperator"));
+        
+        metrics.recordInit(2_000_000);
+        metrics.addRowsIn(10);
+        metrics.addRowsOut(3);
+        metrics.addLuceneHits(42);
+        
+        assertTrue(MetricsRegistry.dump().contains("TestOperator"));
+        
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=Operator,name=\"TestOperator\"");
+        assertEquals(42L, server.getAttribute(name, "LuceneHits"));
+        assertEquals(1L, server.getAttribute(name, "Executions"));
+        
+        MetricsRegistry.resetAll();
+        assertEquals(0, metrics.getRowsOut());
+    }
+}
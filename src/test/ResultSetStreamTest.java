@@ -0,0 +1,114 @@
+package test;
+
+import business.domain.Site;
+import business.domain.TransportMode;
+import dao.DaoException;
+import org.junit.jupiter.api.*;
+import persistence.jdbc.ResultSetStream;
+import persistence.synthetic.SyntheticTravelDataAccess;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du Stream paresseux sur ResultSet (lecture en flux des DAO)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ResultSetStreamTest {
+    
+    /** ResultSet factice : lignes 1..rows, échec SQL à la ligne failAt (0 = jamais) */
+    private static ResultSet fakeResultSet(int rows, int failAt, AtomicInteger nextCalls) {
+        int[] cursor = {0};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            nextCalls.incrementAndGet();
+                            if (failAt > 0 && cursor[0] + 1 == failAt) throw new SQLException("connexion perdue");
+                            return ++cursor[0] <= rows;
+                        case "getInt":
+                            return cursor[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Mapping à la demande - Une ligne lue par élément consommé")
+    public void testLazyMapping() {
+        AtomicInteger nextCalls = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        Stream<Integer> stream = ResultSetStream.of(fakeResultSet(1_000_000, 0, nextCalls),
+                rs -> rs.getInt("id"), released::incrementAndGet, "test");
+        
+        assertEquals(0, nextCalls.get(), "rien n'est lu avant la consommation");
+        Iterator<Integer> it = stream.iterator();
+        assertEquals(Integer.valueOf(1), it.next());
+        assertEquals(Integer.valueOf(2), it.next());
+        assertEquals(2, nextCalls.get());
+        assertEquals(0, released.get());
+        
+        stream.close();
+        stream.close();
+        assertEquals(1, released.get(), "ressources libérées une seule fois");
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Fin du parcours - Ressources libérées sans close()")
+    public void testReleasedAtEnd() {
+        AtomicInteger released = new AtomicInteger();
+        List<Integer> ids = ResultSetStream.of(fakeResultSet(5, 0, new AtomicInteger()),
+                rs -> rs.getInt("id"), released::incrementAndGet, "test").collect(Collectors.toList());
+        
+        assertEquals(5, ids.size());
+        assertEquals(1, released.get());
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Erreur SQL - Ressources libérées puis DaoException")
+    public void testErrorIsRethrown() {
+        AtomicInteger released = new AtomicInteger();
+        Iterator<Integer> it = ResultSetStream.of(fakeResultSet(10, 4, new AtomicInteger()),
+                rs -> rs.getInt("id"), released::incrementAndGet, "test").iterator();
+        
+        for (int i = 0; i < 3; i++) {
+            it.next();
+        }
+        assertThrows(DaoException.class, it::hasNext);
+        assertEquals(1, released.get(), "ressources libérées avant l'exception");
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("ResultSet absent - Stream vide")
+    public void testNullResultSet() {
+        AtomicInteger released = new AtomicInteger();
+        assertEquals(0, ResultSetStream.<Integer>of(null, rs -> 1, released::incrementAndGet, "test").count());
+        assertEquals(1, released.get());
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("Implémentation par défaut - Mêmes éléments que findAll")
+    public void testDefaultStreams() {
+        SyntheticTravelDataAccess dao = new SyntheticTravelDataAccess(3, 300, 40);
+        try (Stream<Site> sites = dao.streamAllSites()) {
+            assertEquals(dao.findAllSites().size(), sites.count());
+        }
+        assertEquals(dao.findAllHotels().size(), dao.streamAllHotels().count());
+        assertEquals(dao.findAllTransportEdges().size(), dao.streamTransportEdges((Set<TransportMode>) null).count());
+    }
+}
@@ -0,0 +1,111 @@
+package test;
+
+import business.domain.Position;
+import business.domain.Site;
+import dao.SiteCriteria;
+import org.junit.jupiter.api.*;
+import persistence.jdbc.SiteCriteriaQuery;
+import persistence.synthetic.SyntheticTravelDataAccess;
+
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la recherche de sites multi-critères
+ * (compilation SQL sans base, évaluation en mémoire sur un catalogue synthétique)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SiteCriteriaTest {
+    
+    @Test
+    @Order(1)
+    @DisplayName("Compilation SQL - Tous les critères dans une seule requête paramétrée")
+    public void testCompileAllCriteria() {
+        SiteCriteria criteria = SiteCriteria.create()
+                .type("activity")
+                .priceBetween(10, 60)
+                .category("plongée")
+                .openBetween(LocalTime.of(9, 0), LocalTime.of(12, 0))
+                .boundingBox(-18, -17, -150, -149)
+                .limit(20);
+        SiteCriteriaQuery query = SiteCriteriaQuery.compile(criteria, null);
+        
+        assertEquals(SITE_SELECT + " WHERE site_type = ? AND entry_price BETWEEN ? AND ?"
+                + " AND activity_category = ? AND start_time <= ? AND end_time >= ?"
+                + " AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?"
+                + " ORDER BY id_site LIMIT ?", query.getSql());
+        assertEquals(Arrays.<Object>asList("ACTIVITY", 10.0, 60.0, "plongée",
+                Time.valueOf(LocalTime.of(9, 0)), Time.valueOf(LocalTime.of(12, 0)),
+                -18.0, -17.0, -150.0, -149.0, 20), query.getParameters());
+        
+        // Aucune valeur concaténée dans le SQL
+        assertFalse(query.getSql().contains("plongée"));
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Compilation SQL - Clés Lucene en IN, limite appliquée après tri par score")
+    public void testCompileWithKeys() {
+        SiteCriteria criteria = SiteCriteria.create().maxPrice(30).keywords("  lagon  ").limit(5);
+        SiteCriteriaQuery query = SiteCriteriaQuery.compile(criteria, Arrays.asList(7, 3, 9));
+        
+        assertEquals("lagon", criteria.getKeywords());
+        assertEquals(SITE_SELECT + " WHERE entry_price <= ? AND id_site IN (?, ?, ?) ORDER BY id_site", query.getSql());
+        assertEquals(Arrays.<Object>asList(30.0, 7, 3, 9), query.getParameters());
+        
+        assertEquals(SITE_SELECT + " ORDER BY id_site", SiteCriteriaQuery.compile(SiteCriteria.create(), null).getSql());
+        assertTrue(SiteCriteriaQuery.compile(SiteCriteria.create(), Arrays.<Integer>asList()).getSql().contains("1 = 0"));
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Évaluation en mémoire - Identique à un filtrage explicite")
+    public void testDefaultFindSites() {
+        SyntheticTravelDataAccess dao = new SyntheticTravelDataAccess(8, 3000, 100);
+        List<Site> all = dao.findAllSites();
+        Site reference = all.get(0);
+        
+        SiteCriteria criteria = SiteCriteria.create()
+                .type("HISTORICAL")
+                .priceBetween(0, 15)
+                .openBetween(LocalTime.of(10, 0), LocalTime.of(15, 0))
+                .near(reference.getPosition(), 8);
+        List<Integer> expected = all.stream()
+                .filter(Site::isHistorical)
+                .filter(s -> s.getPrice() <= 15)
+                .filter(s -> !s.getStartTime().isAfter(LocalTime.of(10, 0)) && !s.getEndTime().isBefore(LocalTime.of(15, 0)))
+                .filter(s -> s.getPosition().distanceTo(reference.getPosition()) <= 8)
+                .map(Site::getId).collect(Collectors.toList());
+        
+        List<Integer> actual = dao.findSites(criteria).stream().map(Site::getId).collect(Collectors.toList());
+        assertEquals(expected, actual);
+        assertFalse(actual.isEmpty());
+        
+        // Mots-clés + limite
+        List<Site> limited = dao.findSites(SiteCriteria.create().keywords("plongée").type("ACTIVITY").limit(3));
+        assertEquals(3, limited.size());
+        assertTrue(limited.stream().allMatch(s -> !s.isHistorical()));
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Rayon - La boîte englobante est affinée par la distance exacte")
+    public void testNearUsesExactDistance() {
+        Position center = new Position(-17.5, -149.5);
+        SiteCriteria criteria = SiteCriteria.create().near(center, 10);
+        
+        assertTrue(criteria.getMaxLatitude() - criteria.getMinLatitude() > 0.17);
+        SiteCriteriaQuery query = SiteCriteriaQuery.compile(criteria.limit(10), null);
+        assertFalse(query.getSql().contains("LIMIT"), "Limite après filtre exact du rayon");
+    }
+    
+    private static final String SITE_SELECT =
+            "SELECT id_site, name, latitude, longitude, site_type, entry_price, " +
+            "       start_time, end_time, visit_duration_minutes, short_description " +
+            "FROM Site";
+}
@@ -0,0 +1,124 @@
+package test;
+
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.*;
+import persistence.bda.SnippetGenerator;
+import persistence.bda.TextIndexUpdater;
+import persistence.bda.TextualOperator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests des extraits surlignés (offsets des postings, texte relu dans c.txt)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SnippetGeneratorTest {
+    
+    private Path workDir;
+    private Path docs;
+    private Path index;
+    
+    @BeforeEach
+    public void createIndex() throws Exception {
+        workDir = Files.createTempDirectory("snippets");
+        docs = workDir.resolve("R");
+        index = workDir.resolve("index");
+        
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            longText.append("Sentier côtier et cocotiers. ");
+        }
+        longText.append("Au bout, plongée avec les raies dans le lagon.");
+        
+        Map<Integer, String> texts = new LinkedHashMap<>();
+        texts.put(1, "Plongée dans le lagon de Moorea, plongées de nuit <tous niveaux> & baptêmes.");
+        texts.put(2, longText.toString());
+        texts.put(3, "Musée de Tahiti et des îles.");
+        TextualOperator.addTextDocuments(docs.toString(), texts);
+        try (TextIndexUpdater updater = new TextIndexUpdater("id_site", index)) {
+            for (Map.Entry<Integer, String> e : texts.entrySet()) {
+                updater.update(e.getKey(), e.getValue());
+            }
+            updater.commit();
+        }
+    }
+    
+    @AfterEach
+    public void deleteIndex() throws Exception {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Extraits - Termes surlignés, HTML échappé, ordre de la page")
+    public void testSnippets() throws Exception {
+        SnippetGenerator generator = new SnippetGenerator("id_site", docs.toString(), index);
+        Map<Integer, String> snippets = generator.snippets("plongée", Arrays.asList(2, 1, 3), 1000);
+        
+        assertEquals(Arrays.asList(2, 1), snippets.keySet().stream().collect(Collectors.toList()));
+        String first = snippets.get(1);
+        assertTrue(first.startsWith("<mark>Plongée</mark> dans le lagon"), first);
+        assertTrue(first.contains("<mark>plongées</mark> de nuit"), "même racine : " + first);
+        assertTrue(first.contains("&lt;tous niveaux&gt; &amp; baptêmes"), first);
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Long texte - Fenêtre autour des correspondances")
+    public void testWindow() throws Exception {
+        SnippetGenerator generator = new SnippetGenerator("id_site", docs.toString(), index);
+        String snippet = generator.snippets("raies lagon", Collections.singletonList(2), 1000).get(2);
+        
+        assertTrue(snippet.startsWith("…"), snippet);
+        assertTrue(snippet.contains("<mark>raies</mark> dans le <mark>lagon</mark>"), snippet);
+        assertTrue(snippet.length() < SnippetGenerator.DEFAULT_SNIPPET_CHARS + 40, snippet);
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Budget épuisé ou page vide - Aucun extrait")
+    public void testBudget() throws Exception {
+        SnippetGenerator generator = new SnippetGenerator("id_site", docs.toString(), index);
+        assertTrue(generator.snippets("plongée", Arrays.asList(1, 2), 0).isEmpty());
+        assertTrue(generator.snippets("plongée", Collections.<Integer>emptyList(), 1000).isEmpty());
+        assertTrue(generator.snippets("requins", Arrays.asList(1, 2, 3), 1000).isEmpty());
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Description sans offsets - Index à reconstruire")
+    public void testIndexWithoutOffsets() throws Exception {
+        Path old = workDir.resolve("old-index");
+        try (IndexWriter writer = new IndexWriter(FSDirectory.open(old), new IndexWriterConfig(new FrenchAnalyzer()))) {
+            Document doc = new Document();
+            doc.add(new TextField("description", "plongée", Field.Store.NO));
+            doc.add(new StringField("id_site", "1", Field.Store.NO));
+            doc.add(new NumericDocValuesField("id_site", 1));
+            writer.addDocument(doc);
+        }
+        assertThrows(IOException.class, () -> new TextIndexUpdater("id_site", old));
+    }
+}
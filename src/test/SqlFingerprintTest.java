@@ -0,0 +1,69 @@
+package test;
+
+import org.junit.jupiter.api.*;
+import persistence.jdbc.SlowQueryLog;
+import persistence.metrics.SqlFingerprint;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests des empreintes SQL et du journal des requêtes lentes (sans base de données)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SqlFingerprintTest {
+    
+    @Test
+    @Order(1)
+    @DisplayName("SqlFingerprint - Littéraux et listes IN normalisés")
+    public void testLiteralsAndInLists() {
+        String a = SqlFingerprint.of("SELECT * FROM Site WHERE id_site IN (?,?,?) AND entry_price > 10");
+        String b = SqlFingerprint.of("select *\n  from Site where id_site in (?, ?) and entry_price > 25.5");
+        
+        assertEquals("select * from site where id_site in (?+) and entry_price > ?", a);
+        assertEquals(a, b);
+        
+        assertEquals(SqlFingerprint.of("SELECT 1 FROM t WHERE tm.name IN ('BUS','BOAT') -- modes"),
+                SqlFingerprint.of("SELECT 2 FROM t WHERE tm.name IN ('FOOT')"));
+        assertEquals("select id_site2 from site", SqlFingerprint.of("SELECT id_site2 FROM Site"));
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("SqlFingerprint - Chaînes LIKE ... OR ... normalisées")
+    public void testLikeChains() {
+        String one = SqlFingerprint.of("SELECT id_hotel FROM hotel WHERE description COLLATE utf8mb4_general_ci LIKE ? ORDER BY id_hotel");
+        String three = SqlFingerprint.of("SELECT id_hotel FROM hotel WHERE description COLLATE utf8mb4_general_ci LIKE ?"
+                + " OR description COLLATE utf8mb4_general_ci LIKE ? OR description COLLATE utf8mb4_general_ci LIKE ?"
+                + " ORDER BY id_hotel");
+        String two = SqlFingerprint.of("SELECT id_hotel FROM hotel WHERE description COLLATE utf8mb4_general_ci LIKE ?"
+                + " OR description COLLATE utf8mb4_general_ci LIKE ? ORDER BY id_hotel");
+        
+        assertEquals(two, three);
+        assertNotEquals(one, two);
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("SlowQueryLog - Requête écrite avec ses valeurs liées")
+    public void testSlowQueryLog() throws Exception {
+        File log = File.createTempFile("slow-query", ".log");
+        log.deleteOnExit();
+        System.setProperty("tahiti.sql.slowLog", log.getPath());
+        
+        Map<Integer, Object> binds = new TreeMap<>();
+        binds.put(1, "%plage%");
+        binds.put(2, 3);
+        SlowQueryLog.log(450_000_000L, "select ? from hotel", "SELECT 1 FROM hotel", binds);
+        
+        String content = new String(Files.readAllBytes(new File(log.getPath() + ".0").toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("450 ms | select ? from hotel"), content);
+        assertTrue(content.contains("{1=%plage%, 2=3}"), content);
+        assertTrue(SlowQueryLog.isSlow(SlowQueryLog.getThresholdMillis() * 1_000_000));
+    }
+}
@@ -0,0 +1,89 @@
+package test;
+
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermInSetQuery;
+import org.junit.jupiter.api.*;
+import persistence.bda.LuceneSearch;
+import persistence.bda.TextIndexUpdater;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la recherche Lucene filtrée par un ensemble de clés SQL (plan SQL d'abord)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SqlFirstSearchTest {
+    
+    private static final int DOCS = 6000;
+    
+    private Path index;
+    
+    @BeforeEach
+    public void createIndex() throws Exception {
+        index = Files.createTempDirectory("sql-first-index");
+        try (TextIndexUpdater updater = new TextIndexUpdater("id_site", index)) {
+            for (int id = 1; id <= DOCS; id++) {
+                updater.update(id, id % 2 == 0 ? "plage de sable fin" : "musée d'art moderne");
+            }
+            updater.commit();
+        }
+    }
+    
+    @AfterEach
+    public void deleteIndex() throws Exception {
+        try (Stream<Path> files = Files.walk(index)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("Filtre par termes - Toutes les clés autorisées qui correspondent, au-delà de 100")
+    public void testTermsFilter() throws Exception {
+        Set<Integer> keys = IntStream.rangeClosed(1, 900).boxed().collect(Collectors.toSet());
+        LuceneSearch lucene = new LuceneSearch("id_site", index);
+        
+        Map<Integer, Float> hits = lucene.search("plage", keys);
+        assertEquals(450, hits.size());
+        for (Integer id : hits.keySet()) {
+            assertTrue(id % 2 == 0 && id <= 900, "clé " + id);
+        }
+        assertEquals(450, lucene.getLastTotalHits());
+        assertEquals(900, lucene.getLastCandidates(), "candidats = clés du filtre");
+        
+        assertTrue(lucene.search("plage").size() <= 100, "sans filtre, top-N borné");
+        assertEquals(DOCS, lucene.getLastCandidates(), "candidats = tout l'index");
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Filtre DocValues - Grand ensemble de clés")
+    public void testDocValuesFilter() throws Exception {
+        Set<Integer> keys = IntStream.rangeClosed(1001, 6000).boxed().collect(Collectors.toSet());
+        Query filter = LuceneSearch.keyFilter("id_site", keys);
+        assertFalse(filter instanceof TermInSetQuery, "au-delà du seuil, filtre par DocValues");
+        assertTrue(LuceneSearch.keyFilter("id_site", Arrays.asList(1, 2, 3)) instanceof TermInSetQuery);
+        
+        Map<Integer, Float> hits = new LuceneSearch("id_site", index).search("musée", keys);
+        assertEquals(2500, hits.size());
+        for (Integer id : hits.keySet()) {
+            assertTrue(id % 2 == 1 && id > 1000, "clé " + id);
+        }
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Ensemble vide - Aucun résultat")
+    public void testEmptyKeys() throws Exception {
+        assertTrue(new LuceneSearch("id_site", index).search("plage", Collections.emptySet()).isEmpty());
+    }
+}
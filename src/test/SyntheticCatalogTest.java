@@ -0,0 +1,159 @@
+package test;
+
+import business.domain.Hotel;
+import business.domain.Position;
+import business.domain.Site;
+import business.domain.TransportMode;
+import business.service.TravelService;
+import business.simulation.DesiredIntensity;
+import business.simulation.Offer;
+import business.simulation.OfferRequest;
+import dao.TransportEdge;
+import org.junit.jupiter.api.*;
+import persistence.synthetic.SyntheticCatalog;
+import persistence.synthetic.SyntheticTravelDataAccess;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests du générateur de catalogue synthétique
+ * Aucune base de données : tout est généré en mémoire
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SyntheticCatalogTest {
+    
+    @Test
+    @Order(1)
+    @DisplayName("Même graine = même catalogue, graine différente = autre catalogue")
+    public void testDeterministic() {
+        SyntheticCatalog a = new SyntheticCatalog(42, 2000, 100);
+        SyntheticCatalog b = new SyntheticCatalog(42, 2000, 100);
+        SyntheticCatalog c = new SyntheticCatalog(43, 2000, 100);
+        
+        for (int i = 0; i < 2000; i += 97) {
+            assertEquals(a.site(i).toString(), b.site(i).toString());
+            assertEquals(a.description(i), b.description(i));
+        }
+        assertEquals(a.hotel(57).toString(), b.hotel(57).toString());
+        assertNotEquals(a.site(5).toString(), c.site(5).toString());
+        
+        // Un élément ne dépend pas de la taille du catalogue (génération en flux)
+        assertEquals(a.site(1234).getName(), new SyntheticCatalog(42, 5000, 100, a.getIslandCount()).site(1234).getName());
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("Sites regroupés par île, hôtels sur le littoral, horaires cohérents")
+    public void testIslandClustering() {
+        SyntheticCatalog catalog = new SyntheticCatalog(7, 3000, 300);
+        
+        catalog.sites().forEach(site -> {
+            int island = catalog.islandOfSite(site.getId() - 1);
+            Position center = catalog.getIslandCenter(island);
+            assertTrue(site.getPosition().distanceTo(center) <= catalog.getIslandRadiusKm(island) + 0.5,
+                    "Site hors de son île : " + site);
+            assertTrue(site.getStartTime().plus(site.getDuration()).compareTo(site.getEndTime()) <= 0,
+                    "Visite plus longue que le créneau : " + site);
+            assertTrue(site.getPrice() >= 0);
+        });
+        catalog.hotels().forEach(hotel -> {
+            int island = catalog.islandOfHotel(hotel.getId() - 1);
+            double distance = hotel.getPosition().distanceTo(catalog.getIslandCenter(island));
+            assertTrue(distance >= catalog.getIslandRadiusKm(island) * 0.8, "Hôtel à l'intérieur des terres : " + hotel);
+            assertTrue(hotel.getStarRating() >= 1 && hotel.getStarRating() <= 5);
+            assertTrue(hotel.getPrice() > 0);
+        });
+        
+        long historical = catalog.sites().filter(Site::isHistorical).count();
+        assertTrue(historical > 600 && historical < 1500, "Proportion de sites historiques : " + historical);
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("Graphe de transport : nœuds valides, arêtes dans les deux sens, mode cohérent")
+    public void testTransportEdges() {
+        SyntheticCatalog catalog = new SyntheticCatalog(7, 1000, 60, 5);
+        List<TransportEdge> edges = catalog.transportEdges().collect(Collectors.toList());
+        
+        assertFalse(edges.isEmpty());
+        assertEquals(0, edges.size() % 2);
+        for (int i = 0; i < edges.size(); i += 2) {
+            TransportEdge edge = edges.get(i);
+            TransportEdge back = edges.get(i + 1);
+            assertEquals(edge.fromNodeId, back.toNodeId);
+            assertEquals(edge.toNodeId, back.fromNodeId);
+            assertValidNode(catalog, edge.fromNodeId);
+            assertValidNode(catalog, edge.toNodeId);
+            
+            boolean interIsland = edge.fromNodeId.startsWith("H:") && edge.toNodeId.startsWith("H:");
+            assertEquals(interIsland, edge.mode == TransportMode.BOAT, edge.toString());
+            assertTrue(edge.durationMinutes >= 0 && edge.cost >= 0);
+        }
+        
+        // Chaque site est relié à au moins un hôtel de son île
+        long linkedSites = edges.stream()
+            .filter(e -> e.fromNodeId.startsWith("H:") && e.toNodeId.startsWith("S:"))
+            .map(e -> e.toNodeId).distinct().count();
+        assertEquals(1000, linkedSites);
+        
+        SyntheticTravelDataAccess dao = new SyntheticTravelDataAccess(catalog);
+        assertEquals(edges.size(), dao.findAllTransportEdges().size());
+        assertTrue(dao.findTransportEdgesByModes(EnumSet.of(TransportMode.BOAT)).stream()
+            .allMatch(e -> e.mode == TransportMode.BOAT));
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("Fichiers c.txt : nom en première ligne, un fichier par site")
+    public void testWriteDescriptions() throws Exception {
+        SyntheticCatalog catalog = new SyntheticCatalog(3, 50, 5);
+        Path dir = Files.createTempDirectory("synthetic-desc");
+        try {
+            assertEquals(50, catalog.writeDescriptions(dir));
+            List<String> lines = Files.readAllLines(dir.resolve("17.txt"), StandardCharsets.UTF_8);
+            assertEquals(catalog.site(16).getName(), lines.get(0));
+            assertTrue(lines.get(1).startsWith(catalog.site(16).getDescription()));
+        } finally {
+            for (Path file : Files.list(dir).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("SyntheticTravelDataAccess - Recherches et génération d'offres")
+    public void testDataAccessAndOffers() {
+        SyntheticTravelDataAccess dao = new SyntheticTravelDataAccess(11, 5000, 250);
+        
+        assertEquals(5000, dao.getAllSites().size());
+        assertEquals(dao.getCatalog().site(41).getName(), dao.findSiteById(42).get().getName());
+        assertFalse(dao.findSiteById(5001).isPresent());
+        assertTrue(dao.findHotelsByStars(4).stream().allMatch(h -> h.getStarRating() >= 4));
+        assertEquals(dao.findAllSites().size(),
+                dao.findSitesByType("HISTORICAL").size() + dao.findSitesByType("ACTIVITY").size());
+        
+        List<Site> diving = dao.findSitesByKeywords("plongée");
+        assertFalse(diving.isEmpty());
+        List<Hotel> tahiti = dao.findHotelsByKeywords("tahiti");
+        assertFalse(tahiti.isEmpty());
+        
+        TravelService service = new TravelService(dao);
+        List<Offer> offers = service.buildOffers(new OfferRequest("plongée", 3000, 4, DesiredIntensity.MEDIUM, 3, null));
+        assertFalse(offers.isEmpty());
+    }
+    
+    private static void assertValidNode(SyntheticCatalog catalog, String nodeId) {
+        int id = Integer.parseInt(nodeId.substring(2));
+        int max = nodeId.startsWith("H:") ? catalog.getHotelCount() : catalog.getSiteCount();
+        assertTrue(id >= 1 && id <= max, "Nœud inconnu : " + nodeId);
+    }
+}
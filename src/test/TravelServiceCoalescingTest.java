@@ -0,0 +1,197 @@
+package test;
+
+import business.domain.Position;
+import business.domain.Site;
+import business.service.MockTravelDataAccess;
+import business.service.OfferRequestKey;
+import business.service.TravelService;
+import business.simulation.DesiredIntensity;
+import business.simulation.Offer;
+import business.simulation.OfferRequest;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la déduplication des requêtes d'offres dans TravelService
+ * Utilise MockTravelDataAccess (pas de base de données)
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TravelServiceCoalescingTest {
+    
+    /**
+     * Mock lent qui compte les recherches de sites (une par calcul d'offres)
+     */
+    private static class SlowDataAccess extends MockTravelDataAccess {
+        private final AtomicInteger siteSearches = new AtomicInteger();
+        
+        @Override
+        public List<Site> findSitesByKeywords(String keywords) {
+            siteSearches.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.findSitesByKeywords(keywords);
+        }
+    }
+    
+    @Test
+    @Order(1)
+    @DisplayName("OfferRequestKey - Requêtes équivalentes")
+    public void testOfferRequestKey_Canonical() {
+        OfferRequest a = new OfferRequest("Plongée  lagon", 2000, 5, DesiredIntensity.LOW, 3, null);
+        OfferRequest b = new OfferRequest(" lagon plongée ", 2000, 5, DesiredIntensity.LOW, 3, "");
+        OfferRequest c = new OfferRequest("lagon plongée", 2000, 5, DesiredIntensity.HIGH, 3, null);
+        
+        assertEquals(OfferRequestKey.of(a), OfferRequestKey.of(b));
+        assertEquals(OfferRequestKey.of(a).hashCode(), OfferRequestKey.of(b).hashCode());
+        assertNotEquals(OfferRequestKey.of(a), OfferRequestKey.of(c));
+    }
+    
+    @Test
+    @Order(2)
+    @DisplayName("TravelService - Rafale de requêtes identiques = un seul calcul")
+    public void testBuildOffers_ConcurrentBurst() throws Exception {
+        SlowDataAccess dataAccess = new SlowDataAccess();
+        TravelService service = new TravelService(dataAccess);
+        int callers = 8;
+        
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Offer>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return service.buildOffers(new OfferRequest("plongée", 2000, 4, DesiredIntensity.MEDIUM, 3, null));
+                }));
+            }
+            start.countDown();
+            
+            List<Offer> first = results.get(0).get();
+            for (Future<List<Offer>> result : results) {
+                assertSame(first, result.get(), "Tous les appelants doivent partager le même résultat");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        assertEquals(1, dataAccess.siteSearches.get(), "Un seul calcul attendu");
+        assertEquals(1, service.getOfferCoalescer().getComputations());
+        assertEquals(callers - 1,
+                service.getOfferCoalescer().getCoalesced() + service.getOfferCoalescer().getCacheHits());
+    }
+    
+    @Test
+    @Order(3)
+    @DisplayName("TravelService - Cache court puis expiration")
+    public void testBuildOffers_Ttl() {
+        SlowDataAccess dataAccess = new SlowDataAccess();
+        TravelService service = new TravelService(dataAccess);
+        OfferRequest req = new OfferRequest("plongée", 2000, 4, DesiredIntensity.LOW, 3, null);
+        
+        List<Offer> first = service.buildOffers(req);
+        assertSame(first, service.buildOffers(req), "Le résultat doit venir du cache");
+        assertEquals(1, dataAccess.siteSearches.get());
+        
+        service.setOfferCacheTtlMillis(0);
+        service.getOfferCoalescer().invalidateAll();
+        service.buildOffers(req);
+        service.buildOffers(req);
+        assertEquals(3, dataAccess.siteSearches.get(), "Sans cache, chaque appel recalcule");
+    }
+    
+    @Test
+    @Order(4)
+    @DisplayName("TravelService - Les erreurs ne sont pas mises en cache")
+    public void testBuildOffers_InvalidRequest() {
+        TravelService service = new TravelService(new MockTravelDataAccess());
+        assertThrows(IllegalArgumentException.class,
+                () -> service.buildOffers(new OfferRequest("plongée", 0, 4, DesiredIntensity.LOW, 3, null)));
+    }
+    
+    @Test
+    @Order(5)
+    @DisplayName("TravelService - Hôtel choisi : origine du classement des sites")
+    public void testBuildOffers_ChosenHotelRankOrigin() {
+        List<Position> origins = new ArrayList<>();
+        TravelService service = new TravelService(new MockTravelDataAccess() {
+            @Override
+            public List<Site> findSitesByKeywords(String keywords, Position rankOrigin) {
+                origins.add(rankOrigin);
+                return findSitesByKeywords(keywords);
+            }
+        });
+        OfferRequest req = new OfferRequest("plongée", 2000, 4, DesiredIntensity.LOW, 3, null);
+        OfferRequest withHotel = new OfferRequest("plongée", 2000, 4, DesiredIntensity.LOW, 3, null);
+        withHotel.setHotelId(1);
+        assertNotEquals(OfferRequestKey.of(req), OfferRequestKey.of(withHotel));
+        
+        service.buildOffers(req);
+        assertTrue(origins.isEmpty(), "Sans hôtel choisi, pas d'origine");
+        
+        service.buildOffers(withHotel);
+        assertEquals(1, origins.size());
+        assertEquals(-17.535, origins.get(0).getLatitude(), 1e-9);
+        assertEquals(-149.565, origins.get(0).getLongitude(), 1e-9);
+    }
+    
+    @Test
+    @Order(6)
+    @DisplayName("TravelService - Catalogue rechargé pendant un calcul : ni rejoint, ni conservé")
+    public void testBuildOffers_InvalidateWhileComputing() throws Exception {
+        CountDownLatch[] entered = { new CountDownLatch(1), new CountDownLatch(1) };
+        CountDownLatch[] release = { new CountDownLatch(1), new CountDownLatch(1) };
+        AtomicInteger searches = new AtomicInteger();
+        TravelService service = new TravelService(new MockTravelDataAccess() {
+            @Override
+            public List<Site> findSitesByKeywords(String keywords) {
+                int call = searches.getAndIncrement();
+                if (call < 2) {
+                    entered[call].countDown();
+                    try {
+                        release[call].await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.findSitesByKeywords(keywords);
+            }
+        });
+        OfferRequest req = new OfferRequest("plongée", 2000, 4, DesiredIntensity.LOW, 3, null);
+        
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Offer>> old = pool.submit(() -> service.buildOffers(req));
+            assertTrue(entered[0].await(5, TimeUnit.SECONDS));
+            
+            service.catalogReloaded();
+            Future<List<Offer>> fresh = pool.submit(() -> service.buildOffers(req));
+            assertTrue(entered[1].await(5, TimeUnit.SECONDS), "Le nouvel appelant doit relancer le calcul");
+            
+            // Le nouveau calcul se termine d'abord, l'ancien ensuite : l'ancien ne doit pas le remplacer
+            release[1].countDown();
+            List<Offer> freshOffers = fresh.get(5, TimeUnit.SECONDS);
+            release[0].countDown();
+            old.get(5, TimeUnit.SECONDS);
+            
+            assertSame(freshOffers, service.buildOffers(req), "Le cache doit servir le calcul du nouveau catalogue");
+            assertEquals(2, searches.get());
+        } finally {
+            release[0].countDown();
+            release[1].countDown();
+            pool.shutdownNow();
+        }
+    }
+}